@@ -0,0 +1,41 @@
+package com.agile.demo.common.pagination;
+
+import com.agile.demo.common.exception.BusinessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page d'une liste parcourue par clé, avec le jeton de la page suivante ({@code null} en fin de liste)
+ */
+public record KeysetPage<T>(List<T> items, String nextToken) {
+
+    public static final int MAX_SIZE = 500;
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    /**
+     * Limite de lecture d'une page : une ligne de plus que demandé pour savoir s'il en reste
+     */
+    public static Pageable fetch(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BusinessException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Construit la page à partir des lignes lues avec {@link #fetch(int)}
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, String> tokenOf) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, size));
+        return new KeysetPage<>(items, tokenOf.apply(items.get(size - 1)));
+    }
+}
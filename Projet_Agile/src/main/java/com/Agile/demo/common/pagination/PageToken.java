@@ -0,0 +1,90 @@
+package com.agile.demo.common.pagination;
+
+import com.agile.demo.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Jeton de continuation opaque d'une pagination par clé (keyset)
+ *
+ * Il porte les valeurs de tri de la dernière ligne servie ; la page suivante reprend
+ * strictement après elles (WHERE (clé, id) > (:clé, :id)), si bien qu'une page lointaine
+ * coûte autant que la première, contrairement à OFFSET. Le client le renvoie tel quel.
+ */
+public final class PageToken {
+
+    private static final String VERSION = "k1";
+    private static final char SEPARATOR = '\u001F';
+
+    /**
+     * Première page : aucune valeur, chaque clé prend la borne fournie par l'appelant
+     */
+    private static final PageToken START = new PageToken(List.of());
+
+    private final List<String> keys;
+
+    private PageToken(List<String> keys) {
+        this.keys = keys;
+    }
+
+    public static String encode(Object... keys) {
+        String raw = VERSION + SEPARATOR + Arrays.stream(keys)
+                .map(String::valueOf)
+                .collect(Collectors.joining(String.valueOf(SEPARATOR)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton reçu du client ({@code null} ou vide : première page)
+     */
+    public static PageToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            List<String> parts = Arrays.asList(raw.split(String.valueOf(SEPARATOR), -1));
+            if (parts.size() < 2 || !VERSION.equals(parts.get(0))) {
+                throw new BusinessException("Invalid page token");
+            }
+            return new PageToken(List.copyOf(parts.subList(1, parts.size())));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid page token", e);
+        }
+    }
+
+    public boolean isStart() {
+        return keys.isEmpty();
+    }
+
+    public long longKey(int index, long first) {
+        try {
+            return isStart() ? first : Long.parseLong(key(index));
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Invalid page token", e);
+        }
+    }
+
+    public int intKey(int index, int first) {
+        try {
+            return isStart() ? first : Integer.parseInt(key(index));
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Invalid page token", e);
+        }
+    }
+
+    public String stringKey(int index, String first) {
+        return isStart() ? first : key(index);
+    }
+
+    private String key(int index) {
+        if (index >= keys.size()) {
+            throw new BusinessException("Invalid page token");
+        }
+        return keys.get(index);
+    }
+}
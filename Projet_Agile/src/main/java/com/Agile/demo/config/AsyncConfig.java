@@ -0,0 +1,12 @@
+package com.agile.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Active l'exécution asynchrone des traitements de fond (@Async)
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,63 @@
+package com.agile.demo.config;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Lectures servies par le primaire même sans écriture préalable : chargements des caches applicatifs
+ *
+ * Un cache alimenté depuis la réplique garderait son retard jusqu'à la modification suivante (sa
+ * version est incrémentée au commit, sur le primaire). Pendant le chargement, un indicateur du thread
+ * demande à ReadWriteRoutingDataSource le primaire pour la connexion de la transaction courante,
+ * si elle n'en a pas encore : aucune seconde connexion n'est prise.
+ *
+ * Seule exception, une transaction en lecture seule déjà servie par la réplique : le chargement
+ * passe alors par une transaction séparée, sur le primaire. Elle attend une connexion d'un autre
+ * pool que celui dont elle en tient une, ce qui ne peut pas épuiser un pool par attente mutuelle.
+ * Un chargement imbriqué (graphe de dépendances chargé pour un ordonnancement) s'exécute tel quel.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(PlatformTransactionManager transactionManager, Supplier<T> load) {
+        if (isActive()) {
+            return load.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            if (!ReadWriteRoutingDataSource.isBoundToReplica()) {
+                return load.get();
+            }
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            return transaction.execute(status -> load.get());
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    /**
+     * Un chargement de cache est en cours sur ce thread
+     */
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    /**
+     * Un résultat chargé maintenant peut être mis en cache : pas de transaction en écriture, dont
+     * le chargement verrait les modifications non validées (perdues en cas de rollback)
+     */
+    public static boolean isCacheable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
@@ -0,0 +1,87 @@
+package com.agile.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Séparation lecture / écriture : les transactions @Transactional(readOnly = true) lisent sur la réplique
+ *
+ * Active seulement si agile.datasource.replica.url est renseignée ; sinon la source de données
+ * auto-configurée de Spring Boot reste seule. Flyway, la validation Hibernate et tout accès hors
+ * transaction passent par le primaire.
+ */
+@Configuration
+@ConditionalOnProperty(name = "agile.datasource.replica.url")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    @ConfigurationProperties("agile.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${agile.datasource.replica.url}") String url,
+                                              @Value("${agile.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${agile.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${agile.datasource.read-your-writes-window-ms:5000}") long windowMs) {
+        return new ReadYourWritesTracker(windowMs);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWritesTracker tracker) {
+        return new ReadYourWritesFilter(tracker);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") HikariDataSource replica,
+            ReadYourWritesTracker tracker,
+            @Value("${agile.datasource.replica.max-lag-ms:2000}") long maxLagMs,
+            @Value("${agile.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${agile.datasource.replica.lag-column:Seconds_Behind_Source}") String lagColumn) {
+        return new ReadWriteRoutingDataSource(primary, replica, tracker,
+                Duration.ofMillis(maxLagMs), lagQuery, lagColumn);
+    }
+
+    /**
+     * Source de données de l'application : la connexion réelle n'est prise qu'au premier ordre SQL,
+     * une fois connu le caractère lecture seule de la transaction
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
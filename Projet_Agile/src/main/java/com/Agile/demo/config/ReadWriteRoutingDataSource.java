@@ -0,0 +1,272 @@
+package com.agile.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Source de données envoyant les transactions en lecture seule sur la réplique, tout le reste sur le primaire
+ *
+ * A placer derrière un LazyConnectionDataSourceProxy : la connexion n'est alors demandée qu'au
+ * premier ordre SQL, quand le caractère lecture seule de la transaction est connu.
+ * Une lecture reste sur le primaire si sa session vient d'écrire (ReadYourWritesTracker),
+ * si elle alimente un cache applicatif (PrimaryReads), si la réplique a plus de {@code maxLag} de
+ * retard ou si elle ne répond pas ; la réplique est reprise dès que le contrôle périodique la
+ * retrouve à jour.
+ *
+ * Une session servie par la réplique n'alimente pas le cache de second niveau (CacheMode.GET) :
+ * une entité en retard y resterait jusqu'à son expiration.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    // Ressource de transaction : la transaction courante tient une connexion de la réplique
+    private static final Object REPLICA_BOUND = new Object();
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final String lagColumn;
+
+    private volatile boolean replicaAvailable = true;
+    private volatile Duration replicaLag = Duration.ZERO;
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+    private final LongAdder replicaFailures = new LongAdder();
+
+    /**
+     * {@code lagQuery} renvoie au plus une ligne dont la colonne {@code lagColumn} est le retard
+     * en secondes (SHOW REPLICA STATUS / Seconds_Behind_Source sur MySQL) ; aucune ligne : pas de retard,
+     * valeur nulle : réplication arrêtée
+     */
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica,
+                                      ReadYourWritesTracker readYourWrites, Duration maxLag,
+                                      String lagQuery, String lagColumn) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readYourWrites = readYourWrites;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routesToReplica()) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaConnections.increment();
+                bindToReplica();
+                disableSecondLevelCachePuts();
+                return connection;
+            } catch (SQLException e) {
+                replicaFailures.increment();
+                fallbackReads.increment();
+                markReplicaUnavailable(e.getMessage());
+            }
+        }
+        Connection connection = primary.getConnection();
+        primaryConnections.increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are set per pool");
+    }
+
+    private boolean routesToReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return false;
+        }
+        if (PrimaryReads.isActive()) {
+            return false;
+        }
+        if (readYourWrites.isSticky()) {
+            stickyReads.increment();
+            return false;
+        }
+        if (!replicaAvailable) {
+            fallbackReads.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Une transaction en écriture validée ouvre la fenêtre de lecture sur le primaire de sa session
+     */
+    private void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String session = readYourWrites.currentSession();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite(session);
+            }
+        });
+    }
+
+    /**
+     * La transaction courante lit déjà sur la réplique (cf. PrimaryReads)
+     */
+    static boolean isBoundToReplica() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_BOUND);
+    }
+
+    private static void bindToReplica() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || isBoundToReplica()) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_BOUND, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_BOUND);
+            }
+        });
+    }
+
+    /**
+     * Les entités lues sur la réplique ne sont pas mises en cache (lecture et invalidation seulement),
+     * jusqu'à la fin de la transaction
+     */
+    private static void disableSecondLevelCachePuts() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                Session session = holder.getEntityManager().unwrap(Session.class);
+                CacheMode previous = session.getCacheMode();
+                session.setCacheMode(CacheMode.GET);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        // Session prolongée au-delà de la transaction (open-in-view)
+                        if (session.isOpen()) {
+                            session.setCacheMode(previous);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Mesure le retard de la réplique et l'écarte (ou la reprend) selon {@code maxLag}
+     */
+    @Scheduled(initialDelayString = "${agile.datasource.replica.health-check-interval-ms:1000}",
+            fixedDelayString = "${agile.datasource.replica.health-check-interval-ms:1000}")
+    public void checkReplica() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery(lagQuery)) {
+            Duration lag = Duration.ZERO;
+            if (status.next()) {
+                long seconds = status.getLong(lagColumn);
+                if (status.wasNull()) {
+                    markReplicaUnavailable("replication is not running");
+                    return;
+                }
+                lag = Duration.ofSeconds(seconds);
+            }
+            replicaLag = lag;
+            if (lag.compareTo(maxLag) > 0) {
+                markReplicaUnavailable("replica is " + lag.toMillis() + " ms behind");
+            } else if (!replicaAvailable) {
+                log.info("Replica back in rotation ({} ms behind)", lag.toMillis());
+                replicaAvailable = true;
+            }
+        } catch (SQLException e) {
+            replicaFailures.increment();
+            markReplicaUnavailable(e.getMessage());
+        }
+    }
+
+    private void markReplicaUnavailable(String reason) {
+        if (replicaAvailable) {
+            log.warn("Replica out of rotation, reads go to primary: {}", reason);
+        }
+        replicaAvailable = false;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public Duration getReplicaLag() {
+        return replicaLag;
+    }
+
+    // ===== STATISTIQUES =====
+
+    /**
+     * Compteurs cumulés et état des pools, par pool (primary, replica)
+     */
+    public Map<String, PoolStatistics> snapshot() {
+        Map<String, PoolStatistics> pools = new LinkedHashMap<>();
+        pools.put("primary", PoolStatistics.of(primary, primaryConnections.sum(),
+                stickyReads.sum(), fallbackReads.sum(), 0));
+        pools.put("replica", PoolStatistics.of(replica, replicaConnections.sum(),
+                0, 0, replicaFailures.sum()));
+        return pools;
+    }
+
+    @Scheduled(initialDelayString = "${agile.datasource.statistics-log-interval-ms:300000}",
+            fixedDelayString = "${agile.datasource.statistics-log-interval-ms:300000}")
+    public void logStatistics() {
+        snapshot().forEach((pool, stats) -> log.info(
+                "Pool {}: {} connections ({} sticky reads, {} fallback reads, {} failures), active {}, idle {}, waiting {}",
+                pool, stats.connections(), stats.stickyReads(), stats.fallbackReads(), stats.failures(),
+                stats.active(), stats.idle(), stats.awaiting()));
+        log.info("Replica {} ({} ms behind)", replicaAvailable ? "in rotation" : "out of rotation", replicaLag.toMillis());
+    }
+
+    // ===== RECORDS =====
+
+    /**
+     * {@code connections} : connexions servies par le pool ; {@code stickyReads} et {@code fallbackReads} :
+     * lectures gardées sur le primaire (écriture récente de la session, réplique écartée)
+     */
+    public record PoolStatistics(long connections, long stickyReads, long fallbackReads, long failures,
+                                 int active, int idle, int total, int awaiting) {
+
+        static PoolStatistics of(HikariDataSource pool, long connections, long stickyReads,
+                                 long fallbackReads, long failures) {
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            if (bean == null) {
+                return new PoolStatistics(connections, stickyReads, fallbackReads, failures, 0, 0, 0, 0);
+            }
+            return new PoolStatistics(connections, stickyReads, fallbackReads, failures,
+                    bean.getActiveConnections(), bean.getIdleConnections(),
+                    bean.getTotalConnections(), bean.getThreadsAwaitingConnection());
+        }
+    }
+}
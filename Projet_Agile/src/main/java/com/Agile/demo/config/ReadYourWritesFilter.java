@@ -0,0 +1,35 @@
+package com.agile.demo.config;
+
+import com.agile.demo.config.ReadYourWritesTracker.Scope;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rattache chaque requête à sa session HTTP pour le routage lecture / écriture
+ * (sans session, la stickiness reste limitée au thread)
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (Scope ignored = tracker.bind(session.getId())) {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.agile.demo.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lecture de ses propres écritures : une session qui vient de valider une transaction en écriture
+ * lit sur le primaire pendant une fenêtre couvrant le retard de réplication
+ *
+ * La session est celle liée au thread par {@link #bind(String)} (session HTTP, cf. ReadYourWritesFilter),
+ * à défaut le thread lui-même.
+ */
+public class ReadYourWritesTracker {
+
+    /**
+     * Au-delà, les sessions dont la fenêtre est passée sont purgées à la prochaine écriture
+     */
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final ThreadLocal<String> boundSession = new ThreadLocal<>();
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(long windowMs) {
+        this.windowNanos = windowMs * 1_000_000L;
+    }
+
+    /**
+     * Rattache le thread courant à {@code session} jusqu'à la fermeture du Scope
+     */
+    public Scope bind(String session) {
+        String previous = boundSession.get();
+        boundSession.set(session);
+        return () -> {
+            if (previous == null) {
+                boundSession.remove();
+            } else {
+                boundSession.set(previous);
+            }
+        };
+    }
+
+    String currentSession() {
+        String session = boundSession.get();
+        return session != null ? session : "thread-" + Thread.currentThread().threadId();
+    }
+
+    void recordWrite(String session) {
+        lastWrites.put(session, System.nanoTime());
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            long now = System.nanoTime();
+            lastWrites.values().removeIf(last -> now - last >= windowNanos);
+        }
+    }
+
+    /**
+     * La session courante a-t-elle écrit pendant la fenêtre ?
+     */
+    boolean isSticky() {
+        Long last = lastWrites.get(currentSession());
+        return last != null && System.nanoTime() - last < windowNanos;
+    }
+
+    void clear() {
+        lastWrites.clear();
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
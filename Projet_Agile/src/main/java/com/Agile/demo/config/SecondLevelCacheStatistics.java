@@ -0,0 +1,72 @@
+package com.agile.demo.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Taux de succès du cache de second niveau, par région (cf. ehcache.xml)
+ *
+ * Lus dans les statistiques Hibernate (hibernate.generate_statistics) ; sans elles,
+ * l'instantané est vide. Journalisés périodiquement pour suivre l'efficacité du cache.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SecondLevelCacheStatistics {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Compteurs cumulés depuis le démarrage (ou la dernière remise à zéro des statistiques)
+     */
+    public Map<String, RegionStatistics> snapshot() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, RegionStatistics> regions = new LinkedHashMap<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return regions;
+        }
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(name -> {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+            if (region != null) {
+                regions.put(name, new RegionStatistics(region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(), region.getElementCountInMemory()));
+            }
+        });
+        return regions;
+    }
+
+    @Scheduled(initialDelayString = "${agile.cache.statistics-log-interval-ms:300000}",
+            fixedDelayString = "${agile.cache.statistics-log-interval-ms:300000}")
+    public void logHitRatios() {
+        snapshot().forEach((region, stats) -> {
+            if (stats.hits() + stats.misses() > 0) {
+                log.info("L2 cache region {}: hit ratio {}% ({} hits, {} misses, {} puts, {} entries)",
+                        region, String.format("%.1f", stats.hitRatio() * 100),
+                        stats.hits(), stats.misses(), stats.puts(), stats.entries());
+            }
+        });
+    }
+
+    // ===== RECORDS =====
+
+    public record RegionStatistics(long hits, long misses, long puts, long entries) {
+
+        /**
+         * Part des lectures servies par le cache (0 si aucune lecture)
+         */
+        public double hitRatio() {
+            long reads = hits + misses;
+            return reads == 0 ? 0.0 : (double) hits / reads;
+        }
+    }
+}
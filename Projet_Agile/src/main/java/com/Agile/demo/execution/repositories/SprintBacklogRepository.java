@@ -2,14 +2,21 @@ package com.Agile.demo.execution.repositories;
 
 import com.Agile.demo.model.SprintBacklog;
 import com.Agile.demo.model.SprintStatus;
+import com.Agile.demo.model.projection.SprintSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SprintBacklogRepository extends JpaRepository<SprintBacklog, Long> {
@@ -19,6 +26,13 @@ public interface SprintBacklogRepository extends JpaRepository<SprintBacklog, Lo
      */
     Optional<SprintBacklog> findBySprintNumber(Integer sprintNumber);
 
+    /**
+     * Sprint avec son projet et ses User Stories (cf. SprintBacklog.WITH_STORIES_GRAPH)
+     */
+    @EntityGraph(SprintBacklog.WITH_STORIES_GRAPH)
+    @Query("SELECT s FROM SprintBacklog s WHERE s.id = :sprintId")
+    Optional<SprintBacklog> findWithStoriesById(@Param("sprintId") Long sprintId);
+
     // language: java
     List<SprintBacklog> findByProjectSprintNumber(Long projectId);
     /**
@@ -60,4 +74,33 @@ public interface SprintBacklogRepository extends JpaRepository<SprintBacklog, Lo
      * Compte le nombre de sprints actifs pour un projet
      */
     long countByProjectIdAndSprintStatus(Long projectId, SprintStatus status);
+
+    /**
+     * Sprints d'un projet en flux, par numéro (curseur, entités en lecture seule)
+     * A consommer dans une transaction
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM SprintBacklog s WHERE s.project.id = :projectId ORDER BY s.sprintNumber, s.id")
+    Stream<SprintBacklog> streamByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Sprints d'un projet pour les listes (projection, hors contexte de persistance)
+     */
+    @Query("SELECT new com.agile.demo.model.projection.SprintSummary(" +
+            "s.id, s.name, s.sprintNumber, s.sprintStatus, s.startDate, s.endDate) " +
+            "FROM SprintBacklog s WHERE s.project.id = :projectId ORDER BY s.sprintNumber, s.id")
+    List<SprintSummary> findSummariesByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Page par clé (numéro de sprint, id) des sprints d'un projet
+     */
+    @Query("SELECT new com.agile.demo.model.projection.SprintSummary(" +
+            "s.id, s.name, s.sprintNumber, s.sprintStatus, s.startDate, s.endDate) " +
+            "FROM SprintBacklog s WHERE s.project.id = :projectId AND " +
+            "(s.sprintNumber > :afterNumber OR (s.sprintNumber = :afterNumber AND s.id > :afterId)) " +
+            "ORDER BY s.sprintNumber, s.id")
+    List<SprintSummary> findSummaryPageByProjectId(@Param("projectId") Long projectId,
+                                                   @Param("afterNumber") Integer afterNumber,
+                                                   @Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
@@ -2,16 +2,38 @@ package com.Agile.demo.execution.repositories;
 
 import com.Agile.demo.model.Task;
 import com.Agile.demo.model.WorkItemStatus;
+import com.Agile.demo.model.projection.TaskSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    /**
+     * Tâche chargée pour une transition de workflow, avec assigné, sprint et story (cf. Task.WORKFLOW_GRAPH)
+     */
+    @EntityGraph(Task.WORKFLOW_GRAPH)
+    @Query("SELECT t FROM Task t WHERE t.id = :taskId")
+    Optional<Task> findForWorkflowById(@Param("taskId") Long taskId);
+
+    /**
+     * Tâche chargée pour sa complétion, avec en plus les tâches de sa story (cf. Task.COMPLETION_GRAPH)
+     */
+    @EntityGraph(Task.COMPLETION_GRAPH)
+    @Query("SELECT t FROM Task t WHERE t.id = :taskId")
+    Optional<Task> findForCompletionById(@Param("taskId") Long taskId);
+
     /**
      * Trouve toutes les tâches d'une User Story
      */
@@ -64,4 +86,65 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     @Query("SELECT t FROM Task t WHERE t.sprintBacklog.id = :sprintBacklogId AND t.actualHours > t.estimatedHours")
     List<Task> findOverEstimatedTasksBySprint(@Param("sprintBacklogId") Long sprintBacklogId);
-}
\ No newline at end of file
+
+    /**
+     * Toutes les tâches d'un Product Backlog avec leur assigné, en une requête
+     * (jointure vers un seul élément : pas de duplication de lignes)
+     */
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.assignedUser " +
+            "WHERE t.userStory.productBacklog.id = :productBacklogId ORDER BY t.id ASC")
+    List<Task> findByProductBacklogIdWithAssignee(@Param("productBacklogId") Long productBacklogId);
+
+    /**
+     * Tâches d'un Product Backlog en flux (curseur, entités en lecture seule)
+     * A consommer dans une transaction
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM Task t WHERE t.userStory.productBacklog.id = :productBacklogId ORDER BY t.id ASC")
+    Stream<Task> streamByProductBacklogId(@Param("productBacklogId") Long productBacklogId);
+
+    // ===== PROJECTIONS DE LISTE (sans description, hors contexte de persistance) =====
+
+    String TASK_SUMMARY = "SELECT new com.agile.demo.model.projection.TaskSummary(" +
+            "t.id, t.title, t.status, t.estimatedHours, t.actualHours, t.userStory.id, u.id, u.username) " +
+            "FROM Task t LEFT JOIN t.assignedUser u ";
+
+    @Query(TASK_SUMMARY + "WHERE t.userStory.id = :userStoryId ORDER BY t.id")
+    List<TaskSummary> findSummariesByUserStoryId(@Param("userStoryId") Long userStoryId);
+
+    @Query(TASK_SUMMARY + "WHERE t.sprintBacklog.id = :sprintBacklogId ORDER BY t.id")
+    List<TaskSummary> findSummariesBySprintBacklogId(@Param("sprintBacklogId") Long sprintBacklogId);
+
+    @Query(TASK_SUMMARY + "WHERE t.assignedUser.id = :userId ORDER BY t.id")
+    List<TaskSummary> findSummariesByAssignedUserId(@Param("userId") Long userId);
+
+    @Query(TASK_SUMMARY + "WHERE t.sprintBacklog.id = :sprintBacklogId AND t.assignedUser IS NULL ORDER BY t.id")
+    List<TaskSummary> findUnassignedSummariesBySprint(@Param("sprintBacklogId") Long sprintBacklogId);
+
+    @Query(TASK_SUMMARY + "WHERE t.sprintBacklog.id = :sprintBacklogId AND t.actualHours > t.estimatedHours ORDER BY t.id")
+    List<TaskSummary> findOverEstimatedSummariesBySprint(@Param("sprintBacklogId") Long sprintBacklogId);
+
+    // Pages par clé (id) : reprise strictement après la dernière tâche servie
+
+    @Query(TASK_SUMMARY + "WHERE t.userStory.id = :userStoryId AND t.id > :afterId ORDER BY t.id")
+    List<TaskSummary> findSummaryPageByUserStoryId(@Param("userStoryId") Long userStoryId,
+                                                   @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(TASK_SUMMARY + "WHERE t.sprintBacklog.id = :sprintBacklogId AND t.id > :afterId ORDER BY t.id")
+    List<TaskSummary> findSummaryPageBySprintBacklogId(@Param("sprintBacklogId") Long sprintBacklogId,
+                                                       @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(TASK_SUMMARY + "WHERE t.assignedUser.id = :userId AND t.id > :afterId ORDER BY t.id")
+    List<TaskSummary> findSummaryPageByAssignedUserId(@Param("userId") Long userId,
+                                                      @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(TASK_SUMMARY + "WHERE t.sprintBacklog.id = :sprintBacklogId AND t.assignedUser IS NULL AND t.id > :afterId ORDER BY t.id")
+    List<TaskSummary> findUnassignedSummaryPageBySprint(@Param("sprintBacklogId") Long sprintBacklogId,
+                                                        @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(TASK_SUMMARY + "WHERE t.sprintBacklog.id = :sprintBacklogId AND t.actualHours > t.estimatedHours " +
+            "AND t.id > :afterId ORDER BY t.id")
+    List<TaskSummary> findOverEstimatedSummaryPageBySprint(@Param("sprintBacklogId") Long sprintBacklogId,
+                                                           @Param("afterId") Long afterId, Pageable pageable);
+}
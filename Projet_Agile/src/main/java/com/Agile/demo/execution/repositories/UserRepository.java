@@ -2,6 +2,8 @@ package com.Agile.demo.execution.repositories;
 
 import com.Agile.demo.model.Role;
 import com.Agile.demo.model.User;
+import com.Agile.demo.model.projection.UserSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -56,4 +58,42 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT COUNT(t) FROM Task t WHERE t.assignedUser.id = :userId AND t.status = :status")
     long countTasksByUserAndStatus(@Param("userId") Long userId, @Param("status") String status);
+
+    // ===== PROJECTIONS DE LISTE (sans mot de passe, hors contexte de persistance) =====
+
+    String USER_SUMMARY = "SELECT new com.agile.demo.model.projection.UserSummary(" +
+            "u.id, u.username, u.email, u.role) FROM User u ";
+
+    @Query(USER_SUMMARY + "ORDER BY u.username")
+    List<UserSummary> findAllSummaries();
+
+    @Query(USER_SUMMARY + "WHERE u.role = :role ORDER BY u.username")
+    List<UserSummary> findSummariesByRole(@Param("role") Role role);
+
+    @Query(USER_SUMMARY + "JOIN u.projects p WHERE p.id = :projectId ORDER BY u.username")
+    List<UserSummary> findSummariesByProjectId(@Param("projectId") Long projectId);
+
+    @Query(USER_SUMMARY + "WHERE u.role = :role AND " +
+            "(SELECT COUNT(t) FROM Task t WHERE t.assignedUser.id = u.id AND t.status IN ('TODO', 'IN_PROGRESS')) < :maxTasks " +
+            "ORDER BY u.username")
+    List<UserSummary> findAvailableSummariesByRole(@Param("role") Role role, @Param("maxTasks") long maxTasks);
+
+    // Pages par clé (username, unique) : reprise strictement après le dernier utilisateur servi
+
+    @Query(USER_SUMMARY + "WHERE u.username > :afterUsername ORDER BY u.username")
+    List<UserSummary> findSummaryPage(@Param("afterUsername") String afterUsername, Pageable pageable);
+
+    @Query(USER_SUMMARY + "WHERE u.role = :role AND u.username > :afterUsername ORDER BY u.username")
+    List<UserSummary> findSummaryPageByRole(@Param("role") Role role, @Param("afterUsername") String afterUsername,
+                                            Pageable pageable);
+
+    @Query(USER_SUMMARY + "JOIN u.projects p WHERE p.id = :projectId AND u.username > :afterUsername ORDER BY u.username")
+    List<UserSummary> findSummaryPageByProjectId(@Param("projectId") Long projectId,
+                                                 @Param("afterUsername") String afterUsername, Pageable pageable);
+
+    @Query(USER_SUMMARY + "WHERE u.role = :role AND u.username > :afterUsername AND " +
+            "(SELECT COUNT(t) FROM Task t WHERE t.assignedUser.id = u.id AND t.status IN ('TODO', 'IN_PROGRESS')) < :maxTasks " +
+            "ORDER BY u.username")
+    List<UserSummary> findAvailableSummaryPageByRole(@Param("role") Role role, @Param("maxTasks") long maxTasks,
+                                                     @Param("afterUsername") String afterUsername, Pageable pageable);
 }
\ No newline at end of file
@@ -2,18 +2,27 @@ package com.Agile.demo.execution.repositories;
 
 import com.Agile.demo.model.UserStory;
 import com.Agile.demo.model.WorkItemStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UserStoryRepository extends JpaRepository<UserStory, Long> {
 
     List<UserStory> findByProductBacklogId(Long productBacklogId);
 
+    /**
+     * Story chargée pour son ajout / retrait d'un sprint (cf. UserStory.SPRINT_PLANNING_GRAPH)
+     */
+    @EntityGraph(UserStory.SPRINT_PLANNING_GRAPH)
+    @Query("SELECT us FROM UserStory us WHERE us.id = :userStoryId")
+    Optional<UserStory> findForSprintPlanningById(@Param("userStoryId") Long userStoryId);
+
     List<UserStory> findBySprintBacklogId(Long sprintBacklogId);
 
     List<UserStory> findByEpicId(Long epicId);
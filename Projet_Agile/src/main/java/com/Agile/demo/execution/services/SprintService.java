@@ -1,9 +1,15 @@
 package com.Agile.demo.execution.services;
 
 import com.Agile.demo.model.*;
+import com.Agile.demo.model.projection.SprintSummary;
 import com.Agile.demo.execution.repositories.SprintBacklogRepository;
 import com.Agile.demo.execution.repositories.ProjectRepository;
+import com.agile.demo.common.pagination.KeysetPage;
+import com.agile.demo.common.pagination.PageToken;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +23,7 @@ public class SprintService {
 
     private final SprintBacklogRepository sprintBacklogRepository;
     private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Crée un nouveau sprint pour un projet
@@ -60,6 +67,25 @@ public class SprintService {
         return sprintBacklogRepository.findByProjectSprintNumber(projectId);
     }
 
+    /**
+     * Sprints d'un projet pour les listes (projection, sans stories ni tâches)
+     */
+    @Transactional(readOnly = true)
+    public List<SprintSummary> getSprintSummariesByProject(Long projectId) {
+        return sprintBacklogRepository.findSummariesByProjectId(projectId);
+    }
+
+    /**
+     * Page par clé (numéro de sprint, id) des sprints d'un projet ({@code pageToken} null : première page)
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<SprintSummary> getSprintSummaryPageByProject(Long projectId, String pageToken, int size) {
+        PageToken after = PageToken.decode(pageToken);
+        return KeysetPage.of(sprintBacklogRepository.findSummaryPageByProjectId(projectId,
+                        after.intKey(0, Integer.MIN_VALUE), after.longKey(1, 0L), KeysetPage.fetch(size)),
+                size, sprint -> PageToken.encode(sprint.sprintNumber(), sprint.id()));
+    }
+
     /**
      * Récupère le sprint actif d'un projet
      */
@@ -164,7 +190,9 @@ public class SprintService {
         }
 
         sprint.addUserStory(userStory);
-        return sprintBacklogRepository.save(sprint);
+        SprintBacklog saved = sprintBacklogRepository.save(sprint);
+        eventPublisher.publishEvent(StoryChangedEvent.of(userStory, StoryChange.SPRINT));
+        return saved;
     }
 
     /**
@@ -173,7 +201,9 @@ public class SprintService {
     public SprintBacklog removeUserStoryFromSprint(Long sprintId, UserStory userStory) {
         SprintBacklog sprint = getSprintById(sprintId);
         sprint.removeUserStory(userStory);
-        return sprintBacklogRepository.save(sprint);
+        SprintBacklog saved = sprintBacklogRepository.save(sprint);
+        eventPublisher.publishEvent(StoryChangedEvent.of(userStory, StoryChange.SPRINT));
+        return saved;
     }
 
     /**
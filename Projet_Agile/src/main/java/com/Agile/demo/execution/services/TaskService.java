@@ -1,10 +1,18 @@
 package com.Agile.demo.execution.services;
 
 import com.Agile.demo.model.*;
+import com.Agile.demo.model.projection.TaskSummary;
 import com.Agile.demo.execution.repositories.TaskRepository;
 import com.Agile.demo.execution.repositories.UserRepository;
 import com.Agile.demo.execution.repositories.UserStoryRepository;
+import com.agile.demo.common.pagination.KeysetPage;
+import com.agile.demo.common.pagination.PageToken;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.service.ProgressRollupService;
+import com.agile.demo.planning.service.ProgressRollupService.TaskSnapshot;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +26,8 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final UserStoryRepository userStoryRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProgressRollupService progressRollupService;
 
     /**
      * Crée une nouvelle tâche pour une User Story
@@ -38,7 +48,10 @@ public class TaskService {
             task.setSprintBacklog(userStory.getSprintBacklog());
         }
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        publishEstimatesChanged(userStory);
+        progressRollupService.onTaskChanged(saved, null);
+        return saved;
     }
 
     /**
@@ -55,7 +68,10 @@ public class TaskService {
             task.setSprintBacklog(userStory.getSprintBacklog());
         }
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        publishEstimatesChanged(userStory);
+        progressRollupService.onTaskChanged(saved, null);
+        return saved;
     }
 
     /**
@@ -131,8 +147,11 @@ public class TaskService {
             throw new IllegalArgumentException("Le nombre d'heures doit être positif");
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.logHours(hours);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        progressRollupService.onTaskChanged(saved, before);
+        return saved;
     }
 
     /**
@@ -145,8 +164,12 @@ public class TaskService {
             throw new IllegalArgumentException("Les heures estimées ne peuvent pas être négatives");
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.setEstimatedHours(estimatedHours);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        publishEstimatesChanged(task.getUserStory());
+        progressRollupService.onTaskChanged(saved, before);
+        return saved;
     }
 
     /**
@@ -159,8 +182,9 @@ public class TaskService {
             throw new IllegalStateException("La tâche doit être assignée avant de démarrer");
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.start();
-        return taskRepository.save(task);
+        return saveAndRollup(task, before);
     }
 
     /**
@@ -168,8 +192,9 @@ public class TaskService {
      */
     public Task moveTaskToReview(Long taskId) {
         Task task = getTaskById(taskId);
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.moveToReview();
-        return taskRepository.save(task);
+        return saveAndRollup(task, before);
     }
 
     /**
@@ -177,8 +202,9 @@ public class TaskService {
      */
     public Task moveTaskToTesting(Long taskId) {
         Task task = getTaskById(taskId);
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.moveToTesting();
-        return taskRepository.save(task);
+        return saveAndRollup(task, before);
     }
 
     /**
@@ -186,8 +212,9 @@ public class TaskService {
      */
     public Task completeTask(Long taskId) {
         Task task = getTaskById(taskId);
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.complete();
-        return taskRepository.save(task);
+        return saveAndRollup(task, before);
     }
 
     /**
@@ -195,8 +222,9 @@ public class TaskService {
      */
     public Task updateTaskStatus(Long taskId, WorkItemStatus status) {
         Task task = getTaskById(taskId);
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.updateStatus(status);
-        return taskRepository.save(task);
+        return saveAndRollup(task, before);
     }
 
     /**
@@ -219,6 +247,8 @@ public class TaskService {
         }
 
         taskRepository.delete(task);
+        publishEstimatesChanged(task.getUserStory());
+        progressRollupService.onTaskDeleted(task);
     }
 
     /**
@@ -237,6 +267,74 @@ public class TaskService {
         return taskRepository.findOverEstimatedTasksBySprint(sprintBacklogId);
     }
 
+    /**
+     * Vues de liste des tâches : projections (sans description, assigné joint), rien n'est
+     * chargé dans le contexte de persistance
+     */
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTaskSummariesByUserStory(Long userStoryId) {
+        return taskRepository.findSummariesByUserStoryId(userStoryId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTaskSummariesBySprint(Long sprintBacklogId) {
+        return taskRepository.findSummariesBySprintBacklogId(sprintBacklogId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTaskSummariesByUser(Long userId) {
+        return taskRepository.findSummariesByAssignedUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getUnassignedTaskSummariesBySprint(Long sprintBacklogId) {
+        return taskRepository.findUnassignedSummariesBySprint(sprintBacklogId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getOverEstimatedTaskSummariesBySprint(Long sprintBacklogId) {
+        return taskRepository.findOverEstimatedSummariesBySprint(sprintBacklogId);
+    }
+
+    /**
+     * Pages par clé (id) des mêmes listes : {@code pageToken} est le jeton de la page précédente,
+     * {@code null} pour la première
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<TaskSummary> getTaskSummaryPageByUserStory(Long userStoryId, String pageToken, int size) {
+        long afterId = PageToken.decode(pageToken).longKey(0, 0L);
+        return KeysetPage.of(taskRepository.findSummaryPageByUserStoryId(userStoryId, afterId, KeysetPage.fetch(size)),
+                size, task -> PageToken.encode(task.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<TaskSummary> getTaskSummaryPageBySprint(Long sprintBacklogId, String pageToken, int size) {
+        long afterId = PageToken.decode(pageToken).longKey(0, 0L);
+        return KeysetPage.of(taskRepository.findSummaryPageBySprintBacklogId(sprintBacklogId, afterId,
+                KeysetPage.fetch(size)), size, task -> PageToken.encode(task.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<TaskSummary> getTaskSummaryPageByUser(Long userId, String pageToken, int size) {
+        long afterId = PageToken.decode(pageToken).longKey(0, 0L);
+        return KeysetPage.of(taskRepository.findSummaryPageByAssignedUserId(userId, afterId, KeysetPage.fetch(size)),
+                size, task -> PageToken.encode(task.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<TaskSummary> getUnassignedTaskSummaryPageBySprint(Long sprintBacklogId, String pageToken, int size) {
+        long afterId = PageToken.decode(pageToken).longKey(0, 0L);
+        return KeysetPage.of(taskRepository.findUnassignedSummaryPageBySprint(sprintBacklogId, afterId,
+                KeysetPage.fetch(size)), size, task -> PageToken.encode(task.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<TaskSummary> getOverEstimatedTaskSummaryPageBySprint(Long sprintBacklogId, String pageToken, int size) {
+        long afterId = PageToken.decode(pageToken).longKey(0, 0L);
+        return KeysetPage.of(taskRepository.findOverEstimatedSummaryPageBySprint(sprintBacklogId, afterId,
+                KeysetPage.fetch(size)), size, task -> PageToken.encode(task.id()));
+    }
+
     /**
      * Calcule les métriques d'une User Story basées sur ses tâches
      */
@@ -267,6 +365,24 @@ public class TaskService {
         );
     }
 
+    /**
+     * Sauvegarde la tâche et répercute le changement sur les agrégats d'avancement
+     */
+    private Task saveAndRollup(Task task, TaskSnapshot before) {
+        Task saved = taskRepository.save(task);
+        progressRollupService.onTaskChanged(saved, before);
+        return saved;
+    }
+
+    /**
+     * Les estimations de la story ont changé : le planning du projet est recalculé après le commit
+     */
+    private void publishEstimatesChanged(UserStory userStory) {
+        if (userStory != null) {
+            eventPublisher.publishEvent(StoryChangedEvent.of(userStory, StoryChange.ESTIMATES));
+        }
+    }
+
     /**
      * Classe interne pour les métriques des tâches d'une User Story
      */
@@ -2,7 +2,10 @@ package com.Agile.demo.execution.services;
 
 import com.Agile.demo.model.Role;
 import com.Agile.demo.model.User;
+import com.Agile.demo.model.projection.UserSummary;
 import com.Agile.demo.execution.repositories.UserRepository;
+import com.agile.demo.common.pagination.KeysetPage;
+import com.agile.demo.common.pagination.PageToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -164,6 +167,60 @@ public class UserService {
         return userRepository.findAvailableUsersByRole(role, maxTasks);
     }
 
+    /**
+     * Vues de liste des utilisateurs : projections sans mot de passe ni projets
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummary> getAllUserSummaries() {
+        return userRepository.findAllSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserSummary> getUserSummariesByRole(Role role) {
+        return userRepository.findSummariesByRole(role);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserSummary> getUserSummariesByProject(Long projectId) {
+        return userRepository.findSummariesByProjectId(projectId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserSummary> getAvailableUserSummaries(Role role, long maxTasks) {
+        return userRepository.findAvailableSummariesByRole(role, maxTasks);
+    }
+
+    /**
+     * Pages par clé (username) : {@code pageToken} est le jeton de la page précédente, {@code null} pour la première
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<UserSummary> getUserSummaryPage(String pageToken, int size) {
+        String afterUsername = PageToken.decode(pageToken).stringKey(0, "");
+        return KeysetPage.of(userRepository.findSummaryPage(afterUsername, KeysetPage.fetch(size)),
+                size, user -> PageToken.encode(user.username()));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<UserSummary> getUserSummaryPageByRole(Role role, String pageToken, int size) {
+        String afterUsername = PageToken.decode(pageToken).stringKey(0, "");
+        return KeysetPage.of(userRepository.findSummaryPageByRole(role, afterUsername, KeysetPage.fetch(size)),
+                size, user -> PageToken.encode(user.username()));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<UserSummary> getUserSummaryPageByProject(Long projectId, String pageToken, int size) {
+        String afterUsername = PageToken.decode(pageToken).stringKey(0, "");
+        return KeysetPage.of(userRepository.findSummaryPageByProjectId(projectId, afterUsername, KeysetPage.fetch(size)),
+                size, user -> PageToken.encode(user.username()));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<UserSummary> getAvailableUserSummaryPage(Role role, long maxTasks, String pageToken, int size) {
+        String afterUsername = PageToken.decode(pageToken).stringKey(0, "");
+        return KeysetPage.of(userRepository.findAvailableSummaryPageByRole(role, maxTasks, afterUsername,
+                KeysetPage.fetch(size)), size, user -> PageToken.encode(user.username()));
+    }
+
     /**
      * Compte le nombre de tâches assignées à un utilisateur
      */
@@ -5,14 +5,19 @@ import com.Agile.demo.execution.repositories.SprintBacklogRepository;
 import com.Agile.demo.execution.repositories.TaskRepository;
 import com.Agile.demo.execution.repositories.UserStoryRepository;
 import com.Agile.demo.model.*;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.index.DependencyGraphService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service avancé pour la gestion du workflow des sprints
@@ -28,6 +33,8 @@ public class SprintWorkflowService {
     private final UserStoryRepository userStoryRepository;
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DependencyGraphService dependencyGraphService;
 
     /**
      * Démarre un sprint avec validation complète des règles métier
@@ -38,7 +45,7 @@ public class SprintWorkflowService {
     public void startSprint(Long sprintId) {
         log.info("Tentative de démarrage du sprint ID: {}", sprintId);
 
-        SprintBacklog sprint = sprintBacklogRepository.findById(sprintId)
+        SprintBacklog sprint = sprintBacklogRepository.findWithStoriesById(sprintId)
                 .orElseThrow(() -> new IllegalArgumentException("Sprint non trouvé avec l'ID: " + sprintId));
 
         // RÈGLE MÉTIER: Le sprint doit être en statut PLANNED
@@ -83,7 +90,7 @@ public class SprintWorkflowService {
     public void completeSprint(Long sprintId) {
         log.info("Tentative de complétion du sprint ID: {}", sprintId);
 
-        SprintBacklog sprint = sprintBacklogRepository.findById(sprintId)
+        SprintBacklog sprint = sprintBacklogRepository.findWithStoriesById(sprintId)
                 .orElseThrow(() -> new IllegalArgumentException("Sprint non trouvé avec l'ID: " + sprintId));
 
         // RÈGLE MÉTIER: Le sprint doit être ACTIVE pour être terminé
@@ -95,7 +102,7 @@ public class SprintWorkflowService {
         }
 
         // Calculer les métriques finales avant de terminer
-        SprintMetrics finalMetrics = getSprintMetrics(sprintId);
+        SprintMetrics finalMetrics = computeMetrics(sprint);
         log.info("Métriques finales du sprint - Vélocité: {}, Progression: {}%, Stories complétées: {}/{}",
                 finalMetrics.velocity(),
                 String.format("%.2f", finalMetrics.progressPercentage()),
@@ -122,10 +129,10 @@ public class SprintWorkflowService {
     public void addUserStoryToSprint(Long sprintId, Long userStoryId) {
         log.info("Ajout de la User Story ID: {} au sprint ID: {}", userStoryId, sprintId);
 
-        SprintBacklog sprint = sprintBacklogRepository.findById(sprintId)
+        SprintBacklog sprint = sprintBacklogRepository.findWithStoriesById(sprintId)
                 .orElseThrow(() -> new IllegalArgumentException("Sprint non trouvé avec l'ID: " + sprintId));
 
-        UserStory userStory = userStoryRepository.findById(userStoryId)
+        UserStory userStory = userStoryRepository.findForSprintPlanningById(userStoryId)
                 .orElseThrow(() -> new IllegalArgumentException("User Story non trouvée avec l'ID: " + userStoryId));
 
         // RÈGLE MÉTIER: Ne peut pas modifier un sprint terminé ou annulé
@@ -143,12 +150,10 @@ public class SprintWorkflowService {
             );
         }
 
-        // RÈGLE MÉTIER: Vérifier que les dépendances sont satisfaites
-        if (!userStory.areDependenciesCompleted()) {
-            List<UserStory> incompleteDependencies = userStory.getDependencies().stream()
-                    .filter(dep -> dep.getStatus() != WorkItemStatus.DONE)
-                    .toList();
-
+        // RÈGLE MÉTIER: Vérifier que les dépendances directes sont terminées
+        List<Long> incompleteDependencies = dependencyGraphService.getIncompleteDependencies(
+                sprint.getProject().getId(), userStory.getId());
+        if (!incompleteDependencies.isEmpty()) {
             throw new IllegalStateException(
                     String.format("La User Story a %d dépendance(s) non complétée(s). " +
                                     "Les dépendances doivent être terminées avant d'ajouter cette story au sprint.",
@@ -173,6 +178,7 @@ public class SprintWorkflowService {
         }
 
         sprintBacklogRepository.save(sprint);
+        eventPublisher.publishEvent(StoryChangedEvent.of(userStory, StoryChange.SPRINT));
 
         log.info("User Story '{}' ajoutée au sprint '{}' avec succès",
                 userStory.getTitle(), sprint.getName());
@@ -187,10 +193,10 @@ public class SprintWorkflowService {
     public void removeUserStoryFromSprint(Long sprintId, Long userStoryId) {
         log.info("Retrait de la User Story ID: {} du sprint ID: {}", userStoryId, sprintId);
 
-        SprintBacklog sprint = sprintBacklogRepository.findById(sprintId)
+        SprintBacklog sprint = sprintBacklogRepository.findWithStoriesById(sprintId)
                 .orElseThrow(() -> new IllegalArgumentException("Sprint non trouvé avec l'ID: " + sprintId));
 
-        UserStory userStory = userStoryRepository.findById(userStoryId)
+        UserStory userStory = userStoryRepository.findForSprintPlanningById(userStoryId)
                 .orElseThrow(() -> new IllegalArgumentException("User Story non trouvée avec l'ID: " + userStoryId));
 
         // RÈGLE MÉTIER: Ne peut pas modifier un sprint terminé
@@ -222,6 +228,7 @@ public class SprintWorkflowService {
         }
 
         sprintBacklogRepository.save(sprint);
+        eventPublisher.publishEvent(StoryChangedEvent.of(userStory, StoryChange.SPRINT));
 
         log.info("User Story '{}' retirée du sprint '{}' avec succès",
                 userStory.getTitle(), sprint.getName());
@@ -235,7 +242,7 @@ public class SprintWorkflowService {
      */
     @Transactional(readOnly = true)
     public int calculateVelocity(Long sprintId) {
-        SprintBacklog sprint = sprintBacklogRepository.findById(sprintId)
+        SprintBacklog sprint = sprintBacklogRepository.findWithStoriesById(sprintId)
                 .orElseThrow(() -> new IllegalArgumentException("Sprint non trouvé avec l'ID: " + sprintId));
 
         return sprint.calculateVelocity();
@@ -249,9 +256,18 @@ public class SprintWorkflowService {
      */
     @Transactional(readOnly = true)
     public SprintMetrics getSprintMetrics(Long sprintId) {
-        SprintBacklog sprint = sprintBacklogRepository.findById(sprintId)
+        SprintBacklog sprint = sprintBacklogRepository.findWithStoriesById(sprintId)
                 .orElseThrow(() -> new IllegalArgumentException("Sprint non trouvé avec l'ID: " + sprintId));
 
+        return computeMetrics(sprint);
+    }
+
+    /**
+     * Métriques d'un sprint déjà chargé avec ses User Stories ; les tâches sont lues en une requête
+     */
+    private SprintMetrics computeMetrics(SprintBacklog sprint) {
+        Long sprintId = sprint.getId();
+
         // Métriques de base du sprint
         int velocity = sprint.calculateVelocity();
         double progressPercentage = sprint.calculateProgress();
@@ -340,8 +356,11 @@ public class SprintWorkflowService {
      * Valide que toutes les dépendances des User Stories du sprint sont satisfaites
      */
     private void validateUserStoriesDependencies(SprintBacklog sprint) {
+        // Un seul parcours du graphe de dépendances du projet au lieu d'un chargement par story
+        Set<Long> blockedIds = dependencyGraphService.findBlockedStories(sprint.getProject().getId(),
+                sprint.getUserStories().stream().map(UserStory::getId).toList());
         List<UserStory> storiesWithUnmetDependencies = sprint.getUserStories().stream()
-                .filter(us -> !us.areDependenciesCompleted())
+                .filter(us -> blockedIds.contains(us.getId()))
                 .toList();
 
         if (!storiesWithUnmetDependencies.isEmpty()) {
@@ -375,6 +394,7 @@ public class SprintWorkflowService {
                 for (Task task : story.getTasks()) {
                     task.setSprintBacklog(null);
                 }
+                eventPublisher.publishEvent(StoryChangedEvent.of(story, StoryChange.SPRINT));
             }
         }
     }
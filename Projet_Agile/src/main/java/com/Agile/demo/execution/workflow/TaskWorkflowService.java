@@ -3,8 +3,16 @@ package com.Agile.demo.execution.workflow;
 import com.Agile.demo.execution.repositories.TaskRepository;
 import com.Agile.demo.execution.repositories.UserRepository;
 import com.Agile.demo.model.*;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.index.DependencyGraphService;
+import com.agile.demo.planning.service.ProgressRollupService;
+import com.agile.demo.planning.service.ProgressRollupService.StorySnapshot;
+import com.agile.demo.planning.service.ProgressRollupService.TaskSnapshot;
+import com.agile.demo.planning.service.StoryReadinessService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +32,10 @@ public class TaskWorkflowService {
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final DependencyGraphService dependencyGraphService;
+    private final StoryReadinessService storyReadinessService;
+    private final ProgressRollupService progressRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Map pour stocker les raisons de blocage des tâches
     private final Map<Long, TaskBlockInfo> blockedTasks = new HashMap<>();
@@ -38,7 +50,7 @@ public class TaskWorkflowService {
     public void startTask(Long taskId, Long userId) {
         log.info("Tentative de démarrage de la tâche ID: {} par l'utilisateur ID: {}", taskId, userId);
 
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForWorkflowById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Tâche non trouvée avec l'ID: " + taskId));
 
         User user = userRepository.findById(userId)
@@ -61,15 +73,13 @@ public class TaskWorkflowService {
             );
         }
 
-        // RÈGLE MÉTIER: Vérifier que la User Story parente peut être démarrée
+        // RÈGLE MÉTIER: Vérifier que les dépendances directes de la User Story parente sont terminées
         UserStory userStory = task.getUserStory();
-        if (userStory != null && !userStory.canBeStarted()) {
-            if (!userStory.areDependenciesCompleted()) {
-                throw new IllegalStateException(
-                        "La User Story parente a des dépendances non complétées. " +
-                                "Impossible de démarrer cette tâche."
-                );
-            }
+        if (userStory != null && !dependencyGraphService.isReady(userStory)) {
+            throw new IllegalStateException(
+                    "La User Story parente a des dépendances non complétées. " +
+                            "Impossible de démarrer cette tâche."
+            );
         }
 
         // RÈGLE MÉTIER: Assigner la tâche si elle ne l'est pas déjà
@@ -85,15 +95,19 @@ public class TaskWorkflowService {
         }
 
         // Démarrer la tâche
+        TaskSnapshot taskBefore = TaskSnapshot.of(task);
         task.start();
 
         // Si c'est la première tâche de la User Story, la démarrer aussi
         if (userStory != null && userStory.getStatus() == WorkItemStatus.TODO) {
+            StorySnapshot storyBefore = StorySnapshot.of(userStory);
             userStory.start();
+            progressRollupService.onStoryChanged(userStory, storyBefore);
             log.info("User Story '{}' démarrée automatiquement", userStory.getTitle());
         }
 
         taskRepository.save(task);
+        progressRollupService.onTaskChanged(task, taskBefore);
 
         log.info("Tâche '{}' démarrée avec succès par '{}'", task.getTitle(), user.getUsername());
     }
@@ -106,7 +120,7 @@ public class TaskWorkflowService {
     public void moveToReview(Long taskId) {
         log.info("Déplacement de la tâche ID: {} vers IN_REVIEW", taskId);
 
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForWorkflowById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Tâche non trouvée avec l'ID: " + taskId));
 
         // RÈGLE MÉTIER: La tâche doit être IN_PROGRESS
@@ -133,8 +147,10 @@ public class TaskWorkflowService {
             );
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.moveToReview();
         taskRepository.save(task);
+        progressRollupService.onTaskChanged(task, before);
 
         log.info("Tâche '{}' déplacée en revue avec succès", task.getTitle());
     }
@@ -147,7 +163,7 @@ public class TaskWorkflowService {
     public void moveToTesting(Long taskId) {
         log.info("Déplacement de la tâche ID: {} vers TESTING", taskId);
 
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForWorkflowById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Tâche non trouvée avec l'ID: " + taskId));
 
         // RÈGLE MÉTIER: La tâche doit être IN_REVIEW
@@ -166,8 +182,10 @@ public class TaskWorkflowService {
             );
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.moveToTesting();
         taskRepository.save(task);
+        progressRollupService.onTaskChanged(task, before);
 
         log.info("Tâche '{}' déplacée en test avec succès", task.getTitle());
     }
@@ -180,7 +198,7 @@ public class TaskWorkflowService {
     public void completeTask(Long taskId) {
         log.info("Tentative de complétion de la tâche ID: {}", taskId);
 
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForCompletionById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Tâche non trouvée avec l'ID: " + taskId));
 
         // RÈGLE MÉTIER: La tâche doit être dans un état permettant la complétion
@@ -208,6 +226,7 @@ public class TaskWorkflowService {
         }
 
         // Compléter la tâche
+        TaskSnapshot taskBefore = TaskSnapshot.of(task);
         task.complete();
 
         // Supprimer l'info de blocage si elle existe
@@ -216,12 +235,18 @@ public class TaskWorkflowService {
         // RÈGLE MÉTIER: Vérifier si toutes les tâches de la User Story sont complétées
         UserStory userStory = task.getUserStory();
         if (userStory != null && userStory.areAllTasksCompleted()) {
+            StorySnapshot storyBefore = StorySnapshot.of(userStory);
             userStory.complete();
+            // Débloque les stories qui dépendent de celle-ci
+            storyReadinessService.onStatusChanged(userStory, storyBefore.status());
+            progressRollupService.onStoryChanged(userStory, storyBefore);
+            eventPublisher.publishEvent(StoryChangedEvent.of(userStory, StoryChange.STATUS));
             log.info("User Story '{}' complétée automatiquement (toutes les tâches sont terminées)",
                     userStory.getTitle());
         }
 
         taskRepository.save(task);
+        progressRollupService.onTaskChanged(task, taskBefore);
 
         log.info("Tâche '{}' complétée avec succès", task.getTitle());
     }
@@ -235,7 +260,7 @@ public class TaskWorkflowService {
     public void blockTask(Long taskId, String reason) {
         log.info("Blocage de la tâche ID: {} avec raison: {}", taskId, reason);
 
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForWorkflowById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Tâche non trouvée avec l'ID: " + taskId));
 
         // RÈGLE MÉTIER: Ne peut pas bloquer une tâche terminée
@@ -281,7 +306,7 @@ public class TaskWorkflowService {
     public void unblockTask(Long taskId) {
         log.info("Déblocage de la tâche ID: {}", taskId);
 
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForWorkflowById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Tâche non trouvée avec l'ID: " + taskId));
 
         // RÈGLE MÉTIER: Vérifier que la tâche est effectivement bloquée
@@ -293,6 +318,7 @@ public class TaskWorkflowService {
         TaskBlockInfo removedBlock = blockedTasks.remove(taskId);
 
         // Restaurer le statut IN_PROGRESS si nécessaire
+        TaskSnapshot before = TaskSnapshot.of(task);
         if (task.getStatus() != WorkItemStatus.IN_PROGRESS &&
                 task.getStatus() != WorkItemStatus.IN_REVIEW &&
                 task.getStatus() != WorkItemStatus.TESTING) {
@@ -300,6 +326,7 @@ public class TaskWorkflowService {
         }
 
         taskRepository.save(task);
+        progressRollupService.onTaskChanged(task, before);
 
         log.info("Tâche '{}' débloquée. Elle était bloquée pour: {}",
                 task.getTitle(), removedBlock.reason());
@@ -336,7 +363,7 @@ public class TaskWorkflowService {
     public void reassignTask(Long taskId, Long newUserId) {
         log.info("Réassignation de la tâche ID: {} à l'utilisateur ID: {}", taskId, newUserId);
 
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForWorkflowById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Tâche non trouvée avec l'ID: " + taskId));
 
         User newUser = userRepository.findById(newUserId)
@@ -368,7 +395,7 @@ public class TaskWorkflowService {
     public void moveTaskBackward(Long taskId, String reason) {
         log.info("Retour en arrière de la tâche ID: {} pour raison: {}", taskId, reason);
 
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForWorkflowById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Tâche non trouvée avec l'ID: " + taskId));
 
         WorkItemStatus newStatus = switch (task.getStatus()) {
@@ -380,8 +407,10 @@ public class TaskWorkflowService {
             );
         };
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.updateStatus(newStatus);
         taskRepository.save(task);
+        progressRollupService.onTaskChanged(task, before);
 
         log.info("Tâche '{}' renvoyée de {} vers {}. Raison: {}",
                 task.getTitle(), task.getStatus(), newStatus, reason);
@@ -4,6 +4,7 @@ import com.Agile.demo.execution.repositories.SprintBacklogRepository;
 import com.Agile.demo.execution.repositories.TaskRepository;
 import com.Agile.demo.execution.repositories.UserStoryRepository;
 import com.Agile.demo.model.*;
+import com.agile.demo.planning.index.DependencyGraphService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -11,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +28,7 @@ public class WorkflowValidationService {
     private final UserStoryRepository userStoryRepository;
     private final SprintBacklogRepository sprintBacklogRepository;
     private final TaskRepository taskRepository;
+    private final DependencyGraphService dependencyGraphService;
 
     /**
      * Valide qu'un sprint peut être démarré
@@ -36,7 +39,7 @@ public class WorkflowValidationService {
     public ValidationResult validateSprintCanStart(Long sprintId) {
         List<String> errors = new ArrayList<>();
 
-        SprintBacklog sprint = sprintBacklogRepository.findById(sprintId)
+        SprintBacklog sprint = sprintBacklogRepository.findWithStoriesById(sprintId)
                 .orElseThrow(() -> new IllegalArgumentException("Sprint non trouvé"));
 
         // Vérifier le statut
@@ -58,8 +61,9 @@ public class WorkflowValidationService {
         }
 
         // Vérifier les dépendances
+        Set<Long> blockedIds = findBlockedStoryIds(sprint);
         List<UserStory> storiesWithUnmetDeps = sprint.getUserStories().stream()
-                .filter(us -> !us.areDependenciesCompleted())
+                .filter(us -> blockedIds.contains(us.getId()))
                 .toList();
 
         if (!storiesWithUnmetDeps.isEmpty()) {
@@ -87,7 +91,7 @@ public class WorkflowValidationService {
     public ValidationResult validateTaskCanStart(Long taskId, Long userId) {
         List<String> errors = new ArrayList<>();
 
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findForWorkflowById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Tâche non trouvée"));
 
         // Vérifier le statut
@@ -104,10 +108,8 @@ public class WorkflowValidationService {
 
         // Vérifier les dépendances de la User Story
         UserStory userStory = task.getUserStory();
-        if (userStory != null && !userStory.canBeStarted()) {
-            if (!userStory.areDependenciesCompleted()) {
-                errors.add("La User Story parente a des dépendances non complétées");
-            }
+        if (userStory != null && !dependencyGraphService.isReady(userStory)) {
+            errors.add("La User Story parente a des dépendances non complétées");
         }
 
         // Vérifier que le sprint est actif si la tâche est dans un sprint
@@ -132,7 +134,7 @@ public class WorkflowValidationService {
         SprintBacklog sprint = sprintBacklogRepository.findById(sprintId)
                 .orElseThrow(() -> new IllegalArgumentException("Sprint non trouvé"));
 
-        UserStory userStory = userStoryRepository.findById(userStoryId)
+        UserStory userStory = userStoryRepository.findForSprintPlanningById(userStoryId)
                 .orElseThrow(() -> new IllegalArgumentException("User Story non trouvée"));
 
         // Vérifier le statut du sprint
@@ -147,10 +149,10 @@ public class WorkflowValidationService {
         }
 
         // Vérifier les dépendances
-        if (!userStory.areDependenciesCompleted()) {
-            List<UserStory> incompleteDeps = userStory.getDependencies().stream()
-                    .filter(dep -> dep.getStatus() != WorkItemStatus.DONE)
-                    .toList();
+        List<Long> incompleteDepIds = dependencyGraphService.getIncompleteDependencies(
+                sprint.getProject().getId(), userStoryId);
+        if (!incompleteDepIds.isEmpty()) {
+            List<UserStory> incompleteDeps = userStoryRepository.findAllById(incompleteDepIds);
 
             String depTitles = incompleteDeps.stream()
                     .map(UserStory::getTitle)
@@ -182,7 +184,7 @@ public class WorkflowValidationService {
         SprintBacklog sprint = sprintBacklogRepository.findById(sprintId)
                 .orElseThrow(() -> new IllegalArgumentException("Sprint non trouvé"));
 
-        UserStory userStory = userStoryRepository.findById(userStoryId)
+        UserStory userStory = userStoryRepository.findForSprintPlanningById(userStoryId)
                 .orElseThrow(() -> new IllegalArgumentException("User Story non trouvée"));
 
         // Vérifier que le sprint n'est pas terminé
@@ -270,7 +272,7 @@ public class WorkflowValidationService {
      * @return Rapport de santé du sprint
      */
     public SprintHealthReport analyzeSprintHealth(Long sprintId) {
-        SprintBacklog sprint = sprintBacklogRepository.findById(sprintId)
+        SprintBacklog sprint = sprintBacklogRepository.findWithStoriesById(sprintId)
                 .orElseThrow(() -> new IllegalArgumentException("Sprint non trouvé"));
 
         List<String> issues = new ArrayList<>();
@@ -278,9 +280,7 @@ public class WorkflowValidationService {
         List<String> recommendations = new ArrayList<>();
 
         // Vérifier les User Stories bloquées
-        long blockedStories = sprint.getUserStories().stream()
-                .filter(us -> !us.areDependenciesCompleted())
-                .count();
+        long blockedStories = findBlockedStoryIds(sprint).size();
         if (blockedStories > 0) {
             issues.add(String.format("%d User Story(ies) avec dépendances non satisfaites", blockedStories));
         }
@@ -343,6 +343,17 @@ public class WorkflowValidationService {
         return Math.max(0, Math.min(100, score));
     }
 
+    /**
+     * Stories du sprint ayant au moins une dépendance directe non terminée
+     * Un seul parcours du graphe de dépendances du projet, sans charger les dépendances de chaque story
+     */
+    private Set<Long> findBlockedStoryIds(SprintBacklog sprint) {
+        List<Long> storyIds = sprint.getUserStories().stream()
+                .map(UserStory::getId)
+                .toList();
+        return dependencyGraphService.findBlockedStories(sprint.getProject().getId(), storyIds);
+    }
+
     /**
      * Record pour le résultat de validation
      */
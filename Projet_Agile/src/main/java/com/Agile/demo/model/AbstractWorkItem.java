@@ -19,8 +19,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public abstract class AbstractWorkItem {
 
+    // Séquence commune aux stories et aux tâches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("work_items_seq")
     protected Long id;
 
     /**
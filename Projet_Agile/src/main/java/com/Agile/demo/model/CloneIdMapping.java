@@ -0,0 +1,63 @@
+package com.agile.demo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Table de correspondance ancien → nouvel identifiant, le temps d'un clonage de projet
+ *
+ * Les copies sont écrites par INSERT … SELECT en joignant cette table : une story copiée
+ * retrouve ainsi le nouvel id de son epic, une tâche celui de sa story. Les lignes d'un
+ * clonage (clone_id = id du nouveau backlog) sont supprimées à la fin de l'opération.
+ */
+@Entity
+@Table(name = "clone_id_map")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CloneIdMapping {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "new_id", nullable = false)
+    private Long newId;
+
+    public enum Kind {
+        EPIC,
+        STORY,
+        TASK
+    }
+
+    /**
+     * Epics et work items ont des séquences distinctes : le type fait partie de la clé
+     */
+    @Embeddable
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "clone_id", nullable = false)
+        private Long cloneId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "kind", nullable = false, length = 10)
+        private Kind kind;
+
+        @Column(name = "old_id", nullable = false)
+        private Long oldId;
+    }
+}
@@ -1,6 +1,7 @@
 package com.agile.demo.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -16,7 +17,7 @@ import java.util.List;
 public class Epic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("epics_seq")
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -35,6 +36,14 @@ public class Epic {
     @JoinColumn(name = "product_backlog_id")
     private ProductBacklog productBacklog;
 
+    /**
+     * Agrégat des stories de l'epic (points, heures, stories par statut)
+     * Maintenu par ProgressRollupService via des UPDATE incrémentaux
+     */
+    @Setter(AccessLevel.NONE)
+    @Embedded
+    private ProgressRollup progress = new ProgressRollup();
+
     public Epic(String name, String title, String description) {
         this.name = name;
         this.title = title;
@@ -0,0 +1,26 @@
+package com.agile.demo.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Identifiant généré par {@link PooledSequenceGenerator} depuis la séquence nommée
+ *
+ * Remplace @GeneratedValue + @GenericGenerator (déprécié depuis Hibernate 6.5).
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface PooledSequence {
+
+    /**
+     * Nom de la séquence (table d'une ligne sur MySQL)
+     */
+    String value();
+}
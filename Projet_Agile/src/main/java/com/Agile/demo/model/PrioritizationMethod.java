@@ -3,7 +3,8 @@ package com.agile.demo.model;
 public enum PrioritizationMethod {
     MOSCOW("MoSCoW"),
     WSJF("Weighted Shortest Job First"),
-    VALUE_EFFORT("Value vs Effort");
+    VALUE_EFFORT("Value vs Effort"),
+    CUSTOM("Formule personnalisée");
 
     private final String displayName;
 
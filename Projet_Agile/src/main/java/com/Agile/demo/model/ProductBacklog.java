@@ -2,6 +2,7 @@ package com.agile.demo.model;
 
 import com.agile.demo.planning.prioritization.PrioritizationStrategyFactory;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -17,7 +18,7 @@ import java.util.List;
 public class ProductBacklog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("product_backlogs_seq")
     private Long id;
 
     @Column(unique = true)
@@ -37,15 +38,35 @@ public class ProductBacklog {
     @Column(name = "prioritization_method")
     private PrioritizationMethod selectedMethod = PrioritizationMethod.MOSCOW;
 
+    /**
+     * Formule utilisée lorsque la méthode choisie est CUSTOM
+     * Exemple : "(2 * businessValue + timeCriticality) / storyPoints"
+     */
+    @Column(name = "prioritization_formula", length = 500)
+    private String prioritizationFormula;
+
     @Transient
     private IPrioritizationStrategy prioritizationStrategy;
 
+    /**
+     * Agrégat de toutes les stories du backlog, donc du projet
+     * Maintenu par ProgressRollupService via des UPDATE incrémentaux
+     */
+    @Setter(AccessLevel.NONE)
+    @Embedded
+    private ProgressRollup progress = new ProgressRollup();
+
+    /**
+     * Recalcule les scores et la priorité de chaque story selon la méthode choisie
+     * L'ordre manuel (rank, cf. moveBefore / moveAfter) n'est pas modifié
+     */
     public void applyPrioritization() {
         // 1. Injecter la stratégie selon la méthode choisie
         this.prioritizationStrategy = PrioritizationStrategyFactory
-                .getStrategy(selectedMethod);
+                .getStrategy(selectedMethod, prioritizationFormula);
 
         // 2. Calculer et attribuer les priorités
+        stories.forEach(UserStory::refreshScores);
         List<UserStory> sorted = prioritizationStrategy.prioritizeBacklog(stories);
 
         for (int i = 0; i < sorted.size(); i++) {
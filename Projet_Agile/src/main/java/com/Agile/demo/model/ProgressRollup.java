@@ -0,0 +1,167 @@
+package com.agile.demo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Value Object des compteurs d'avancement agrégés (points, heures, éléments par statut)
+ *
+ * Embarqué dans UserStory (agrégat de ses tâches), Epic et ProductBacklog (agrégat des stories).
+ * Les colonnes ne sont jamais écrites par le flush de l'entité (updatable = false) :
+ * elles ne sont modifiées que par des UPDATE incrémentaux atomiques, pour que deux
+ * écritures concurrentes ne s'écrasent pas.
+ *
+ * Utilisé aussi comme delta (valeurs éventuellement négatives) entre deux états.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+@ToString
+public class ProgressRollup {
+
+    private static final ProgressRollup EMPTY = new ProgressRollup();
+
+    @Column(name = "rollup_total_points", nullable = false, updatable = false)
+    private long totalPoints;
+
+    @Column(name = "rollup_done_points", nullable = false, updatable = false)
+    private long donePoints;
+
+    @Column(name = "rollup_estimated_hours", nullable = false, updatable = false)
+    private long estimatedHours;
+
+    @Column(name = "rollup_actual_hours", nullable = false, updatable = false)
+    private long actualHours;
+
+    @Column(name = "rollup_todo_count", nullable = false, updatable = false)
+    private long todoCount;
+
+    @Column(name = "rollup_in_progress_count", nullable = false, updatable = false)
+    private long inProgressCount;
+
+    @Column(name = "rollup_in_review_count", nullable = false, updatable = false)
+    private long inReviewCount;
+
+    @Column(name = "rollup_testing_count", nullable = false, updatable = false)
+    private long testingCount;
+
+    @Column(name = "rollup_done_count", nullable = false, updatable = false)
+    private long doneCount;
+
+    @Column(name = "rollup_blocked_count", nullable = false, updatable = false)
+    private long blockedCount;
+
+    public static ProgressRollup empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Agrégat lu depuis une requête (colonnes dans l'ordre des champs)
+     */
+    public static ProgressRollup of(long totalPoints, long donePoints, long estimatedHours, long actualHours,
+                                    long todoCount, long inProgressCount, long inReviewCount,
+                                    long testingCount, long doneCount, long blockedCount) {
+        return new ProgressRollup(totalPoints, donePoints, estimatedHours, actualHours,
+                todoCount, inProgressCount, inReviewCount, testingCount, doneCount, blockedCount);
+    }
+
+    /**
+     * Contribution d'une User Story à son Epic / son backlog (hors heures de ses tâches)
+     */
+    public static ProgressRollup ofStory(Integer storyPoints, WorkItemStatus status) {
+        long points = storyPoints != null ? storyPoints : 0;
+        return EMPTY.withStatus(status, 1)
+                .plus(new ProgressRollup(points, status == WorkItemStatus.DONE ? points : 0,
+                        0, 0, 0, 0, 0, 0, 0, 0));
+    }
+
+    /**
+     * Contribution d'une tâche à sa User Story
+     */
+    public static ProgressRollup ofTask(Integer estimatedHours, Integer actualHours, WorkItemStatus status) {
+        return EMPTY.withStatus(status, 1)
+                .plus(new ProgressRollup(0, 0,
+                        estimatedHours != null ? estimatedHours : 0,
+                        actualHours != null ? actualHours : 0,
+                        0, 0, 0, 0, 0, 0));
+    }
+
+    public ProgressRollup plus(ProgressRollup other) {
+        return new ProgressRollup(
+                totalPoints + other.totalPoints,
+                donePoints + other.donePoints,
+                estimatedHours + other.estimatedHours,
+                actualHours + other.actualHours,
+                todoCount + other.todoCount,
+                inProgressCount + other.inProgressCount,
+                inReviewCount + other.inReviewCount,
+                testingCount + other.testingCount,
+                doneCount + other.doneCount,
+                blockedCount + other.blockedCount
+        );
+    }
+
+    public ProgressRollup minus(ProgressRollup other) {
+        return plus(other.negate());
+    }
+
+    public ProgressRollup negate() {
+        return new ProgressRollup(-totalPoints, -donePoints, -estimatedHours, -actualHours,
+                -todoCount, -inProgressCount, -inReviewCount, -testingCount, -doneCount, -blockedCount);
+    }
+
+    /**
+     * Ne conserve que les heures : c'est la seule partie de l'agrégat d'une story
+     * qui remonte telle quelle vers l'Epic et le backlog (les compteurs y portent sur les stories)
+     */
+    public ProgressRollup hoursOnly() {
+        return new ProgressRollup(0, 0, estimatedHours, actualHours, 0, 0, 0, 0, 0, 0);
+    }
+
+    public boolean isZero() {
+        return equals(EMPTY);
+    }
+
+    public long countOf(WorkItemStatus status) {
+        return switch (status) {
+            case TODO -> todoCount;
+            case IN_PROGRESS -> inProgressCount;
+            case IN_REVIEW -> inReviewCount;
+            case TESTING -> testingCount;
+            case DONE -> doneCount;
+            case BLOCKED -> blockedCount;
+        };
+    }
+
+    public long getItemCount() {
+        return todoCount + inProgressCount + inReviewCount + testingCount + doneCount + blockedCount;
+    }
+
+    /**
+     * Pourcentage de points terminés (0 si aucun point)
+     */
+    public double getCompletionPercentage() {
+        return totalPoints == 0 ? 0.0 : (donePoints * 100.0) / totalPoints;
+    }
+
+    private ProgressRollup withStatus(WorkItemStatus status, long count) {
+        if (status == null) {
+            return this;
+        }
+        return plus(new ProgressRollup(0, 0, 0, 0,
+                status == WorkItemStatus.TODO ? count : 0,
+                status == WorkItemStatus.IN_PROGRESS ? count : 0,
+                status == WorkItemStatus.IN_REVIEW ? count : 0,
+                status == WorkItemStatus.TESTING ? count : 0,
+                status == WorkItemStatus.DONE ? count : 0,
+                status == WorkItemStatus.BLOCKED ? count : 0));
+    }
+}
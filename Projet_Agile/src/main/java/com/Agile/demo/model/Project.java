@@ -5,6 +5,8 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,9 +17,11 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "projects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 public class Project {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("projects_seq")
     private Long id;
 
     @Column(nullable = false)
@@ -36,6 +40,9 @@ public class Project {
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<SprintBacklog> sprints = new ArrayList<>();
 
+    // Collections en cache : seulement celles dont les éléments sont eux-mêmes en cache,
+    // sinon chaque élément serait relu un par un
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects.members")
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "project_members",
@@ -13,15 +13,20 @@ import java.util.List;
 @Getter
 @Setter
 @Table(name = "sprint_backlogs")
+@NamedEntityGraph(name = SprintBacklog.WITH_STORIES_GRAPH,
+        attributeNodes = {@NamedAttributeNode("project"), @NamedAttributeNode("userStories")})
 public class SprintBacklog extends AbstractBacklog {
 
+    /**
+     * Workflow du sprint : projet et User Stories en une requête
+     */
+    public static final String WITH_STORIES_GRAPH = "SprintBacklog.withStories";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("sprint_backlogs_seq")
     private Long id;
 
     @Column(nullable = false)
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer sprintNumber;
 
     @Column(nullable = false)
@@ -5,15 +5,41 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.Hibernate;
 
 @Entity
 @Table(name = "tasks")
+@NamedEntityGraph(name = Task.WORKFLOW_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("assignedUser"),
+                @NamedAttributeNode("sprintBacklog"),
+                @NamedAttributeNode(value = "userStory", subgraph = "story")
+        },
+        subgraphs = @NamedSubgraph(name = "story", attributeNodes = @NamedAttributeNode("productBacklog")))
+@NamedEntityGraph(name = Task.COMPLETION_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("assignedUser"),
+                @NamedAttributeNode("sprintBacklog"),
+                @NamedAttributeNode(value = "userStory", subgraph = "story")
+        },
+        subgraphs = @NamedSubgraph(name = "story",
+                attributeNodes = {@NamedAttributeNode("productBacklog"), @NamedAttributeNode("tasks")}))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task extends AbstractWorkItem {
 
+    /**
+     * Transitions d'une tâche : assigné, sprint, story parente et son backlog en une requête
+     */
+    public static final String WORKFLOW_GRAPH = "Task.workflow";
+
+    /**
+     * Complétion : en plus, les tâches sœurs (toutes terminées ?)
+     */
+    public static final String COMPLETION_GRAPH = "Task.completion";
+
 
 
     @Getter
@@ -228,7 +254,15 @@ public class Task extends AbstractWorkItem {
     public String toString() {
         return String.format("Task{id=%d, title='%s', estimatedHours=%d, actualHours=%d, status=%s, assigned=%s}",
                 getId(), getTitle(), estimatedHours, actualHours, getStatus(),
-                isAssigned() ? assignedUser.getUsername() : "non assignée");
+                assignedLabel());
+    }
+
+    // N'initialise pas l'assigné s'il n'est pas déjà chargé (pas de requête depuis un log)
+    private String assignedLabel() {
+        if (!isAssigned()) {
+            return "non assignée";
+        }
+        return Hibernate.isInitialized(assignedUser) ? assignedUser.getUsername() : "#" + assignedUser.getId();
     }
 
     @Override
@@ -2,18 +2,22 @@ package com.agile.demo.model;
 
 import lombok.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("users_seq")
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -27,6 +31,7 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.projects")
     @ManyToMany(mappedBy = "members", fetch = FetchType.LAZY)
     private List<Project> projects = new ArrayList<>();
 
@@ -1,6 +1,8 @@
 package com.agile.demo.model;
 
+import com.agile.demo.planning.prioritization.PrioritizationStrategyFactory;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -10,13 +12,35 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "user_stories")
+@Table(name = "user_stories", indexes = {
+        @Index(name = "idx_user_stories_backlog_moscow", columnList = "product_backlog_id, moscow_score"),
+        @Index(name = "idx_user_stories_backlog_wsjf", columnList = "product_backlog_id, wsjf_score"),
+        @Index(name = "idx_user_stories_backlog_value_effort", columnList = "product_backlog_id, value_effort_score"),
+        @Index(name = "idx_user_stories_backlog_ready", columnList = "product_backlog_id, ready, status")
+})
+@NamedEntityGraph(name = UserStory.SPRINT_PLANNING_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "productBacklog", subgraph = "backlog"),
+                @NamedAttributeNode("sprintBacklog"),
+                @NamedAttributeNode("tasks")
+        },
+        subgraphs = @NamedSubgraph(name = "backlog", attributeNodes = @NamedAttributeNode("project")))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserStory extends AbstractWorkItem {
 
+    /**
+     * Ajout / retrait d'un sprint : backlog et projet, sprint courant et tâches en une requête
+     */
+    public static final String SPRINT_PLANNING_GRAPH = "UserStory.sprintPlanning";
+
+    /**
+     * Écart initial entre deux clés de rang consécutives
+     */
+    public static final long RANK_GAP = 1L << 16;
+
     /**
      * Description structurée de la User Story (Value Object)
      * Format: "En tant que [role], je veux [action] afin de [purpose]"
@@ -43,6 +67,13 @@ public class UserStory extends AbstractWorkItem {
     @Column(name = "priority", nullable = false)
     private Integer priority = 0;
 
+    /**
+     * Clé de rang espacée définissant l'ordre manuel du backlog
+     * Un déplacement ne modifie que cette valeur pour la story déplacée
+     */
+    @Column(name = "backlog_rank")
+    private Long rank;
+
     // ===== DONNÉES POUR LE CALCUL DE PRIORISATION =====
 
     /**
@@ -73,6 +104,60 @@ public class UserStory extends AbstractWorkItem {
     @Column(name = "risk_reduction", nullable = false)
     private Integer riskReduction = 5;
 
+    // ===== SCORES PERSISTÉS PAR STRATÉGIE =====
+
+    /**
+     * Scores recalculés à chaque modification des données de priorisation (cf. refreshScores)
+     * Indexés avec product_backlog_id pour lire un top N sans charger le backlog
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "moscow_score")
+    private Integer moscowScore;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "wsjf_score")
+    private Integer wsjfScore;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "value_effort_score")
+    private Integer valueEffortScore;
+
+    // ===== DISPONIBILITÉ (DÉPENDANCES) =====
+
+    /**
+     * Nombre de dépendances directes non terminées
+     *
+     * En base, compteur et indicateur ne changent que par des UPDATE atomiques
+     * (UserStoryRepository.decrement / incrementOutstandingDependencies) : le flush de l'entité
+     * ne les réécrit pas, deux dépendances terminées en même temps ne perdent donc pas de décrément.
+     * Les valeurs en mémoire suivent addDependency / removeDependency pour l'instance chargée.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "outstanding_dependencies", nullable = false, updatable = false)
+    private int outstandingDependencies = 0;
+
+    /**
+     * Vrai quand toutes les dépendances directes sont terminées (outstandingDependencies == 0)
+     *
+     * Seule définition de la disponibilité : une dépendance terminée compte comme livrée, même si
+     * l'une des siennes a été réouverte depuis (cf. DependencyGraphService.isReady).
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "ready", nullable = false, updatable = false)
+    private boolean ready = true;
+
+    // ===== AVANCEMENT =====
+
+    /**
+     * Agrégat des tâches de la story (heures, tâches par statut)
+     * Maintenu par ProgressRollupService via des UPDATE incrémentaux
+     * Exposé par getProgressRollup() : getProgress() est le pourcentage d'AbstractWorkItem
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Embedded
+    private ProgressRollup progress = new ProgressRollup();
+
     // ===== RELATIONS =====
 
     /**
@@ -110,7 +195,9 @@ public class UserStory extends AbstractWorkItem {
     @JoinTable(
             name = "user_story_dependencies",
             joinColumns = @JoinColumn(name = "user_story_id"),
-            inverseJoinColumns = @JoinColumn(name = "depends_on_id")
+            inverseJoinColumns = @JoinColumn(name = "depends_on_id"),
+            // Index inverse : "qui dépend de moi"
+            indexes = @Index(name = "idx_user_story_dependencies_depends_on", columnList = "depends_on_id")
     )
     private List<UserStory> dependencies = new ArrayList<>();
 
@@ -201,22 +288,84 @@ public class UserStory extends AbstractWorkItem {
 
     /**
      * Ajoute une dépendance (cette story dépend d'une autre)
+     *
+     * @return false si la dépendance existait déjà
      */
-    public void addDependency(UserStory dependency) {
-        if (!dependencies.contains(dependency)) {
-            dependencies.add(dependency);
+    public boolean addDependency(UserStory dependency) {
+        if (dependencies.contains(dependency)) {
+            return false;
+        }
+        dependencies.add(dependency);
+        if (!dependency.isDone()) {
+            outstandingDependencies++;
+            ready = false;
         }
+        refreshScores();
+        return true;
     }
 
     /**
      * Retire une dépendance
+     *
+     * @return false si la story ne dépendait pas de {@code dependency}
      */
-    public void removeDependency(UserStory dependency) {
-        dependencies.remove(dependency);
+    public boolean removeDependency(UserStory dependency) {
+        if (!dependencies.remove(dependency)) {
+            return false;
+        }
+        if (!dependency.isDone()) {
+            outstandingDependencies = Math.max(0, outstandingDependencies - 1);
+            ready = outstandingDependencies == 0;
+        }
+        refreshScores();
+        return true;
+    }
+
+    // ===== SCORES =====
+
+    /**
+     * Recalcule le score persisté de chaque méthode de priorisation
+     *
+     * Appelé à la création et par les services qui modifient les données de priorisation,
+     * pas par les setters : le score MoSCoW lit les dépendances, qu'un simple setter ne doit pas charger.
+     */
+    public void refreshScores() {
+        if (storyPoints == null || businessValue == null || urgency == null
+                || timeCriticality == null || riskReduction == null) {
+            return;
+        }
+        this.moscowScore = PrioritizationStrategyFactory.getStrategy(PrioritizationMethod.MOSCOW).calculatePriority(this);
+        this.wsjfScore = PrioritizationStrategyFactory.getStrategy(PrioritizationMethod.WSJF).calculatePriority(this);
+        this.valueEffortScore = PrioritizationStrategyFactory.getStrategy(PrioritizationMethod.VALUE_EFFORT).calculatePriority(this);
+    }
+
+    /**
+     * Retourne le score persisté pour une méthode de priorisation
+     */
+    public Integer getScore(PrioritizationMethod method) {
+        return switch (method) {
+            case WSJF -> wsjfScore;
+            case VALUE_EFFORT -> valueEffortScore;
+            case MOSCOW -> moscowScore;
+            case CUSTOM -> null;
+        };
+    }
+
+    @Override
+    protected void onCreate() {
+        super.onCreate();
+        refreshScores();
     }
 
     // ===== MÉTHODES MÉTIER =====
 
+    /**
+     * Agrégat d'avancement des tâches (heures, tâches par statut)
+     */
+    public ProgressRollup getProgressRollup() {
+        return progress;
+    }
+
     /**
      * Calcule le pourcentage de complétion basé sur les tâches
      */
@@ -238,6 +387,13 @@ public class UserStory extends AbstractWorkItem {
                 .allMatch(task -> task.getStatus() == WorkItemStatus.DONE);
     }
 
+    /**
+     * Description structurée (rôle, action, objectif)
+     */
+    public UserStoryDescription getStructuredDescription() {
+        return description;
+    }
+
     /**
      * Obtient la description formatée complète
      */
@@ -285,9 +441,10 @@ public class UserStory extends AbstractWorkItem {
 
     /**
      * Vérifie si la User Story peut être démarrée
+     * S'appuie sur l'indicateur maintenu de façon incrémentale (aucun chargement des dépendances)
      */
     public boolean canBeStarted() {
-        return getStatus() == WorkItemStatus.TODO && areDependenciesCompleted();
+        return getStatus() == WorkItemStatus.TODO && ready;
     }
 
     // ===== MÉTHODES STANDARD =====
@@ -0,0 +1,11 @@
+package com.agile.demo.model.projection;
+
+/**
+ * Ligne de liste d'un epic, avec son avancement en points (sans la description)
+ */
+public record EpicSummary(Long id, String title, long totalPoints, long donePoints) {
+
+    public double getCompletionPercentage() {
+        return totalPoints == 0 ? 0.0 : (donePoints * 100.0) / totalPoints;
+    }
+}
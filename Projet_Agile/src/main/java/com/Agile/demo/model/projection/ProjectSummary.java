@@ -0,0 +1,8 @@
+package com.agile.demo.model.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Ligne de liste d'un projet (sans la description)
+ */
+public record ProjectSummary(Long id, String name, LocalDate startDate, LocalDate endDate) {}
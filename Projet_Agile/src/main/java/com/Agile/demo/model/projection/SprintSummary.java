@@ -0,0 +1,11 @@
+package com.agile.demo.model.projection;
+
+import com.agile.demo.model.SprintStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Ligne de liste d'un sprint (sans l'objectif ni la description)
+ */
+public record SprintSummary(Long id, String name, Integer sprintNumber, SprintStatus status,
+                            LocalDate startDate, LocalDate endDate) {}
@@ -0,0 +1,12 @@
+package com.agile.demo.model.projection;
+
+import com.agile.demo.model.WorkItemStatus;
+
+/**
+ * Ligne de liste d'une User Story
+ *
+ * Ni description structurée ni critères d'acceptation ; l'epic et le sprint ne sont
+ * représentés que par leur identifiant (clé étrangère, sans jointure).
+ */
+public record StorySummary(Long id, String title, WorkItemStatus status, Integer storyPoints,
+                           Integer priority, Long rank, boolean ready, Long epicId, Long sprintBacklogId) {}
@@ -0,0 +1,14 @@
+package com.agile.demo.model.projection;
+
+import com.agile.demo.model.WorkItemStatus;
+
+/**
+ * Ligne de liste d'une tâche, avec le nom de l'assigné (sans la description)
+ */
+public record TaskSummary(Long id, String title, WorkItemStatus status, Integer estimatedHours,
+                          Integer actualHours, Long userStoryId, Long assignedUserId, String assignedUsername) {
+
+    public int getRemainingHours() {
+        return Math.max(0, estimatedHours - actualHours);
+    }
+}
@@ -0,0 +1,8 @@
+package com.agile.demo.model.projection;
+
+import com.agile.demo.model.Role;
+
+/**
+ * Ligne de liste d'un utilisateur (jamais le mot de passe)
+ */
+public record UserSummary(Long id, String username, String email, Role role) {}
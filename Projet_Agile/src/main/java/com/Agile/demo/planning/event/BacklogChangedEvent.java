@@ -0,0 +1,19 @@
+package com.agile.demo.planning.event;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Modification en masse d'un backlog (import, repriorisation, réordonnancement, epics)
+ * Les caches concernés repartent de la base plutôt que de suivre chaque story
+ */
+public record BacklogChangedEvent(Long backlogId, Long projectId, Set<StoryChange> changes) {
+
+    public static BacklogChangedEvent of(Long backlogId, Long projectId, StoryChange change, StoryChange... others) {
+        return new BacklogChangedEvent(backlogId, projectId, EnumSet.of(change, others));
+    }
+
+    public boolean affects(StoryChange change, StoryChange... others) {
+        return StoryChange.anyOf(changes, change, others);
+    }
+}
@@ -0,0 +1,30 @@
+package com.agile.demo.planning.event;
+
+import java.util.Set;
+
+/**
+ * Nature d'une modification de story (ou de backlog), pour que chaque cache ne réagisse qu'à ce qui le concerne
+ */
+public enum StoryChange {
+    CREATED,
+    PRIORITIZATION,   // données de priorisation : valeur, urgence, points...
+    SCORES,           // scores ou méthode de priorisation recalculés
+    ORDER,            // rang dans le backlog
+    ESTIMATES,        // story points ou heures des tâches
+    SPRINT,           // entrée ou sortie de sprint
+    STATUS,
+    EPIC,             // rattachement aux epics, ou epic créé, renommé, supprimé
+    DEPENDENCIES;
+
+    static boolean anyOf(Set<StoryChange> changes, StoryChange change, StoryChange... others) {
+        if (changes.contains(change)) {
+            return true;
+        }
+        for (StoryChange other : others) {
+            if (changes.contains(other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
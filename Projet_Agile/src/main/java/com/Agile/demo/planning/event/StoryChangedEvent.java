@@ -0,0 +1,34 @@
+package com.agile.demo.planning.event;
+
+import com.agile.demo.model.UserStory;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Une story a été créée ou modifiée
+ *
+ * Publié dans la transaction qui la modifie ; les caches l'écoutent après le commit
+ * ({@code @TransactionalEventListener}) et lisent alors l'état validé de l'instance.
+ */
+public record StoryChangedEvent(UserStory story, Set<StoryChange> changes) {
+
+    public static StoryChangedEvent of(UserStory story, StoryChange change, StoryChange... others) {
+        return new StoryChangedEvent(story, EnumSet.of(change, others));
+    }
+
+    public boolean affects(StoryChange change, StoryChange... others) {
+        return StoryChange.anyOf(changes, change, others);
+    }
+
+    public Long backlogId() {
+        return story.getProductBacklog() == null ? null : story.getProductBacklog().getId();
+    }
+
+    public Long projectId() {
+        if (story.getProductBacklog() == null || story.getProductBacklog().getProject() == null) {
+            return null;
+        }
+        return story.getProductBacklog().getProject().getId();
+    }
+}
@@ -0,0 +1,17 @@
+package com.agile.demo.planning.event;
+
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.UserStory;
+
+/**
+ * Une story a été supprimée (identifiants relevés avant la suppression)
+ */
+public record StoryDeletedEvent(Long storyId, Long backlogId, Long projectId) {
+
+    public static StoryDeletedEvent of(UserStory story) {
+        ProductBacklog backlog = story.getProductBacklog();
+        return new StoryDeletedEvent(story.getId(),
+                backlog == null ? null : backlog.getId(),
+                backlog == null || backlog.getProject() == null ? null : backlog.getProject().getId());
+    }
+}
@@ -0,0 +1,72 @@
+package com.agile.demo.planning.index;
+
+import com.agile.demo.model.PrioritizationMethod;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classement en mémoire d'un Product Backlog selon le score de sa stratégie active
+ * Deux arbres sont maintenus : toutes les stories, et celles hors sprint
+ */
+final class BacklogRankIndex {
+
+    private record IndexedStory(int score, boolean unassigned) {}
+
+    private final PrioritizationMethod method;
+    private final OrderStatisticTree allStories = new OrderStatisticTree();
+    private final OrderStatisticTree unassignedStories = new OrderStatisticTree();
+    private final Map<Long, IndexedStory> stories = new HashMap<>();
+
+    BacklogRankIndex(PrioritizationMethod method) {
+        this.method = method;
+    }
+
+    PrioritizationMethod getMethod() {
+        return method;
+    }
+
+    synchronized void upsert(long storyId, int score, boolean unassigned) {
+        remove(storyId);
+        stories.put(storyId, new IndexedStory(score, unassigned));
+        allStories.insert(score, storyId);
+        if (unassigned) {
+            unassignedStories.insert(score, storyId);
+        }
+    }
+
+    synchronized void remove(long storyId) {
+        IndexedStory previous = stories.remove(storyId);
+        if (previous == null) {
+            return;
+        }
+        allStories.remove(previous.score(), storyId);
+        if (previous.unassigned()) {
+            unassignedStories.remove(previous.score(), storyId);
+        }
+    }
+
+    synchronized List<OrderStatisticTree.Entry> page(int page, int size) {
+        return allStories.range(page * size, size);
+    }
+
+    /**
+     * Rang (1 = plus prioritaire) ou -1 si la story n'est pas indexée
+     */
+    synchronized int rankOf(long storyId) {
+        IndexedStory story = stories.get(storyId);
+        if (story == null) {
+            return -1;
+        }
+        return allStories.positionOf(story.score(), storyId) + 1;
+    }
+
+    synchronized List<OrderStatisticTree.Entry> topUnassigned(int limit) {
+        return unassignedStories.range(0, limit);
+    }
+
+    synchronized int size() {
+        return allStories.size();
+    }
+}
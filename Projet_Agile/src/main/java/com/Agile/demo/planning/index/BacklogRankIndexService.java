@@ -0,0 +1,210 @@
+package com.agile.demo.planning.index;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.config.PrimaryReads;
+import com.agile.demo.model.IPrioritizationStrategy;
+import com.agile.demo.model.PrioritizationMethod;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.event.StoryDeletedEvent;
+import com.agile.demo.planning.prioritization.PrioritizationStrategyFactory;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index classé en mémoire de chaque Product Backlog
+ *
+ * Répond en O(log n) à "page k du backlog", "rang de la story X" et "top N hors sprint".
+ * L'index est construit à la première lecture puis maintenu de façon incrémentale
+ * (création, modification, suppression, entrée ou sortie de sprint) à partir des événements
+ * de story, après chaque commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BacklogRankIndexService {
+
+    private final ProductBacklogRepository productBacklogRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<Long, BacklogRankIndex> indexes = new ConcurrentHashMap<>();
+
+    // Version par backlog, incrémentée après chaque commit : une reconstruction concurrente n'est pas mise en cache
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // ===== LECTURES =====
+
+    public List<RankedStory> getPage(Long backlogId, int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new BusinessException("Page index must be >= 0 and page size > 0");
+        }
+        return toRankedStories(indexFor(backlogId).page(page, size));
+    }
+
+    /**
+     * Rang de la story dans son backlog (1 = plus prioritaire)
+     */
+    public int getRank(Long backlogId, Long storyId) {
+        int rank = indexFor(backlogId).rankOf(storyId);
+        if (rank < 0) {
+            throw new ResourceNotFoundException("UserStory", storyId);
+        }
+        return rank;
+    }
+
+    public List<RankedStory> getTopUnassigned(Long backlogId, int limit) {
+        return toRankedStories(indexFor(backlogId).topUnassigned(limit));
+    }
+
+    // ===== MISES À JOUR INCRÉMENTALES =====
+    // Après le commit, hors transaction : une construction concurrente qui aurait lu les lignes
+    // d'avant le commit est soit écartée (version), soit corrigée par l'upsert.
+
+    /**
+     * Une story a été créée ou modifiée (données de priorisation, scores, dépendances, sprint)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onStoryChanged(StoryChangedEvent event) {
+        if (!event.affects(StoryChange.CREATED, StoryChange.PRIORITIZATION, StoryChange.SCORES,
+                StoryChange.SPRINT, StoryChange.DEPENDENCIES)) {
+            return;
+        }
+        UserStory story = event.story();
+        if (story.getProductBacklog() == null || story.getId() == null) {
+            return;
+        }
+        ProductBacklog backlog = story.getProductBacklog();
+        Long backlogId = backlog.getId();
+        PrioritizationMethod method = backlog.getSelectedMethod();
+
+        bumpVersion(backlogId);
+        BacklogRankIndex index = indexes.get(backlogId);
+        if (index == null) {
+            return; // sera construit à la prochaine lecture
+        }
+        if (index.getMethod() == method) {
+            index.upsert(story.getId(), scoreOf(story, method, strategyFor(method, backlog)),
+                    story.getSprintBacklog() == null);
+        } else {
+            indexes.remove(backlogId, index);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onStoryDeleted(StoryDeletedEvent event) {
+        if (event.backlogId() == null) {
+            return;
+        }
+        bumpVersion(event.backlogId());
+        BacklogRankIndex index = indexes.get(event.backlogId());
+        if (index != null) {
+            index.remove(event.storyId());
+        }
+    }
+
+    /**
+     * Scores ou méthode de priorisation du backlog recalculés : reconstruction à la prochaine lecture
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onBacklogChanged(BacklogChangedEvent event) {
+        if (event.backlogId() == null || !event.affects(StoryChange.PRIORITIZATION, StoryChange.SCORES)) {
+            return;
+        }
+        bumpVersion(event.backlogId());
+        indexes.remove(event.backlogId());
+    }
+
+    // ===== CONSTRUCTION =====
+
+    private BacklogRankIndex indexFor(Long backlogId) {
+        BacklogRankIndex index = indexes.get(backlogId);
+        if (index != null) {
+            return index;
+        }
+
+        long version = versionOf(backlogId).get();
+        // Construit depuis le primaire : un index lu sur la réplique en retard resterait en cache
+        BacklogRankIndex built = PrimaryReads.call(transactionManager, () -> build(backlogId));
+        if (versionOf(backlogId).get() != version || !PrimaryReads.isCacheable()) {
+            return built; // modifié pendant la construction ou transaction en écriture : non mis en cache
+        }
+        BacklogRankIndex existing = indexes.putIfAbsent(backlogId, built);
+        if (existing != null) {
+            return existing;
+        }
+        if (versionOf(backlogId).get() != version) {
+            // Commit concurrent entre la vérification et la mise en cache : l'index n'a pas vu sa mise à jour
+            indexes.remove(backlogId, built);
+        }
+        return built;
+    }
+
+    private BacklogRankIndex build(Long backlogId) {
+        ProductBacklog backlog = productBacklogRepository.findById(backlogId)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductBacklog", backlogId));
+        PrioritizationMethod method = backlog.getSelectedMethod();
+        IPrioritizationStrategy strategy = strategyFor(method, backlog);
+
+        // Les scores persistés évitent de charger les dépendances, sauf pour une formule personnalisée
+        List<UserStory> stories = method == PrioritizationMethod.CUSTOM
+                ? userStoryRepository.findByProductBacklogIdWithDependencies(backlogId)
+                : userStoryRepository.findByProductBacklogId(backlogId);
+
+        BacklogRankIndex index = new BacklogRankIndex(method);
+        for (UserStory story : stories) {
+            index.upsert(story.getId(), scoreOf(story, method, strategy), story.getSprintBacklog() == null);
+        }
+        log.debug("Rank index built for backlog {} ({} stories, method {})", backlogId, stories.size(), method);
+        return index;
+    }
+
+    private IPrioritizationStrategy strategyFor(PrioritizationMethod method, ProductBacklog backlog) {
+        return PrioritizationStrategyFactory.getStrategy(method, backlog.getPrioritizationFormula());
+    }
+
+    private static int scoreOf(UserStory story, PrioritizationMethod method, IPrioritizationStrategy strategy) {
+        Integer persisted = story.getScore(method);
+        return persisted != null ? persisted : strategy.calculatePriority(story);
+    }
+
+    private AtomicLong versionOf(Long backlogId) {
+        return versions.computeIfAbsent(backlogId, id -> new AtomicLong());
+    }
+
+    private void bumpVersion(Long backlogId) {
+        versionOf(backlogId).incrementAndGet();
+    }
+
+    private static List<RankedStory> toRankedStories(List<OrderStatisticTree.Entry> entries) {
+        return entries.stream()
+                .map(entry -> new RankedStory(entry.id(), entry.score(), entry.position() + 1))
+                .toList();
+    }
+
+    /**
+     * Story classée : identifiant, score de la stratégie active et rang (1 = premier)
+     */
+    public record RankedStory(Long storyId, int score, int rank) {}
+}
@@ -0,0 +1,261 @@
+package com.agile.demo.planning.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Graphe des dépendances entre User Stories d'un projet, en tableaux primitifs
+ *
+ * Chaque story est un sommet indexé ; une arête u -> v signifie "u dépend de v".
+ * Les listes d'adjacence (dépendances et dépendants) sont des int[] extensibles :
+ * ajout en O(1) amorti, retrait en O(degré), parcours sans objet intermédiaire.
+ * Toutes les requêtes de parcours sont en O(V + E).
+ */
+final class DependencyGraph {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<Long, Integer> indexById = new HashMap<>();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private boolean[] done = new boolean[INITIAL_CAPACITY];
+    private int[][] dependencies = new int[INITIAL_CAPACITY][];
+    private int[] dependencyCount = new int[INITIAL_CAPACITY];
+    private int[][] dependents = new int[INITIAL_CAPACITY][];
+    private int[] dependentCount = new int[INITIAL_CAPACITY];
+    private int size;
+
+    // ===== CONSTRUCTION =====
+
+    /**
+     * Ajoute le sommet s'il est absent et met à jour son statut
+     */
+    synchronized void putStory(long storyId, boolean isDone) {
+        int node = nodeOf(storyId);
+        done[node] = isDone;
+    }
+
+    synchronized boolean contains(long storyId) {
+        return indexById.containsKey(storyId);
+    }
+
+    /**
+     * Ajoute l'arête storyId -> dependsOnId (les sommets doivent exister)
+     *
+     * @return false si l'arête existait déjà
+     */
+    synchronized boolean addEdge(long storyId, long dependsOnId) {
+        int from = indexById.get(storyId);
+        int to = indexById.get(dependsOnId);
+        if (indexOf(dependencies[from], dependencyCount[from], to) >= 0) {
+            return false;
+        }
+        dependencies[from] = append(dependencies[from], dependencyCount[from]++, to);
+        dependents[to] = append(dependents[to], dependentCount[to]++, from);
+        return true;
+    }
+
+    synchronized boolean removeEdge(long storyId, long dependsOnId) {
+        Integer from = indexById.get(storyId);
+        Integer to = indexById.get(dependsOnId);
+        if (from == null || to == null) {
+            return false;
+        }
+        int position = indexOf(dependencies[from], dependencyCount[from], to);
+        if (position < 0) {
+            return false;
+        }
+        dependencies[from][position] = dependencies[from][--dependencyCount[from]];
+        int reverse = indexOf(dependents[to], dependentCount[to], from);
+        dependents[to][reverse] = dependents[to][--dependentCount[to]];
+        return true;
+    }
+
+    // ===== REQUÊTES =====
+
+    /**
+     * Vrai si l'arête storyId -> dependsOnId fermerait un cycle,
+     * c'est-à-dire si storyId est déjà atteignable depuis dependsOnId
+     */
+    synchronized boolean wouldCreateCycle(long storyId, long dependsOnId) {
+        if (storyId == dependsOnId) {
+            return true;
+        }
+        Integer from = indexById.get(storyId);
+        Integer to = indexById.get(dependsOnId);
+        if (from == null || to == null) {
+            return false;
+        }
+        boolean[] visited = new boolean[size];
+        int[] stack = new int[size];
+        int top = 0;
+        stack[top++] = to;
+        visited[to] = true;
+        while (top > 0) {
+            int node = stack[--top];
+            if (node == from) {
+                return true;
+            }
+            for (int k = 0; k < dependencyCount[node]; k++) {
+                int next = dependencies[node][k];
+                if (!visited[next]) {
+                    visited[next] = true;
+                    stack[top++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Travail amont restant : dépendances non terminées de la story et, derrière elles, les leurs
+     * (ordre de parcours en largeur). Le parcours s'arrête aux dépendances terminées, déjà livrées :
+     * la liste est vide exactement quand toutes les dépendances directes sont terminées.
+     */
+    synchronized List<Long> incompleteDependenciesOf(long storyId) {
+        Integer start = indexById.get(storyId);
+        if (start == null) {
+            return List.of();
+        }
+        boolean[] visited = new boolean[size];
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visited[start] = true;
+        List<Long> incomplete = new ArrayList<>();
+        while (head < tail) {
+            int node = queue[head++];
+            for (int k = 0; k < dependencyCount[node]; k++) {
+                int next = dependencies[node][k];
+                if (!visited[next] && !done[next]) {
+                    visited[next] = true;
+                    queue[tail++] = next;
+                    incomplete.add(ids[next]);
+                }
+            }
+        }
+        return incomplete;
+    }
+
+    /**
+     * Indicateur "bloquée" de chaque sommet : au moins une dépendance directe non terminée
+     */
+    synchronized boolean[] blockedFlags() {
+        boolean[] blocked = new boolean[size];
+        for (int node = 0; node < size; node++) {
+            for (int k = 0; k < dependencyCount[node] && !blocked[node]; k++) {
+                blocked[node] = !done[dependencies[node][k]];
+            }
+        }
+        return blocked;
+    }
+
+    synchronized int indexOfStory(long storyId) {
+        Integer index = indexById.get(storyId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Ordre topologique (dépendances d'abord) des identifiants de stories
+     *
+     * @throws IllegalStateException si le graphe contient un cycle (données antérieures au contrôle)
+     */
+    synchronized List<Long> topologicalOrder() {
+        int[] order = topologicalIndices();
+        if (order.length != size) {
+            throw new IllegalStateException("Dependency graph contains a cycle");
+        }
+        List<Long> result = new ArrayList<>(size);
+        for (int node : order) {
+            result.add(ids[node]);
+        }
+        return result;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Copie figée du graphe (sommets, dépendances, ordre topologique) pour les calculs longs
+     * Un ordre plus court que le nombre de sommets signale un cycle
+     */
+    synchronized DependencyGraphService.Topology snapshot() {
+        int[][] copy = new int[size][];
+        for (int node = 0; node < size; node++) {
+            copy[node] = Arrays.copyOf(dependencies[node], dependencyCount[node]);
+        }
+        return new DependencyGraphService.Topology(Arrays.copyOf(ids, size), Arrays.copyOf(done, size),
+                copy, topologicalIndices());
+    }
+
+    /**
+     * Algorithme de Kahn : sommets sans dépendance restante d'abord
+     * Les sommets appartenant à un cycle sont absents du résultat
+     */
+    private int[] topologicalIndices() {
+        int[] remaining = Arrays.copyOf(dependencyCount, size);
+        int[] queue = new int[size];
+        int tail = 0;
+        for (int node = 0; node < size; node++) {
+            if (remaining[node] == 0) {
+                queue[tail++] = node;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int node = queue[head];
+            for (int k = 0; k < dependentCount[node]; k++) {
+                int dependent = dependents[node][k];
+                if (--remaining[dependent] == 0) {
+                    queue[tail++] = dependent;
+                }
+            }
+        }
+        return tail == size ? queue : Arrays.copyOf(queue, tail);
+    }
+
+    // ===== STOCKAGE =====
+
+    private int nodeOf(long storyId) {
+        Integer existing = indexById.get(storyId);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            done = Arrays.copyOf(done, capacity);
+            dependencies = Arrays.copyOf(dependencies, capacity);
+            dependencyCount = Arrays.copyOf(dependencyCount, capacity);
+            dependents = Arrays.copyOf(dependents, capacity);
+            dependentCount = Arrays.copyOf(dependentCount, capacity);
+        }
+        int node = size++;
+        ids[node] = storyId;
+        dependencies[node] = EMPTY;
+        dependents[node] = EMPTY;
+        indexById.put(storyId, node);
+        return node;
+    }
+
+    private static int[] append(int[] values, int count, int value) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, count * 2));
+        }
+        values[count] = value;
+        return values;
+    }
+
+    private static int indexOf(int[] values, int count, int value) {
+        for (int k = 0; k < count; k++) {
+            if (values[k] == value) {
+                return k;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,332 @@
+package com.agile.demo.planning.index;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.config.PrimaryReads;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryDeletedEvent;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Graphe de dépendances en mémoire de chaque projet
+ *
+ * Chargé en une requête à la première lecture, puis tenu à jour par addDependency,
+ * removeDependency et les changements de statut ; abandonné après la suppression d'une story. Les modifications sont appliquées
+ * immédiatement (le contrôle de cycle voit ainsi les ajouts concurrents), puis de nouveau
+ * après le commit, où la version est incrémentée : un graphe chargé entre-temps depuis
+ * les lignes d'avant le commit reçoit ainsi la modification. Le graphe du projet est
+ * abandonné si la transaction est annulée.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class DependencyGraphService {
+
+    private final UserStoryRepository userStoryRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<Long, DependencyGraph> graphs = new ConcurrentHashMap<>();
+
+    // Version par projet, incrémentée après chaque commit : un chargement concurrent n'est pas mis en cache
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // ===== LECTURES =====
+
+    /**
+     * Vrai si toutes les dépendances directes de la story sont terminées (même définition que UserStory.ready)
+     * Une dépendance terminée compte comme livrée, même si l'une des siennes a été réouverte depuis
+     */
+    public boolean isReady(Long projectId, Long storyId) {
+        return graphFor(projectId).incompleteDependenciesOf(storyId).isEmpty();
+    }
+
+    /**
+     * Variante résolvant le projet depuis la story (dépendances directes si la story n'a pas de projet)
+     */
+    public boolean isReady(UserStory story) {
+        Long projectId = projectIdOf(story);
+        return projectId == null ? story.areDependenciesCompleted() : isReady(projectId, story.getId());
+    }
+
+    /**
+     * Dépendances non terminées de la story et, derrière elles, les leurs (vide si la story est prête)
+     */
+    public List<Long> getIncompleteDependencies(Long projectId, Long storyId) {
+        return graphFor(projectId).incompleteDependenciesOf(storyId);
+    }
+
+    /**
+     * Parmi les stories données, celles qui ont au moins une dépendance directe non terminée
+     * Un seul parcours du graphe quel que soit le nombre de stories
+     */
+    public Set<Long> findBlockedStories(Long projectId, Collection<Long> storyIds) {
+        DependencyGraph graph = graphFor(projectId);
+        boolean[] blocked = graph.blockedFlags();
+        Set<Long> result = new HashSet<>();
+        for (Long storyId : storyIds) {
+            int node = graph.indexOfStory(storyId);
+            if (node >= 0 && node < blocked.length && blocked[node]) {
+                result.add(storyId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ordre de réalisation compatible avec les dépendances (dépendances d'abord)
+     */
+    public List<Long> getTopologicalOrder(Long projectId) {
+        try {
+            return graphFor(projectId).topologicalOrder();
+        } catch (IllegalStateException e) {
+            throw new BusinessException("Project " + projectId + " has cyclic dependencies");
+        }
+    }
+
+    /**
+     * Copie du graphe du projet pour les calculs d'ordonnancement
+     */
+    public Topology getTopology(Long projectId) {
+        return graphFor(projectId).snapshot();
+    }
+
+    /**
+     * Version du graphe du projet, incrémentée après chaque modification validée (dépendance ou statut)
+     */
+    public long getVersion(Long projectId) {
+        return versionOf(projectId).get();
+    }
+
+    // ===== MISES À JOUR =====
+
+    /**
+     * Enregistre story -> dependency après contrôle de cycle
+     *
+     * @throws BusinessException si la dépendance fermerait un cycle
+     */
+    public void addDependency(UserStory story, UserStory dependency) {
+        Long projectId = projectIdOf(story);
+        if (projectId == null) {
+            return;
+        }
+        long storyId = story.getId();
+        long dependencyId = dependency.getId();
+        boolean storyDone = isDone(story);
+        boolean dependencyDone = isDone(dependency);
+        Consumer<DependencyGraph> edit = graph -> {
+            graph.putStory(storyId, storyDone);
+            graph.putStory(dependencyId, dependencyDone);
+            graph.addEdge(storyId, dependencyId);
+        };
+
+        DependencyGraph graph = graphFor(projectId);
+        synchronized (graph) {
+            if (graph.wouldCreateCycle(storyId, dependencyId)) {
+                throw new BusinessException(String.format(
+                        "Adding dependency %d -> %d would create a cycle", storyId, dependencyId));
+            }
+            edit.accept(graph);
+        }
+        reapplyAfterCommit(projectId, edit);
+    }
+
+    public void removeDependency(UserStory story, UserStory dependency) {
+        Long projectId = projectIdOf(story);
+        if (projectId == null) {
+            return;
+        }
+        long storyId = story.getId();
+        long dependencyId = dependency.getId();
+        Consumer<DependencyGraph> edit = graph -> graph.removeEdge(storyId, dependencyId);
+
+        DependencyGraph graph = graphs.get(projectId);
+        if (graph != null) {
+            edit.accept(graph);
+        }
+        reapplyAfterCommit(projectId, edit);
+    }
+
+    /**
+     * Le statut d'une story a changé (terminée ou réouverte)
+     * Tous les graphes chargés qui la contiennent sont mis à jour (dépendances inter-projets)
+     */
+    public void onStatusChanged(UserStory story) {
+        long storyId = story.getId();
+        boolean isDone = isDone(story);
+        Long ownProjectId = projectIdOf(story);
+        Set<Long> touched = new HashSet<>();
+        graphs.forEach((projectId, graph) -> {
+            if (graph.contains(storyId)) {
+                graph.putStory(storyId, isDone);
+                touched.add(projectId);
+            }
+        });
+
+        afterCompletion(committed -> {
+            if (!committed) {
+                touched.forEach(this::drop);
+                return;
+            }
+            graphs.forEach((projectId, graph) -> {
+                if (graph.contains(storyId)) {
+                    graph.putStory(storyId, isDone);
+                    bumpVersion(projectId);
+                }
+            });
+            if (ownProjectId != null) {
+                bumpVersion(ownProjectId);
+            }
+        });
+    }
+
+    /**
+     * Une story a été supprimée : le graphe du projet sera rechargé à la prochaine lecture
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onStoryDeleted(StoryDeletedEvent event) {
+        if (event.projectId() != null) {
+            drop(event.projectId());
+        }
+    }
+
+    /**
+     * Dépendances modifiées en masse (import) : rechargement à la prochaine lecture
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onBacklogChanged(BacklogChangedEvent event) {
+        if (event.projectId() != null && event.affects(StoryChange.DEPENDENCIES)) {
+            drop(event.projectId());
+        }
+    }
+
+    // ===== CHARGEMENT =====
+
+    DependencyGraph graphFor(Long projectId) {
+        DependencyGraph graph = graphs.get(projectId);
+        if (graph != null) {
+            return graph;
+        }
+
+        long version = versionOf(projectId).get();
+        // Chargé depuis le primaire : un graphe lu sur la réplique en retard resterait en cache
+        DependencyGraph loaded = PrimaryReads.call(transactionManager, () -> load(projectId));
+        if (versionOf(projectId).get() != version || !PrimaryReads.isCacheable()) {
+            return loaded;
+        }
+        DependencyGraph existing = graphs.putIfAbsent(projectId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (versionOf(projectId).get() != version) {
+            // Commit concurrent entre la vérification et la mise en cache : sa modification peut manquer
+            graphs.remove(projectId, loaded);
+        }
+        return loaded;
+    }
+
+    private DependencyGraph load(Long projectId) {
+        List<Object[]> rows = userStoryRepository.findDependencyEdgesByProjectId(projectId);
+        DependencyGraph graph = new DependencyGraph();
+        for (Object[] row : rows) {
+            long storyId = ((Number) row[0]).longValue();
+            graph.putStory(storyId, row[1] == WorkItemStatus.DONE);
+            if (row[2] != null) {
+                long dependsOnId = ((Number) row[2]).longValue();
+                graph.putStory(dependsOnId, row[3] == WorkItemStatus.DONE);
+                graph.addEdge(storyId, dependsOnId);
+            }
+        }
+        log.debug("Dependency graph loaded for project {} ({} stories)", projectId, graph.size());
+        return graph;
+    }
+
+    /**
+     * Après le commit : version incrémentée et modification rejouée sur le graphe alors en cache
+     * (les modifications sont idempotentes) ; après une annulation : graphe abandonné
+     */
+    private void reapplyAfterCommit(Long projectId, Consumer<DependencyGraph> edit) {
+        afterCompletion(committed -> {
+            if (!committed) {
+                drop(projectId);
+                return;
+            }
+            bumpVersion(projectId);
+            DependencyGraph graph = graphs.get(projectId);
+            if (graph != null) {
+                edit.accept(graph);
+            }
+        });
+    }
+
+    private void drop(Long projectId) {
+        bumpVersion(projectId);
+        graphs.remove(projectId);
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+
+    private void bumpVersion(Long projectId) {
+        versionOf(projectId).incrementAndGet();
+    }
+
+    private AtomicLong versionOf(Long projectId) {
+        return versions.computeIfAbsent(projectId, id -> new AtomicLong());
+    }
+
+    private static Long projectIdOf(UserStory story) {
+        if (story.getProductBacklog() == null || story.getProductBacklog().getProject() == null) {
+            return null;
+        }
+        return story.getProductBacklog().getProject().getId();
+    }
+
+    private static boolean isDone(UserStory story) {
+        return story.getStatus() == WorkItemStatus.DONE;
+    }
+
+    /**
+     * Graphe figé : dependencies[i] contient les indices des dépendances du sommet i,
+     * topologicalOrder les indices, dépendances d'abord (incomplet en cas de cycle)
+     */
+    public record Topology(long[] storyIds, boolean[] done, int[][] dependencies, int[] topologicalOrder) {
+
+        public boolean hasCycle() {
+            return topologicalOrder.length != storyIds.length;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.agile.demo.planning.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Arbre d'ordre statistique (treap) sur des clés (score, id)
+ * Ordre : score décroissant puis id croissant
+ *
+ * Insertion, suppression, rang d'une clé et accès à la k-ième clé en O(log n) attendu ;
+ * une page de m éléments est lue en O(log n + m)
+ */
+final class OrderStatisticTree {
+
+    private static final class Node {
+        final int score;
+        final long id;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(int score, long id, int priority) {
+            this.score = score;
+            this.id = id;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Élément lu dans l'arbre avec sa position (0 = premier)
+     */
+    record Entry(long id, int score, int position) {}
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(int score, long id) {
+        Node[] parts = split(root, score, id, false);
+        root = merge(merge(parts[0], new Node(score, id, random.nextInt())), parts[1]);
+    }
+
+    boolean remove(int score, long id) {
+        Node[] lower = split(root, score, id, false);
+        Node[] upper = split(lower[1], score, id, true);
+        root = merge(lower[0], upper[1]);
+        return upper[0] != null;
+    }
+
+    /**
+     * Position (0 = premier) de la clé, ou -1 si absente
+     */
+    int positionOf(int score, long id) {
+        int position = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(score, id, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                position += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return position + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lit au plus limit éléments à partir de la position offset
+     */
+    List<Entry> range(int offset, int limit) {
+        List<Entry> result = new ArrayList<>(Math.max(0, Math.min(limit, size() - offset)));
+        collect(root, offset, limit, 0, result);
+        return result;
+    }
+
+    private void collect(Node node, int offset, int limit, int base, List<Entry> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        int nodePosition = base + size(node.left);
+        if (offset < nodePosition) {
+            collect(node.left, offset, limit, base, out);
+        }
+        if (out.size() < limit && nodePosition >= offset) {
+            out.add(new Entry(node.id, node.score, nodePosition));
+        }
+        if (out.size() < limit) {
+            collect(node.right, offset, limit, nodePosition + 1, out);
+        }
+    }
+
+    // ===== TREAP =====
+
+    /**
+     * Sépare l'arbre en [clés < key] et [clés >= key] (ou <= / > si inclusive)
+     */
+    private Node[] split(Node node, int score, long id, boolean inclusive) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        int cmp = compare(score, id, node);
+        boolean nodeGoesLeft = inclusive ? cmp >= 0 : cmp > 0;
+        if (nodeGoesLeft) {
+            Node[] parts = split(node.right, score, id, inclusive);
+            node.right = parts[0];
+            update(node);
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, score, id, inclusive);
+        node.left = parts[1];
+        update(node);
+        return new Node[]{parts[0], node};
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    /**
+     * Compare la clé (score, id) au noeud selon l'ordre du backlog
+     */
+    private static int compare(int score, long id, Node node) {
+        if (score != node.score) {
+            return score > node.score ? -1 : 1;
+        }
+        return Long.compare(id, node.id);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+}
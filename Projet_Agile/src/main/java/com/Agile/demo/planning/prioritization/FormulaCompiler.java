@@ -0,0 +1,310 @@
+package com.agile.demo.planning.prioritization;
+
+import com.agile.demo.model.UserStory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compile une formule de priorisation en arbre de MethodHandle de type (UserStory)double
+ *
+ * Grammaire :
+ *   expr    := term (('+' | '-') term)*
+ *   term    := unary (('*' | '/') unary)*
+ *   unary   := '-' unary | primary
+ *   primary := nombre | variable | fonction '(' expr (',' expr)* ')' | '(' expr ')'
+ *
+ * Variables : businessValue, urgency, timeCriticality, riskReduction, storyPoints, dependencies
+ * Fonctions : min(a, b), max(a, b)
+ * Une division par zéro utilise un diviseur de 1, comme WSJFStrategy
+ *
+ * La formule est analysée une seule fois ; le résultat est mis en cache par formule
+ * et exécuté ensuite sans interprétation d'AST (le JIT peut inliner l'arbre).
+ * Les formules venant des utilisateurs, le cache est borné à {@value #CACHE_SIZE} entrées (LRU).
+ */
+public final class FormulaCompiler {
+
+    static final MethodType SCORE_TYPE = MethodType.methodType(double.class, UserStory.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType BINARY_TYPE = MethodType.methodType(double.class, double.class, double.class);
+
+    private static final MethodHandle ADD = helper("add", BINARY_TYPE);
+    private static final MethodHandle SUBTRACT = helper("subtract", BINARY_TYPE);
+    private static final MethodHandle MULTIPLY = helper("multiply", BINARY_TYPE);
+    private static final MethodHandle DIVIDE = helper("divide", BINARY_TYPE);
+    private static final MethodHandle MIN = helper("min", BINARY_TYPE);
+    private static final MethodHandle MAX = helper("max", BINARY_TYPE);
+    private static final MethodHandle NEGATE = helper("negate", MethodType.methodType(double.class, double.class));
+
+    private static final Map<String, MethodHandle> VARIABLES = Map.of(
+            "businessValue", integerGetter("getBusinessValue"),
+            "urgency", integerGetter("getUrgency"),
+            "timeCriticality", integerGetter("getTimeCriticality"),
+            "riskReduction", integerGetter("getRiskReduction"),
+            "storyPoints", integerGetter("getStoryPoints"),
+            "dependencies", dependencyCount()
+    );
+
+    private static final Map<String, MethodHandle> FUNCTIONS = Map.of(
+            "min", MIN,
+            "max", MAX
+    );
+
+    static final int CACHE_SIZE = 256;
+
+    private static final Map<String, MethodHandle> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, MethodHandle> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private FormulaCompiler() {}
+
+    /**
+     * Retourne l'arbre compilé de la formule (mis en cache)
+     *
+     * @throws IllegalArgumentException si la formule est invalide
+     */
+    public static MethodHandle compile(String formula) {
+        if (formula == null || formula.isBlank()) {
+            throw new IllegalArgumentException("La formule de priorisation est vide");
+        }
+        return CACHE.computeIfAbsent(formula.trim(), f -> new Parser(f).parse());
+    }
+
+    // ===== ANALYSE SYNTAXIQUE =====
+
+    /**
+     * Opérande en cours de construction ; les sous-expressions constantes sont pliées
+     */
+    private record Operand(MethodHandle handle, double value, boolean constant) {
+
+        static Operand of(double value) {
+            MethodHandle handle = MethodHandles.dropArguments(
+                    MethodHandles.constant(double.class, value), 0, UserStory.class);
+            return new Operand(handle, value, true);
+        }
+
+        static Operand of(MethodHandle handle) {
+            return new Operand(handle, 0, false);
+        }
+    }
+
+    private static final class Parser {
+        private final String source;
+        private int pos;
+
+        Parser(String source) {
+            this.source = source;
+        }
+
+        MethodHandle parse() {
+            Operand result = expression();
+            skipWhitespace();
+            if (pos < source.length()) {
+                throw error("caractère inattendu '" + source.charAt(pos) + "'");
+            }
+            return result.handle();
+        }
+
+        private Operand expression() {
+            Operand left = term();
+            while (true) {
+                if (accept('+')) {
+                    left = binary(ADD, left, term());
+                } else if (accept('-')) {
+                    left = binary(SUBTRACT, left, term());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Operand term() {
+            Operand left = unary();
+            while (true) {
+                if (accept('*')) {
+                    left = binary(MULTIPLY, left, unary());
+                } else if (accept('/')) {
+                    left = binary(DIVIDE, left, unary());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Operand unary() {
+            if (accept('-')) {
+                Operand operand = unary();
+                if (operand.constant()) {
+                    return Operand.of(-operand.value());
+                }
+                return Operand.of(MethodHandles.filterReturnValue(operand.handle(), NEGATE));
+            }
+            return primary();
+        }
+
+        private Operand primary() {
+            skipWhitespace();
+            if (accept('(')) {
+                Operand inner = expression();
+                expect(')');
+                return inner;
+            }
+            if (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+                return number();
+            }
+            if (pos < source.length() && Character.isLetter(source.charAt(pos))) {
+                String name = identifier();
+                MethodHandle function = FUNCTIONS.get(name);
+                if (function != null) {
+                    expect('(');
+                    Operand first = expression();
+                    expect(',');
+                    Operand second = expression();
+                    expect(')');
+                    return binary(function, first, second);
+                }
+                MethodHandle variable = VARIABLES.get(name);
+                if (variable == null) {
+                    throw error("variable inconnue '" + name + "'");
+                }
+                return Operand.of(variable);
+            }
+            throw error("expression attendue");
+        }
+
+        private Operand number() {
+            int start = pos;
+            while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+                pos++;
+            }
+            try {
+                return Operand.of(Double.parseDouble(source.substring(start, pos)));
+            } catch (NumberFormatException e) {
+                throw error("nombre invalide '" + source.substring(start, pos) + "'");
+            }
+        }
+
+        private String identifier() {
+            int start = pos;
+            while (pos < source.length() && Character.isLetterOrDigit(source.charAt(pos))) {
+                pos++;
+            }
+            return source.substring(start, pos);
+        }
+
+        private boolean accept(char c) {
+            skipWhitespace();
+            if (pos < source.length() && source.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!accept(c)) {
+                throw error("'" + c + "' attendu");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(
+                    String.format("Formule invalide '%s' (position %d): %s", source, pos, message));
+        }
+    }
+
+    // ===== CONSTRUCTION DE L'ARBRE =====
+
+    private static Operand binary(MethodHandle operator, Operand left, Operand right) {
+        if (left.constant() && right.constant()) {
+            try {
+                return Operand.of((double) operator.invokeExact(left.value(), right.value()));
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+        // (UserStory, UserStory)double puis fusion des deux arguments en un seul
+        MethodHandle combined = MethodHandles.filterArguments(operator, 0, left.handle(), right.handle());
+        return Operand.of(MethodHandles.permuteArguments(combined, SCORE_TYPE, 0, 0));
+    }
+
+    private static MethodHandle helper(String name, MethodType type) {
+        try {
+            return LOOKUP.findStatic(FormulaCompiler.class, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle integerGetter(String getter) {
+        try {
+            MethodHandle handle = LOOKUP.findVirtual(UserStory.class, getter, MethodType.methodType(Integer.class));
+            return MethodHandles.filterReturnValue(handle,
+                    helper("toDouble", MethodType.methodType(double.class, Integer.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static MethodHandle dependencyCount() {
+        try {
+            MethodHandle handle = LOOKUP.findVirtual(UserStory.class, "getDependencies", MethodType.methodType(List.class));
+            return MethodHandles.filterReturnValue(handle,
+                    helper("size", MethodType.methodType(double.class, List.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static double add(double a, double b) {
+        return a + b;
+    }
+
+    private static double subtract(double a, double b) {
+        return a - b;
+    }
+
+    private static double multiply(double a, double b) {
+        return a * b;
+    }
+
+    private static double divide(double a, double b) {
+        return a / (b == 0 ? 1 : b);
+    }
+
+    private static double min(double a, double b) {
+        return Math.min(a, b);
+    }
+
+    private static double max(double a, double b) {
+        return Math.max(a, b);
+    }
+
+    private static double negate(double a) {
+        return -a;
+    }
+
+    private static double toDouble(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static double size(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+}
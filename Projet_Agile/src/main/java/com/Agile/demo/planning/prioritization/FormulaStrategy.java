@@ -0,0 +1,57 @@
+package com.agile.demo.planning.prioritization;
+
+import com.agile.demo.model.IPrioritizationStrategy;
+import com.agile.demo.model.UserStory;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Stratégie de priorisation définie par une formule utilisateur
+ * Exemple : "(2 * businessValue + timeCriticality) / storyPoints"
+ *
+ * Le score est un réel : le tri du backlog compare les réels, le score entier (index de rang,
+ * colonnes persistées) est arrondi à l'entier inférieur comme la division entière des
+ * stratégies natives.
+ */
+public class FormulaStrategy implements IPrioritizationStrategy {
+
+    private final String formula;
+    private final MethodHandle scorer;
+
+    public FormulaStrategy(String formula) {
+        this.formula = formula;
+        this.scorer = FormulaCompiler.compile(formula);
+    }
+
+    @Override
+    public int calculatePriority(UserStory story) {
+        return (int) Math.floor(score(story));
+    }
+
+    /**
+     * Trie sur le score réel : deux stories à 2,5 et 2,0 ne sont pas ex aequo
+     */
+    @Override
+    public List<UserStory> prioritizeBacklog(List<UserStory> stories) {
+        return stories.stream()
+                .sorted(Comparator.comparingDouble(this::score).reversed())
+                .collect(Collectors.toList());
+    }
+
+    public double score(UserStory story) {
+        try {
+            return (double) scorer.invokeExact(story);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Évaluation de la formule impossible: " + formula, t);
+        }
+    }
+
+    public String getFormula() {
+        return formula;
+    }
+}
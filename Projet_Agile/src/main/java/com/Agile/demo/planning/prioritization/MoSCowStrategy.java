@@ -17,7 +17,11 @@ public class MoSCowStrategy implements IPrioritizationStrategy {
 
     // Méthode helper pour classifier après coup
     public String getMoSCowCategory(UserStory story) {
-        int score = calculatePriority(story);
+        return categoryOf(calculatePriority(story));
+    }
+
+    // Classification d'un score déjà calculé (évite de recalculer le score)
+    public static String categoryOf(int score) {
         if (score >= 15) return "MUST_HAVE";
         if (score >= 10) return "SHOULD_HAVE";
         if (score >= 5) return "COULD_HAVE";
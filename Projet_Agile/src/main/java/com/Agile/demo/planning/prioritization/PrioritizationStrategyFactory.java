@@ -11,4 +11,11 @@ public class PrioritizationStrategyFactory {
             default -> new MoSCowStrategy();
         };
     }
+
+    public static IPrioritizationStrategy getStrategy(PrioritizationMethod method, String formula) {
+        if (method == PrioritizationMethod.CUSTOM) {
+            return new FormulaStrategy(formula);
+        }
+        return getStrategy(method);
+    }
 }
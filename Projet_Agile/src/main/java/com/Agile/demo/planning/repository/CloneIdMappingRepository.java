@@ -0,0 +1,127 @@
+package com.agile.demo.planning.repository;
+
+import com.agile.demo.model.CloneIdMapping;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Requêtes ensemblistes du clonage de projet (ProjectCloneService)
+ *
+ * Chaque copie est un INSERT … SELECT joint à clone_id_map : aucune entité n'est chargée.
+ * Les copies repartent de zéro (statut TODO, sans sprint ni assignation, heures réalisées à 0) ;
+ * leurs agrégats d'avancement sont calculés dans le même ordre SQL à partir des lignes sources.
+ */
+@Repository
+public interface CloneIdMappingRepository extends JpaRepository<CloneIdMapping, CloneIdMapping.Key> {
+
+    // ===== IDENTIFIANTS SOURCES =====
+
+    @Query("SELECT e.id FROM Epic e WHERE e.productBacklog.id = :backlogId ORDER BY e.id")
+    List<Long> findEpicIdsByProductBacklogId(Long backlogId);
+
+    @Query("SELECT us.id FROM UserStory us WHERE us.productBacklog.id = :backlogId ORDER BY us.id")
+    List<Long> findStoryIdsByProductBacklogId(Long backlogId);
+
+    @Query("SELECT t.id FROM Task t WHERE t.userStory.productBacklog.id = :backlogId ORDER BY t.id")
+    List<Long> findTaskIdsByProductBacklogId(Long backlogId);
+
+    // ===== COPIES =====
+
+    /**
+     * Agrégat d'un epic neuf : points et nombre de ses stories, heures estimées de leurs tâches
+     */
+    @Modifying
+    @Query(value = "INSERT INTO epics (id, name, title, description, product_backlog_id, " +
+            "rollup_total_points, rollup_done_points, rollup_estimated_hours, rollup_actual_hours, " +
+            "rollup_todo_count, rollup_in_progress_count, rollup_in_review_count, rollup_testing_count, " +
+            "rollup_done_count, rollup_blocked_count) " +
+            "SELECT m.new_id, CONCAT(e.name, :nameSuffix), e.title, e.description, :targetBacklogId, " +
+            "(SELECT COALESCE(SUM(s.story_points), 0) FROM user_stories s WHERE s.epic_id = e.id), 0, " +
+            "(SELECT COALESCE(SUM(t.estimated_hours), 0) FROM tasks t " +
+            "JOIN user_stories s ON s.id = t.user_story_id WHERE s.epic_id = e.id), 0, " +
+            "(SELECT COUNT(*) FROM user_stories s WHERE s.epic_id = e.id), 0, 0, 0, 0, 0 " +
+            "FROM epics e JOIN clone_id_map m ON m.old_id = e.id " +
+            "WHERE m.clone_id = :cloneId AND m.kind = 'EPIC'",
+            nativeQuery = true)
+    int insertEpicCopies(Long cloneId, Long targetBacklogId, String nameSuffix);
+
+    /**
+     * Agrégat d'une story neuve : heures estimées et nombre de ses tâches (toutes TODO)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_stories (id, title, status, created_date, updated_date, " +
+            "role, action, purpose, acceptance_criteria, story_points, priority, backlog_rank, " +
+            "business_value, urgency, time_criticality, risk_reduction, " +
+            "moscow_score, wsjf_score, value_effort_score, outstanding_dependencies, ready, " +
+            "epic_id, product_backlog_id, " +
+            "rollup_total_points, rollup_done_points, rollup_estimated_hours, rollup_actual_hours, " +
+            "rollup_todo_count, rollup_in_progress_count, rollup_in_review_count, rollup_testing_count, " +
+            "rollup_done_count, rollup_blocked_count) " +
+            "SELECT m.new_id, s.title, 'TODO', :now, :now, " +
+            "s.role, s.action, s.purpose, s.acceptance_criteria, s.story_points, s.priority, s.backlog_rank, " +
+            "s.business_value, s.urgency, s.time_criticality, s.risk_reduction, " +
+            "s.moscow_score, s.wsjf_score, s.value_effort_score, 0, TRUE, " +
+            "em.new_id, :targetBacklogId, 0, 0, " +
+            "(SELECT COALESCE(SUM(t.estimated_hours), 0) FROM tasks t WHERE t.user_story_id = s.id), 0, " +
+            "(SELECT COUNT(*) FROM tasks t WHERE t.user_story_id = s.id), 0, 0, 0, 0, 0 " +
+            "FROM user_stories s " +
+            "JOIN clone_id_map m ON m.old_id = s.id AND m.clone_id = :cloneId AND m.kind = 'STORY' " +
+            "LEFT JOIN clone_id_map em ON em.old_id = s.epic_id AND em.clone_id = :cloneId AND em.kind = 'EPIC'",
+            nativeQuery = true)
+    int insertStoryCopies(Long cloneId, Long targetBacklogId, LocalDateTime now);
+
+    /**
+     * Seules les dépendances internes au backlog source sont reprises
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_story_dependencies (user_story_id, depends_on_id) " +
+            "SELECT sm.new_id, dm.new_id FROM user_story_dependencies d " +
+            "JOIN clone_id_map sm ON sm.old_id = d.user_story_id AND sm.clone_id = :cloneId AND sm.kind = 'STORY' " +
+            "JOIN clone_id_map dm ON dm.old_id = d.depends_on_id AND dm.clone_id = :cloneId AND dm.kind = 'STORY'",
+            nativeQuery = true)
+    int insertDependencyCopies(Long cloneId);
+
+    /**
+     * Toutes les copies étant TODO, chaque dépendance copiée est en attente
+     */
+    @Modifying
+    @Query(value = "UPDATE user_stories SET ready = FALSE, outstanding_dependencies = " +
+            "(SELECT COUNT(*) FROM user_story_dependencies d WHERE d.user_story_id = user_stories.id) " +
+            "WHERE product_backlog_id = :backlogId " +
+            "AND id IN (SELECT d.user_story_id FROM user_story_dependencies d)",
+            nativeQuery = true)
+    int markCopiesWithDependenciesNotReady(Long backlogId);
+
+    @Modifying
+    @Query(value = "INSERT INTO tasks (id, title, status, created_date, updated_date, " +
+            "description, estimated_hours, actual_hours, user_story_id) " +
+            "SELECT m.new_id, t.title, 'TODO', :now, :now, t.description, t.estimated_hours, 0, sm.new_id " +
+            "FROM tasks t " +
+            "JOIN clone_id_map m ON m.old_id = t.id AND m.clone_id = :cloneId AND m.kind = 'TASK' " +
+            "JOIN clone_id_map sm ON sm.old_id = t.user_story_id AND sm.clone_id = :cloneId AND sm.kind = 'STORY'",
+            nativeQuery = true)
+    int insertTaskCopies(Long cloneId, LocalDateTime now);
+
+    /**
+     * Agrégat du backlog neuf, calculé sur ses stories déjà copiées
+     */
+    @Modifying
+    @Query(value = "UPDATE product_backlogs SET " +
+            "rollup_total_points = (SELECT COALESCE(SUM(s.story_points), 0) FROM user_stories s " +
+            "WHERE s.product_backlog_id = :backlogId), " +
+            "rollup_estimated_hours = (SELECT COALESCE(SUM(s.rollup_estimated_hours), 0) FROM user_stories s " +
+            "WHERE s.product_backlog_id = :backlogId), " +
+            "rollup_todo_count = (SELECT COUNT(*) FROM user_stories s WHERE s.product_backlog_id = :backlogId) " +
+            "WHERE id = :backlogId",
+            nativeQuery = true)
+    int refreshBacklogRollup(Long backlogId);
+
+    @Modifying
+    @Query("DELETE FROM CloneIdMapping m WHERE m.key.cloneId = :cloneId")
+    int deleteByCloneId(Long cloneId);
+}
@@ -1,19 +1,69 @@
 package com.agile.demo.planning.repository;
 
+import com.agile.demo.model.ProgressRollup;
 import com.agile.demo.model.Epic;
+import com.agile.demo.model.projection.EpicSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EpicRepository extends JpaRepository<Epic, Long> {
 
     List<Epic> findByProductBacklogId(Long productBacklogId);
 
+    /**
+     * Epics d'un backlog pour les listes (projection, hors contexte de persistance)
+     */
+    @Query("SELECT new com.agile.demo.model.projection.EpicSummary(" +
+            "e.id, e.title, e.progress.totalPoints, e.progress.donePoints) " +
+            "FROM Epic e WHERE e.productBacklog.id = :backlogId ORDER BY e.id")
+    List<EpicSummary> findSummariesByProductBacklogId(Long backlogId);
+
+    @Query("SELECT new com.agile.demo.model.projection.EpicSummary(" +
+            "e.id, e.title, e.progress.totalPoints, e.progress.donePoints) " +
+            "FROM Epic e WHERE e.productBacklog.id = :backlogId AND e.id > :afterId ORDER BY e.id")
+    List<EpicSummary> findSummaryPageByProductBacklogId(Long backlogId, Long afterId, Pageable pageable);
+
     boolean existsByTitleAndProductBacklogId(String title, Long productBacklogId);
 
     @Query("SELECT e FROM Epic e LEFT JOIN FETCH e.userStories WHERE e.id = :id")
     Optional<Epic> findByIdWithUserStories(Long id);
-}
\ No newline at end of file
+
+    /**
+     * Epics d'un backlog en flux (curseur, entités en lecture seule) ; à consommer dans une transaction
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT e FROM Epic e WHERE e.productBacklog.id = :backlogId ORDER BY e.id")
+    Stream<Epic> streamByProductBacklogId(Long backlogId);
+
+    /**
+     * Ajoute atomiquement un delta à l'agrégat de l'epic
+     */
+    @Modifying
+    @Query("UPDATE Epic e SET " +
+            "e.progress.totalPoints = e.progress.totalPoints + :#{#delta.totalPoints}, " +
+            "e.progress.donePoints = e.progress.donePoints + :#{#delta.donePoints}, " +
+            "e.progress.estimatedHours = e.progress.estimatedHours + :#{#delta.estimatedHours}, " +
+            "e.progress.actualHours = e.progress.actualHours + :#{#delta.actualHours}, " +
+            "e.progress.todoCount = e.progress.todoCount + :#{#delta.todoCount}, " +
+            "e.progress.inProgressCount = e.progress.inProgressCount + :#{#delta.inProgressCount}, " +
+            "e.progress.inReviewCount = e.progress.inReviewCount + :#{#delta.inReviewCount}, " +
+            "e.progress.testingCount = e.progress.testingCount + :#{#delta.testingCount}, " +
+            "e.progress.doneCount = e.progress.doneCount + :#{#delta.doneCount}, " +
+            "e.progress.blockedCount = e.progress.blockedCount + :#{#delta.blockedCount} " +
+            "WHERE e.id = :id")
+    int applyProgressDelta(Long id, ProgressRollup delta);
+
+    @Query("SELECT e.progress FROM Epic e WHERE e.id = :id")
+    Optional<ProgressRollup> findProgressById(Long id);
+}
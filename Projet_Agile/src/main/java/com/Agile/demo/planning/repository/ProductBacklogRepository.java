@@ -1,7 +1,11 @@
 package com.agile.demo.planning.repository;
 
+import com.agile.demo.model.ProgressRollup;
 import com.agile.demo.model.ProductBacklog;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
@@ -13,4 +17,35 @@ public interface ProductBacklogRepository extends JpaRepository<ProductBacklog,
 
     @Query("SELECT pb FROM ProductBacklog pb LEFT JOIN FETCH pb.stories WHERE pb.id = :id")
     Optional<ProductBacklog> findByIdWithStories(Long id);
-}
\ No newline at end of file
+
+    /**
+     * Verrouille le backlog (SELECT ... FOR UPDATE) pour sérialiser les réordonnancements
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pb FROM ProductBacklog pb WHERE pb.id = :id")
+    Optional<ProductBacklog> findByIdForUpdate(Long id);
+
+    /**
+     * Ajoute atomiquement un delta à l'agrégat du backlog
+     */
+    @Modifying
+    @Query("UPDATE ProductBacklog pb SET " +
+            "pb.progress.totalPoints = pb.progress.totalPoints + :#{#delta.totalPoints}, " +
+            "pb.progress.donePoints = pb.progress.donePoints + :#{#delta.donePoints}, " +
+            "pb.progress.estimatedHours = pb.progress.estimatedHours + :#{#delta.estimatedHours}, " +
+            "pb.progress.actualHours = pb.progress.actualHours + :#{#delta.actualHours}, " +
+            "pb.progress.todoCount = pb.progress.todoCount + :#{#delta.todoCount}, " +
+            "pb.progress.inProgressCount = pb.progress.inProgressCount + :#{#delta.inProgressCount}, " +
+            "pb.progress.inReviewCount = pb.progress.inReviewCount + :#{#delta.inReviewCount}, " +
+            "pb.progress.testingCount = pb.progress.testingCount + :#{#delta.testingCount}, " +
+            "pb.progress.doneCount = pb.progress.doneCount + :#{#delta.doneCount}, " +
+            "pb.progress.blockedCount = pb.progress.blockedCount + :#{#delta.blockedCount} " +
+            "WHERE pb.id = :id")
+    int applyProgressDelta(Long id, ProgressRollup delta);
+
+    @Query("SELECT pb.progress FROM ProductBacklog pb WHERE pb.id = :id")
+    Optional<ProgressRollup> findProgressById(Long id);
+
+    @Query("SELECT pb.progress FROM ProductBacklog pb WHERE pb.project.id = :projectId")
+    Optional<ProgressRollup> findProgressByProjectId(Long projectId);
+}
@@ -1,12 +1,19 @@
 package com.agile.demo.planning.repository;
 
 import com.agile.demo.model.Project;
+import com.agile.demo.model.User;
+import com.agile.demo.model.projection.ProjectSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
@@ -24,4 +31,37 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     @Query("SELECT p FROM Project p JOIN p.members m WHERE m.id = :userId")
     List<Project> findProjectsByMemberId(Long userId);
+
+    /**
+     * Membres d'un projet en flux (curseur, entités en lecture seule) ; à consommer dans une transaction
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT m FROM Project p JOIN p.members m WHERE p.id = :projectId ORDER BY m.id")
+    Stream<User> streamMembersByProjectId(Long projectId);
+
+    // ===== PROJECTIONS DE LISTE (colonnes affichées seulement, hors contexte de persistance) =====
+
+    String PROJECT_SUMMARY = "SELECT new com.agile.demo.model.projection.ProjectSummary(" +
+            "p.id, p.name, p.startDate, p.endDate) FROM Project p ";
+
+    @Query(PROJECT_SUMMARY + "ORDER BY p.id")
+    List<ProjectSummary> findAllSummaries();
+
+    @Query(PROJECT_SUMMARY + "WHERE p.endDate < :date ORDER BY p.id")
+    List<ProjectSummary> findCompletedProjectSummaries(LocalDate date);
+
+    @Query(PROJECT_SUMMARY + "JOIN p.members m WHERE m.id = :userId ORDER BY p.id")
+    List<ProjectSummary> findSummariesByMemberId(Long userId);
+
+    // Pages par clé (id) : lecture d'index à partir de :afterId, quelle que soit la profondeur
+
+    @Query(PROJECT_SUMMARY + "WHERE p.id > :afterId ORDER BY p.id")
+    List<ProjectSummary> findSummaryPage(Long afterId, Pageable pageable);
+
+    @Query(PROJECT_SUMMARY + "WHERE p.endDate < :date AND p.id > :afterId ORDER BY p.id")
+    List<ProjectSummary> findCompletedProjectSummaryPage(LocalDate date, Long afterId, Pageable pageable);
+
+    @Query(PROJECT_SUMMARY + "JOIN p.members m WHERE m.id = :userId AND p.id > :afterId ORDER BY p.id")
+    List<ProjectSummary> findSummaryPageByMemberId(Long userId, Long afterId, Pageable pageable);
 }
\ No newline at end of file
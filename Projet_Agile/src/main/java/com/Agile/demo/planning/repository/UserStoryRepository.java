@@ -1,11 +1,22 @@
 package com.agile.demo.planning.repository;
 
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProgressRollup;
 import com.agile.demo.model.UserStory;
 import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.model.projection.StorySummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserStoryRepository extends JpaRepository<UserStory, Long> {
@@ -23,4 +34,235 @@ public interface UserStoryRepository extends JpaRepository<UserStory, Long> {
 
     @Query("SELECT us FROM UserStory us WHERE us.productBacklog.id = :backlogId AND us.sprintBacklog IS NULL ORDER BY us.priority ASC")
     List<UserStory> findUnassignedStoriesByBacklogId(Long backlogId);
-}
\ No newline at end of file
+
+    @Query("SELECT DISTINCT us FROM UserStory us LEFT JOIN FETCH us.dependencies WHERE us.productBacklog.id = :backlogId")
+    List<UserStory> findByProductBacklogIdWithDependencies(Long backlogId);
+
+    // ===== TOP N PAR SCORE PERSISTÉ (parcours d'index) =====
+
+    List<UserStory> findByProductBacklogIdOrderByMoscowScoreDescIdAsc(Long productBacklogId, Pageable pageable);
+
+    List<UserStory> findByProductBacklogIdOrderByWsjfScoreDescIdAsc(Long productBacklogId, Pageable pageable);
+
+    List<UserStory> findByProductBacklogIdOrderByValueEffortScoreDescIdAsc(Long productBacklogId, Pageable pageable);
+
+    // ===== RANG ESPACÉ (ORDRE MANUEL) =====
+
+    @Query("SELECT us FROM UserStory us WHERE us.productBacklog.id = :backlogId ORDER BY us.rank ASC NULLS LAST, us.id ASC")
+    List<UserStory> findByProductBacklogIdOrderedByRank(Long backlogId);
+
+    @Query("SELECT us.id FROM UserStory us WHERE us.productBacklog.id = :backlogId " +
+            "ORDER BY us.rank ASC NULLS LAST, us.priority ASC, us.id ASC")
+    List<Long> findIdsByProductBacklogIdOrderedByRank(Long backlogId);
+
+    /**
+     * Stories d'un backlog en flux, dans l'ordre du backlog (curseur, entités en lecture seule)
+     * A consommer dans une transaction
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT us FROM UserStory us WHERE us.productBacklog.id = :backlogId ORDER BY us.rank ASC NULLS LAST, us.id ASC")
+    Stream<UserStory> streamByProductBacklogIdOrderedByRank(Long backlogId);
+
+    /**
+     * Projection brute (id, valeur, points, criticité) des stories non terminées
+     * Aucune entité n'est chargée : adaptée aux analyses sur de très gros backlogs
+     */
+    @Query("SELECT us.id, us.businessValue, us.storyPoints, us.timeCriticality FROM UserStory us " +
+            "WHERE us.productBacklog.id = :backlogId AND us.status <> com.agile.demo.model.WorkItemStatus.DONE")
+    List<Object[]> findValueEffortProjectionByProductBacklogId(Long backlogId);
+
+    /**
+     * Sommets et arêtes du graphe de dépendances d'un projet en une seule requête
+     * Une ligne par arête (id, statut, id dépendance, statut dépendance), dépendance nulle si aucune
+     */
+    @Query("SELECT us.id, us.status, dep.id, dep.status FROM UserStory us LEFT JOIN us.dependencies dep " +
+            "WHERE us.productBacklog.project.id = :projectId")
+    List<Object[]> findDependencyEdgesByProjectId(Long projectId);
+
+    /**
+     * Stories dépendant directement de la story donnée (index inverse sur depends_on_id)
+     */
+    @Query("SELECT us FROM UserStory us JOIN us.dependencies dep WHERE dep.id = :storyId")
+    List<UserStory> findDependentsOf(Long storyId);
+
+    @Query("SELECT us.id FROM UserStory us JOIN us.dependencies dep WHERE dep.id = :storyId")
+    List<Long> findDependentIdsOf(Long storyId);
+
+    // ===== DISPONIBILITÉ (mises à jour atomiques du compteur de dépendances) =====
+
+    /**
+     * Une dépendance directe des stories est terminée ou retirée
+     * ready est affecté en premier, depuis l'ancienne valeur du compteur (MySQL évalue le SET dans l'ordre)
+     */
+    @Modifying
+    @Query("UPDATE UserStory us SET " +
+            "us.ready = CASE WHEN us.outstandingDependencies <= 1 THEN true ELSE false END, " +
+            "us.outstandingDependencies = us.outstandingDependencies - 1 " +
+            "WHERE us.id IN :ids AND us.outstandingDependencies > 0")
+    int decrementOutstandingDependencies(Collection<Long> ids);
+
+    /**
+     * Une dépendance directe non terminée a été ajoutée aux stories, ou réouverte
+     */
+    @Modifying
+    @Query("UPDATE UserStory us SET us.ready = false, " +
+            "us.outstandingDependencies = us.outstandingDependencies + 1 WHERE us.id IN :ids")
+    int incrementOutstandingDependencies(Collection<Long> ids);
+
+    @Query("SELECT us.id FROM UserStory us WHERE us.id IN :ids AND us.ready = true ORDER BY us.id")
+    List<Long> findReadyIdsAmong(Collection<Long> ids);
+
+    /**
+     * Stories à faire dont toutes les dépendances sont terminées, dans l'ordre du backlog
+     * Lecture par index (product_backlog_id, ready, status), sans parcours des dépendances
+     */
+    @Query("SELECT us FROM UserStory us WHERE us.productBacklog.id = :backlogId AND us.ready = true " +
+            "AND us.status = com.agile.demo.model.WorkItemStatus.TODO " +
+            "ORDER BY us.rank ASC NULLS LAST, us.id ASC")
+    List<UserStory> findReadyStoriesByBacklogId(Long backlogId);
+
+    /**
+     * Données d'ordonnancement des stories d'un projet : (id, titre, points, statut, heures estimées des tâches)
+     */
+    @Query("SELECT us.id, us.title, us.storyPoints, us.status, COALESCE(SUM(t.estimatedHours), 0) " +
+            "FROM UserStory us LEFT JOIN us.tasks t WHERE us.productBacklog.project.id = :projectId " +
+            "GROUP BY us.id, us.title, us.storyPoints, us.status")
+    List<Object[]> findScheduleInputsByProjectId(Long projectId);
+
+    /**
+     * Stories non terminées déjà assignées à un sprint : (id story, id sprint)
+     */
+    @Query("SELECT us.id, us.sprintBacklog.id FROM UserStory us WHERE us.productBacklog.id = :backlogId " +
+            "AND us.sprintBacklog IS NOT NULL AND us.status <> com.agile.demo.model.WorkItemStatus.DONE")
+    List<Object[]> findOpenSprintAssignmentsByBacklogId(Long backlogId);
+
+    @Query("SELECT COALESCE(SUM(us.storyPoints), 0) FROM UserStory us WHERE us.sprintBacklog.id = :sprintId " +
+            "AND us.status = com.agile.demo.model.WorkItemStatus.DONE")
+    long sumDonePointsBySprintId(Long sprintId);
+
+    /**
+     * Stories non terminées d'un backlog dans l'ordre du backlog : (id story, id epic ou null, points)
+     */
+    @Query("SELECT us.id, e.id, us.storyPoints FROM UserStory us LEFT JOIN us.epic e " +
+            "WHERE us.productBacklog.id = :backlogId AND us.status <> com.agile.demo.model.WorkItemStatus.DONE " +
+            "ORDER BY us.rank ASC NULLS LAST, us.id ASC")
+    List<Object[]> findRoadmapInputsByBacklogId(Long backlogId);
+
+    @Query("SELECT us.productBacklog.id FROM UserStory us WHERE us.id = :id")
+    Optional<Long> findProductBacklogIdById(Long id);
+
+    @Query("SELECT us.rank FROM UserStory us WHERE us.id = :id")
+    Long findRankById(Long id);
+
+    @Query("SELECT MAX(us.rank) FROM UserStory us WHERE us.productBacklog.id = :backlogId")
+    Long findMaxRank(Long backlogId);
+
+    @Query("SELECT MAX(us.rank) FROM UserStory us WHERE us.productBacklog.id = :backlogId " +
+            "AND us.rank < :rank AND us.id <> :excludedId")
+    Long findPreviousRank(Long backlogId, Long rank, Long excludedId);
+
+    @Query("SELECT MIN(us.rank) FROM UserStory us WHERE us.productBacklog.id = :backlogId " +
+            "AND us.rank > :rank AND us.id <> :excludedId")
+    Long findNextRank(Long backlogId, Long rank, Long excludedId);
+
+    @Modifying
+    @Query("UPDATE UserStory us SET us.rank = :rank WHERE us.id = :id")
+    int updateRank(Long id, Long rank);
+
+    /**
+     * Ajoute atomiquement un delta à l'agrégat des tâches de la story
+     */
+    @Modifying
+    @Query("UPDATE UserStory us SET " +
+            "us.progress.totalPoints = us.progress.totalPoints + :#{#delta.totalPoints}, " +
+            "us.progress.donePoints = us.progress.donePoints + :#{#delta.donePoints}, " +
+            "us.progress.estimatedHours = us.progress.estimatedHours + :#{#delta.estimatedHours}, " +
+            "us.progress.actualHours = us.progress.actualHours + :#{#delta.actualHours}, " +
+            "us.progress.todoCount = us.progress.todoCount + :#{#delta.todoCount}, " +
+            "us.progress.inProgressCount = us.progress.inProgressCount + :#{#delta.inProgressCount}, " +
+            "us.progress.inReviewCount = us.progress.inReviewCount + :#{#delta.inReviewCount}, " +
+            "us.progress.testingCount = us.progress.testingCount + :#{#delta.testingCount}, " +
+            "us.progress.doneCount = us.progress.doneCount + :#{#delta.doneCount}, " +
+            "us.progress.blockedCount = us.progress.blockedCount + :#{#delta.blockedCount} " +
+            "WHERE us.id = :id")
+    int applyProgressDelta(Long id, ProgressRollup delta);
+
+    @Query("SELECT us.progress FROM UserStory us WHERE us.id = :id")
+    Optional<ProgressRollup> findProgressById(Long id);
+
+    /**
+     * Contribution aux agrégats d'epic de stories d'un backlog, groupée par epic actuel (null = sans epic) :
+     * (id epic, nombre de stories, points, points terminés, heures estimées, heures réelles,
+     * puis nombre de stories TODO, IN_PROGRESS, IN_REVIEW, TESTING, DONE, BLOCKED)
+     */
+    @Query("SELECT e.id, COUNT(us), COALESCE(SUM(us.storyPoints), 0), " +
+            "COALESCE(SUM(CASE WHEN us.status = com.agile.demo.model.WorkItemStatus.DONE THEN us.storyPoints ELSE 0 END), 0), " +
+            "COALESCE(SUM(us.progress.estimatedHours), 0), COALESCE(SUM(us.progress.actualHours), 0), " +
+            "SUM(CASE WHEN us.status = com.agile.demo.model.WorkItemStatus.TODO THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN us.status = com.agile.demo.model.WorkItemStatus.IN_PROGRESS THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN us.status = com.agile.demo.model.WorkItemStatus.IN_REVIEW THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN us.status = com.agile.demo.model.WorkItemStatus.TESTING THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN us.status = com.agile.demo.model.WorkItemStatus.DONE THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN us.status = com.agile.demo.model.WorkItemStatus.BLOCKED THEN 1 ELSE 0 END) " +
+            "FROM UserStory us LEFT JOIN us.epic e " +
+            "WHERE us.productBacklog.id = :backlogId AND us.id IN :ids GROUP BY e.id")
+    List<Object[]> summarizeByEpic(Long backlogId, Collection<Long> ids);
+
+    // ===== RATTACHEMENT AUX EPICS EN MASSE =====
+    // Le contexte de persistance est vidé après l'UPDATE : une story relue dans la même transaction
+    // reflète son nouvel epic au lieu de l'instance chargée avant la mise à jour
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserStory us SET us.epic = :epic WHERE us.productBacklog.id = :backlogId AND us.id IN :ids")
+    int updateEpic(Epic epic, Long backlogId, Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserStory us SET us.epic = NULL WHERE us.epic.id = :epicId AND us.id IN :ids")
+    int detachFromEpic(Long epicId, Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserStory us SET us.epic = NULL WHERE us.epic.id = :epicId")
+    int detachAllFromEpic(Long epicId);
+
+    // ===== PROJECTIONS DE LISTE (sans textes ni collections, hors contexte de persistance) =====
+
+    String STORY_SUMMARY = "SELECT new com.agile.demo.model.projection.StorySummary(" +
+            "us.id, us.title, us.status, us.storyPoints, us.priority, us.rank, us.ready, us.epic.id, us.sprintBacklog.id) " +
+            "FROM UserStory us ";
+
+    @Query(STORY_SUMMARY + "WHERE us.productBacklog.id = :backlogId ORDER BY us.id")
+    List<StorySummary> findSummariesByProductBacklogId(Long backlogId);
+
+    @Query(STORY_SUMMARY + "WHERE us.epic.id = :epicId ORDER BY us.id")
+    List<StorySummary> findSummariesByEpicId(Long epicId);
+
+    @Query(STORY_SUMMARY + "WHERE us.productBacklog.id = :backlogId AND us.epic IS NULL ORDER BY us.id")
+    List<StorySummary> findSummariesWithoutEpic(Long backlogId);
+
+    @Query(STORY_SUMMARY + "WHERE us.productBacklog.id = :backlogId ORDER BY us.priority ASC, us.id")
+    List<StorySummary> findSummariesOrderedByPriority(Long backlogId, Pageable pageable);
+
+    @Query(STORY_SUMMARY + "WHERE us.productBacklog.id = :backlogId AND us.sprintBacklog IS NULL ORDER BY us.priority ASC, us.id")
+    List<StorySummary> findUnassignedSummariesByBacklogId(Long backlogId);
+
+    // Pages par clé (priorité, id) : reprise strictement après la dernière story servie
+
+    String AFTER_PRIORITY_ID = "AND (us.priority > :afterPriority OR (us.priority = :afterPriority AND us.id > :afterId)) " +
+            "ORDER BY us.priority ASC, us.id ASC";
+
+    @Query(STORY_SUMMARY + "WHERE us.productBacklog.id = :backlogId " + AFTER_PRIORITY_ID)
+    List<StorySummary> findSummaryPageByProductBacklogId(Long backlogId, Integer afterPriority, Long afterId,
+                                                         Pageable pageable);
+
+    @Query(STORY_SUMMARY + "WHERE us.epic.id = :epicId " + AFTER_PRIORITY_ID)
+    List<StorySummary> findSummaryPageByEpicId(Long epicId, Integer afterPriority, Long afterId, Pageable pageable);
+
+    @Query(STORY_SUMMARY + "WHERE us.productBacklog.id = :backlogId AND us.epic IS NULL " + AFTER_PRIORITY_ID)
+    List<StorySummary> findSummaryPageWithoutEpic(Long backlogId, Integer afterPriority, Long afterId,
+                                                  Pageable pageable);
+
+    @Query(STORY_SUMMARY + "WHERE us.productBacklog.id = :backlogId AND us.sprintBacklog IS NULL " + AFTER_PRIORITY_ID)
+    List<StorySummary> findUnassignedSummaryPageByBacklogId(Long backlogId, Integer afterPriority, Long afterId,
+                                                            Pageable pageable);
+}
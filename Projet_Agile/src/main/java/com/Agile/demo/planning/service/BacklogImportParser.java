@@ -0,0 +1,196 @@
+package com.agile.demo.planning.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lecture en flux des lignes d'un import de backlog (CSV avec en-tête ou JSON Lines)
+ *
+ * Une seule ligne est en mémoire à la fois. Une ligne illisible (JSON invalide, colonnes en trop)
+ * est renvoyée avec son erreur plutôt que d'interrompre la lecture.
+ */
+class BacklogImportParser implements Iterator<BacklogImportParser.ImportRow>, Closeable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final BufferedReader reader;
+    private final BacklogImportService.ImportFormat format;
+    private List<String> header;
+    private long lineNumber;
+    private ImportRow next;
+
+    BacklogImportParser(Reader source, BacklogImportService.ImportFormat format) {
+        this.reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        this.format = format;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = read();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ImportRow read() {
+        try {
+            return format == BacklogImportService.ImportFormat.CSV ? readCsv() : readJsonLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ===== JSON LINES =====
+
+    private ImportRow readJsonLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        long start = lineNumber;
+        try {
+            JsonNode node = JSON.readTree(line);
+            if (!node.isObject()) {
+                return ImportRow.failed(start, "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            node.fields().forEachRemaining(field -> {
+                if (!field.getValue().isNull()) {
+                    fields.put(field.getKey().toLowerCase(Locale.ROOT), field.getValue().asText());
+                }
+            });
+            return new ImportRow(start, fields, null);
+        } catch (JsonProcessingException e) {
+            return ImportRow.failed(start, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // ===== CSV =====
+
+    private ImportRow readCsv() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) {
+                return null;
+            }
+            header = names.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        }
+
+        List<String> values;
+        long start;
+        do {
+            start = lineNumber + 1;
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+
+        if (values.size() > header.size()) {
+            return ImportRow.failed(start, "Expected " + header.size() + " columns, found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return new ImportRow(start, fields, null);
+    }
+
+    /**
+     * Un enregistrement CSV (RFC 4180) : champs entre guillemets, "" échappé, retours à la ligne cités
+     */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        lineNumber++;
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    // ===== RECORDS =====
+
+    /**
+     * Ligne lue : champs par nom de colonne (en minuscules), ou erreur de lecture
+     */
+    record ImportRow(long line, Map<String, String> fields, String error) {
+
+        static ImportRow failed(long line, String error) {
+            return new ImportRow(line, Map.of(), error);
+        }
+
+        String get(String name) {
+            String value = fields.get(name);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+}
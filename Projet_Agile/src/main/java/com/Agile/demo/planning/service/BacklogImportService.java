@@ -0,0 +1,394 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.Task;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.BacklogImportParser.ImportRow;
+import com.agile.demo.planning.service.ProgressRollupService.RollupBatch;
+import com.agile.demo.planning.service.ProgressRollupService.StorySnapshot;
+import com.agile.demo.planning.service.ProgressRollupService.TaskSnapshot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Import en masse d'un backlog (epics, stories, tâches) depuis un flux CSV ou JSON Lines
+ *
+ * Colonnes / clés reconnues : type (EPIC, STORY, TASK), ref, parent, title, description,
+ * role, action, purpose, points, hours. Le parent d'une story est la ref d'un epic (facultatif),
+ * celui d'une tâche la ref d'une story ; il doit apparaître plus haut dans le fichier.
+ * Les lignes de contexte d'un export de projet (PROJECT, BACKLOG, MEMBER, SPRINT, cf.
+ * ProjectExportService) sont ignorées sans erreur : un export se réimporte dans un backlog existant.
+ *
+ * Mémoire constante vis-à-vis du fichier : les lignes sont lues une à une, écrites par lots de
+ * {@value #CHUNK_SIZE} dans une transaction chacun (INSERT par lots JDBC), puis le contexte de
+ * persistance est vidé. Seule la table ref → identifiant des parents est conservée ; les parents
+ * sont rattachés par référence, sans aucune lecture. Les agrégats d'avancement sont cumulés par
+ * lot et appliqués en un UPDATE par ligne touchée.
+ *
+ * Une ligne invalide est ignorée et signalée dans le rapport ; une erreur de base interrompt
+ * l'import, les lots déjà validés restant en place.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BacklogImportService {
+
+    public static final int CHUNK_SIZE = 500;
+
+    /**
+     * Au-delà, les erreurs sont comptées mais plus détaillées dans le rapport
+     */
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    /**
+     * Types écrits par ProjectExportService qui ne décrivent pas le contenu du backlog
+     */
+    private static final Set<String> EXPORT_CONTEXT_TYPES = Set.of("PROJECT", "BACKLOG", "MEMBER", "SPRINT");
+
+    private final ProductBacklogRepository productBacklogRepository;
+    private final EpicRepository epicRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final ProgressRollupService progressRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    public ImportReport importBacklog(Long backlogId, Reader source, ImportFormat format) {
+        return importBacklog(backlogId, source, format, progress -> { });
+    }
+
+    /**
+     * Importe le flux dans le backlog ; la progression est publiée après chaque lot validé
+     */
+    public ImportReport importBacklog(Long backlogId, Reader source, ImportFormat format,
+                                      Consumer<ImportProgress> progressListener) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ImportState state = transaction.execute(status -> openState(backlogId));
+        log.info("Importing {} into backlog {}", format, backlogId);
+
+        List<ImportRow> rows = new ArrayList<>(CHUNK_SIZE);
+        try (BacklogImportParser parser = new BacklogImportParser(source, format)) {
+            while (parser.hasNext()) {
+                rows.add(parser.next());
+                if (rows.size() == CHUNK_SIZE) {
+                    writeChunk(transaction, state, rows);
+                    progressListener.accept(state.progress());
+                    rows.clear();
+                }
+            }
+            if (!rows.isEmpty()) {
+                writeChunk(transaction, state, rows);
+                progressListener.accept(state.progress());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (state.epicCount + state.storyCount + state.taskCount > 0) {
+                // Hors transaction (lots déjà validés) : les caches sont invalidés immédiatement
+                eventPublisher.publishEvent(new BacklogChangedEvent(state.backlogId, state.projectId,
+                        EnumSet.allOf(StoryChange.class)));
+            }
+        }
+
+        ImportReport report = state.report();
+        log.info("Backlog {} import done: {} epics, {} stories, {} tasks, {} rejected rows",
+                backlogId, report.epics(), report.stories(), report.tasks(), report.failed());
+        return report;
+    }
+
+    // ===== LOTS =====
+
+    private ImportState openState(Long backlogId) {
+        ProductBacklog backlog = productBacklogRepository.findById(backlogId)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductBacklog", backlogId));
+        Long projectId = backlog.getProject() != null ? backlog.getProject().getId() : null;
+        Long maxRank = userStoryRepository.findMaxRank(backlogId);
+
+        Set<String> epicTitles = new HashSet<>();
+        for (Epic epic : epicRepository.findByProductBacklogId(backlogId)) {
+            epicTitles.add(epic.getTitle());
+        }
+        return new ImportState(backlogId, projectId, maxRank == null ? 0 : maxRank, epicTitles);
+    }
+
+    private void writeChunk(TransactionTemplate transaction, ImportState state, List<ImportRow> rows) {
+        Chunk chunk;
+        try {
+            chunk = transaction.execute(status -> persistChunk(state, rows));
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            // Le lot est annulé en entier ; ses refs ne sont pas reportées dans l'état
+            throw new BusinessException("Import aborted at line " + rows.get(0).line() + " after "
+                    + state.rowsRead + " rows", e);
+        }
+        state.commit(chunk, rows.size());
+    }
+
+    private Chunk persistChunk(ImportState state, List<ImportRow> rows) {
+        Chunk chunk = new Chunk(state);
+        ProductBacklog backlog = entityManager.getReference(ProductBacklog.class, state.backlogId);
+        RollupBatch rollups = new RollupBatch();
+
+        for (ImportRow row : rows) {
+            String error = row.error() != null ? row.error() : persistRow(chunk, backlog, rollups, row);
+            if (error != null) {
+                chunk.errors.add(new ImportError(row.line(), error));
+            }
+        }
+
+        entityManager.flush();
+        progressRollupService.apply(rollups);
+        // Les entités du lot quittent le contexte de persistance : la mémoire ne croît pas avec le fichier
+        entityManager.clear();
+        return chunk;
+    }
+
+    /**
+     * @return message d'erreur de la ligne, null si elle a été importée (ou ignorée)
+     */
+    private String persistRow(Chunk chunk, ProductBacklog backlog, RollupBatch rollups, ImportRow row) {
+        String type = row.get("type");
+        if (type == null) {
+            return "Missing type";
+        }
+        String normalizedType = type.toUpperCase(Locale.ROOT);
+        if (EXPORT_CONTEXT_TYPES.contains(normalizedType)) {
+            return null;
+        }
+        String title = row.get("title");
+        if (title == null) {
+            return "Missing title";
+        }
+        return switch (normalizedType) {
+            case "EPIC" -> persistEpic(chunk, backlog, row, title);
+            case "STORY" -> persistStory(chunk, backlog, rollups, row, title);
+            case "TASK" -> persistTask(chunk, rollups, row, title);
+            default -> "Unknown type '" + type + "'";
+        };
+    }
+
+    private String persistEpic(Chunk chunk, ProductBacklog backlog, ImportRow row, String title) {
+        String ref = row.get("ref");
+        if (ref == null) {
+            return "Missing ref for epic";
+        }
+        if (chunk.epicId(ref) != null) {
+            return "Duplicate epic ref '" + ref + "'";
+        }
+        if (!chunk.state.epicTitles.add(title)) {
+            return "Epic with title '" + title + "' already exists in this backlog";
+        }
+
+        Epic epic = new Epic("import-" + UUID.randomUUID(), title, row.get("description"));
+        epic.setProductBacklog(backlog);
+        entityManager.persist(epic);
+        chunk.epics.put(ref, epic.getId());
+        return null;
+    }
+
+    private String persistStory(Chunk chunk, ProductBacklog backlog, RollupBatch rollups, ImportRow row, String title) {
+        String ref = row.get("ref");
+        if (ref != null && chunk.story(ref) != null) {
+            return "Duplicate story ref '" + ref + "'";
+        }
+        String role = row.get("role");
+        String action = row.get("action");
+        String purpose = row.get("purpose");
+        if (role == null || action == null || purpose == null) {
+            return "Story requires role, action and purpose";
+        }
+        Integer points;
+        try {
+            points = parseNonNegative(row.get("points"));
+        } catch (IllegalArgumentException e) {
+            return "Invalid points: " + e.getMessage();
+        }
+        Long epicId = null;
+        String parent = row.get("parent");
+        if (parent != null) {
+            epicId = chunk.epicId(parent);
+            if (epicId == null) {
+                return "Unknown epic ref '" + parent + "'";
+            }
+        }
+
+        UserStory story = new UserStory(title, role, action, purpose, points);
+        story.setProductBacklog(backlog);
+        if (epicId != null) {
+            story.setEpic(entityManager.getReference(Epic.class, epicId));
+        }
+        chunk.state.lastRank += UserStory.RANK_GAP;
+        story.setRank(chunk.state.lastRank);
+        entityManager.persist(story);
+
+        if (ref != null) {
+            chunk.stories.put(ref, new StoryKey(story.getId(), epicId));
+        }
+        rollups.addStory(epicId, backlog.getId(), StorySnapshot.of(story).contribution());
+        chunk.storyCount++;
+        return null;
+    }
+
+    private String persistTask(Chunk chunk, RollupBatch rollups, ImportRow row, String title) {
+        String parent = row.get("parent");
+        if (parent == null) {
+            return "Missing parent story ref for task";
+        }
+        StoryKey story = chunk.story(parent);
+        if (story == null) {
+            return "Unknown story ref '" + parent + "'";
+        }
+        Integer hours;
+        try {
+            hours = parseNonNegative(row.get("hours"));
+        } catch (IllegalArgumentException e) {
+            return "Invalid hours: " + e.getMessage();
+        }
+
+        Task task = new Task(title, row.get("description"), hours);
+        task.setUserStory(entityManager.getReference(UserStory.class, story.id()));
+        entityManager.persist(task);
+
+        rollups.addTask(story.id(), story.epicId(), chunk.state.backlogId, TaskSnapshot.of(task).contribution());
+        chunk.taskCount++;
+        return null;
+    }
+
+    private static Integer parseNonNegative(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + value + "' is not a number");
+        }
+        if (parsed < 0) {
+            throw new IllegalArgumentException(value + " is negative");
+        }
+        return parsed;
+    }
+
+    // ===== ÉTAT =====
+
+    private record StoryKey(Long id, Long epicId) {}
+
+    /**
+     * État de l'import conservé d'un lot à l'autre : refs des parents déjà validés et compteurs
+     */
+    private static final class ImportState {
+        private final Long backlogId;
+        private final Long projectId;
+        private final Set<String> epicTitles;
+        private final Map<String, Long> epics = new HashMap<>();
+        private final Map<String, StoryKey> stories = new HashMap<>();
+        private final List<ImportError> errors = new ArrayList<>();
+        private long lastRank;
+        private long rowsRead;
+        private long epicCount;
+        private long storyCount;
+        private long taskCount;
+        private long failed;
+
+        private ImportState(Long backlogId, Long projectId, long lastRank, Set<String> epicTitles) {
+            this.backlogId = backlogId;
+            this.projectId = projectId;
+            this.lastRank = lastRank;
+            this.epicTitles = epicTitles;
+        }
+
+        private void commit(Chunk chunk, int rows) {
+            epics.putAll(chunk.epics);
+            stories.putAll(chunk.stories);
+            rowsRead += rows;
+            epicCount += chunk.epics.size();
+            storyCount += chunk.storyCount;
+            taskCount += chunk.taskCount;
+            failed += chunk.errors.size();
+            for (ImportError error : chunk.errors) {
+                if (errors.size() == MAX_REPORTED_ERRORS) {
+                    break;
+                }
+                errors.add(error);
+            }
+        }
+
+        private ImportProgress progress() {
+            return new ImportProgress(rowsRead, epicCount + storyCount + taskCount, failed);
+        }
+
+        private ImportReport report() {
+            return new ImportReport(backlogId, rowsRead, epicCount, storyCount, taskCount, failed, List.copyOf(errors));
+        }
+    }
+
+    /**
+     * Écritures d'un lot, reportées dans l'état de l'import seulement après le commit
+     */
+    private static final class Chunk {
+        private final ImportState state;
+        private final Map<String, Long> epics = new HashMap<>();
+        private final Map<String, StoryKey> stories = new HashMap<>();
+        private final List<ImportError> errors = new ArrayList<>();
+        private long storyCount;
+        private long taskCount;
+
+        private Chunk(ImportState state) {
+            this.state = state;
+        }
+
+        private Long epicId(String ref) {
+            Long id = epics.get(ref);
+            return id != null ? id : state.epics.get(ref);
+        }
+
+        private StoryKey story(String ref) {
+            StoryKey key = stories.get(ref);
+            return key != null ? key : state.stories.get(ref);
+        }
+    }
+
+    // ===== RECORDS =====
+
+    public enum ImportFormat {
+        CSV,
+        JSON_LINES
+    }
+
+    public record ImportProgress(long rowsRead, long imported, long failed) {}
+
+    public record ImportError(long line, String message) {}
+
+    public record ImportReport(Long backlogId, long rowsRead, long epics, long stories, long tasks,
+                               long failed, List<ImportError> errors) {}
+}
@@ -0,0 +1,65 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redistribue les clés de rang d'un backlog lorsque les écarts sont épuisés
+ * Opération rare : un déplacement normal ne touche qu'une seule ligne
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BacklogRankRebalancer {
+
+    private final UserStoryRepository userStoryRepository;
+    private final ProductBacklogRepository productBacklogRepository;
+
+    // Backlogs dont le rééquilibrage est déjà planifié (évite les doublons)
+    private final Set<Long> pendingBacklogs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Planifie un rééquilibrage en arrière-plan
+     * Les demandes multiples pour un même backlog sont fusionnées
+     */
+    @Async
+    @Transactional
+    public void scheduleRebalance(Long backlogId) {
+        if (!pendingBacklogs.add(backlogId)) {
+            return;
+        }
+        try {
+            productBacklogRepository.findByIdForUpdate(backlogId)
+                    .orElseThrow(() -> new ResourceNotFoundException("ProductBacklog", backlogId));
+            rebalance(backlogId);
+        } finally {
+            pendingBacklogs.remove(backlogId);
+        }
+    }
+
+    /**
+     * Réattribue des rangs espacés de RANK_GAP en conservant l'ordre actuel
+     * L'appelant doit détenir le verrou du backlog
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebalance(Long backlogId) {
+        List<Long> orderedIds = userStoryRepository.findIdsByProductBacklogIdOrderedByRank(backlogId);
+        log.info("Rebalancing ranks of {} stories in backlog {}", orderedIds.size(), backlogId);
+
+        for (int i = 0; i < orderedIds.size(); i++) {
+            userStoryRepository.updateRank(orderedIds.get(i), (i + 1) * UserStory.RANK_GAP);
+        }
+    }
+}
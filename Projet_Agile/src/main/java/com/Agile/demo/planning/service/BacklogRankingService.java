@@ -0,0 +1,124 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Ordre manuel du Product Backlog par clés de rang espacées
+ * Un déplacement place la story au milieu de l'écart entre ses nouveaux voisins
+ * et ne met à jour qu'une seule ligne
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BacklogRankingService {
+
+    /**
+     * En dessous de cet écart, un rééquilibrage est planifié en arrière-plan
+     */
+    static final long REBALANCE_THRESHOLD = 64;
+
+    private final UserStoryRepository userStoryRepository;
+    private final ProductBacklogRepository productBacklogRepository;
+    private final BacklogRankRebalancer rebalancer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public List<UserStory> getStoriesOrderedByRank(Long backlogId) {
+        return userStoryRepository.findByProductBacklogIdOrderedByRank(backlogId);
+    }
+
+    /**
+     * Place une story juste avant une autre story du même backlog
+     */
+    @Transactional
+    public long moveBefore(Long storyId, Long targetId) {
+        return move(storyId, targetId, true);
+    }
+
+    /**
+     * Place une story juste après une autre story du même backlog
+     */
+    @Transactional
+    public long moveAfter(Long storyId, Long targetId) {
+        return move(storyId, targetId, false);
+    }
+
+    private long move(Long storyId, Long targetId, boolean before) {
+        if (storyId.equals(targetId)) {
+            throw new BusinessException("A user story cannot be moved relative to itself");
+        }
+
+        Long backlogId = userStoryRepository.findProductBacklogIdById(storyId)
+                .orElseThrow(() -> new ResourceNotFoundException("UserStory", storyId));
+        Long targetBacklogId = userStoryRepository.findProductBacklogIdById(targetId)
+                .orElseThrow(() -> new ResourceNotFoundException("UserStory", targetId));
+        if (!backlogId.equals(targetBacklogId)) {
+            throw new BusinessException("User stories " + storyId + " and " + targetId + " are not in the same backlog");
+        }
+
+        // Sérialise les déplacements concurrents sur ce backlog
+        ProductBacklog backlog = productBacklogRepository.findByIdForUpdate(backlogId)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductBacklog", backlogId));
+
+        Long targetRank = userStoryRepository.findRankById(targetId);
+        if (targetRank == null) {
+            rebalancer.rebalance(backlogId);
+            targetRank = userStoryRepository.findRankById(targetId);
+        }
+
+        Long neighbourRank = neighbourRank(backlogId, storyId, targetRank, before);
+        Long newRank = midpoint(targetRank, neighbourRank, before);
+        if (newRank == null) {
+            // Plus aucun écart disponible : rééquilibrage immédiat puis nouvel essai
+            rebalancer.rebalance(backlogId);
+            targetRank = userStoryRepository.findRankById(targetId);
+            neighbourRank = neighbourRank(backlogId, storyId, targetRank, before);
+            newRank = midpoint(targetRank, neighbourRank, before);
+        }
+
+        userStoryRepository.updateRank(storyId, newRank);
+        Long projectId = backlog.getProject() != null ? backlog.getProject().getId() : null;
+        eventPublisher.publishEvent(BacklogChangedEvent.of(backlogId, projectId, StoryChange.ORDER));
+        log.debug("User story {} moved {} {} with rank {}", storyId, before ? "before" : "after", targetId, newRank);
+
+        if (neighbourRank != null && Math.abs(newRank - neighbourRank) < REBALANCE_THRESHOLD) {
+            rebalancer.scheduleRebalance(backlogId);
+        }
+        return newRank;
+    }
+
+    private Long neighbourRank(Long backlogId, Long storyId, Long targetRank, boolean before) {
+        return before
+                ? userStoryRepository.findPreviousRank(backlogId, targetRank, storyId)
+                : userStoryRepository.findNextRank(backlogId, targetRank, storyId);
+    }
+
+    /**
+     * Calcule le rang au milieu de l'écart, ou null si l'écart est épuisé
+     */
+    static Long midpoint(long targetRank, Long neighbourRank, boolean before) {
+        if (neighbourRank == null) {
+            return before ? targetRank - UserStory.RANK_GAP : targetRank + UserStory.RANK_GAP;
+        }
+        long low = Math.min(targetRank, neighbourRank);
+        long high = Math.max(targetRank, neighbourRank);
+        if (high - low < 2) {
+            return null;
+        }
+        return low + (high - low) / 2;
+    }
+}
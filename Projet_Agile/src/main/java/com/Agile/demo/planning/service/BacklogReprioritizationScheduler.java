@@ -0,0 +1,168 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.event.StoryDeletedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Repriorisation automatique, différée et regroupée, des Product Backlogs
+ *
+ * Chaque modification d'une donnée de priorisation marque le backlog comme "sale".
+ * Une rafale de modifications ne déclenche qu'une seule repriorisation, exécutée
+ * après une période de calme configurable ; au plus une repriorisation par backlog
+ * s'exécute à un instant donné.
+ */
+@Component
+@Slf4j
+public class BacklogReprioritizationScheduler {
+
+    private final BacklogReprioritizer reprioritizer;
+    private final long quietPeriodMs;
+
+    // Horloge remplaçable dans les tests
+    Clock clock = Clock.systemUTC();
+
+    private final Map<Long, DirtyBacklog> dirtyBacklogs = new ConcurrentHashMap<>();
+    private final Set<Long> runningBacklogs = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong coalescedEdits = new AtomicLong();
+    private final AtomicLong completedRuns = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+    private final AtomicLong lastLagMs = new AtomicLong();
+    private final AtomicLong maxLagMs = new AtomicLong();
+
+    public BacklogReprioritizationScheduler(BacklogReprioritizer reprioritizer,
+                                            @Value("${agile.reprioritization.quiet-period-ms:2000}") long quietPeriodMs) {
+        this.reprioritizer = reprioritizer;
+        this.quietPeriodMs = quietPeriodMs;
+    }
+
+    // ===== MARQUAGE =====
+    // Après le commit d'une modification des données de priorisation (stories, dépendances, import)
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoryChanged(StoryChangedEvent event) {
+        if (event.affects(StoryChange.CREATED, StoryChange.PRIORITIZATION, StoryChange.DEPENDENCIES)) {
+            markDirty(event.backlogId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStoryDeleted(StoryDeletedEvent event) {
+        markDirty(event.backlogId());
+    }
+
+    /**
+     * Les scores recalculés par la repriorisation elle-même (SCORES) ne remarquent pas le backlog
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBacklogChanged(BacklogChangedEvent event) {
+        if (event.affects(StoryChange.PRIORITIZATION, StoryChange.DEPENDENCIES)) {
+            markDirty(event.backlogId());
+        }
+    }
+
+    /**
+     * Marque un backlog comme devant être repriorisé
+     */
+    public void markDirty(Long backlogId) {
+        if (backlogId == null) {
+            return;
+        }
+        long now = clock.millis();
+        dirtyBacklogs.compute(backlogId, (id, current) -> {
+            if (current == null) {
+                return new DirtyBacklog(now, now);
+            }
+            coalescedEdits.incrementAndGet();
+            return new DirtyBacklog(current.firstChangeAt(), now);
+        });
+    }
+
+    /**
+     * Repriorise les backlogs dont la période de calme est écoulée
+     */
+    @Scheduled(fixedDelayString = "${agile.reprioritization.poll-interval-ms:500}")
+    public void flushQuietBacklogs() {
+        long now = clock.millis();
+        for (Map.Entry<Long, DirtyBacklog> entry : dirtyBacklogs.entrySet()) {
+            Long backlogId = entry.getKey();
+            DirtyBacklog dirty = entry.getValue();
+            if (now - dirty.lastChangeAt() < quietPeriodMs) {
+                continue;
+            }
+            if (!runningBacklogs.add(backlogId)) {
+                continue; // déjà en cours : sera repris au prochain passage
+            }
+            try {
+                // Retiré seulement si aucune modification n'est arrivée entre-temps
+                if (!dirtyBacklogs.remove(backlogId, dirty)) {
+                    continue;
+                }
+                runReprioritization(backlogId, now - dirty.firstChangeAt());
+            } finally {
+                runningBacklogs.remove(backlogId);
+            }
+        }
+    }
+
+    private void runReprioritization(Long backlogId, long lag) {
+        lastLagMs.set(lag);
+        maxLagMs.accumulateAndGet(lag, Math::max);
+        try {
+            reprioritizer.reprioritize(backlogId);
+            completedRuns.incrementAndGet();
+        } catch (RuntimeException e) {
+            failedRuns.incrementAndGet();
+            log.error("Automatic reprioritization of backlog {} failed", backlogId, e);
+        }
+    }
+
+    public ReprioritizationMetrics getMetrics() {
+        long now = clock.millis();
+        long oldestPendingLag = dirtyBacklogs.values().stream()
+                .mapToLong(dirty -> now - dirty.firstChangeAt())
+                .max()
+                .orElse(0);
+        return new ReprioritizationMetrics(
+                dirtyBacklogs.size(),
+                runningBacklogs.size(),
+                oldestPendingLag,
+                lastLagMs.get(),
+                maxLagMs.get(),
+                completedRuns.get(),
+                failedRuns.get(),
+                coalescedEdits.get()
+        );
+    }
+
+    private record DirtyBacklog(long firstChangeAt, long lastChangeAt) {}
+
+    /**
+     * Métriques de la file de repriorisation
+     * Le retard (lag) est mesuré entre la première modification et le lancement du calcul
+     */
+    public record ReprioritizationMetrics(
+            int queueDepth,
+            int running,
+            long oldestPendingLagMs,
+            long lastLagMs,
+            long maxLagMs,
+            long completedRuns,
+            long failedRuns,
+            long coalescedEdits
+    ) {}
+}
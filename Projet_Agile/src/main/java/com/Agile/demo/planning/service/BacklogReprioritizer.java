@@ -0,0 +1,44 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applique la stratégie de priorisation d'un backlog dans sa propre transaction
+ *
+ * Seuls les scores et la priorité sont recalculés : l'ordre manuel (rank) reste celui choisi
+ * par l'utilisateur. Index de rang, prévision de roadmap et planning du projet sont invalidés
+ * après le commit (BacklogChangedEvent SCORES, qui ne remarque pas le backlog à reprioriser).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BacklogReprioritizer {
+
+    private final ProductBacklogRepository productBacklogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void reprioritize(Long backlogId) {
+        // Verrou du backlog : une seule repriorisation à la fois, même entre plusieurs instances
+        productBacklogRepository.findByIdForUpdate(backlogId)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductBacklog", backlogId));
+
+        ProductBacklog backlog = productBacklogRepository.findByIdWithStories(backlogId)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductBacklog", backlogId));
+
+        backlog.applyPrioritization();
+        Long projectId = backlog.getProject() != null ? backlog.getProject().getId() : null;
+        eventPublisher.publishEvent(BacklogChangedEvent.of(backlogId, projectId, StoryChange.SCORES));
+        log.info("Backlog {} reprioritized ({} stories, method {})",
+                backlogId, backlog.getStories().size(), backlog.getSelectedMethod());
+    }
+}
@@ -0,0 +1,110 @@
+package com.agile.demo.planning.service;
+
+import com.Agile.demo.execution.repositories.TaskRepository;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.Task;
+import com.agile.demo.model.User;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chargement de l'arbre complet d'un Product Backlog : Epic → UserStory → Task (+ assigné)
+ *
+ * Une requête par niveau, filtrée par backlog : le nombre de requêtes ne dépend pas de la taille
+ * du backlog. Aucune jointure vers une collection n'est faite (pas de produit cartésien ni de
+ * doublons) : les niveaux sont rattachés en mémoire par identifiant parent, sans toucher aux
+ * collections paresseuses des entités.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BacklogTreeService {
+
+    private final ProductBacklogRepository productBacklogRepository;
+    private final EpicRepository epicRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final TaskRepository taskRepository;
+
+    /**
+     * Charge l'arbre d'un backlog en quatre requêtes (backlog, epics, stories, tâches avec assignés)
+     * Les stories sont dans l'ordre du backlog, les epics et les tâches par identifiant
+     */
+    public BacklogTree loadTree(Long backlogId) {
+        if (!productBacklogRepository.existsById(backlogId)) {
+            throw new ResourceNotFoundException("ProductBacklog", backlogId);
+        }
+
+        List<Epic> epics = new ArrayList<>(epicRepository.findByProductBacklogId(backlogId));
+        epics.sort(Comparator.comparing(Epic::getId));
+        List<UserStory> stories = userStoryRepository.findByProductBacklogIdOrderedByRank(backlogId);
+        List<Task> tasks = taskRepository.findByProductBacklogIdWithAssignee(backlogId);
+
+        Map<Long, List<TaskNode>> tasksByStory = new HashMap<>(stories.size() * 2);
+        for (Task task : tasks) {
+            tasksByStory.computeIfAbsent(task.getUserStory().getId(), id -> new ArrayList<>())
+                    .add(TaskNode.of(task));
+        }
+
+        Map<Long, List<StoryNode>> storiesByEpic = new LinkedHashMap<>(epics.size() * 2);
+        for (Epic epic : epics) {
+            storiesByEpic.put(epic.getId(), new ArrayList<>());
+        }
+        List<StoryNode> withoutEpic = new ArrayList<>();
+        for (UserStory story : stories) {
+            StoryNode node = StoryNode.of(story, tasksByStory.getOrDefault(story.getId(), List.of()));
+            // L'epic est déjà dans le contexte de persistance : getEpic() ne déclenche pas de requête
+            List<StoryNode> target = story.getEpic() != null ? storiesByEpic.get(story.getEpic().getId()) : null;
+            (target != null ? target : withoutEpic).add(node);
+        }
+
+        List<EpicNode> epicNodes = new ArrayList<>(epics.size());
+        for (Epic epic : epics) {
+            epicNodes.add(new EpicNode(epic.getId(), epic.getTitle(), epic.getDescription(),
+                    List.copyOf(storiesByEpic.get(epic.getId()))));
+        }
+
+        log.debug("Backlog tree {} loaded: {} epics, {} stories, {} tasks",
+                backlogId, epics.size(), stories.size(), tasks.size());
+        return new BacklogTree(backlogId, List.copyOf(epicNodes), List.copyOf(withoutEpic));
+    }
+
+    // ===== RECORDS =====
+
+    public record BacklogTree(Long backlogId, List<EpicNode> epics, List<StoryNode> storiesWithoutEpic) {}
+
+    public record EpicNode(Long id, String title, String description, List<StoryNode> stories) {}
+
+    public record StoryNode(Long id, String title, WorkItemStatus status, Integer storyPoints, Long rank,
+                            List<TaskNode> tasks) {
+        static StoryNode of(UserStory story, List<TaskNode> tasks) {
+            return new StoryNode(story.getId(), story.getTitle(), story.getStatus(), story.getStoryPoints(),
+                    story.getRank(), List.copyOf(tasks));
+        }
+    }
+
+    public record TaskNode(Long id, String title, WorkItemStatus status, Integer estimatedHours,
+                           Integer actualHours, Long assigneeId, String assigneeUsername) {
+        static TaskNode of(Task task) {
+            User assignee = task.getAssignedUser();
+            return new TaskNode(task.getId(), task.getTitle(), task.getStatus(), task.getEstimatedHours(),
+                    task.getActualHours(), assignee != null ? assignee.getId() : null,
+                    assignee != null ? assignee.getUsername() : null);
+        }
+    }
+}
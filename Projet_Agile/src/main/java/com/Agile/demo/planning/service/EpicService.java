@@ -2,18 +2,29 @@ package com.agile.demo.planning.service;
 
 import com.agile.demo.common.exception.BusinessException;
 import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.common.pagination.KeysetPage;
+import com.agile.demo.common.pagination.PageToken;
 import com.agile.demo.model.Epic;
 import com.agile.demo.model.ProductBacklog;
 import com.agile.demo.model.UserStory;
+import com.agile.demo.model.projection.EpicSummary;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
 import com.agile.demo.planning.repository.EpicRepository;
 import com.agile.demo.planning.repository.ProductBacklogRepository;
 import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.ProgressRollupService.EpicContribution;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +35,8 @@ public class EpicService {
     private final EpicRepository epicRepository;
     private final ProductBacklogRepository productBacklogRepository;
     private final UserStoryRepository userStoryRepository;
+    private final ProgressRollupService progressRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Epic createEpic(Long productBacklogId, String title, String description) {
@@ -43,7 +56,9 @@ public class EpicService {
         epic.setDescription(description);
         epic.setProductBacklog(backlog);
 
-        return epicRepository.save(epic);
+        Epic saved = epicRepository.save(epic);
+        eventPublisher.publishEvent(epicsChanged(backlog));
+        return saved;
     }
 
     public Epic getEpicById(Long id) {
@@ -55,6 +70,16 @@ public class EpicService {
         return epicRepository.findByProductBacklogId(productBacklogId);
     }
 
+    public List<EpicSummary> getEpicSummariesByProductBacklog(Long productBacklogId) {
+        return epicRepository.findSummariesByProductBacklogId(productBacklogId);
+    }
+
+    public KeysetPage<EpicSummary> getEpicSummaryPageByProductBacklog(Long productBacklogId, String pageToken, int size) {
+        long afterId = PageToken.decode(pageToken).longKey(0, 0L);
+        return KeysetPage.of(epicRepository.findSummaryPageByProductBacklogId(productBacklogId, afterId,
+                KeysetPage.fetch(size)), size, epic -> PageToken.encode(epic.id()));
+    }
+
     @Transactional
     public Epic updateEpic(Long id, String title, String description) {
         Epic epic = getEpicById(id);
@@ -68,24 +93,27 @@ public class EpicService {
         epic.setTitle(title);
         epic.setDescription(description);
 
-        return epicRepository.save(epic);
+        Epic saved = epicRepository.save(epic);
+        eventPublisher.publishEvent(epicsChanged(epic.getProductBacklog()));
+        return saved;
     }
 
+    /**
+     * Supprime un epic : ses stories sont détachées par un seul UPDATE, qui vide le contexte
+     * de persistance ; l'epic relu n'a plus de stories et la cascade de suppression ne les atteint pas
+     */
     @Transactional
     public void deleteEpic(Long id) {
         Epic epic = getEpicById(id);
+        BacklogChangedEvent epicsChanged = epicsChanged(epic.getProductBacklog());
 
-        // Créer une copie des user stories pour éviter ConcurrentModificationException
-        List<UserStory> stories = List.copyOf(epic.getUserStories());
-        for (UserStory us : stories) {
-            us.setEpic(null);
-            userStoryRepository.save(us); // si nécessaire
-        }
+        int detached = userStoryRepository.detachAllFromEpic(id);
+        epicRepository.deleteById(id);
 
-        epicRepository.delete(epic);
+        log.info("Epic {} deleted, {} user stories detached", id, detached);
+        eventPublisher.publishEvent(epicsChanged);
     }
 
-
     @Transactional
     public void addUserStoryToEpic(Long epicId, Long userStoryId) {
         Epic epic = getEpicById(epicId);
@@ -98,5 +126,105 @@ public class EpicService {
 
         story.setEpic(epic);
         userStoryRepository.save(story);
+        progressRollupService.onStoryEpicChanged(story, null);
+        eventPublisher.publishEvent(StoryChangedEvent.of(story, StoryChange.EPIC));
+    }
+
+    // ===== OPÉRATIONS EN MASSE =====
+    // Coût constant en allers-retours, quel que soit le nombre de stories :
+    // lecture de l'epic, agrégat des stories par epic d'origine, un UPDATE d'agrégat par epic
+    // concerné, puis un seul UPDATE du rattachement. Cet UPDATE vide le contexte de persistance :
+    // les stories et epics relus ensuite dans la transaction viennent de la base.
+
+    /**
+     * Rattache à un epic des stories qui n'en ont pas encore
+     *
+     * @return nombre de stories mises à jour
+     * @throws BusinessException si une story est hors du backlog de l'epic ou déjà dans un epic
+     */
+    @Transactional
+    public int assignUserStoriesToEpic(Long epicId, Collection<Long> userStoryIds) {
+        return moveUserStories(epicId, userStoryIds, true);
+    }
+
+    /**
+     * Déplace vers un epic des stories du même backlog, rattachées ou non à un autre epic
+     *
+     * @return nombre de stories mises à jour
+     */
+    @Transactional
+    public int moveUserStoriesToEpic(Long epicId, Collection<Long> userStoryIds) {
+        return moveUserStories(epicId, userStoryIds, false);
+    }
+
+    /**
+     * Détache d'un epic un ensemble de ses stories
+     *
+     * @return nombre de stories détachées
+     * @throws BusinessException si une story n'appartient pas à cet epic
+     */
+    @Transactional
+    public int detachUserStoriesFromEpic(Long epicId, Collection<Long> userStoryIds) {
+        Epic epic = getEpicById(epicId);
+        Set<Long> ids = new LinkedHashSet<>(userStoryIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Long backlogId = epic.getProductBacklog().getId();
+
+        List<EpicContribution> contributions = progressRollupService.summarizeByEpic(backlogId, ids);
+        long inEpic = contributions.stream()
+                .filter(contribution -> epicId.equals(contribution.epicId()))
+                .mapToLong(EpicContribution::storyCount)
+                .sum();
+        if (inEpic != ids.size()) {
+            throw new BusinessException((ids.size() - inEpic) + " user stories are not assigned to epic " + epicId);
+        }
+
+        progressRollupService.onStoriesEpicChanged(contributions, null);
+        BacklogChangedEvent epicsChanged = epicsChanged(epic.getProductBacklog());
+        int updated = userStoryRepository.detachFromEpic(epicId, ids);
+        eventPublisher.publishEvent(epicsChanged);
+
+        log.info("{} user stories detached from epic {}", updated, epicId);
+        return updated;
+    }
+
+    private int moveUserStories(Long epicId, Collection<Long> userStoryIds, boolean requireUnassigned) {
+        Epic epic = getEpicById(epicId);
+        Set<Long> ids = new LinkedHashSet<>(userStoryIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Long backlogId = epic.getProductBacklog().getId();
+
+        // Validation sur l'agrégat, avant toute écriture
+        List<EpicContribution> contributions = progressRollupService.summarizeByEpic(backlogId, ids);
+        long found = contributions.stream().mapToLong(EpicContribution::storyCount).sum();
+        if (found != ids.size()) {
+            throw new BusinessException((ids.size() - found) + " user stories not found in backlog " + backlogId);
+        }
+        if (requireUnassigned && contributions.stream().anyMatch(contribution -> contribution.epicId() != null)) {
+            throw new BusinessException("Some user stories are already assigned to an epic");
+        }
+
+        progressRollupService.onStoriesEpicChanged(contributions, epic);
+        BacklogChangedEvent epicsChanged = epicsChanged(epic.getProductBacklog());
+        int updated = userStoryRepository.updateEpic(epic, backlogId, ids);
+        eventPublisher.publishEvent(epicsChanged);
+
+        log.info("{} user stories moved to epic {}", updated, epicId);
+        return updated;
+    }
+
+    /**
+     * Evénement construit avant les UPDATE en masse, qui vident le contexte de persistance
+     */
+    private static BacklogChangedEvent epicsChanged(ProductBacklog backlog) {
+        if (backlog == null) {
+            return BacklogChangedEvent.of(null, null, StoryChange.EPIC);
+        }
+        Long projectId = backlog.getProject() == null ? null : backlog.getProject().getId();
+        return BacklogChangedEvent.of(backlog.getId(), projectId, StoryChange.EPIC);
     }
 }
@@ -0,0 +1,221 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Analyse de Pareto valeur / effort d'un backlog
+ *
+ * Contrairement au ratio de ValueEffortStrategy, aucune story n'est écartée au profit d'une autre
+ * sauf si elle est dominée : valeur inférieure ou égale, effort supérieur ou égal (et criticité
+ * inférieure ou égale si demandée), avec au moins une inégalité stricte.
+ * Le front 1 contient les stories non dominées, le front 2 celles dominées uniquement par le front 1, etc.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ParetoAnalysisService {
+
+    /**
+     * Taille maximale de la grille (efforts distincts x criticités distinctes) en analyse à trois critères
+     */
+    static final long MAX_GRID_CELLS = 1L << 24;
+
+    private final UserStoryRepository userStoryRepository;
+
+    /**
+     * Calcule les fronts de Pareto des stories non terminées du backlog
+     *
+     * @param includeTimeCriticality ajoute la criticité temporelle (à maximiser) comme troisième critère
+     * @param maxFronts nombre maximal de fronts retournés (les suivants sont seulement comptés)
+     */
+    public ParetoAnalysis analyze(Long backlogId, boolean includeTimeCriticality, int maxFronts) {
+        if (maxFronts <= 0) {
+            throw new BusinessException("maxFronts must be positive");
+        }
+
+        // Projection primitive : une seule requête, aucune entité chargée
+        List<Object[]> rows = userStoryRepository.findValueEffortProjectionByProductBacklogId(backlogId);
+        int n = rows.size();
+        long[] ids = new long[n];
+        int[] value = new int[n];
+        int[] effort = new int[n];
+        int[] criticality = new int[n];
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            ids[i] = ((Number) row[0]).longValue();
+            value[i] = ((Number) row[1]).intValue();
+            effort[i] = ((Number) row[2]).intValue();
+            criticality[i] = ((Number) row[3]).intValue();
+        }
+
+        int[] layers;
+        try {
+            layers = frontsOf(value, effort, includeTimeCriticality ? criticality : null);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(e.getMessage());
+        }
+
+        int frontCount = 0;
+        for (int layer : layers) {
+            frontCount = Math.max(frontCount, layer + 1);
+        }
+
+        int returned = Math.min(frontCount, maxFronts);
+        List<List<ParetoStory>> buckets = new ArrayList<>(returned);
+        for (int f = 0; f < returned; f++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            if (layers[i] < returned) {
+                buckets.get(layers[i]).add(new ParetoStory(ids[i], value[i], effort[i], criticality[i]));
+            }
+        }
+
+        List<ParetoFront> fronts = new ArrayList<>(returned);
+        for (int f = 0; f < returned; f++) {
+            List<ParetoStory> front = buckets.get(f);
+            // Dans un front, de la plus forte valeur au plus faible effort
+            front.sort((a, b) -> a.businessValue() != b.businessValue()
+                    ? Integer.compare(b.businessValue(), a.businessValue())
+                    : Integer.compare(a.storyPoints(), b.storyPoints()));
+            fronts.add(new ParetoFront(f + 1, front));
+        }
+
+        log.debug("Pareto analysis of backlog {}: {} stories, {} fronts", backlogId, n, frontCount);
+        return new ParetoAnalysis(includeTimeCriticality, n, frontCount, fronts);
+    }
+
+    /**
+     * Front (0 = non dominé) de chaque point, en O(n log n)
+     *
+     * Le front d'un point vaut 1 + le front maximal de ses dominants. Les points sont parcourus
+     * par valeur décroissante puis effort croissant (puis criticité décroissante), si bien que
+     * tous les dominants d'un point sont traités avant lui ; le maximum sur les dominants est
+     * lu dans un arbre de Fenwick (préfixe-max) indexé par effort, et par criticité en 3 critères.
+     * Des points identiques ne se dominent pas : ils partagent le même front.
+     *
+     * @param criticality null pour une analyse à deux critères
+     */
+    static int[] frontsOf(int[] value, int[] effort, int[] criticality) {
+        int n = value.length;
+        if (n == 0) {
+            return new int[0];
+        }
+
+        int[] valueRank = denseRanks(value, true);
+        int[] effortRank = denseRanks(effort, false);
+        int[] criticalityRank = criticality != null ? denseRanks(criticality, true) : new int[n];
+        int efforts = maxOf(effortRank) + 1;
+        int criticalities = maxOf(criticalityRank) + 1;
+        if ((long) efforts * criticalities > MAX_GRID_CELLS) {
+            throw new IllegalArgumentException("Too many distinct effort/criticality values for a 3-criteria analysis");
+        }
+
+        // Tri stable par clés successives (tri par comptage, O(n + valeurs distinctes))
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        order = countingSort(order, criticalityRank, criticalities);
+        order = countingSort(order, effortRank, efforts);
+        order = countingSort(order, valueRank, maxOf(valueRank) + 1);
+
+        // Fenwick 2D préfixe-max : cellule (effort <= e, criticité >= c) -> front maximal + 1
+        int width = criticalities + 1;
+        int[] tree = new int[(efforts + 1) * width];
+        int[] layers = new int[n];
+
+        int start = 0;
+        while (start < n) {
+            int first = order[start];
+            int end = start + 1;
+            while (end < n && valueRank[order[end]] == valueRank[first]
+                    && effortRank[order[end]] == effortRank[first]
+                    && criticalityRank[order[end]] == criticalityRank[first]) {
+                end++;
+            }
+
+            int layer = queryMax(tree, width, effortRank[first] + 1, criticalityRank[first] + 1);
+            for (int k = start; k < end; k++) {
+                layers[order[k]] = layer;
+            }
+            update(tree, width, efforts, criticalities, effortRank[first] + 1, criticalityRank[first] + 1, layer + 1);
+            start = end;
+        }
+        return layers;
+    }
+
+    /**
+     * Rang dense de chaque valeur (0 = plus grande si descending, plus petite sinon)
+     */
+    private static int[] denseRanks(int[] values, boolean descending) {
+        int[] distinct = Arrays.stream(values).distinct().sorted().toArray();
+        int[] ranks = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            int index = Arrays.binarySearch(distinct, values[i]);
+            ranks[i] = descending ? distinct.length - 1 - index : index;
+        }
+        return ranks;
+    }
+
+    private static int[] countingSort(int[] order, int[] key, int keyCount) {
+        int[] counts = new int[keyCount + 1];
+        for (int index : order) {
+            counts[key[index] + 1]++;
+        }
+        for (int k = 0; k < keyCount; k++) {
+            counts[k + 1] += counts[k];
+        }
+        int[] sorted = new int[order.length];
+        for (int index : order) {
+            sorted[counts[key[index]]++] = index;
+        }
+        return sorted;
+    }
+
+    private static int maxOf(int[] values) {
+        int max = 0;
+        for (int v : values) {
+            max = Math.max(max, v);
+        }
+        return max;
+    }
+
+    private static int queryMax(int[] tree, int width, int e, int c) {
+        int max = 0;
+        for (int i = e; i > 0; i -= i & -i) {
+            for (int j = c; j > 0; j -= j & -j) {
+                max = Math.max(max, tree[i * width + j]);
+            }
+        }
+        return max;
+    }
+
+    private static void update(int[] tree, int width, int efforts, int criticalities, int e, int c, int layer) {
+        for (int i = e; i <= efforts; i += i & -i) {
+            for (int j = c; j <= criticalities; j += j & -j) {
+                tree[i * width + j] = Math.max(tree[i * width + j], layer);
+            }
+        }
+    }
+
+    public record ParetoAnalysis(boolean includesTimeCriticality, int storyCount, int frontCount,
+                                 List<ParetoFront> fronts) {}
+
+    /**
+     * Front de Pareto (1 = stories non dominées)
+     */
+    public record ParetoFront(int layer, List<ParetoStory> stories) {}
+
+    public record ParetoStory(Long storyId, int businessValue, int storyPoints, int timeCriticality) {}
+}
@@ -0,0 +1,167 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.model.IPrioritizationStrategy;
+import com.agile.demo.model.PrioritizationMethod;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.prioritization.MoSCowStrategy;
+import com.agile.demo.planning.prioritization.PrioritizationStrategyFactory;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Comparaison "what-if" des méthodes de priorisation sur un même backlog
+ *
+ * Le backlog est chargé une seule fois, dans l'ordre du backlog (rang puis id) : à score égal,
+ * les rangs de chaque méthode suivent cet ordre et sont stables d'un appel à l'autre. Les scores
+ * sont ceux persistés sur chaque story (cf. UserStory.refreshScores), recalculés seulement s'ils
+ * manquent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class PrioritizationComparisonService {
+
+    static final PrioritizationMethod[] COMPARED_METHODS = {
+            PrioritizationMethod.MOSCOW, PrioritizationMethod.WSJF, PrioritizationMethod.VALUE_EFFORT
+    };
+
+    private static final String[] MOSCOW_CATEGORIES = {"MUST_HAVE", "SHOULD_HAVE", "COULD_HAVE", "WONT_HAVE"};
+
+    private final UserStoryRepository userStoryRepository;
+
+    public PrioritizationComparison compareMethods(Long backlogId) {
+        log.debug("Comparing prioritization methods for backlog {}", backlogId);
+
+        List<UserStory> stories = userStoryRepository.findByProductBacklogIdOrderedByRank(backlogId);
+        int n = stories.size();
+        int methodCount = COMPARED_METHODS.length;
+
+        IPrioritizationStrategy[] strategies = new IPrioritizationStrategy[methodCount];
+        for (int m = 0; m < methodCount; m++) {
+            strategies[m] = PrioritizationStrategyFactory.getStrategy(COMPARED_METHODS[m]);
+        }
+
+        // Passe unique : tous les scores de chaque story
+        int[][] scores = new int[methodCount][n];
+        for (int i = 0; i < n; i++) {
+            UserStory story = stories.get(i);
+            for (int m = 0; m < methodCount; m++) {
+                Integer persisted = story.getScore(COMPARED_METHODS[m]);
+                scores[m][i] = persisted != null ? persisted : strategies[m].calculatePriority(story);
+            }
+        }
+
+        // Rangs par méthode (tri stable par score décroissant, comme prioritizeBacklog)
+        int[][] ranks = new int[methodCount][];
+        for (int m = 0; m < methodCount; m++) {
+            ranks[m] = ranksOf(scores[m]);
+        }
+
+        Map<String, Integer> histogram = new LinkedHashMap<>();
+        for (String category : MOSCOW_CATEGORIES) {
+            histogram.put(category, 0);
+        }
+
+        List<StoryComparison> comparisons = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Map<PrioritizationMethod, Integer> storyScores = new EnumMap<>(PrioritizationMethod.class);
+            Map<PrioritizationMethod, Integer> storyRanks = new EnumMap<>(PrioritizationMethod.class);
+            for (int m = 0; m < methodCount; m++) {
+                storyScores.put(COMPARED_METHODS[m], scores[m][i]);
+                storyRanks.put(COMPARED_METHODS[m], ranks[m][i]);
+            }
+            String category = MoSCowStrategy.categoryOf(scores[0][i]);
+            histogram.merge(category, 1, Integer::sum);
+
+            UserStory story = stories.get(i);
+            comparisons.add(new StoryComparison(story.getId(), story.getTitle(), storyScores, storyRanks, category));
+        }
+
+        List<RankDeltaSummary> deltas = new ArrayList<>();
+        for (int a = 0; a < methodCount; a++) {
+            for (int b = a + 1; b < methodCount; b++) {
+                deltas.add(summarizeDeltas(COMPARED_METHODS[a], ranks[a], COMPARED_METHODS[b], ranks[b]));
+            }
+        }
+
+        return new PrioritizationComparison(comparisons, histogram, deltas);
+    }
+
+    /**
+     * Rang (1 = plus prioritaire) de chaque position, à score égal l'ordre d'origine est conservé
+     */
+    static int[] ranksOf(int[] scores) {
+        Integer[] order = new Integer[scores.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> Integer.compare(scores[y], scores[x]));
+
+        int[] ranks = new int[scores.length];
+        for (int r = 0; r < order.length; r++) {
+            ranks[order[r]] = r + 1;
+        }
+        return ranks;
+    }
+
+    private static RankDeltaSummary summarizeDeltas(PrioritizationMethod from, int[] fromRanks,
+                                                    PrioritizationMethod to, int[] toRanks) {
+        long total = 0;
+        int max = 0;
+        for (int i = 0; i < fromRanks.length; i++) {
+            int delta = Math.abs(toRanks[i] - fromRanks[i]);
+            total += delta;
+            max = Math.max(max, delta);
+        }
+        double mean = fromRanks.length == 0 ? 0.0 : (double) total / fromRanks.length;
+        return new RankDeltaSummary(from, to, mean, max);
+    }
+
+    /**
+     * Résultat complet de la comparaison
+     */
+    public record PrioritizationComparison(
+            List<StoryComparison> stories,
+            Map<String, Integer> moscowCategoryHistogram,
+            List<RankDeltaSummary> rankDeltas
+    ) {}
+
+    /**
+     * Scores et rangs d'une story pour chaque méthode
+     */
+    public record StoryComparison(
+            Long storyId,
+            String title,
+            Map<PrioritizationMethod, Integer> scores,
+            Map<PrioritizationMethod, Integer> ranks,
+            String moscowCategory
+    ) {
+        /**
+         * Déplacement de la story en passant d'une méthode à l'autre (positif = recule)
+         */
+        public int rankDelta(PrioritizationMethod from, PrioritizationMethod to) {
+            return ranks.get(to) - ranks.get(from);
+        }
+    }
+
+    /**
+     * Écart de classement entre deux méthodes sur l'ensemble du backlog
+     */
+    public record RankDeltaSummary(
+            PrioritizationMethod from,
+            PrioritizationMethod to,
+            double meanAbsoluteDelta,
+            int maxAbsoluteDelta
+    ) {}
+}
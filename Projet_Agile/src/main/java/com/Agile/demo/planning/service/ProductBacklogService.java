@@ -1,12 +1,23 @@
 package com.agile.demo.planning.service;
 
+import com.agile.demo.common.exception.BusinessException;
 import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.common.pagination.KeysetPage;
+import com.agile.demo.common.pagination.PageToken;
+import com.agile.demo.model.PrioritizationMethod;
 import com.agile.demo.model.ProductBacklog;
 import com.agile.demo.model.UserStory;
+import com.agile.demo.model.projection.StorySummary;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.prioritization.FormulaCompiler;
 import com.agile.demo.planning.repository.ProductBacklogRepository;
 import com.agile.demo.planning.repository.UserStoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +32,7 @@ public class ProductBacklogService {
 
     private final ProductBacklogRepository productBacklogRepository;
     private final UserStoryRepository userStoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProductBacklog getProductBacklogById(Long id) {
         return productBacklogRepository.findById(id)
@@ -46,4 +58,66 @@ public class ProductBacklogService {
                 .limit(limit)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Vues de liste : projections sans entités gérées, le top N est limité en base
+     */
+    public List<StorySummary> getStorySummaries(Long backlogId) {
+        return userStoryRepository.findSummariesByProductBacklogId(backlogId);
+    }
+
+    public List<StorySummary> getUnassignedStorySummaries(Long backlogId) {
+        return userStoryRepository.findUnassignedSummariesByBacklogId(backlogId);
+    }
+
+    public List<StorySummary> getTopPriorityStorySummaries(Long backlogId, int limit) {
+        return userStoryRepository.findSummariesOrderedByPriority(backlogId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Stories hors sprint, par pages (priorité, id)
+     */
+    public KeysetPage<StorySummary> getUnassignedStorySummaryPage(Long backlogId, String pageToken, int size) {
+        PageToken after = PageToken.decode(pageToken);
+        return KeysetPage.of(userStoryRepository.findUnassignedSummaryPageByBacklogId(backlogId,
+                        after.intKey(0, Integer.MIN_VALUE), after.longKey(1, 0L), KeysetPage.fetch(size)),
+                size, UserStoryService::pageTokenOf);
+    }
+
+    /**
+     * Top N des stories selon le score persisté d'une méthode de priorisation
+     * Lecture par index (product_backlog_id, score) sans charger tout le backlog
+     */
+    public List<UserStory> getTopStoriesByScore(Long backlogId, PrioritizationMethod method, int limit) {
+        Pageable top = PageRequest.of(0, limit);
+        return switch (method) {
+            case WSJF -> userStoryRepository.findByProductBacklogIdOrderByWsjfScoreDescIdAsc(backlogId, top);
+            case VALUE_EFFORT -> userStoryRepository.findByProductBacklogIdOrderByValueEffortScoreDescIdAsc(backlogId, top);
+            case MOSCOW -> userStoryRepository.findByProductBacklogIdOrderByMoscowScoreDescIdAsc(backlogId, top);
+            case CUSTOM -> throw new BusinessException("Custom formulas have no persisted score");
+        };
+    }
+
+    /**
+     * Définit une formule de priorisation personnalisée pour le backlog
+     * La formule est compilée immédiatement pour rejeter les erreurs de syntaxe
+     */
+    @Transactional
+    public ProductBacklog updatePrioritizationFormula(Long backlogId, String formula) {
+        log.info("Setting custom prioritization formula for backlog {}: {}", backlogId, formula);
+
+        ProductBacklog backlog = getProductBacklogById(backlogId);
+        try {
+            FormulaCompiler.compile(formula);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(e.getMessage());
+        }
+
+        backlog.setPrioritizationFormula(formula.trim());
+        backlog.setSelectedMethod(PrioritizationMethod.CUSTOM);
+        ProductBacklog saved = productBacklogRepository.save(backlog);
+        Long projectId = saved.getProject() != null ? saved.getProject().getId() : null;
+        eventPublisher.publishEvent(BacklogChangedEvent.of(backlogId, projectId, StoryChange.SCORES));
+        return saved;
+    }
 }
\ No newline at end of file
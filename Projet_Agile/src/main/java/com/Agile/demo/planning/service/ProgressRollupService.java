@@ -0,0 +1,339 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.ProgressRollup;
+import com.agile.demo.model.Task;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compteurs d'avancement maintenus de façon incrémentale : Task → UserStory → Epic → ProductBacklog
+ *
+ * Chaque écriture calcule le delta entre l'état avant et après de l'élément modifié et
+ * l'applique par UPDATE atomique sur chaque niveau parent. Lire l'avancement d'un epic ou
+ * d'un projet revient alors à lire une seule ligne, sans parcourir stories ni tâches.
+ *
+ * Au niveau story, les compteurs par statut portent sur les tâches ; aux niveaux epic et
+ * backlog ils portent sur les stories. Les heures remontent telles quelles à tous les niveaux.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ProgressRollupService {
+
+    private final UserStoryRepository userStoryRepository;
+    private final EpicRepository epicRepository;
+    private final ProductBacklogRepository productBacklogRepository;
+
+    // ===== LECTURE =====
+
+    public ProgressRollup getStoryProgress(Long storyId) {
+        return userStoryRepository.findProgressById(storyId)
+                .orElseThrow(() -> new ResourceNotFoundException("UserStory", storyId));
+    }
+
+    public ProgressRollup getEpicProgress(Long epicId) {
+        return epicRepository.findProgressById(epicId)
+                .orElseThrow(() -> new ResourceNotFoundException("Epic", epicId));
+    }
+
+    public ProgressRollup getBacklogProgress(Long backlogId) {
+        return productBacklogRepository.findProgressById(backlogId)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductBacklog", backlogId));
+    }
+
+    public ProgressRollup getProjectProgress(Long projectId) {
+        return productBacklogRepository.findProgressByProjectId(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", projectId));
+    }
+
+    // ===== TÂCHES =====
+
+    /**
+     * Répercute la création ou la modification d'une tâche
+     *
+     * @param before état de la tâche avant l'écriture, null pour une création
+     */
+    @Transactional
+    public void onTaskChanged(Task task, TaskSnapshot before) {
+        ProgressRollup after = TaskSnapshot.of(task).contribution();
+        ProgressRollup delta = before != null ? after.minus(before.contribution()) : after;
+        applyToStory(task.getUserStory(), delta);
+    }
+
+    /**
+     * Retire une tâche supprimée de l'agrégat de sa story
+     */
+    @Transactional
+    public void onTaskDeleted(Task task) {
+        applyToStory(task.getUserStory(), TaskSnapshot.of(task).contribution().negate());
+    }
+
+    // ===== STORIES =====
+
+    /**
+     * Répercute la création d'une story ou un changement de points / de statut
+     *
+     * @param before état de la story avant l'écriture, null pour une création
+     */
+    @Transactional
+    public void onStoryChanged(UserStory story, StorySnapshot before) {
+        ProgressRollup after = StorySnapshot.of(story).contribution();
+        ProgressRollup delta = before != null ? after.minus(before.contribution()) : after;
+        applyToParents(story.getEpic(), story.getProductBacklog(), delta);
+    }
+
+    /**
+     * Retire une story (et les heures de ses tâches) de son epic et de son backlog
+     * Doit être appelé avant la suppression pour relire l'agrégat de ses tâches
+     */
+    @Transactional
+    public void onStoryDeleted(UserStory story) {
+        applyToParents(story.getEpic(), story.getProductBacklog(), fullContributionOf(story).negate());
+    }
+
+    /**
+     * Déplace la contribution d'une story de son ancien epic vers le nouveau
+     *
+     * @param previousEpic epic avant le changement, null si la story n'en avait pas
+     */
+    @Transactional
+    public void onStoryEpicChanged(UserStory story, Epic previousEpic) {
+        Epic currentEpic = story.getEpic();
+        if (sameEpic(previousEpic, currentEpic)) {
+            return;
+        }
+        ProgressRollup contribution = fullContributionOf(story);
+        applyToParents(previousEpic, null, contribution.negate());
+        applyToParents(currentEpic, null, contribution);
+    }
+
+    /**
+     * Contribution aux epics d'un lot de stories, groupée par epic actuel (une requête)
+     * A lire avant la mise à jour en masse du rattachement
+     */
+    public List<EpicContribution> summarizeByEpic(Long backlogId, Collection<Long> storyIds) {
+        List<EpicContribution> contributions = new ArrayList<>();
+        for (Object[] row : userStoryRepository.summarizeByEpic(backlogId, storyIds)) {
+            contributions.add(new EpicContribution(
+                    row[0] == null ? null : ((Number) row[0]).longValue(),
+                    ((Number) row[1]).longValue(),
+                    ProgressRollup.of(longOf(row[2]), longOf(row[3]), longOf(row[4]), longOf(row[5]),
+                            longOf(row[6]), longOf(row[7]), longOf(row[8]), longOf(row[9]),
+                            longOf(row[10]), longOf(row[11]))));
+        }
+        return contributions;
+    }
+
+    /**
+     * Déplace en masse des contributions vers un epic (null pour un détachement)
+     * Un UPDATE par epic d'origine et un pour l'epic cible, quel que soit le nombre de stories
+     */
+    @Transactional
+    public void onStoriesEpicChanged(List<EpicContribution> contributions, Epic target) {
+        Long targetId = target != null ? target.getId() : null;
+        ProgressRollup moved = ProgressRollup.empty();
+        for (EpicContribution contribution : contributions) {
+            if (contribution.epicId() != null && contribution.epicId().equals(targetId)) {
+                continue;
+            }
+            if (contribution.epicId() != null) {
+                epicRepository.applyProgressDelta(contribution.epicId(), contribution.rollup().negate());
+            }
+            moved = moved.plus(contribution.rollup());
+        }
+        if (target != null && !moved.isZero()) {
+            epicRepository.applyProgressDelta(targetId, moved);
+        }
+    }
+
+    // ===== LOTS =====
+
+    /**
+     * Applique les deltas cumulés d'un lot d'écritures : un UPDATE par story, epic et backlog touchés
+     */
+    @Transactional
+    public void apply(RollupBatch batch) {
+        batch.stories.forEach(userStoryRepository::applyProgressDelta);
+        batch.epics.forEach(epicRepository::applyProgressDelta);
+        batch.backlogs.forEach(productBacklogRepository::applyProgressDelta);
+    }
+
+    // ===== REPRISE =====
+
+    /**
+     * Recalcule entièrement les agrégats d'un backlog (reprise des données existantes ou correction)
+     * Parcourt toutes les stories et tâches : à réserver à la maintenance
+     */
+    @Transactional
+    public ProgressRollup rebuild(Long backlogId) {
+        ProductBacklog backlog = productBacklogRepository.findById(backlogId)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductBacklog", backlogId));
+
+        Map<Long, ProgressRollup> epicTotals = new HashMap<>();
+        ProgressRollup backlogTotal = ProgressRollup.empty();
+
+        for (UserStory story : userStoryRepository.findByProductBacklogId(backlogId)) {
+            ProgressRollup storyTotal = ProgressRollup.empty();
+            for (Task task : story.getTasks()) {
+                storyTotal = storyTotal.plus(TaskSnapshot.of(task).contribution());
+            }
+            resetTo(storyTotal, userStoryRepository.findProgressById(story.getId()).orElse(ProgressRollup.empty()),
+                    delta -> userStoryRepository.applyProgressDelta(story.getId(), delta));
+
+            ProgressRollup contribution = StorySnapshot.of(story).contribution().plus(storyTotal.hoursOnly());
+            if (story.getEpic() != null) {
+                epicTotals.merge(story.getEpic().getId(), contribution, ProgressRollup::plus);
+            }
+            backlogTotal = backlogTotal.plus(contribution);
+        }
+
+        for (Epic epic : epicRepository.findByProductBacklogId(backlogId)) {
+            resetTo(epicTotals.getOrDefault(epic.getId(), ProgressRollup.empty()),
+                    epicRepository.findProgressById(epic.getId()).orElse(ProgressRollup.empty()),
+                    delta -> epicRepository.applyProgressDelta(epic.getId(), delta));
+        }
+        resetTo(backlogTotal, productBacklogRepository.findProgressById(backlog.getId()).orElse(ProgressRollup.empty()),
+                delta -> productBacklogRepository.applyProgressDelta(backlog.getId(), delta));
+
+        log.info("Progress rollups rebuilt for backlog {}: {}", backlogId, backlogTotal);
+        return backlogTotal;
+    }
+
+    // ===== MÉTHODES PRIVÉES =====
+
+    private void applyToStory(UserStory story, ProgressRollup delta) {
+        if (story == null || delta.isZero()) {
+            return;
+        }
+        userStoryRepository.applyProgressDelta(story.getId(), delta);
+        applyToParents(story.getEpic(), story.getProductBacklog(), delta.hoursOnly());
+    }
+
+    private void applyToParents(Epic epic, ProductBacklog backlog, ProgressRollup delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        if (epic != null) {
+            epicRepository.applyProgressDelta(epic.getId(), delta);
+        }
+        if (backlog != null) {
+            productBacklogRepository.applyProgressDelta(backlog.getId(), delta);
+        }
+    }
+
+    private ProgressRollup fullContributionOf(UserStory story) {
+        ProgressRollup taskTotals = userStoryRepository.findProgressById(story.getId())
+                .orElse(ProgressRollup.empty());
+        return StorySnapshot.of(story).contribution().plus(taskTotals.hoursOnly());
+    }
+
+    private static void resetTo(ProgressRollup target, ProgressRollup current,
+                                Consumer<ProgressRollup> apply) {
+        ProgressRollup delta = target.minus(current);
+        if (!delta.isZero()) {
+            apply.accept(delta);
+        }
+    }
+
+    private static long longOf(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private static boolean sameEpic(Epic a, Epic b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getId() != null && a.getId().equals(b.getId());
+    }
+
+    // ===== RECORDS =====
+
+    /**
+     * Deltas d'agrégats cumulés en mémoire par identifiant, pour des écritures en masse
+     */
+    public static final class RollupBatch {
+
+        private final Map<Long, ProgressRollup> stories = new HashMap<>();
+        private final Map<Long, ProgressRollup> epics = new HashMap<>();
+        private final Map<Long, ProgressRollup> backlogs = new HashMap<>();
+
+        /**
+         * Tâche créée : sa contribution va à sa story, ses heures à l'epic et au backlog
+         */
+        public void addTask(Long storyId, Long epicId, Long backlogId, ProgressRollup contribution) {
+            merge(stories, storyId, contribution);
+            addToParents(epicId, backlogId, contribution.hoursOnly());
+        }
+
+        /**
+         * Story créée : sa contribution va à son epic (éventuel) et à son backlog
+         */
+        public void addStory(Long epicId, Long backlogId, ProgressRollup contribution) {
+            addToParents(epicId, backlogId, contribution);
+        }
+
+        public boolean isEmpty() {
+            return stories.isEmpty() && epics.isEmpty() && backlogs.isEmpty();
+        }
+
+        private void addToParents(Long epicId, Long backlogId, ProgressRollup delta) {
+            merge(epics, epicId, delta);
+            merge(backlogs, backlogId, delta);
+        }
+
+        private static void merge(Map<Long, ProgressRollup> deltas, Long id, ProgressRollup delta) {
+            if (id != null && !delta.isZero()) {
+                deltas.merge(id, delta, ProgressRollup::plus);
+            }
+        }
+    }
+
+    /**
+     * Part des agrégats portée par les stories d'un même epic d'origine (epicId null = sans epic)
+     */
+    public record EpicContribution(Long epicId, long storyCount, ProgressRollup rollup) {}
+
+    /**
+     * État d'une tâche capturé avant une écriture
+     */
+    public record TaskSnapshot(Integer estimatedHours, Integer actualHours, WorkItemStatus status) {
+        public static TaskSnapshot of(Task task) {
+            return new TaskSnapshot(task.getEstimatedHours(), task.getActualHours(), task.getStatus());
+        }
+
+        ProgressRollup contribution() {
+            return ProgressRollup.ofTask(estimatedHours, actualHours, status);
+        }
+    }
+
+    /**
+     * État d'une story capturé avant une écriture
+     */
+    public record StorySnapshot(Integer storyPoints, WorkItemStatus status) {
+        public static StorySnapshot of(UserStory story) {
+            return new StorySnapshot(story.getStoryPoints(), story.getStatus());
+        }
+
+        ProgressRollup contribution() {
+            return ProgressRollup.ofStory(storyPoints, status);
+        }
+    }
+}
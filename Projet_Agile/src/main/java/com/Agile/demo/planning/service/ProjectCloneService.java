@@ -0,0 +1,156 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.CloneIdMapping;
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.Task;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.repository.CloneIdMappingRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Clonage d'un projet servant de modèle : backlog, epics, stories (et leurs dépendances) et tâches
+ *
+ * Rien n'est recopié entité par entité. Pour chaque niveau, les identifiants sources sont lus
+ * (une colonne), de nouveaux identifiants sont pris dans la séquence de l'entité (blocs de
+ * l'optimiseur pooled) et la correspondance est écrite dans clone_id_map par lots JDBC ; la
+ * copie elle-même est un INSERT … SELECT joint à cette table. Le nombre d'ordres SQL ne dépend
+ * que du nombre de blocs d'identifiants, pas du nombre d'éléments.
+ *
+ * Les copies sont remises à zéro (statut TODO, sans sprint, sans assignation, heures réalisées
+ * à 0) ; membres et sprints ne sont pas repris.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ProjectCloneService {
+
+    /**
+     * Lignes de correspondance par lot JDBC
+     */
+    static final int MAPPING_BATCH_SIZE = 500;
+
+    private final ProjectRepository projectRepository;
+    private final ProductBacklogRepository productBacklogRepository;
+    private final CloneIdMappingRepository cloneIdMappingRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Crée un projet nommé {@code name} à partir de {@code sourceProjectId}
+     *
+     * La durée du projet source est conservée à partir de {@code startDate}.
+     * Avec {@code withDependencies}, les dépendances entre stories du backlog source sont
+     * reprises entre leurs copies (les stories concernées ne sont alors pas prêtes).
+     */
+    @Transactional
+    public CloneReport cloneProject(Long sourceProjectId, String name, LocalDate startDate, boolean withDependencies) {
+        Project source = projectRepository.findById(sourceProjectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", sourceProjectId));
+        if (projectRepository.existsByName(name)) {
+            throw new BusinessException("A project with name '" + name + "' already exists");
+        }
+        ProductBacklog sourceBacklog = productBacklogRepository.findByProjectId(sourceProjectId)
+                .orElseThrow(() -> new BusinessException("Project " + sourceProjectId + " has no product backlog"));
+        log.info("Cloning project {} into '{}'", sourceProjectId, name);
+
+        Project clone = new Project(name, source.getDescription(), startDate, shiftedEndDate(source, startDate));
+        ProductBacklog backlog = clone.getProductBacklog();
+        backlog.setProject(clone);
+        backlog.setSelectedMethod(sourceBacklog.getSelectedMethod());
+        backlog.setPrioritizationFormula(sourceBacklog.getPrioritizationFormula());
+        projectRepository.save(clone);
+        entityManager.flush();
+
+        // L'id du nouveau backlog identifie le clonage dans clone_id_map
+        Long cloneId = backlog.getId();
+        Long sourceBacklogId = sourceBacklog.getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        writeMappings(cloneId, CloneIdMapping.Kind.EPIC, Epic.class,
+                cloneIdMappingRepository.findEpicIdsByProductBacklogId(sourceBacklogId));
+        writeMappings(cloneId, CloneIdMapping.Kind.STORY, UserStory.class,
+                cloneIdMappingRepository.findStoryIdsByProductBacklogId(sourceBacklogId));
+        writeMappings(cloneId, CloneIdMapping.Kind.TASK, Task.class,
+                cloneIdMappingRepository.findTaskIdsByProductBacklogId(sourceBacklogId));
+
+        int epics = cloneIdMappingRepository.insertEpicCopies(cloneId, cloneId, "-" + cloneId);
+        int stories = cloneIdMappingRepository.insertStoryCopies(cloneId, cloneId, now);
+        int dependencies = 0;
+        if (withDependencies) {
+            dependencies = cloneIdMappingRepository.insertDependencyCopies(cloneId);
+            if (dependencies > 0) {
+                cloneIdMappingRepository.markCopiesWithDependenciesNotReady(cloneId);
+            }
+        }
+        int tasks = cloneIdMappingRepository.insertTaskCopies(cloneId, now);
+        cloneIdMappingRepository.refreshBacklogRollup(cloneId);
+        cloneIdMappingRepository.deleteByCloneId(cloneId);
+
+        CloneReport report = new CloneReport(sourceProjectId, clone.getId(), cloneId, epics, stories, tasks, dependencies);
+        log.info("Project {} cloned: {}", sourceProjectId, report);
+        return report;
+    }
+
+    private static LocalDate shiftedEndDate(Project source, LocalDate startDate) {
+        if (startDate == null || source.getStartDate() == null || source.getEndDate() == null) {
+            return null;
+        }
+        return startDate.plusDays(ChronoUnit.DAYS.between(source.getStartDate(), source.getEndDate()));
+    }
+
+    /**
+     * Attribue un nouvel identifiant à chaque id source et écrit les paires par lots JDBC
+     */
+    private void writeMappings(Long cloneId, CloneIdMapping.Kind kind, Class<?> entityType, List<Long> oldIds) {
+        if (oldIds.isEmpty()) {
+            return;
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entityType).getGenerator();
+
+        session.doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO clone_id_map (clone_id, kind, old_id, new_id) VALUES (?, ?, ?, ?)")) {
+                int pending = 0;
+                for (Long oldId : oldIds) {
+                    insert.setLong(1, cloneId);
+                    insert.setString(2, kind.name());
+                    insert.setLong(3, oldId);
+                    insert.setLong(4, (Long) generator.generate(session, null));
+                    insert.addBatch();
+                    if (++pending == MAPPING_BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+            }
+        });
+    }
+
+    // ===== RECORDS =====
+
+    public record CloneReport(Long sourceProjectId, Long projectId, Long backlogId,
+                              int epics, int stories, int tasks, int dependencies) {}
+}
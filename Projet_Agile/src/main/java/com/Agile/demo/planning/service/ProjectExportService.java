@@ -0,0 +1,323 @@
+package com.agile.demo.planning.service;
+
+import com.Agile.demo.execution.repositories.SprintBacklogRepository;
+import com.Agile.demo.execution.repositories.TaskRepository;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.SprintBacklog;
+import com.agile.demo.model.Task;
+import com.agile.demo.model.User;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.UserStoryDescription;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.ProjectRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Export complet d'un projet (projet, backlog, membres, sprints, epics, stories, tâches)
+ * en JSON Lines ou en CSV, pour les sauvegardes et les audits
+ *
+ * Chaque niveau est lu par un curseur (Stream du repository, fetch size réduit, entités en
+ * lecture seule) et écrit ligne par ligne : aucune collection paresseuse n'est parcourue.
+ * Chaque entité est détachée après écriture et le contexte de persistance est vidé à intervalle
+ * régulier (proxys des parents) : la mémoire reste bornée quelle que soit la taille du projet.
+ *
+ * Les lignes EPIC, STORY et TASK reprennent les colonnes de BacklogImportService
+ * (ref = identifiant, parent = epic de la story / story de la tâche) et peuvent être réimportées.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ProjectExportService {
+
+    public static final List<String> CSV_COLUMNS = List.of(
+            "type", "ref", "parent", "title", "description", "status", "role", "action", "purpose",
+            "points", "hours", "actual_hours", "rank", "number", "sprint", "assignee",
+            "start_date", "end_date", "username", "email");
+
+    /**
+     * Lignes écrites entre deux vidages du contexte de persistance
+     */
+    static final int CLEAR_INTERVAL = 200;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final ProjectRepository projectRepository;
+    private final ProductBacklogRepository productBacklogRepository;
+    private final EpicRepository epicRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final SprintBacklogRepository sprintBacklogRepository;
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Écrit l'export du projet dans le flux ; le flux n'est pas fermé
+     */
+    public ExportSummary exportProject(Long projectId, Writer target, ExportFormat format) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", projectId));
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(target) : new JsonLinesRowWriter(target);
+
+        try {
+            writer.write(projectRow(project));
+            Optional<ProductBacklog> backlog = productBacklogRepository.findByProjectId(projectId);
+            if (backlog.isPresent()) {
+                writer.write(backlogRow(backlog.get(), projectId));
+            }
+            entityManager.clear();
+
+            long members;
+            try (Stream<User> rows = projectRepository.streamMembersByProjectId(projectId)) {
+                members = export(rows, user -> memberRow(user, projectId), writer);
+            }
+            long sprints;
+            try (Stream<SprintBacklog> rows = sprintBacklogRepository.streamByProjectId(projectId)) {
+                sprints = export(rows, sprint -> sprintRow(sprint, projectId), writer);
+            }
+
+            long epics = 0;
+            long stories = 0;
+            long tasks = 0;
+            if (backlog.isPresent()) {
+                Long backlogId = backlog.get().getId();
+                try (Stream<Epic> rows = epicRepository.streamByProductBacklogId(backlogId)) {
+                    epics = export(rows, ProjectExportService::epicRow, writer);
+                }
+                try (Stream<UserStory> rows = userStoryRepository.streamByProductBacklogIdOrderedByRank(backlogId)) {
+                    stories = export(rows, ProjectExportService::storyRow, writer);
+                }
+                try (Stream<Task> rows = taskRepository.streamByProductBacklogId(backlogId)) {
+                    tasks = export(rows, ProjectExportService::taskRow, writer);
+                }
+            }
+            writer.flush();
+
+            ExportSummary summary = new ExportSummary(projectId, members, sprints, epics, stories, tasks);
+            log.info("Project {} exported as {}: {}", projectId, format, summary);
+            return summary;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> long export(Stream<T> rows, Function<T, Map<String, Object>> mapper, RowWriter writer)
+            throws IOException {
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T entity = iterator.next();
+            writer.write(mapper.apply(entity));
+            entityManager.detach(entity);
+            // Le détachement ne libère pas les proxys des parents référencés : vidage périodique
+            if (++count % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+        entityManager.clear();
+        return count;
+    }
+
+    // ===== LIGNES =====
+    // Les parents sont lus par leur identifiant (clé étrangère) : aucun proxy n'est initialisé.
+
+    private static Map<String, Object> row(String type, Long ref, Long parent, String title) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("type", type);
+        row.put("ref", ref);
+        row.put("parent", parent);
+        row.put("title", title);
+        return row;
+    }
+
+    private static Map<String, Object> projectRow(Project project) {
+        Map<String, Object> row = row("PROJECT", project.getId(), null, project.getName());
+        row.put("description", project.getDescription());
+        row.put("start_date", project.getStartDate());
+        row.put("end_date", project.getEndDate());
+        return row;
+    }
+
+    private static Map<String, Object> backlogRow(ProductBacklog backlog, Long projectId) {
+        return row("BACKLOG", backlog.getId(), projectId, backlog.getName());
+    }
+
+    private static Map<String, Object> memberRow(User user, Long projectId) {
+        Map<String, Object> row = row("MEMBER", user.getId(), projectId, null);
+        row.put("role", user.getRole());
+        row.put("username", user.getUsername());
+        row.put("email", user.getEmail());
+        return row;
+    }
+
+    private static Map<String, Object> sprintRow(SprintBacklog sprint, Long projectId) {
+        Map<String, Object> row = row("SPRINT", sprint.getId(), projectId, sprint.getName());
+        row.put("description", sprint.getGoal());
+        row.put("status", sprint.getSprintStatus());
+        row.put("number", sprint.getSprintNumber());
+        row.put("start_date", sprint.getStartDate());
+        row.put("end_date", sprint.getEndDate());
+        return row;
+    }
+
+    private static Map<String, Object> epicRow(Epic epic) {
+        Map<String, Object> row = row("EPIC", epic.getId(), null, epic.getTitle());
+        row.put("description", epic.getDescription());
+        return row;
+    }
+
+    private static Map<String, Object> storyRow(UserStory story) {
+        Map<String, Object> row = row("STORY", story.getId(), idOf(story.getEpic()), story.getTitle());
+        row.put("status", story.getStatus());
+        UserStoryDescription description = story.getStructuredDescription();
+        if (description != null) {
+            row.put("role", description.getRole());
+            row.put("action", description.getAction());
+            row.put("purpose", description.getPurpose());
+        }
+        row.put("points", story.getStoryPoints());
+        row.put("rank", story.getRank());
+        row.put("sprint", idOf(story.getSprintBacklog()));
+        return row;
+    }
+
+    private static Map<String, Object> taskRow(Task task) {
+        Map<String, Object> row = row("TASK", task.getId(), idOf(task.getUserStory()), task.getTitle());
+        row.put("description", task.getDescription());
+        row.put("status", task.getStatus());
+        row.put("hours", task.getEstimatedHours());
+        row.put("actual_hours", task.getActualHours());
+        row.put("sprint", idOf(task.getSprintBacklog()));
+        row.put("assignee", idOf(task.getAssignedUser()));
+        return row;
+    }
+
+    private static Long idOf(Epic epic) {
+        return epic != null ? epic.getId() : null;
+    }
+
+    private static Long idOf(UserStory story) {
+        return story != null ? story.getId() : null;
+    }
+
+    private static Long idOf(SprintBacklog sprint) {
+        return sprint != null ? sprint.getId() : null;
+    }
+
+    private static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+
+    // ===== ÉCRITURE =====
+
+    private interface RowWriter {
+        void write(Map<String, Object> row) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * Une ligne JSON par entité, sans les champs vides
+     */
+    private static final class JsonLinesRowWriter implements RowWriter {
+        private final Writer target;
+
+        private JsonLinesRowWriter(Writer target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(Map<String, Object> row) throws IOException {
+            Map<String, Object> values = new LinkedHashMap<>();
+            row.forEach((name, value) -> {
+                if (value != null) {
+                    values.put(name, value instanceof Number || value instanceof Boolean ? value : value.toString());
+                }
+            });
+            try {
+                target.write(JSON.writeValueAsString(values));
+            } catch (JsonProcessingException e) {
+                throw new IOException(e);
+            }
+            target.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+    }
+
+    /**
+     * CSV à colonnes fixes ({@link #CSV_COLUMNS}), champs cités selon la RFC 4180 si nécessaire
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer target;
+
+        private CsvRowWriter(Writer target) {
+            this.target = target;
+            try {
+                target.write(String.join(",", CSV_COLUMNS));
+                target.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(Map<String, Object> row) throws IOException {
+            for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+                if (i > 0) {
+                    target.write(',');
+                }
+                Object value = row.get(CSV_COLUMNS.get(i));
+                if (value != null) {
+                    target.write(escape(value.toString()));
+                }
+            }
+            target.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    // ===== RECORDS =====
+
+    public enum ExportFormat {
+        CSV,
+        JSON_LINES
+    }
+
+    public record ExportSummary(Long projectId, long members, long sprints, long epics, long stories, long tasks) {}
+}
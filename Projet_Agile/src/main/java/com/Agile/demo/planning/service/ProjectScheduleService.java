@@ -0,0 +1,287 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.config.PrimaryReads;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.event.StoryDeletedEvent;
+import com.agile.demo.planning.index.DependencyGraphService;
+import com.agile.demo.planning.index.DependencyGraphService.Topology;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ordonnancement d'un projet par la méthode du chemin critique
+ *
+ * Durée d'une story : ses story points ou la somme des heures estimées de ses tâches
+ * (0 pour une story terminée, seul le travail restant est planifié).
+ * Passe avant (début au plus tôt) puis passe arrière (début au plus tard) dans l'ordre
+ * topologique du graphe de dépendances : O(V + E). Le résultat est mis en cache par projet
+ * et recalculé quand le graphe (dépendances, statuts) ou les estimations changent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ProjectScheduleService {
+
+    public enum Weighting {
+        STORY_POINTS,
+        TASK_HOURS
+    }
+
+    private record CacheKey(Long projectId, Weighting weighting) {}
+
+    private record CachedSchedule(long graphVersion, long estimatesVersion, ProjectSchedule schedule) {}
+
+    private final UserStoryRepository userStoryRepository;
+    private final DependencyGraphService dependencyGraphService;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<CacheKey, CachedSchedule> cache = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> estimatesVersions = new ConcurrentHashMap<>();
+
+    public ProjectSchedule getSchedule(Long projectId, Weighting weighting) {
+        CacheKey key = new CacheKey(projectId, weighting);
+        long estimatesVersion = estimatesVersionOf(projectId).get();
+        long graphVersion = dependencyGraphService.getVersion(projectId);
+
+        CachedSchedule cached = cache.get(key);
+        if (cached != null && cached.graphVersion() == graphVersion && cached.estimatesVersion() == estimatesVersion) {
+            return cached.schedule();
+        }
+
+        // Calculé depuis le primaire : un ordonnancement lu sur la réplique en retard resterait en cache
+        ProjectSchedule schedule = PrimaryReads.call(transactionManager, () -> compute(projectId, weighting));
+        // Mis en cache sous les versions lues avant le calcul : une modification concurrente le rendra obsolète
+        if (PrimaryReads.isCacheable()) {
+            cache.put(key, new CachedSchedule(graphVersion, estimatesVersion, schedule));
+        }
+        return schedule;
+    }
+
+    // ===== INVALIDATION =====
+    // Les estimations (story points, heures des tâches) d'un projet ont changé. La version n'est
+    // incrémentée qu'après le commit : un calcul concurrent fait sur les lignes d'avant le commit
+    // est mis en cache sous l'ancienne version, donc écarté à la lecture suivante.
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onStoryChanged(StoryChangedEvent event) {
+        if (event.affects(StoryChange.CREATED, StoryChange.ESTIMATES)) {
+            bumpEstimates(event.projectId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onStoryDeleted(StoryDeletedEvent event) {
+        bumpEstimates(event.projectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onBacklogChanged(BacklogChangedEvent event) {
+        if (event.affects(StoryChange.ESTIMATES, StoryChange.PRIORITIZATION, StoryChange.SCORES)) {
+            bumpEstimates(event.projectId());
+        }
+    }
+
+    private void bumpEstimates(Long projectId) {
+        if (projectId != null) {
+            estimatesVersionOf(projectId).incrementAndGet();
+        }
+    }
+
+    /**
+     * Export CSV pour un rendu de type Gantt, trié par début au plus tôt
+     * Les dates sont exprimées dans l'unité de pondération (points ou heures) depuis le début du projet
+     */
+    public String exportGanttCsv(Long projectId, Weighting weighting) {
+        List<ScheduledStory> stories = new ArrayList<>(getSchedule(projectId, weighting).stories());
+        stories.sort((a, b) -> a.earliestStart() != b.earliestStart()
+                ? Long.compare(a.earliestStart(), b.earliestStart())
+                : Long.compare(a.storyId(), b.storyId()));
+
+        StringBuilder csv = new StringBuilder("story_id,title,start,finish,latest_start,latest_finish,slack,critical\n");
+        for (ScheduledStory story : stories) {
+            csv.append(story.storyId()).append(',')
+                    .append(escapeCsv(story.title())).append(',')
+                    .append(story.earliestStart()).append(',')
+                    .append(story.earliestFinish()).append(',')
+                    .append(story.latestStart()).append(',')
+                    .append(story.latestFinish()).append(',')
+                    .append(story.slack()).append(',')
+                    .append(story.critical()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    // ===== CALCUL =====
+
+    private ProjectSchedule compute(Long projectId, Weighting weighting) {
+        Topology topology = dependencyGraphService.getTopology(projectId);
+        if (topology.hasCycle()) {
+            throw new BusinessException("Project " + projectId + " has cyclic dependencies");
+        }
+
+        // Sommets du graphe, puis stories sans aucune dépendance chargées après le graphe
+        List<Object[]> rows = userStoryRepository.findScheduleInputsByProjectId(projectId);
+        long[] graphIds = topology.storyIds();
+        Map<Long, Integer> indexById = new HashMap<>(graphIds.length * 2);
+        for (int i = 0; i < graphIds.length; i++) {
+            indexById.put(graphIds[i], i);
+        }
+        int n = graphIds.length;
+        for (Object[] row : rows) {
+            if (!indexById.containsKey(((Number) row[0]).longValue())) {
+                indexById.put(((Number) row[0]).longValue(), n++);
+            }
+        }
+
+        long[] ids = Arrays.copyOf(graphIds, n);
+        String[] titles = new String[n];
+        long[] duration = new long[n];
+        for (Object[] row : rows) {
+            int node = indexById.get(((Number) row[0]).longValue());
+            ids[node] = ((Number) row[0]).longValue();
+            titles[node] = (String) row[1];
+            boolean done = row[3] == WorkItemStatus.DONE;
+            Number weight = weighting == Weighting.STORY_POINTS ? (Number) row[2] : (Number) row[4];
+            duration[node] = done || weight == null ? 0 : weight.longValue();
+        }
+
+        int[][] dependencies = Arrays.copyOf(topology.dependencies(), n);
+        int[] order = Arrays.copyOf(topology.topologicalOrder(), n);
+        for (int node = graphIds.length; node < n; node++) {
+            dependencies[node] = new int[0];
+            order[node] = node;
+        }
+
+        Schedule schedule = criticalPath(duration, dependencies, order);
+
+        List<ScheduledStory> stories = new ArrayList<>(n);
+        for (int node = 0; node < n; node++) {
+            if (titles[node] == null) {
+                continue; // dépendance vers un autre projet : contrainte prise en compte, non listée
+            }
+            stories.add(new ScheduledStory(ids[node], titles[node], duration[node],
+                    schedule.earliestStart[node], schedule.earliestStart[node] + duration[node],
+                    schedule.latestStart[node], schedule.latestStart[node] + duration[node],
+                    schedule.latestStart[node] - schedule.earliestStart[node],
+                    schedule.latestStart[node] == schedule.earliestStart[node]));
+        }
+        List<Long> criticalPath = new ArrayList<>(schedule.criticalPath.length);
+        for (int node : schedule.criticalPath) {
+            criticalPath.add(ids[node]);
+        }
+
+        log.debug("Schedule computed for project {} ({} stories, duration {} {})",
+                projectId, n, schedule.duration, weighting);
+        return new ProjectSchedule(projectId, weighting, schedule.duration, criticalPath, stories);
+    }
+
+    /**
+     * Résultat brut de la méthode du chemin critique, indexé par sommet
+     */
+    record Schedule(long duration, long[] earliestStart, long[] latestStart, int[] criticalPath) {}
+
+    /**
+     * Plus long chemin et marges en O(V + E)
+     *
+     * @param dependencies dépendances de chaque sommet (arêtes "doit attendre")
+     * @param order ordre topologique, dépendances d'abord
+     */
+    static Schedule criticalPath(long[] duration, int[][] dependencies, int[] order) {
+        int n = duration.length;
+        long[] earliestStart = new long[n];
+        long projectDuration = 0;
+
+        // Passe avant : début au plus tôt = fin au plus tôt maximale des dépendances
+        for (int node : order) {
+            long start = 0;
+            for (int dependency : dependencies[node]) {
+                start = Math.max(start, earliestStart[dependency] + duration[dependency]);
+            }
+            earliestStart[node] = start;
+            projectDuration = Math.max(projectDuration, start + duration[node]);
+        }
+
+        // Passe arrière : fin au plus tard = début au plus tard minimal des dépendants
+        long[] latestFinish = new long[n];
+        Arrays.fill(latestFinish, projectDuration);
+        long[] latestStart = new long[n];
+        for (int k = order.length - 1; k >= 0; k--) {
+            int node = order[k];
+            latestStart[node] = latestFinish[node] - duration[node];
+            for (int dependency : dependencies[node]) {
+                latestFinish[dependency] = Math.min(latestFinish[dependency], latestStart[node]);
+            }
+        }
+
+        // Chemin critique : depuis la story critique qui finit le plus tard, remonter les dépendances critiques
+        List<Integer> path = new ArrayList<>();
+        int current = -1;
+        for (int node = 0; node < n; node++) {
+            if (earliestStart[node] == latestStart[node] && earliestStart[node] + duration[node] == projectDuration
+                    && (current < 0 || duration[node] > duration[current])) {
+                current = node;
+            }
+        }
+        while (current >= 0) {
+            path.add(current);
+            int next = -1;
+            for (int dependency : dependencies[current]) {
+                if (earliestStart[dependency] == latestStart[dependency]
+                        && earliestStart[dependency] + duration[dependency] == earliestStart[current]) {
+                    next = dependency;
+                    break;
+                }
+            }
+            current = next;
+        }
+        Collections.reverse(path);
+        return new Schedule(projectDuration, earliestStart, latestStart,
+                path.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private AtomicLong estimatesVersionOf(Long projectId) {
+        return estimatesVersions.computeIfAbsent(projectId, id -> new AtomicLong());
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    public record ProjectSchedule(Long projectId, Weighting weighting, long duration,
+                                  List<Long> criticalPath, List<ScheduledStory> stories) {}
+
+    /**
+     * Story planifiée : dates au plus tôt / au plus tard et marge dans l'unité de pondération
+     */
+    public record ScheduledStory(Long storyId, String title, long duration,
+                                 long earliestStart, long earliestFinish,
+                                 long latestStart, long latestFinish,
+                                 long slack, boolean critical) {}
+}
@@ -2,9 +2,12 @@ package com.agile.demo.planning.service;
 
 import com.agile.demo.model.Project;
 import com.agile.demo.model.User;
+import com.agile.demo.model.projection.ProjectSummary;
 import com.agile.demo.planning.repository.ProjectRepository;
 import com.agile.demo.common.exception.ResourceNotFoundException;
 import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.common.pagination.KeysetPage;
+import com.agile.demo.common.pagination.PageToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -159,4 +162,39 @@ public class ProjectService {
         log.debug("Fetching projects for user: {}", userId);
         return projectRepository.findProjectsByMemberId(userId);
     }
+
+    // ===== VUES DE LISTE (projections, sans entités gérées) =====
+
+    public List<ProjectSummary> getAllProjectSummaries() {
+        return projectRepository.findAllSummaries();
+    }
+
+    public List<ProjectSummary> getCompletedProjectSummaries() {
+        return projectRepository.findCompletedProjectSummaries(LocalDate.now());
+    }
+
+    public List<ProjectSummary> getProjectSummariesByUser(Long userId) {
+        return projectRepository.findSummariesByMemberId(userId);
+    }
+
+    /**
+     * Pages par clé (id) : {@code pageToken} est le jeton de la page précédente, {@code null} pour la première
+     */
+    public KeysetPage<ProjectSummary> getProjectSummaryPage(String pageToken, int size) {
+        long afterId = PageToken.decode(pageToken).longKey(0, 0L);
+        return KeysetPage.of(projectRepository.findSummaryPage(afterId, KeysetPage.fetch(size)),
+                size, project -> PageToken.encode(project.id()));
+    }
+
+    public KeysetPage<ProjectSummary> getCompletedProjectSummaryPage(String pageToken, int size) {
+        long afterId = PageToken.decode(pageToken).longKey(0, 0L);
+        return KeysetPage.of(projectRepository.findCompletedProjectSummaryPage(LocalDate.now(), afterId,
+                KeysetPage.fetch(size)), size, project -> PageToken.encode(project.id()));
+    }
+
+    public KeysetPage<ProjectSummary> getProjectSummaryPageByUser(Long userId, String pageToken, int size) {
+        long afterId = PageToken.decode(pageToken).longKey(0, 0L);
+        return KeysetPage.of(projectRepository.findSummaryPageByMemberId(userId, afterId, KeysetPage.fetch(size)),
+                size, project -> PageToken.encode(project.id()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,430 @@
+package com.agile.demo.planning.service;
+
+import com.Agile.demo.execution.repositories.SprintBacklogRepository;
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.SprintBacklog;
+import com.agile.demo.model.SprintStatus;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.index.DependencyGraphService;
+import com.agile.demo.planning.index.DependencyGraphService.Topology;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Planification de release sur les N prochains sprints d'un projet
+ *
+ * Les stories non assignées sont réparties dans l'ordre de priorité du backlog (first-fit) :
+ * chaque story va dans le premier sprint qui a encore la capacité nécessaire et qui suit
+ * les sprints de toutes ses dépendances. Une dépendance moins prioritaire est planifiée avant
+ * la story qui en dépend (ordre topologique départagé par la priorité).
+ *
+ * Le dernier plan des projets récemment consultés est conservé (cache LRU borné) : comme le first-fit
+ * est séquentiel, seule la partie du plan qui suit la première story modifiée (points, dépendances,
+ * position) est recalculée. Un plan conservé n'est repris que pour le même calendrier, les mêmes
+ * capacités et la même version du graphe de dépendances.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ReleasePlanningService {
+
+    static final int NOT_PLANNED = -1;
+    private static final int BLOCKED = -2;
+    static final int MAX_CACHED_PLANS = 64;
+
+    private final ProductBacklogRepository productBacklogRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final SprintBacklogRepository sprintBacklogRepository;
+    private final DependencyGraphService dependencyGraphService;
+
+    // Dernier plan par projet, les moins récemment consultés sont évincés
+    private final Map<Long, PlanState> lastPlans = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, PlanState> eldest) {
+                    return size() > MAX_CACHED_PLANS;
+                }
+            });
+
+    /**
+     * Répartit les stories non assignées du projet sur ses prochains sprints planifiés
+     *
+     * @param sprintCount nombre de sprints PLANNED (par date de début) à remplir
+     */
+    public ReleasePlan planRelease(Long projectId, int sprintCount, CapacityModel capacityModel) {
+        if (sprintCount <= 0) {
+            throw new BusinessException("sprintCount must be positive");
+        }
+        ProductBacklog backlog = productBacklogRepository.findByProjectId(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductBacklog for project " + projectId + " not found"));
+
+        // Calendrier : sprints planifiés par date de début
+        List<SprintBacklog> plannedSprints = new ArrayList<>(
+                sprintBacklogRepository.findByProjectIdAndSprintStatus(projectId, SprintStatus.PLANNED));
+        plannedSprints.sort(Comparator.comparing(SprintBacklog::getStartDate,
+                        Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()))
+                .thenComparing(SprintBacklog::getSprintNumber, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+                .thenComparing(SprintBacklog::getId));
+        if (plannedSprints.isEmpty()) {
+            throw new BusinessException("Project " + projectId + " has no planned sprint");
+        }
+        List<SprintBacklog> calendar = plannedSprints.subList(0, Math.min(sprintCount, plannedSprints.size()));
+        int[] capacities = capacitiesOf(projectId, calendar, capacityModel);
+
+        // Version lue avant la topologie : un plan construit sur un graphe plus récent est seulement écarté
+        long graphVersion = dependencyGraphService.getVersion(projectId);
+        PlanInput input = buildInput(projectId, backlog.getId(), calendar, plannedSprints);
+
+        // Réutilisation du préfixe commun avec le plan précédent
+        long[] sprintIds = calendar.stream().mapToLong(SprintBacklog::getId).toArray();
+        PlanState previous = lastPlans.get(projectId);
+        int reused = 0;
+        if (previous != null) {
+            if (previous.graphVersion() != graphVersion) {
+                lastPlans.remove(projectId, previous); // dépendances modifiées depuis
+            } else if (Arrays.equals(previous.sprintIds(), sprintIds)
+                    && Arrays.equals(previous.capacities(), capacities)) {
+                reused = input.commonPrefix(previous.input());
+            }
+        }
+        int[] assignment = new int[input.size()];
+        if (reused > 0) {
+            System.arraycopy(previous.assignment(), 0, assignment, 0, reused);
+        }
+        firstFit(input, capacities, assignment, reused);
+        lastPlans.put(projectId, new PlanState(graphVersion, sprintIds, capacities, input, assignment));
+
+        log.debug("Release plan for project {}: {} stories, {} sprints, {} reused from previous plan",
+                projectId, input.size(), calendar.size(), reused);
+        return toReleasePlan(projectId, calendar, capacities, input, assignment, reused);
+    }
+
+    // ===== ENTRÉES =====
+
+    /**
+     * Stories à planifier dans l'ordre de traitement, avec leurs contraintes de dépendance
+     */
+    private PlanInput buildInput(Long projectId, Long backlogId, List<SprintBacklog> calendar,
+                                 List<SprintBacklog> plannedSprints) {
+        List<UserStory> stories = userStoryRepository.findUnassignedStoriesByBacklogId(backlogId).stream()
+                .filter(story -> !story.isDone())
+                .toList();
+        int n = stories.size();
+        Map<Long, Integer> positionById = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            positionById.put(stories.get(i).getId(), i);
+        }
+
+        Map<Long, Integer> calendarIndex = new HashMap<>();
+        for (int k = 0; k < calendar.size(); k++) {
+            calendarIndex.put(calendar.get(k).getId(), k);
+        }
+        Set<Long> laterSprints = new HashSet<>();
+        for (SprintBacklog sprint : plannedSprints) {
+            if (!calendarIndex.containsKey(sprint.getId())) {
+                laterSprints.add(sprint.getId());
+            }
+        }
+        Map<Long, Long> sprintOfStory = new HashMap<>();
+        for (Object[] row : userStoryRepository.findOpenSprintAssignmentsByBacklogId(backlogId)) {
+            sprintOfStory.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+
+        Topology topology = dependencyGraphService.getTopology(projectId);
+        Map<Long, Integer> nodeById = new HashMap<>(topology.storyIds().length * 2);
+        for (int node = 0; node < topology.storyIds().length; node++) {
+            nodeById.put(topology.storyIds()[node], node);
+        }
+
+        // Contraintes : dépendances à planifier (internes) et sprint minimal imposé par les autres
+        int[] externalMin = new int[n];
+        int[][] internalDeps = new int[n][];
+        for (int i = 0; i < n; i++) {
+            Integer node = nodeById.get(stories.get(i).getId());
+            List<Integer> internal = new ArrayList<>();
+            if (node != null) {
+                for (int dep : topology.dependencies()[node]) {
+                    if (topology.done()[dep]) {
+                        continue;
+                    }
+                    long depId = topology.storyIds()[dep];
+                    Integer position = positionById.get(depId);
+                    Long sprintId = sprintOfStory.get(depId);
+                    if (position != null) {
+                        internal.add(position);
+                    } else if (sprintId != null && calendarIndex.containsKey(sprintId)) {
+                        externalMin[i] = Math.max(externalMin[i], calendarIndex.get(sprintId) + 1);
+                    } else if (sprintId == null || laterSprints.contains(sprintId)) {
+                        externalMin[i] = BLOCKED; // dépendance hors horizon ou hors backlog
+                        break;
+                    }
+                    // sinon : dépendance dans le sprint en cours, terminée avant l'horizon
+                }
+            }
+            internalDeps[i] = internal.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Ordre de traitement : topologique, départagé par la priorité du backlog
+        int[] remaining = new int[n];
+        List<List<Integer>> dependents = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            remaining[i] = internalDeps[i].length;
+            for (int dep : internalDeps[i]) {
+                dependents.get(dep).add(i);
+            }
+        }
+        PriorityQueue<Integer> available = new PriorityQueue<>();
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] == 0) {
+                available.add(i);
+            }
+        }
+        int[] order = new int[n];
+        boolean[] ordered = new boolean[n];
+        int count = 0;
+        while (!available.isEmpty()) {
+            int i = available.poll();
+            order[count++] = i;
+            ordered[i] = true;
+            for (int dependent : dependents.get(i)) {
+                if (--remaining[dependent] == 0) {
+                    available.add(dependent);
+                }
+            }
+        }
+        // Stories prises dans un cycle : non planifiables, en fin d'ordre
+        for (int i = 0; i < n; i++) {
+            if (!ordered[i]) {
+                externalMin[i] = BLOCKED;
+                order[count++] = i;
+            }
+        }
+
+        int[] stepOf = new int[n];
+        for (int step = 0; step < n; step++) {
+            stepOf[order[step]] = step;
+        }
+        PlanInput input = new PlanInput(new long[n], new String[n], new int[n], new int[n], new int[n][]);
+        for (int step = 0; step < n; step++) {
+            int i = order[step];
+            UserStory story = stories.get(i);
+            input.storyIds[step] = story.getId();
+            input.titles[step] = story.getTitle();
+            input.points[step] = story.getStoryPoints() == null ? 0 : story.getStoryPoints();
+            input.externalMin[step] = externalMin[i];
+            input.dependencySteps[step] = Arrays.stream(internalDeps[i]).map(dep -> stepOf[dep]).sorted().toArray();
+        }
+        return input;
+    }
+
+    private int[] capacitiesOf(Long projectId, List<SprintBacklog> calendar, CapacityModel model) {
+        double pointsPerDay = model.pointsPerSprint() == null ? forecastPointsPerDay(projectId, model.velocityWindow()) : 0;
+        int[] capacities = new int[calendar.size()];
+        for (int k = 0; k < calendar.size(); k++) {
+            SprintBacklog sprint = calendar.get(k);
+            Integer override = model.sprintOverrides().get(sprint.getId());
+            if (override != null) {
+                capacities[k] = override;
+            } else if (model.pointsPerSprint() != null) {
+                capacities[k] = model.pointsPerSprint();
+            } else {
+                capacities[k] = (int) Math.round(pointsPerDay * daysOf(sprint));
+            }
+        }
+        return capacities;
+    }
+
+    /**
+     * Vélocité récente ramenée à la journée (les sprints n'ont pas tous la même durée)
+     */
+    private double forecastPointsPerDay(Long projectId, int window) {
+        List<SprintBacklog> completed = new ArrayList<>(
+                sprintBacklogRepository.findByProjectIdAndSprintStatus(projectId, SprintStatus.COMPLETED));
+        if (completed.isEmpty()) {
+            throw new BusinessException("Project " + projectId + " has no completed sprint: provide pointsPerSprint");
+        }
+        completed.sort(Comparator.comparing(SprintBacklog::getEndDate).reversed());
+        long points = 0;
+        long days = 0;
+        for (SprintBacklog sprint : completed.subList(0, Math.min(window, completed.size()))) {
+            points += userStoryRepository.sumDonePointsBySprintId(sprint.getId());
+            days += daysOf(sprint);
+        }
+        return days == 0 ? 0 : (double) points / days;
+    }
+
+    private static long daysOf(SprintBacklog sprint) {
+        LocalDate start = sprint.getStartDate();
+        LocalDate end = sprint.getEndDate();
+        return ChronoUnit.DAYS.between(start, end) + 1;
+    }
+
+    // ===== RÉPARTITION =====
+
+    /**
+     * First-fit à partir de l'étape from (les étapes précédentes sont déjà placées)
+     * Sprint de chaque étape dans assignment, NOT_PLANNED si la story ne peut pas être placée
+     */
+    static void firstFit(PlanInput input, int[] capacities, int[] assignment, int from) {
+        int[] remaining = capacities.clone();
+        for (int step = 0; step < from; step++) {
+            if (assignment[step] >= 0) {
+                remaining[assignment[step]] -= input.points[step];
+            }
+        }
+        for (int step = from; step < input.size(); step++) {
+            assignment[step] = NOT_PLANNED;
+            int earliest = input.externalMin[step];
+            if (earliest == BLOCKED) {
+                continue;
+            }
+            boolean dependencyPlanned = true;
+            for (int dependency : input.dependencySteps[step]) {
+                if (assignment[dependency] < 0) {
+                    dependencyPlanned = false;
+                    break;
+                }
+                earliest = Math.max(earliest, assignment[dependency] + 1);
+            }
+            if (!dependencyPlanned) {
+                continue;
+            }
+            for (int sprint = earliest; sprint < capacities.length; sprint++) {
+                if (remaining[sprint] >= input.points[step]) {
+                    remaining[sprint] -= input.points[step];
+                    assignment[step] = sprint;
+                    break;
+                }
+            }
+        }
+    }
+
+    private ReleasePlan toReleasePlan(Long projectId, List<SprintBacklog> calendar, int[] capacities,
+                                      PlanInput input, int[] assignment, int reused) {
+        List<List<Long>> storiesBySprint = new ArrayList<>();
+        int[] plannedPoints = new int[calendar.size()];
+        for (int k = 0; k < calendar.size(); k++) {
+            storiesBySprint.add(new ArrayList<>());
+        }
+        List<UnplannedStory> unplanned = new ArrayList<>();
+        for (int step = 0; step < input.size(); step++) {
+            int sprint = assignment[step];
+            if (sprint >= 0) {
+                storiesBySprint.get(sprint).add(input.storyIds[step]);
+                plannedPoints[sprint] += input.points[step];
+            } else {
+                unplanned.add(new UnplannedStory(input.storyIds[step], input.titles[step], input.points[step],
+                        reasonOf(input, assignment, step, capacities)));
+            }
+        }
+
+        List<PlannedSprint> sprints = new ArrayList<>(calendar.size());
+        for (int k = 0; k < calendar.size(); k++) {
+            SprintBacklog sprint = calendar.get(k);
+            sprints.add(new PlannedSprint(sprint.getId(), sprint.getSprintNumber(), sprint.getStartDate(),
+                    sprint.getEndDate(), capacities[k], plannedPoints[k], storiesBySprint.get(k)));
+        }
+        return new ReleasePlan(projectId, sprints, unplanned, reused);
+    }
+
+    private static UnplannedReason reasonOf(PlanInput input, int[] assignment, int step, int[] capacities) {
+        if (input.externalMin[step] == BLOCKED) {
+            return UnplannedReason.DEPENDENCY_OUTSIDE_PLAN;
+        }
+        for (int dependency : input.dependencySteps[step]) {
+            if (assignment[dependency] < 0) {
+                return UnplannedReason.DEPENDENCY_NOT_PLANNED;
+            }
+        }
+        return UnplannedReason.CAPACITY;
+    }
+
+    // ===== ÉTAT =====
+
+    /**
+     * Stories dans l'ordre de traitement ; dependencySteps référence des étapes précédentes
+     */
+    record PlanInput(long[] storyIds, String[] titles, int[] points, int[] externalMin, int[][] dependencySteps) {
+
+        int size() {
+            return storyIds.length;
+        }
+
+        /**
+         * Nombre d'étapes initiales identiques (même story, mêmes points, mêmes contraintes)
+         */
+        int commonPrefix(PlanInput other) {
+            int limit = Math.min(size(), other.size());
+            int step = 0;
+            while (step < limit
+                    && storyIds[step] == other.storyIds[step]
+                    && points[step] == other.points[step]
+                    && externalMin[step] == other.externalMin[step]
+                    && Arrays.equals(dependencySteps[step], other.dependencySteps[step])) {
+                step++;
+            }
+            return step;
+        }
+    }
+
+    private record PlanState(long graphVersion, long[] sprintIds, int[] capacities, PlanInput input,
+                             int[] assignment) {}
+
+    // ===== RÉSULTATS =====
+
+    /**
+     * Modèle de capacité : points fixes par sprint, surcharges par sprint, sinon prévision
+     * depuis la vélocité des derniers sprints terminés (points par jour x durée du sprint)
+     */
+    public record CapacityModel(Integer pointsPerSprint, Map<Long, Integer> sprintOverrides, int velocityWindow) {
+
+        public static CapacityModel forecast() {
+            return new CapacityModel(null, Map.of(), 3);
+        }
+
+        public static CapacityModel fixed(int pointsPerSprint) {
+            return new CapacityModel(pointsPerSprint, Map.of(), 3);
+        }
+    }
+
+    public enum UnplannedReason {
+        CAPACITY,
+        DEPENDENCY_NOT_PLANNED,
+        DEPENDENCY_OUTSIDE_PLAN
+    }
+
+    /**
+     * @param reusedSteps nombre de stories dont le placement a été repris du plan précédent
+     */
+    public record ReleasePlan(Long projectId, List<PlannedSprint> sprints, List<UnplannedStory> unplanned,
+                              int reusedSteps) {}
+
+    public record PlannedSprint(Long sprintId, Integer sprintNumber, LocalDate startDate, LocalDate endDate,
+                                int capacity, int plannedPoints, List<Long> storyIds) {}
+
+    public record UnplannedStory(Long storyId, String title, int storyPoints, UnplannedReason reason) {}
+}
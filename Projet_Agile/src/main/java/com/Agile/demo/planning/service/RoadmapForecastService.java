@@ -0,0 +1,278 @@
+package com.agile.demo.planning.service;
+
+import com.Agile.demo.execution.repositories.SprintBacklogRepository;
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.config.PrimaryReads;
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.SprintBacklog;
+import com.agile.demo.model.SprintStatus;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.event.StoryDeletedEvent;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prévision de fin de chaque Epic d'un projet (roadmap)
+ *
+ * Une seule passe sur le backlog ordonné (stories non terminées, par rang) cumule les points :
+ * un epic est terminé quand sa dernière story restante l'est, donc au cumul atteint à cette story.
+ * Ce cumul est mis en cache par backlog et invalidé quand l'ordre, les points ou le rattachement
+ * aux epics changent ; la vélocité est relue à chaque appel et la projection (cumul / vélocité
+ * → sprint → date) ne coûte qu'un parcours des epics.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class RoadmapForecastService {
+
+    static final int DEFAULT_VELOCITY_WINDOW = 3;
+    static final int DEFAULT_SPRINT_DAYS = 14;
+
+    private record CachedPass(long version, RoadmapPass pass) {}
+
+    private final ProductBacklogRepository productBacklogRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final EpicRepository epicRepository;
+    private final SprintBacklogRepository sprintBacklogRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<Long, CachedPass> cache = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Prévision à partir de la vélocité moyenne des derniers sprints terminés
+     */
+    public RoadmapForecast getRoadmap(Long projectId) {
+        return getRoadmap(projectId, null);
+    }
+
+    /**
+     * Prévision avec une vélocité imposée (points par sprint), ou la vélocité observée si null
+     */
+    public RoadmapForecast getRoadmap(Long projectId, Integer pointsPerSprint) {
+        if (pointsPerSprint != null && pointsPerSprint <= 0) {
+            throw new BusinessException("pointsPerSprint must be positive");
+        }
+        ProductBacklog backlog = productBacklogRepository.findByProjectId(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("ProductBacklog for project " + projectId + " not found"));
+
+        RoadmapPass pass = passOf(backlog.getId());
+        Velocity velocity = velocityOf(projectId, pointsPerSprint);
+        return project(projectId, pass, velocity);
+    }
+
+    // ===== INVALIDATION =====
+    // L'ordre, les points ou les epics d'un backlog ont changé. La version n'est incrémentée qu'après
+    // le commit : une passe concurrente faite sur les lignes d'avant le commit est mise en cache sous
+    // l'ancienne version, donc écartée à la lecture suivante.
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onStoryChanged(StoryChangedEvent event) {
+        if (event.affects(StoryChange.CREATED, StoryChange.PRIORITIZATION, StoryChange.ORDER,
+                StoryChange.ESTIMATES, StoryChange.STATUS, StoryChange.EPIC)) {
+            bumpVersion(event.backlogId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onStoryDeleted(StoryDeletedEvent event) {
+        bumpVersion(event.backlogId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onBacklogChanged(BacklogChangedEvent event) {
+        if (event.affects(StoryChange.PRIORITIZATION, StoryChange.SCORES, StoryChange.ORDER,
+                StoryChange.ESTIMATES, StoryChange.STATUS, StoryChange.EPIC)) {
+            bumpVersion(event.backlogId());
+        }
+    }
+
+    private void bumpVersion(Long backlogId) {
+        if (backlogId != null) {
+            versionOf(backlogId).incrementAndGet();
+        }
+    }
+
+    // ===== PASSE SUR LE BACKLOG =====
+
+    private RoadmapPass passOf(Long backlogId) {
+        long version = versionOf(backlogId).get();
+        CachedPass cached = cache.get(backlogId);
+        if (cached != null && cached.version() == version) {
+            return cached.pass();
+        }
+        // Calculée depuis le primaire : une passe lue sur la réplique en retard resterait en cache
+        RoadmapPass pass = PrimaryReads.call(transactionManager, () -> accumulate(
+                epicRepository.findByProductBacklogId(backlogId),
+                userStoryRepository.findRoadmapInputsByBacklogId(backlogId)));
+        log.debug("Roadmap pass for backlog {}: {} epics, {} remaining points",
+                backlogId, pass.epics().size(), pass.totalRemainingPoints());
+        // Mis en cache sous la version lue avant le calcul : une modification concurrente le rendra obsolète
+        if (PrimaryReads.isCacheable()) {
+            cache.put(backlogId, new CachedPass(version, pass));
+        }
+        return pass;
+    }
+
+    /**
+     * Cumule les points dans l'ordre du backlog et retient, pour chaque epic, le cumul à sa dernière story
+     *
+     * @param rows (id story, id epic ou null, points) dans l'ordre du backlog
+     */
+    static RoadmapPass accumulate(List<Epic> epics, List<Object[]> rows) {
+        Map<Long, EpicTotals> totals = new HashMap<>(epics.size() * 2);
+        for (Epic epic : epics) {
+            totals.put(epic.getId(), new EpicTotals(epic.getId(), epic.getTitle()));
+        }
+        long cumulative = 0;
+        for (Object[] row : rows) {
+            int points = row[2] == null ? 0 : ((Number) row[2]).intValue();
+            cumulative += points;
+            if (row[1] == null) {
+                continue;
+            }
+            EpicTotals epic = totals.get(((Number) row[1]).longValue());
+            if (epic != null) {
+                epic.remainingPoints += points;
+                epic.remainingStories++;
+                epic.cumulativePoints = cumulative;
+            }
+        }
+        return new RoadmapPass(List.copyOf(totals.values()), cumulative);
+    }
+
+    // ===== VÉLOCITÉ ET PROJECTION =====
+
+    private Velocity velocityOf(Long projectId, Integer pointsPerSprint) {
+        List<SprintBacklog> completed = new ArrayList<>(
+                sprintBacklogRepository.findByProjectIdAndSprintStatus(projectId, SprintStatus.COMPLETED));
+        completed.sort(Comparator.comparing(SprintBacklog::getEndDate).reversed());
+        List<SprintBacklog> recent = completed.subList(0, Math.min(DEFAULT_VELOCITY_WINDOW, completed.size()));
+
+        int sprintDays = DEFAULT_SPRINT_DAYS;
+        if (!recent.isEmpty()) {
+            long days = 0;
+            for (SprintBacklog sprint : recent) {
+                days += ChronoUnit.DAYS.between(sprint.getStartDate(), sprint.getEndDate()) + 1;
+            }
+            sprintDays = (int) Math.max(1, Math.round((double) days / recent.size()));
+        }
+
+        double pointsPerSprintValue;
+        if (pointsPerSprint != null) {
+            pointsPerSprintValue = pointsPerSprint;
+        } else {
+            if (recent.isEmpty()) {
+                throw new BusinessException("Project " + projectId + " has no completed sprint: provide pointsPerSprint");
+            }
+            long points = 0;
+            for (SprintBacklog sprint : recent) {
+                points += userStoryRepository.sumDonePointsBySprintId(sprint.getId());
+            }
+            pointsPerSprintValue = (double) points / recent.size();
+        }
+
+        return new Velocity(pointsPerSprintValue, sprintDays, startDateOf(projectId, completed));
+    }
+
+    /**
+     * Les prévisions partent du sprint actif s'il existe, sinon du lendemain du dernier sprint terminé
+     */
+    private LocalDate startDateOf(Long projectId, List<SprintBacklog> completedByEndDesc) {
+        List<SprintBacklog> active = sprintBacklogRepository.findByProjectIdAndSprintStatus(projectId, SprintStatus.ACTIVE);
+        if (!active.isEmpty()) {
+            return active.get(0).getStartDate();
+        }
+        if (!completedByEndDesc.isEmpty()) {
+            return completedByEndDesc.get(0).getEndDate().plusDays(1);
+        }
+        return LocalDate.now();
+    }
+
+    static RoadmapForecast project(Long projectId, RoadmapPass pass, Velocity velocity) {
+        List<EpicForecast> forecasts = new ArrayList<>(pass.epics().size());
+        for (EpicTotals epic : pass.epics()) {
+            if (epic.remainingStories == 0) {
+                forecasts.add(new EpicForecast(epic.epicId, epic.title, 0, 0, 0, 0, null, true));
+                continue;
+            }
+            Integer finishSprint = null;
+            LocalDate forecastDate = null;
+            if (velocity.pointsPerSprint() > 0) {
+                finishSprint = (int) Math.max(1, Math.ceil(epic.cumulativePoints / velocity.pointsPerSprint()));
+                forecastDate = velocity.startDate().plusDays((long) finishSprint * velocity.sprintDays() - 1);
+            }
+            forecasts.add(new EpicForecast(epic.epicId, epic.title, epic.remainingPoints, epic.remainingStories,
+                    epic.cumulativePoints, finishSprint, forecastDate, false));
+        }
+        forecasts.sort(Comparator.comparing(EpicForecast::completed).reversed()
+                .thenComparingLong(EpicForecast::cumulativePoints)
+                .thenComparing(EpicForecast::epicId));
+        return new RoadmapForecast(projectId, velocity.startDate(), velocity.sprintDays(),
+                velocity.pointsPerSprint(), pass.totalRemainingPoints(), forecasts);
+    }
+
+    private AtomicLong versionOf(Long backlogId) {
+        return versions.computeIfAbsent(backlogId, id -> new AtomicLong());
+    }
+
+    // ===== RECORDS =====
+
+    /**
+     * Totaux d'un epic accumulés pendant la passe
+     */
+    static final class EpicTotals {
+        private final Long epicId;
+        private final String title;
+        private int remainingPoints;
+        private int remainingStories;
+        private long cumulativePoints;
+
+        EpicTotals(Long epicId, String title) {
+            this.epicId = epicId;
+            this.title = title;
+        }
+    }
+
+    record RoadmapPass(List<EpicTotals> epics, long totalRemainingPoints) {}
+
+    record Velocity(double pointsPerSprint, int sprintDays, LocalDate startDate) {}
+
+    public record RoadmapForecast(Long projectId, LocalDate startDate, int sprintLengthDays,
+                                  double pointsPerSprint, long remainingPoints, List<EpicForecast> epics) {}
+
+    /**
+     * Prévision d'un epic : finishSprint est compté à partir du sprint de départ (1 = premier sprint,
+     * 0 pour un epic sans story restante) ; finishSprint et forecastDate sont null si la vélocité est nulle
+     */
+    public record EpicForecast(Long epicId, String title, int remainingPoints, int remainingStories,
+                               long cumulativePoints, Integer finishSprint, LocalDate forecastDate,
+                               boolean completed) {}
+}
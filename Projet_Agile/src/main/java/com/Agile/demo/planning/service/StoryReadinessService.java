@@ -0,0 +1,108 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.index.DependencyGraphService;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Disponibilité des User Stories vis-à-vis de leurs dépendances
+ *
+ * Une story est prête quand toutes ses dépendances directes sont terminées (même définition
+ * que DependencyGraphService.isReady). Quand une story passe à DONE, seules les stories qui en
+ * dépendent (index inverse) sont mises à jour, par un UPDATE atomique de leur compteur de
+ * dépendances restantes ; elles deviennent prêtes à zéro. Un StoriesUnblockedEvent est alors
+ * publié au lieu d'attendre un polling, de même quand le retrait d'une dépendance rend une story prête.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class StoryReadinessService {
+
+    private final UserStoryRepository userStoryRepository;
+    private final DependencyGraphService dependencyGraphService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Stories à faire dont toutes les dépendances sont terminées, dans l'ordre du backlog
+     */
+    public List<UserStory> getReadyStories(Long backlogId) {
+        return userStoryRepository.findReadyStoriesByBacklogId(backlogId);
+    }
+
+    /**
+     * Propage un changement de statut aux stories dépendantes
+     *
+     * @param previousStatus statut avant la transition
+     * @return identifiants des stories devenues prêtes
+     */
+    @Transactional
+    public List<Long> onStatusChanged(UserStory story, WorkItemStatus previousStatus) {
+        boolean wasDone = previousStatus == WorkItemStatus.DONE;
+        if (wasDone == story.isDone()) {
+            return List.of();
+        }
+
+        List<Long> dependents = userStoryRepository.findDependentIdsOf(story.getId());
+        List<Long> unblocked = List.of();
+        if (!dependents.isEmpty()) {
+            if (story.isDone()) {
+                userStoryRepository.decrementOutstandingDependencies(dependents);
+                unblocked = userStoryRepository.findReadyIdsAmong(dependents);
+            } else {
+                userStoryRepository.incrementOutstandingDependencies(dependents);
+            }
+        }
+        dependencyGraphService.onStatusChanged(story);
+
+        if (!unblocked.isEmpty()) {
+            log.info("Story {} completed, {} dependent story(ies) now ready: {}", story.getId(), unblocked.size(), unblocked);
+            eventPublisher.publishEvent(new StoriesUnblockedEvent(story.getId(), unblocked));
+        }
+        return unblocked;
+    }
+
+    /**
+     * {@code story} dépend désormais de {@code dependency} (déjà ajoutée à ses dépendances)
+     */
+    @Transactional
+    public void onDependencyAdded(UserStory story, UserStory dependency) {
+        if (!dependency.isDone()) {
+            userStoryRepository.incrementOutstandingDependencies(List.of(story.getId()));
+        }
+    }
+
+    /**
+     * Les stories {@code dependentIds} ne dépendent plus de {@code dependency} (retrait ou suppression)
+     *
+     * @return identifiants des stories devenues prêtes
+     */
+    @Transactional
+    public List<Long> onDependencyRemoved(Collection<Long> dependentIds, UserStory dependency) {
+        if (dependency.isDone() || dependentIds.isEmpty()) {
+            return List.of();
+        }
+        userStoryRepository.decrementOutstandingDependencies(dependentIds);
+        List<Long> unblocked = userStoryRepository.findReadyIdsAmong(dependentIds);
+        if (!unblocked.isEmpty()) {
+            log.info("Dependency {} removed, {} story(ies) now ready: {}", dependency.getId(), unblocked.size(), unblocked);
+            eventPublisher.publishEvent(new StoriesUnblockedEvent(dependency.getId(), unblocked));
+        }
+        return unblocked;
+    }
+
+    /**
+     * Publié quand la complétion (ou le retrait) d'une dépendance rend prêtes d'autres stories
+     * À écouter avec @TransactionalEventListener pour ne réagir qu'après commit
+     */
+    public record StoriesUnblockedEvent(Long completedStoryId, List<Long> unblockedStoryIds) {}
+}
@@ -1,17 +1,27 @@
 package com.agile.demo.planning.service;
 
+import com.agile.demo.common.exception.BusinessException;
 import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.common.pagination.KeysetPage;
+import com.agile.demo.common.pagination.PageToken;
 import com.agile.demo.model.ProductBacklog;
 import com.agile.demo.model.UserStory;
 import com.agile.demo.model.UserStoryDescription;
+import com.agile.demo.model.projection.StorySummary;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.event.StoryDeletedEvent;
+import com.agile.demo.planning.index.DependencyGraphService;
 import com.agile.demo.planning.repository.EpicRepository;
 import com.agile.demo.planning.repository.ProductBacklogRepository;
 import com.agile.demo.planning.repository.UserStoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -23,6 +33,10 @@ public class UserStoryService {
     private final UserStoryRepository userStoryRepository;
     private final ProductBacklogRepository productBacklogRepository;
     private final EpicRepository epicRepository;
+    private final DependencyGraphService dependencyGraphService;
+    private final ProgressRollupService progressRollupService;
+    private final StoryReadinessService storyReadinessService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public UserStory createUserStory(Long productBacklogId, String title,
@@ -36,7 +50,14 @@ public class UserStoryService {
         UserStory story = new UserStory(title, role, action, purpose, storyPoints);
         story.setProductBacklog(backlog);
 
-        return userStoryRepository.save(story);
+        // Nouvelle story placée en fin de backlog
+        Long maxRank = userStoryRepository.findMaxRank(productBacklogId);
+        story.setRank(maxRank == null ? UserStory.RANK_GAP : maxRank + UserStory.RANK_GAP);
+
+        UserStory saved = userStoryRepository.save(story);
+        progressRollupService.onStoryChanged(saved, null);
+        eventPublisher.publishEvent(StoryChangedEvent.of(saved, StoryChange.CREATED));
+        return saved;
     }
 
     public UserStory getUserStoryById(Long id) {
@@ -60,16 +81,107 @@ public class UserStoryService {
         return userStoryRepository.findByProductBacklogIdOrderedByPriority(backlogId);
     }
 
+    public List<StorySummary> getStorySummariesByProductBacklog(Long backlogId) {
+        return userStoryRepository.findSummariesByProductBacklogId(backlogId);
+    }
+
+    public List<StorySummary> getStorySummariesByEpic(Long epicId) {
+        return userStoryRepository.findSummariesByEpicId(epicId);
+    }
+
+    public List<StorySummary> getUnassignedStorySummaries(Long backlogId) {
+        return userStoryRepository.findSummariesWithoutEpic(backlogId);
+    }
+
+    /**
+     * Pages par clé (priorité, id) : {@code pageToken} est le jeton de la page précédente, {@code null} pour la première
+     */
+    public KeysetPage<StorySummary> getStorySummaryPageByProductBacklog(Long backlogId, String pageToken, int size) {
+        PageToken after = PageToken.decode(pageToken);
+        return KeysetPage.of(userStoryRepository.findSummaryPageByProductBacklogId(backlogId,
+                        after.intKey(0, Integer.MIN_VALUE), after.longKey(1, 0L), KeysetPage.fetch(size)),
+                size, UserStoryService::pageTokenOf);
+    }
+
+    public KeysetPage<StorySummary> getStorySummaryPageByEpic(Long epicId, String pageToken, int size) {
+        PageToken after = PageToken.decode(pageToken);
+        return KeysetPage.of(userStoryRepository.findSummaryPageByEpicId(epicId,
+                        after.intKey(0, Integer.MIN_VALUE), after.longKey(1, 0L), KeysetPage.fetch(size)),
+                size, UserStoryService::pageTokenOf);
+    }
+
+    public KeysetPage<StorySummary> getUnassignedStorySummaryPage(Long backlogId, String pageToken, int size) {
+        PageToken after = PageToken.decode(pageToken);
+        return KeysetPage.of(userStoryRepository.findSummaryPageWithoutEpic(backlogId,
+                        after.intKey(0, Integer.MIN_VALUE), after.longKey(1, 0L), KeysetPage.fetch(size)),
+                size, UserStoryService::pageTokenOf);
+    }
+
+    static String pageTokenOf(StorySummary story) {
+        return PageToken.encode(story.priority(), story.id());
+    }
+
     @Transactional
     public UserStory updateUserStory(Long id, String title, String role,
                                      String action, String purpose, Integer storyPoints) {
         UserStory story = getUserStoryById(id);
+        ProgressRollupService.StorySnapshot before = ProgressRollupService.StorySnapshot.of(story);
 
         story.setTitle(title);
         story.setDescription(new UserStoryDescription(role, action, purpose));
         story.setStoryPoints(storyPoints);
+        story.refreshScores();
+
+        UserStory saved = userStoryRepository.save(story);
+        progressRollupService.onStoryChanged(story, before);
+        eventPublisher.publishEvent(StoryChangedEvent.of(story, StoryChange.PRIORITIZATION, StoryChange.ESTIMATES));
+        return saved;
+    }
+
+    @Transactional
+    public UserStory updatePrioritizationInputs(Long id, Integer businessValue, Integer urgency,
+                                                Integer timeCriticality, Integer riskReduction) {
+        UserStory story = getUserStoryById(id);
+
+        story.setBusinessValue(businessValue);
+        story.setUrgency(urgency);
+        story.setTimeCriticality(timeCriticality);
+        story.setRiskReduction(riskReduction);
+        story.refreshScores();
 
-        return userStoryRepository.save(story);
+        UserStory saved = userStoryRepository.save(story);
+        eventPublisher.publishEvent(StoryChangedEvent.of(story, StoryChange.PRIORITIZATION));
+        return saved;
+    }
+
+    @Transactional
+    public void addDependency(Long storyId, Long dependsOnId) {
+        if (storyId.equals(dependsOnId)) {
+            throw new BusinessException("A user story cannot depend on itself");
+        }
+        UserStory story = getUserStoryById(storyId);
+        UserStory dependency = getUserStoryById(dependsOnId);
+
+        // Rejette les cycles (transitifs) avant toute modification
+        dependencyGraphService.addDependency(story, dependency);
+        if (story.addDependency(dependency)) {
+            userStoryRepository.save(story);
+            storyReadinessService.onDependencyAdded(story, dependency);
+        }
+        eventPublisher.publishEvent(StoryChangedEvent.of(story, StoryChange.DEPENDENCIES));
+    }
+
+    @Transactional
+    public void removeDependency(Long storyId, Long dependsOnId) {
+        UserStory story = getUserStoryById(storyId);
+        UserStory dependency = getUserStoryById(dependsOnId);
+
+        if (story.removeDependency(dependency)) {
+            userStoryRepository.save(story);
+            storyReadinessService.onDependencyRemoved(List.of(storyId), dependency);
+        }
+        dependencyGraphService.removeDependency(story, dependency);
+        eventPublisher.publishEvent(StoryChangedEvent.of(story, StoryChange.DEPENDENCIES));
     }
 
     @Transactional
@@ -82,6 +194,16 @@ public class UserStoryService {
     @Transactional
     public void deleteUserStory(Long id) {
         UserStory story = getUserStoryById(id);
+        // Les stories dépendantes perdent cette dépendance (et son compteur si elle n'était pas terminée)
+        List<Long> dependentIds = new ArrayList<>();
+        for (UserStory dependent : userStoryRepository.findDependentsOf(id)) {
+            if (dependent.removeDependency(story)) {
+                dependentIds.add(dependent.getId());
+            }
+        }
+        storyReadinessService.onDependencyRemoved(dependentIds, story);
+        progressRollupService.onStoryDeleted(story);
         userStoryRepository.delete(story);
+        eventPublisher.publishEvent(StoryDeletedEvent.of(story));
     }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+-- Schéma de référence, version H2 (bases en mémoire des tests) de mysql/V1__baseline_schema.sql
+
+-- Séquences des générateurs pooled (cf. PooledSequenceGenerator), par blocs de
+-- agile.id.allocation-size (50) identifiants
+CREATE SEQUENCE projects_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE product_backlogs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE sprint_backlogs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE epics_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE work_items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id       BIGINT       NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    role     ENUM ('PRODUCT_OWNER','SCRUM_MASTER','DEVELOPER','Tester'),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE projects (
+    id                 BIGINT       NOT NULL,
+    name               VARCHAR(255) NOT NULL,
+    description        VARCHAR(1000),
+    start_date         DATE,
+    end_date           DATE,
+    product_backlog_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_projects_product_backlog UNIQUE (product_backlog_id)
+);
+
+CREATE TABLE product_backlogs (
+    id                       BIGINT       NOT NULL,
+    name                     VARCHAR(255),
+    project_id               BIGINT,
+    prioritization_method    ENUM ('MOSCOW','WSJF','VALUE_EFFORT','CUSTOM'),
+    prioritization_formula   VARCHAR(500),
+    rollup_total_points      BIGINT       NOT NULL DEFAULT 0,
+    rollup_done_points       BIGINT       NOT NULL DEFAULT 0,
+    rollup_estimated_hours   BIGINT       NOT NULL DEFAULT 0,
+    rollup_actual_hours      BIGINT       NOT NULL DEFAULT 0,
+    rollup_todo_count        BIGINT       NOT NULL DEFAULT 0,
+    rollup_in_progress_count BIGINT       NOT NULL DEFAULT 0,
+    rollup_in_review_count   BIGINT       NOT NULL DEFAULT 0,
+    rollup_testing_count     BIGINT       NOT NULL DEFAULT 0,
+    rollup_done_count        BIGINT       NOT NULL DEFAULT 0,
+    rollup_blocked_count     BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_product_backlogs_name UNIQUE (name),
+    CONSTRAINT uk_product_backlogs_project UNIQUE (project_id)
+);
+
+CREATE TABLE project_members (
+    project_id BIGINT NOT NULL,
+    user_id    BIGINT NOT NULL
+);
+
+CREATE TABLE sprint_backlogs (
+    id            BIGINT       NOT NULL,
+    name          VARCHAR(255),
+    sprint_number INTEGER      NOT NULL,
+    start_date    DATE         NOT NULL,
+    end_date      DATE         NOT NULL,
+    goal          VARCHAR(500),
+    sprint_status ENUM ('PLANNED','ACTIVE','COMPLETED','CANCELLED') NOT NULL,
+    project_id    BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE epics (
+    id                       BIGINT        NOT NULL,
+    name                     VARCHAR(255)  NOT NULL,
+    title                    VARCHAR(255)  NOT NULL,
+    description              VARCHAR(1000),
+    product_backlog_id       BIGINT,
+    rollup_total_points      BIGINT        NOT NULL DEFAULT 0,
+    rollup_done_points       BIGINT        NOT NULL DEFAULT 0,
+    rollup_estimated_hours   BIGINT        NOT NULL DEFAULT 0,
+    rollup_actual_hours      BIGINT        NOT NULL DEFAULT 0,
+    rollup_todo_count        BIGINT        NOT NULL DEFAULT 0,
+    rollup_in_progress_count BIGINT        NOT NULL DEFAULT 0,
+    rollup_in_review_count   BIGINT        NOT NULL DEFAULT 0,
+    rollup_testing_count     BIGINT        NOT NULL DEFAULT 0,
+    rollup_done_count        BIGINT        NOT NULL DEFAULT 0,
+    rollup_blocked_count     BIGINT        NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_epics_name UNIQUE (name)
+);
+
+CREATE TABLE user_stories (
+    id                       BIGINT        NOT NULL,
+    title                    VARCHAR(255)  NOT NULL,
+    status                   ENUM ('TODO','IN_PROGRESS','IN_REVIEW','TESTING','DONE','BLOCKED') NOT NULL,
+    created_date             TIMESTAMP(6)  NOT NULL,
+    updated_date             TIMESTAMP(6),
+    role                     VARCHAR(255)  NOT NULL,
+    action                   VARCHAR(1000) NOT NULL,
+    purpose                  VARCHAR(1000) NOT NULL,
+    acceptance_criteria      VARCHAR(2000),
+    story_points             INTEGER       NOT NULL,
+    priority                 INTEGER       NOT NULL,
+    backlog_rank             BIGINT,
+    business_value           INTEGER       NOT NULL,
+    urgency                  INTEGER       NOT NULL,
+    time_criticality         INTEGER       NOT NULL,
+    risk_reduction           INTEGER       NOT NULL,
+    moscow_score             INTEGER,
+    wsjf_score               INTEGER,
+    value_effort_score       INTEGER,
+    outstanding_dependencies INTEGER       NOT NULL DEFAULT 0,
+    ready                    BOOLEAN       NOT NULL DEFAULT TRUE,
+    rollup_total_points      BIGINT        NOT NULL DEFAULT 0,
+    rollup_done_points       BIGINT        NOT NULL DEFAULT 0,
+    rollup_estimated_hours   BIGINT        NOT NULL DEFAULT 0,
+    rollup_actual_hours      BIGINT        NOT NULL DEFAULT 0,
+    rollup_todo_count        BIGINT        NOT NULL DEFAULT 0,
+    rollup_in_progress_count BIGINT        NOT NULL DEFAULT 0,
+    rollup_in_review_count   BIGINT        NOT NULL DEFAULT 0,
+    rollup_testing_count     BIGINT        NOT NULL DEFAULT 0,
+    rollup_done_count        BIGINT        NOT NULL DEFAULT 0,
+    rollup_blocked_count     BIGINT        NOT NULL DEFAULT 0,
+    epic_id                  BIGINT,
+    product_backlog_id       BIGINT        NOT NULL,
+    sprint_backlog_id        BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_user_stories_backlog_moscow ON user_stories (product_backlog_id, moscow_score);
+CREATE INDEX idx_user_stories_backlog_wsjf ON user_stories (product_backlog_id, wsjf_score);
+CREATE INDEX idx_user_stories_backlog_value_effort ON user_stories (product_backlog_id, value_effort_score);
+CREATE INDEX idx_user_stories_backlog_ready ON user_stories (product_backlog_id, ready, status);
+
+CREATE TABLE user_story_dependencies (
+    user_story_id BIGINT NOT NULL,
+    depends_on_id BIGINT NOT NULL
+);
+
+CREATE INDEX idx_user_story_dependencies_depends_on ON user_story_dependencies (depends_on_id);
+
+CREATE TABLE sprint_user_stories (
+    sprint_backlog_id BIGINT NOT NULL,
+    user_story_id     BIGINT NOT NULL
+);
+
+CREATE TABLE tasks (
+    id                BIGINT        NOT NULL,
+    title             VARCHAR(255)  NOT NULL,
+    status            ENUM ('TODO','IN_PROGRESS','IN_REVIEW','TESTING','DONE','BLOCKED') NOT NULL,
+    created_date      TIMESTAMP(6)  NOT NULL,
+    updated_date      TIMESTAMP(6),
+    description       VARCHAR(2000),
+    estimated_hours   INTEGER       NOT NULL,
+    actual_hours      INTEGER       NOT NULL,
+    user_story_id     BIGINT        NOT NULL,
+    assigned_user_id  BIGINT,
+    sprint_backlog_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+-- Correspondance ancien id -> nouvel id d'un clonage en cours (cf. ProjectCloneService)
+CREATE TABLE clone_id_map (
+    clone_id BIGINT      NOT NULL,
+    kind     ENUM ('EPIC','STORY','TASK') NOT NULL,
+    old_id   BIGINT      NOT NULL,
+    new_id   BIGINT      NOT NULL,
+    PRIMARY KEY (clone_id, kind, old_id)
+);
+
+ALTER TABLE projects ADD CONSTRAINT fk_projects_product_backlog
+    FOREIGN KEY (product_backlog_id) REFERENCES product_backlogs (id);
+ALTER TABLE product_backlogs ADD CONSTRAINT fk_product_backlogs_project
+    FOREIGN KEY (project_id) REFERENCES projects (id);
+ALTER TABLE project_members ADD CONSTRAINT fk_project_members_project
+    FOREIGN KEY (project_id) REFERENCES projects (id);
+ALTER TABLE project_members ADD CONSTRAINT fk_project_members_user
+    FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE sprint_backlogs ADD CONSTRAINT fk_sprint_backlogs_project
+    FOREIGN KEY (project_id) REFERENCES projects (id);
+ALTER TABLE epics ADD CONSTRAINT fk_epics_product_backlog
+    FOREIGN KEY (product_backlog_id) REFERENCES product_backlogs (id);
+ALTER TABLE user_stories ADD CONSTRAINT fk_user_stories_epic
+    FOREIGN KEY (epic_id) REFERENCES epics (id);
+ALTER TABLE user_stories ADD CONSTRAINT fk_user_stories_product_backlog
+    FOREIGN KEY (product_backlog_id) REFERENCES product_backlogs (id);
+ALTER TABLE user_stories ADD CONSTRAINT fk_user_stories_sprint_backlog
+    FOREIGN KEY (sprint_backlog_id) REFERENCES sprint_backlogs (id);
+ALTER TABLE user_story_dependencies ADD CONSTRAINT fk_user_story_dependencies_story
+    FOREIGN KEY (user_story_id) REFERENCES user_stories (id);
+ALTER TABLE user_story_dependencies ADD CONSTRAINT fk_user_story_dependencies_depends_on
+    FOREIGN KEY (depends_on_id) REFERENCES user_stories (id);
+ALTER TABLE sprint_user_stories ADD CONSTRAINT fk_sprint_user_stories_sprint
+    FOREIGN KEY (sprint_backlog_id) REFERENCES sprint_backlogs (id);
+ALTER TABLE sprint_user_stories ADD CONSTRAINT fk_sprint_user_stories_story
+    FOREIGN KEY (user_story_id) REFERENCES user_stories (id);
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_user_story
+    FOREIGN KEY (user_story_id) REFERENCES user_stories (id);
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_assigned_user
+    FOREIGN KEY (assigned_user_id) REFERENCES users (id);
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_sprint_backlog
+    FOREIGN KEY (sprint_backlog_id) REFERENCES sprint_backlogs (id);
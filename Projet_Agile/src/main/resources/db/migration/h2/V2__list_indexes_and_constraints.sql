@@ -0,0 +1,39 @@
+-- Index composites des requêtes de liste et contraintes d'unicité métier.
+-- Chaque index commence par la clé étrangère filtrée : il sert aussi à la contrainte
+-- (MySQL abandonne alors l'index créé implicitement pour elle).
+
+-- Tâches : par sprint, par assigné et par story, filtrées ou comptées par statut.
+-- L'id suit implicitement (clé primaire), ce qui sert l'ordre et la pagination par clé.
+CREATE INDEX idx_tasks_sprint_status ON tasks (sprint_backlog_id, status);
+CREATE INDEX idx_tasks_assignee_status ON tasks (assigned_user_id, status);
+CREATE INDEX idx_tasks_story_status ON tasks (user_story_id, status);
+
+-- Stories : listes triées par priorité (pages (priorité, id)), par rang, par statut,
+-- par epic et par sprint
+CREATE INDEX idx_user_stories_backlog_priority ON user_stories (product_backlog_id, priority, id);
+CREATE INDEX idx_user_stories_backlog_rank ON user_stories (product_backlog_id, backlog_rank, id);
+CREATE INDEX idx_user_stories_backlog_status ON user_stories (product_backlog_id, status);
+CREATE INDEX idx_user_stories_epic_priority ON user_stories (epic_id, priority, id);
+CREATE INDEX idx_user_stories_sprint_status ON user_stories (sprint_backlog_id, status);
+
+-- Sprints : un numéro par projet (vérifié par SprintService, garanti ici), sprints d'un projet par statut
+ALTER TABLE sprint_backlogs ADD CONSTRAINT uk_sprint_backlogs_project_number UNIQUE (project_id, sprint_number);
+CREATE INDEX idx_sprint_backlogs_project_status ON sprint_backlogs (project_id, sprint_status);
+
+-- Epics : titre unique par backlog (vérifié par EpicService)
+CREATE INDEX idx_epics_backlog_title ON epics (product_backlog_id, title);
+
+-- Projets : nom unique (vérifié par ProjectService), projets terminés
+ALTER TABLE projects ADD CONSTRAINT uk_projects_name UNIQUE (name);
+CREATE INDEX idx_projects_end_date ON projects (end_date);
+
+-- Utilisateurs : listes par rôle triées par nom, recherche par e-mail
+CREATE INDEX idx_users_role_username ON users (role, username);
+CREATE INDEX idx_users_email ON users (email);
+
+-- Tables d'association : une seule ligne par paire, index inverse pour l'autre sens
+ALTER TABLE project_members ADD CONSTRAINT uk_project_members UNIQUE (project_id, user_id);
+CREATE INDEX idx_project_members_user ON project_members (user_id, project_id);
+ALTER TABLE user_story_dependencies ADD CONSTRAINT uk_user_story_dependencies UNIQUE (user_story_id, depends_on_id);
+ALTER TABLE sprint_user_stories ADD CONSTRAINT uk_sprint_user_stories UNIQUE (sprint_backlog_id, user_story_id);
+CREATE INDEX idx_sprint_user_stories_story ON sprint_user_stories (user_story_id);
@@ -0,0 +1,11 @@
+-- Compteur de dépendances restantes et indicateur "prête" des stories existantes
+-- (cf. mysql/V3, même résultat par sous-requête corrélée)
+UPDATE user_stories
+SET outstanding_dependencies = (SELECT COUNT(*)
+                                FROM user_story_dependencies d
+                                         JOIN user_stories dep ON dep.id = d.depends_on_id
+                                WHERE d.user_story_id = user_stories.id
+                                  AND dep.status <> 'DONE');
+
+UPDATE user_stories
+SET ready = (outstanding_dependencies = 0);
@@ -0,0 +1,211 @@
+-- Schéma de référence : tel que le produisait spring.jpa.hibernate.ddl-auto=update.
+-- Une base existante créée ainsi est marquée à cette version (baseline-on-migrate) sans réexécution :
+-- elle doit déjà avoir tout ce schéma (tables *_seq, rang, scores, agrégats, compteurs de
+-- dépendances, clone_id_map). Une base plus ancienne est d'abord mise à jour par ddl-auto=update
+-- avec cette version de l'application, puis marquée.
+
+-- Séquences des générateurs pooled (cf. PooledSequenceGenerator) : MySQL n'ayant pas de
+-- séquence, une table d'une ligne par générateur ; l'incrément (50) vient de agile.id.allocation-size
+CREATE TABLE projects_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO projects_seq VALUES (1);
+CREATE TABLE product_backlogs_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO product_backlogs_seq VALUES (1);
+CREATE TABLE sprint_backlogs_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO sprint_backlogs_seq VALUES (1);
+CREATE TABLE users_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO users_seq VALUES (1);
+CREATE TABLE epics_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO epics_seq VALUES (1);
+CREATE TABLE work_items_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO work_items_seq VALUES (1);
+
+CREATE TABLE users (
+    id       BIGINT       NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    role     ENUM ('PRODUCT_OWNER','SCRUM_MASTER','DEVELOPER','Tester'),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE projects (
+    id                 BIGINT       NOT NULL,
+    name               VARCHAR(255) NOT NULL,
+    description        VARCHAR(1000),
+    start_date         DATE,
+    end_date           DATE,
+    product_backlog_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_projects_product_backlog UNIQUE (product_backlog_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product_backlogs (
+    id                       BIGINT       NOT NULL,
+    name                     VARCHAR(255),
+    project_id               BIGINT,
+    prioritization_method    ENUM ('MOSCOW','WSJF','VALUE_EFFORT','CUSTOM'),
+    prioritization_formula   VARCHAR(500),
+    rollup_total_points      BIGINT       NOT NULL DEFAULT 0,
+    rollup_done_points       BIGINT       NOT NULL DEFAULT 0,
+    rollup_estimated_hours   BIGINT       NOT NULL DEFAULT 0,
+    rollup_actual_hours      BIGINT       NOT NULL DEFAULT 0,
+    rollup_todo_count        BIGINT       NOT NULL DEFAULT 0,
+    rollup_in_progress_count BIGINT       NOT NULL DEFAULT 0,
+    rollup_in_review_count   BIGINT       NOT NULL DEFAULT 0,
+    rollup_testing_count     BIGINT       NOT NULL DEFAULT 0,
+    rollup_done_count        BIGINT       NOT NULL DEFAULT 0,
+    rollup_blocked_count     BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_product_backlogs_name UNIQUE (name),
+    CONSTRAINT uk_product_backlogs_project UNIQUE (project_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE project_members (
+    project_id BIGINT NOT NULL,
+    user_id    BIGINT NOT NULL
+) ENGINE = InnoDB;
+
+CREATE TABLE sprint_backlogs (
+    id            BIGINT       NOT NULL,
+    name          VARCHAR(255),
+    sprint_number INTEGER      NOT NULL,
+    start_date    DATE         NOT NULL,
+    end_date      DATE         NOT NULL,
+    goal          VARCHAR(500),
+    sprint_status ENUM ('PLANNED','ACTIVE','COMPLETED','CANCELLED') NOT NULL,
+    project_id    BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE epics (
+    id                       BIGINT        NOT NULL,
+    name                     VARCHAR(255)  NOT NULL,
+    title                    VARCHAR(255)  NOT NULL,
+    description              VARCHAR(1000),
+    product_backlog_id       BIGINT,
+    rollup_total_points      BIGINT        NOT NULL DEFAULT 0,
+    rollup_done_points       BIGINT        NOT NULL DEFAULT 0,
+    rollup_estimated_hours   BIGINT        NOT NULL DEFAULT 0,
+    rollup_actual_hours      BIGINT        NOT NULL DEFAULT 0,
+    rollup_todo_count        BIGINT        NOT NULL DEFAULT 0,
+    rollup_in_progress_count BIGINT        NOT NULL DEFAULT 0,
+    rollup_in_review_count   BIGINT        NOT NULL DEFAULT 0,
+    rollup_testing_count     BIGINT        NOT NULL DEFAULT 0,
+    rollup_done_count        BIGINT        NOT NULL DEFAULT 0,
+    rollup_blocked_count     BIGINT        NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_epics_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_stories (
+    id                       BIGINT        NOT NULL,
+    title                    VARCHAR(255)  NOT NULL,
+    status                   ENUM ('TODO','IN_PROGRESS','IN_REVIEW','TESTING','DONE','BLOCKED') NOT NULL,
+    created_date             DATETIME(6)   NOT NULL,
+    updated_date             DATETIME(6),
+    role                     VARCHAR(255)  NOT NULL,
+    action                   VARCHAR(1000) NOT NULL,
+    purpose                  VARCHAR(1000) NOT NULL,
+    acceptance_criteria      VARCHAR(2000),
+    story_points             INTEGER       NOT NULL,
+    priority                 INTEGER       NOT NULL,
+    backlog_rank             BIGINT,
+    business_value           INTEGER       NOT NULL,
+    urgency                  INTEGER       NOT NULL,
+    time_criticality         INTEGER       NOT NULL,
+    risk_reduction           INTEGER       NOT NULL,
+    moscow_score             INTEGER,
+    wsjf_score               INTEGER,
+    value_effort_score       INTEGER,
+    outstanding_dependencies INTEGER       NOT NULL DEFAULT 0,
+    ready                    BIT           NOT NULL DEFAULT 1,
+    rollup_total_points      BIGINT        NOT NULL DEFAULT 0,
+    rollup_done_points       BIGINT        NOT NULL DEFAULT 0,
+    rollup_estimated_hours   BIGINT        NOT NULL DEFAULT 0,
+    rollup_actual_hours      BIGINT        NOT NULL DEFAULT 0,
+    rollup_todo_count        BIGINT        NOT NULL DEFAULT 0,
+    rollup_in_progress_count BIGINT        NOT NULL DEFAULT 0,
+    rollup_in_review_count   BIGINT        NOT NULL DEFAULT 0,
+    rollup_testing_count     BIGINT        NOT NULL DEFAULT 0,
+    rollup_done_count        BIGINT        NOT NULL DEFAULT 0,
+    rollup_blocked_count     BIGINT        NOT NULL DEFAULT 0,
+    epic_id                  BIGINT,
+    product_backlog_id       BIGINT        NOT NULL,
+    sprint_backlog_id        BIGINT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_user_stories_backlog_moscow ON user_stories (product_backlog_id, moscow_score);
+CREATE INDEX idx_user_stories_backlog_wsjf ON user_stories (product_backlog_id, wsjf_score);
+CREATE INDEX idx_user_stories_backlog_value_effort ON user_stories (product_backlog_id, value_effort_score);
+CREATE INDEX idx_user_stories_backlog_ready ON user_stories (product_backlog_id, ready, status);
+
+CREATE TABLE user_story_dependencies (
+    user_story_id BIGINT NOT NULL,
+    depends_on_id BIGINT NOT NULL
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_user_story_dependencies_depends_on ON user_story_dependencies (depends_on_id);
+
+CREATE TABLE sprint_user_stories (
+    sprint_backlog_id BIGINT NOT NULL,
+    user_story_id     BIGINT NOT NULL
+) ENGINE = InnoDB;
+
+CREATE TABLE tasks (
+    id                BIGINT        NOT NULL,
+    title             VARCHAR(255)  NOT NULL,
+    status            ENUM ('TODO','IN_PROGRESS','IN_REVIEW','TESTING','DONE','BLOCKED') NOT NULL,
+    created_date      DATETIME(6)   NOT NULL,
+    updated_date      DATETIME(6),
+    description       VARCHAR(2000),
+    estimated_hours   INTEGER       NOT NULL,
+    actual_hours      INTEGER       NOT NULL,
+    user_story_id     BIGINT        NOT NULL,
+    assigned_user_id  BIGINT,
+    sprint_backlog_id BIGINT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Correspondance ancien id -> nouvel id d'un clonage en cours (cf. ProjectCloneService)
+CREATE TABLE clone_id_map (
+    clone_id BIGINT      NOT NULL,
+    kind     ENUM ('EPIC','STORY','TASK') NOT NULL,
+    old_id   BIGINT      NOT NULL,
+    new_id   BIGINT      NOT NULL,
+    PRIMARY KEY (clone_id, kind, old_id)
+) ENGINE = InnoDB;
+
+ALTER TABLE projects ADD CONSTRAINT fk_projects_product_backlog
+    FOREIGN KEY (product_backlog_id) REFERENCES product_backlogs (id);
+ALTER TABLE product_backlogs ADD CONSTRAINT fk_product_backlogs_project
+    FOREIGN KEY (project_id) REFERENCES projects (id);
+ALTER TABLE project_members ADD CONSTRAINT fk_project_members_project
+    FOREIGN KEY (project_id) REFERENCES projects (id);
+ALTER TABLE project_members ADD CONSTRAINT fk_project_members_user
+    FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE sprint_backlogs ADD CONSTRAINT fk_sprint_backlogs_project
+    FOREIGN KEY (project_id) REFERENCES projects (id);
+ALTER TABLE epics ADD CONSTRAINT fk_epics_product_backlog
+    FOREIGN KEY (product_backlog_id) REFERENCES product_backlogs (id);
+ALTER TABLE user_stories ADD CONSTRAINT fk_user_stories_epic
+    FOREIGN KEY (epic_id) REFERENCES epics (id);
+ALTER TABLE user_stories ADD CONSTRAINT fk_user_stories_product_backlog
+    FOREIGN KEY (product_backlog_id) REFERENCES product_backlogs (id);
+ALTER TABLE user_stories ADD CONSTRAINT fk_user_stories_sprint_backlog
+    FOREIGN KEY (sprint_backlog_id) REFERENCES sprint_backlogs (id);
+ALTER TABLE user_story_dependencies ADD CONSTRAINT fk_user_story_dependencies_story
+    FOREIGN KEY (user_story_id) REFERENCES user_stories (id);
+ALTER TABLE user_story_dependencies ADD CONSTRAINT fk_user_story_dependencies_depends_on
+    FOREIGN KEY (depends_on_id) REFERENCES user_stories (id);
+ALTER TABLE sprint_user_stories ADD CONSTRAINT fk_sprint_user_stories_sprint
+    FOREIGN KEY (sprint_backlog_id) REFERENCES sprint_backlogs (id);
+ALTER TABLE sprint_user_stories ADD CONSTRAINT fk_sprint_user_stories_story
+    FOREIGN KEY (user_story_id) REFERENCES user_stories (id);
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_user_story
+    FOREIGN KEY (user_story_id) REFERENCES user_stories (id);
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_assigned_user
+    FOREIGN KEY (assigned_user_id) REFERENCES users (id);
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_sprint_backlog
+    FOREIGN KEY (sprint_backlog_id) REFERENCES sprint_backlogs (id);
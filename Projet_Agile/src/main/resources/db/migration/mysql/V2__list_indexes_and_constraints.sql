@@ -0,0 +1,91 @@
+-- Index composites des requêtes de liste et contraintes d'unicité métier.
+-- Chaque index commence par la clé étrangère filtrée : il sert aussi à la contrainte
+-- (MySQL abandonne alors l'index créé implicitement pour elle).
+
+-- Dédoublonnage avant les contraintes d'unicité : une base créée par ddl-auto n'avait que les
+-- vérifications des services, contournables par des écritures concurrentes. La première ligne
+-- (plus petit id) garde sa valeur ; les tables dérivées (fenêtre, GROUP BY) sont matérialisées,
+-- ce qui permet de lire la table mise à jour.
+
+-- Projets de même nom : les suivants sont suffixés de leur id
+UPDATE projects p
+    JOIN (SELECT id, ROW_NUMBER() OVER (PARTITION BY name ORDER BY id) AS occurrence
+          FROM projects) d ON d.id = p.id
+SET p.name = CONCAT(LEFT(p.name, 255 - CHAR_LENGTH(CONCAT(' #', p.id))), ' #', p.id)
+WHERE d.occurrence > 1;
+
+-- Sprints de même numéro dans un projet : les suivants sont renumérotés après le plus grand numéro
+UPDATE sprint_backlogs s
+    JOIN (SELECT d.id, m.max_number + ROW_NUMBER() OVER (PARTITION BY d.project_id ORDER BY d.id) AS new_number
+          FROM (SELECT id, project_id,
+                       ROW_NUMBER() OVER (PARTITION BY project_id, sprint_number ORDER BY id) AS occurrence
+                FROM sprint_backlogs) d
+                   JOIN (SELECT project_id, MAX(sprint_number) AS max_number
+                         FROM sprint_backlogs
+                         GROUP BY project_id) m ON m.project_id = d.project_id
+          WHERE d.occurrence > 1) r ON r.id = s.id
+SET s.sprint_number = r.new_number;
+
+-- Tables d'association (sans clé) : chaque paire en double est supprimée puis réinsérée une fois
+CREATE TEMPORARY TABLE duplicate_project_members AS
+SELECT project_id, user_id FROM project_members GROUP BY project_id, user_id HAVING COUNT(*) > 1;
+DELETE pm FROM project_members pm
+    JOIN duplicate_project_members d ON d.project_id = pm.project_id AND d.user_id = pm.user_id;
+INSERT INTO project_members (project_id, user_id) SELECT project_id, user_id FROM duplicate_project_members;
+DROP TEMPORARY TABLE duplicate_project_members;
+
+CREATE TEMPORARY TABLE duplicate_user_story_dependencies AS
+SELECT user_story_id, depends_on_id FROM user_story_dependencies
+GROUP BY user_story_id, depends_on_id HAVING COUNT(*) > 1;
+DELETE usd FROM user_story_dependencies usd
+    JOIN duplicate_user_story_dependencies d
+         ON d.user_story_id = usd.user_story_id AND d.depends_on_id = usd.depends_on_id;
+INSERT INTO user_story_dependencies (user_story_id, depends_on_id)
+SELECT user_story_id, depends_on_id FROM duplicate_user_story_dependencies;
+DROP TEMPORARY TABLE duplicate_user_story_dependencies;
+
+CREATE TEMPORARY TABLE duplicate_sprint_user_stories AS
+SELECT sprint_backlog_id, user_story_id FROM sprint_user_stories
+GROUP BY sprint_backlog_id, user_story_id HAVING COUNT(*) > 1;
+DELETE sus FROM sprint_user_stories sus
+    JOIN duplicate_sprint_user_stories d
+         ON d.sprint_backlog_id = sus.sprint_backlog_id AND d.user_story_id = sus.user_story_id;
+INSERT INTO sprint_user_stories (sprint_backlog_id, user_story_id)
+SELECT sprint_backlog_id, user_story_id FROM duplicate_sprint_user_stories;
+DROP TEMPORARY TABLE duplicate_sprint_user_stories;
+
+-- Tâches : par sprint, par assigné et par story, filtrées ou comptées par statut.
+-- L'id suit implicitement (clé primaire), ce qui sert l'ordre et la pagination par clé.
+CREATE INDEX idx_tasks_sprint_status ON tasks (sprint_backlog_id, status);
+CREATE INDEX idx_tasks_assignee_status ON tasks (assigned_user_id, status);
+CREATE INDEX idx_tasks_story_status ON tasks (user_story_id, status);
+
+-- Stories : listes triées par priorité (pages (priorité, id)), par rang, par statut,
+-- par epic et par sprint
+CREATE INDEX idx_user_stories_backlog_priority ON user_stories (product_backlog_id, priority, id);
+CREATE INDEX idx_user_stories_backlog_rank ON user_stories (product_backlog_id, backlog_rank, id);
+CREATE INDEX idx_user_stories_backlog_status ON user_stories (product_backlog_id, status);
+CREATE INDEX idx_user_stories_epic_priority ON user_stories (epic_id, priority, id);
+CREATE INDEX idx_user_stories_sprint_status ON user_stories (sprint_backlog_id, status);
+
+-- Sprints : un numéro par projet (vérifié par SprintService, garanti ici), sprints d'un projet par statut
+ALTER TABLE sprint_backlogs ADD CONSTRAINT uk_sprint_backlogs_project_number UNIQUE (project_id, sprint_number);
+CREATE INDEX idx_sprint_backlogs_project_status ON sprint_backlogs (project_id, sprint_status);
+
+-- Epics : titre unique par backlog (vérifié par EpicService)
+CREATE INDEX idx_epics_backlog_title ON epics (product_backlog_id, title);
+
+-- Projets : nom unique (vérifié par ProjectService), projets terminés
+ALTER TABLE projects ADD CONSTRAINT uk_projects_name UNIQUE (name);
+CREATE INDEX idx_projects_end_date ON projects (end_date);
+
+-- Utilisateurs : listes par rôle triées par nom, recherche par e-mail
+CREATE INDEX idx_users_role_username ON users (role, username);
+CREATE INDEX idx_users_email ON users (email);
+
+-- Tables d'association : une seule ligne par paire, index inverse pour l'autre sens
+ALTER TABLE project_members ADD CONSTRAINT uk_project_members UNIQUE (project_id, user_id);
+CREATE INDEX idx_project_members_user ON project_members (user_id, project_id);
+ALTER TABLE user_story_dependencies ADD CONSTRAINT uk_user_story_dependencies UNIQUE (user_story_id, depends_on_id);
+ALTER TABLE sprint_user_stories ADD CONSTRAINT uk_sprint_user_stories UNIQUE (sprint_backlog_id, user_story_id);
+CREATE INDEX idx_sprint_user_stories_story ON sprint_user_stories (user_story_id);
@@ -0,0 +1,13 @@
+-- Compteur de dépendances restantes et indicateur "prête" des stories existantes.
+-- Les colonnes ont été créées avec leurs valeurs par défaut (0 / prête) : une story dont une
+-- dépendance directe n'est pas terminée serait sinon considérée comme prête.
+-- MySQL refuse une sous-requête corrélée sur la table mise à jour : agrégat dans une table dérivée
+-- (matérialisée, GROUP BY), jointe à user_stories.
+UPDATE user_stories s
+    LEFT JOIN (SELECT d.user_story_id, COUNT(*) AS outstanding
+               FROM user_story_dependencies d
+                        JOIN user_stories dep ON dep.id = d.depends_on_id
+               WHERE dep.status <> 'DONE'
+               GROUP BY d.user_story_id) o ON o.user_story_id = s.id
+SET s.outstanding_dependencies = COALESCE(o.outstanding, 0),
+    s.ready                    = (COALESCE(o.outstanding, 0) = 0);
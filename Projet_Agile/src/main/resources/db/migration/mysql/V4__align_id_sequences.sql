@@ -0,0 +1,27 @@
+-- Réalignement des séquences des générateurs pooled sur les identifiants déjà présents.
+-- Une base aux identifiants auto-incrémentés, mise au schéma V1 par ddl-auto=update avant d'être
+-- marquée, a ses tables *_seq initialisées à 1 alors que les tables contiennent déjà des lignes.
+-- L'optimiseur pooled lit next_val comme la borne haute du bloc suivant (next_val - 49 .. next_val) :
+-- elle est portée à MAX(id) + 50 (incrément agile.id.allocation-size), jamais reculée.
+-- Les tables *_seq font partie du schéma V1 (cf. V1__baseline_schema.sql).
+-- Pas d'équivalent H2 : les bases de test sont toujours créées par V1, séquences comprises.
+UPDATE projects_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM projects));
+
+UPDATE product_backlogs_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM product_backlogs));
+
+UPDATE sprint_backlogs_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM sprint_backlogs));
+
+UPDATE users_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM users));
+
+UPDATE epics_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM epics));
+
+-- Séquence commune aux stories et aux tâches
+UPDATE work_items_seq
+SET next_val = GREATEST(next_val,
+                        (SELECT COALESCE(MAX(id), 0) + 50 FROM user_stories),
+                        (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks));
@@ -0,0 +1,217 @@
+package com.agile.demo;
+
+import com.Agile.demo.execution.repositories.SprintBacklogRepository;
+import com.Agile.demo.execution.repositories.TaskRepository;
+import com.Agile.demo.execution.repositories.UserRepository;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.Role;
+import com.agile.demo.model.SprintBacklog;
+import com.agile.demo.model.SprintStatus;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.ProjectRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Schéma issu des migrations Flyway et plans d'exécution des requêtes de liste (base H2 du profil test)
+ *
+ * Le SQL réellement émis par chaque méthode de repository est capturé puis passé à EXPLAIN :
+ * aucune table ne doit être parcourue en entier. Une requête qui perd son index (migration
+ * modifiée, requête réécrite) fait échouer son cas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plandb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.agile.demo.QueryPlanRegressionTest$SqlRecorder"
+})
+@ActiveProfiles("test")
+class QueryPlanRegressionTest {
+
+    private static final Long ID = 1L;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private SprintBacklogRepository sprintBacklogRepository;
+
+    @Autowired
+    private EpicRepository epicRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Ordres SQL préparés par Hibernate, dans l'ordre
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private Map<String, Runnable> listQueries() {
+        return Map.ofEntries(
+                Map.entry("TaskRepository.findBySprintBacklogId", () -> taskRepository.findBySprintBacklogId(ID)),
+                Map.entry("TaskRepository.findBySprintBacklogIdAndStatus",
+                        () -> taskRepository.findBySprintBacklogIdAndStatus(ID, WorkItemStatus.TODO)),
+                Map.entry("TaskRepository.findBySprintBacklogIdAndAssignedUserIsNull",
+                        () -> taskRepository.findBySprintBacklogIdAndAssignedUserIsNull(ID)),
+                Map.entry("TaskRepository.findOverEstimatedTasksBySprint",
+                        () -> taskRepository.findOverEstimatedTasksBySprint(ID)),
+                Map.entry("TaskRepository.findByAssignedUserId", () -> taskRepository.findByAssignedUserId(ID)),
+                Map.entry("TaskRepository.findByAssignedUserIdAndStatus",
+                        () -> taskRepository.findByAssignedUserIdAndStatus(ID, WorkItemStatus.IN_PROGRESS)),
+                Map.entry("TaskRepository.findByUserStoryId", () -> taskRepository.findByUserStoryId(ID)),
+                Map.entry("TaskRepository.countByUserStoryIdAndStatus",
+                        () -> taskRepository.countByUserStoryIdAndStatus(ID, WorkItemStatus.DONE)),
+                Map.entry("TaskRepository.findSummaryPageBySprintBacklogId",
+                        () -> taskRepository.findSummaryPageBySprintBacklogId(ID, 0L, PageRequest.of(0, 51))),
+                Map.entry("TaskRepository.findSummaryPageByAssignedUserId",
+                        () -> taskRepository.findSummaryPageByAssignedUserId(ID, 0L, PageRequest.of(0, 51))),
+                Map.entry("UserStoryRepository.findByProductBacklogId",
+                        () -> userStoryRepository.findByProductBacklogId(ID)),
+                Map.entry("UserStoryRepository.findByProductBacklogIdAndStatus",
+                        () -> userStoryRepository.findByProductBacklogIdAndStatus(ID, WorkItemStatus.TODO)),
+                Map.entry("UserStoryRepository.findByEpicId", () -> userStoryRepository.findByEpicId(ID)),
+                Map.entry("UserStoryRepository.findByProductBacklogIdOrderedByPriority",
+                        () -> userStoryRepository.findByProductBacklogIdOrderedByPriority(ID)),
+                Map.entry("UserStoryRepository.findUnassignedStoriesByBacklogId",
+                        () -> userStoryRepository.findUnassignedStoriesByBacklogId(ID)),
+                Map.entry("UserStoryRepository.findByProductBacklogIdOrderedByRank",
+                        () -> userStoryRepository.findByProductBacklogIdOrderedByRank(ID)),
+                Map.entry("UserStoryRepository.findByProductBacklogIdOrderByWsjfScoreDescIdAsc",
+                        () -> userStoryRepository.findByProductBacklogIdOrderByWsjfScoreDescIdAsc(ID, PageRequest.of(0, 10))),
+                Map.entry("UserStoryRepository.findSummaryPageByProductBacklogId",
+                        () -> userStoryRepository.findSummaryPageByProductBacklogId(ID, 0, 0L, PageRequest.of(0, 51))),
+                Map.entry("UserStoryRepository.findSummaryPageByEpicId",
+                        () -> userStoryRepository.findSummaryPageByEpicId(ID, 0, 0L, PageRequest.of(0, 51))),
+                Map.entry("SprintBacklogRepository.findByProjectIdAndSprintStatus",
+                        () -> sprintBacklogRepository.findByProjectIdAndSprintStatus(ID, SprintStatus.ACTIVE)),
+                Map.entry("SprintBacklogRepository.countByProjectIdAndSprintStatus",
+                        () -> sprintBacklogRepository.countByProjectIdAndSprintStatus(ID, SprintStatus.ACTIVE)),
+                Map.entry("SprintBacklogRepository.existsByProjectIdAndSprintNumber",
+                        () -> sprintBacklogRepository.existsByProjectIdAndSprintNumber(ID, 1)),
+                Map.entry("SprintBacklogRepository.findSummaryPageByProjectId",
+                        () -> sprintBacklogRepository.findSummaryPageByProjectId(ID, 0, 0L, PageRequest.of(0, 51))),
+                Map.entry("EpicRepository.findByProductBacklogId", () -> epicRepository.findByProductBacklogId(ID)),
+                Map.entry("EpicRepository.existsByTitleAndProductBacklogId",
+                        () -> epicRepository.existsByTitleAndProductBacklogId("Epic", ID)),
+                Map.entry("ProjectRepository.findByName", () -> projectRepository.findByName("Project")),
+                Map.entry("ProjectRepository.findCompletedProjects",
+                        () -> projectRepository.findCompletedProjects(LocalDate.now())),
+                Map.entry("ProjectRepository.findProjectsByMemberId", () -> projectRepository.findProjectsByMemberId(ID)),
+                Map.entry("ProjectRepository.findSummaryPage",
+                        () -> projectRepository.findSummaryPage(0L, PageRequest.of(0, 51))),
+                Map.entry("ProductBacklogRepository.findByProjectId", () -> productBacklogRepository.findByProjectId(ID)),
+                Map.entry("UserRepository.findByUsername", () -> userRepository.findByUsername("user")),
+                Map.entry("UserRepository.findByEmail", () -> userRepository.findByEmail("user@example.com")),
+                Map.entry("UserRepository.findByRole", () -> userRepository.findByRole(Role.DEVELOPER)),
+                Map.entry("UserRepository.findUsersByProjectId", () -> userRepository.findUsersByProjectId(ID)),
+                Map.entry("UserRepository.findSummaryPageByRole",
+                        () -> userRepository.findSummaryPageByRole(Role.DEVELOPER, "", PageRequest.of(0, 51)))
+        );
+    }
+
+    @TestFactory
+    Stream<DynamicTest> listQueries_ShouldNotScanWholeTables() {
+        return listQueries().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(query -> DynamicTest.dynamicTest(query.getKey(), () -> {
+                    SqlRecorder.STATEMENTS.clear();
+                    query.getValue().run();
+
+                    assertThat(SqlRecorder.STATEMENTS).isNotEmpty();
+                    for (String sql : SqlRecorder.STATEMENTS) {
+                        assertThat(explain(sql)).as(sql).doesNotContainIgnoringCase("tableScan");
+                    }
+                }));
+    }
+
+    /**
+     * Plan H2 de l'ordre : les paramètres, non évalués par EXPLAIN, sont liés à NULL
+     */
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = explain.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                explain.setObject(i, null);
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+    }
+
+    @Test
+    void migrations_ShouldBeApplied() {
+        assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion).map(Object::toString))
+                .containsExactly("1", "2", "3");
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void sprintNumber_ShouldBeUniquePerProject() {
+        Project project = new Project("plan-" + System.nanoTime(), "Plans", LocalDate.now(), LocalDate.now().plusMonths(3));
+        project.getProductBacklog().setProject(project);
+        Project saved = projectRepository.save(project);
+
+        SprintBacklog first = new SprintBacklog("Sprint 1", 1, LocalDate.now(), LocalDate.now().plusDays(13), "Goal");
+        first.setProject(saved);
+        sprintBacklogRepository.save(first);
+        SprintBacklog duplicate = new SprintBacklog("Sprint 1 bis", 1, LocalDate.now(), LocalDate.now().plusDays(13), "Goal");
+        duplicate.setProject(saved);
+
+        assertThatThrownBy(() -> sprintBacklogRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
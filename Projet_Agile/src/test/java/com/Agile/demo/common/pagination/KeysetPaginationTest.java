@@ -0,0 +1,129 @@
+package com.agile.demo.common.pagination;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.projection.StorySummary;
+import com.agile.demo.planning.repository.ProjectRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.UserStoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pagination par clé des stories d'un backlog (base H2 du profil test)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:keysetdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class KeysetPaginationTest {
+
+    private static final int STORIES = 95;
+
+    @Autowired
+    private UserStoryService userStoryService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long backlogId;
+
+    @BeforeEach
+    void setUp() {
+        Project project = new Project("keyset-" + System.nanoTime(), "Pages", LocalDate.now(), LocalDate.now().plusMonths(3));
+        project.getProductBacklog().setProject(project);
+        project = projectRepository.save(project);
+        backlogId = project.getProductBacklog().getId();
+
+        List<UserStory> stories = new ArrayList<>();
+        for (int i = 0; i < STORIES; i++) {
+            UserStory story = new UserStory("Story " + i, "user", "act", "goal", 3);
+            story.setProductBacklog(project.getProductBacklog());
+            // Beaucoup d'égalités de priorité : l'id départage
+            story.setPriority(i % 4);
+            stories.add(story);
+        }
+        userStoryRepository.saveAll(stories);
+    }
+
+    @Test
+    void pages_ShouldCoverBacklogOnceInPriorityOrder() {
+        List<StorySummary> seen = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            KeysetPage<StorySummary> page = userStoryService.getStorySummaryPageByProductBacklog(backlogId, token, 10);
+            seen.addAll(page.items());
+            token = page.nextToken();
+            pages++;
+        } while (token != null);
+
+        assertThat(pages).isEqualTo(10);
+        assertThat(seen).hasSize(STORIES).extracting(StorySummary::id).doesNotHaveDuplicates();
+        assertThat(seen).isSortedAccordingTo((a, b) -> a.priority().equals(b.priority())
+                ? a.id().compareTo(b.id()) : a.priority().compareTo(b.priority()));
+    }
+
+    @Test
+    void deepPage_ShouldCostOneQueryLikeFirstPage() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String token = null;
+        for (int i = 0; i < 8; i++) {
+            token = userStoryService.getStorySummaryPageByProductBacklog(backlogId, token, 10).nextToken();
+        }
+        statistics.clear();
+
+        KeysetPage<StorySummary> deep = userStoryService.getStorySummaryPageByProductBacklog(backlogId, token, 10);
+
+        assertThat(deep.items()).hasSize(10);
+        assertThat(deep.hasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void lastPage_ShouldHaveNoNextToken() {
+        KeysetPage<StorySummary> page = userStoryService.getStorySummaryPageByProductBacklog(backlogId, null, STORIES);
+
+        assertThat(page.items()).hasSize(STORIES);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void tamperedToken_ShouldBeRejected() {
+        assertThatThrownBy(() -> userStoryService.getStorySummaryPageByProductBacklog(backlogId, "not-a-token", 10))
+                .isInstanceOf(BusinessException.class);
+        String foreign = PageToken.encode("high", 1L);
+        assertThatThrownBy(() -> userStoryService.getStorySummaryPageByProductBacklog(backlogId, foreign, 10))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void invalidSize_ShouldBeRejected() {
+        assertThatThrownBy(() -> userStoryService.getStorySummaryPageByProductBacklog(backlogId, null, 0))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> userStoryService.getStorySummaryPageByProductBacklog(backlogId, null, KeysetPage.MAX_SIZE + 1))
+                .isInstanceOf(BusinessException.class);
+    }
+}
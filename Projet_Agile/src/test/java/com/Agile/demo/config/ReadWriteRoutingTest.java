@@ -0,0 +1,244 @@
+package com.agile.demo.config;
+
+import com.agile.demo.config.ReadWriteRoutingDataSource.PoolStatistics;
+import com.agile.demo.config.ReadYourWritesTracker.Scope;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.projection.ProjectSummary;
+import com.agile.demo.planning.service.ProjectService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routage lecture / écriture sur deux bases H2 en mémoire (primaire et réplique)
+ *
+ * La réplique n'est pas alimentée par le primaire : une ligne présente sur une seule des deux bases
+ * indique où la lecture a été faite.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primarydb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "agile.datasource.replica.url=" + ReadWriteRoutingTest.REPLICA_URL,
+        "agile.datasource.replica.lag-query=SELECT lag_seconds FROM replica_status",
+        "agile.datasource.replica.lag-column=lag_seconds",
+        "agile.datasource.replica.max-lag-ms=2000",
+        "agile.datasource.replica.health-check-interval-ms=3600000",
+        "agile.datasource.read-your-writes-window-ms=60000"
+})
+@ActiveProfiles("test")
+class ReadWriteRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final String REPLICA_ONLY = "replica-only";
+    private static final long REPLICA_ONLY_ID = 900001L;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    /**
+     * Schéma de la réplique, créé avant le contexte (en production, il vient de la réplication)
+     */
+    @BeforeAll
+    static void createReplicaSchema() throws SQLException {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE replica_status (lag_seconds BIGINT)");
+            statement.execute("INSERT INTO replica_status VALUES (0)");
+            statement.execute("INSERT INTO projects (id, name) VALUES (" + REPLICA_ONLY_ID + ", '" + REPLICA_ONLY + "')");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.update("UPDATE replica_status SET lag_seconds = 0");
+        routingDataSource.checkReplica();
+        readYourWrites.clear();
+    }
+
+    private List<String> projectNames() {
+        return projectService.getAllProjectSummaries().stream().map(ProjectSummary::name).toList();
+    }
+
+    private Project createProject(String name) {
+        return projectService.createProject(name, "Routing", LocalDate.of(2026, 1, 5), LocalDate.of(2026, 3, 29));
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
+    }
+
+    private PoolStatistics pool(String name) {
+        return routingDataSource.snapshot().get(name);
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldReadFromReplica() {
+        long replicaConnections = pool("replica").connections();
+
+        assertThat(projectNames()).contains(REPLICA_ONLY);
+        assertThat(pool("replica").connections()).isEqualTo(replicaConnections + 1);
+    }
+
+    @Test
+    void writeTransaction_ShouldGoToPrimary() {
+        long primaryConnections = pool("primary").connections();
+
+        createProject("routing-write");
+
+        assertThat(pool("primary").connections()).isGreaterThan(primaryConnections);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM projects WHERE name = 'routing-write'", Long.class))
+                .isZero();
+    }
+
+    @Test
+    void readAfterWrite_ShouldStickToPrimaryForTheWritingSession() {
+        try (Scope ignored = readYourWrites.bind("writer")) {
+            createProject("routing-sticky");
+            long stickyReads = pool("primary").stickyReads();
+
+            assertThat(projectNames()).contains("routing-sticky").doesNotContain(REPLICA_ONLY);
+            assertThat(pool("primary").stickyReads()).isEqualTo(stickyReads + 1);
+        }
+        try (Scope ignored = readYourWrites.bind("reader")) {
+            assertThat(projectNames()).contains(REPLICA_ONLY).doesNotContain("routing-sticky");
+        }
+    }
+
+    @Test
+    void cacheLoad_ShouldReadFromPrimary() {
+        long primaryConnections = pool("primary").connections();
+        long replicaConnections = pool("replica").connections();
+
+        assertThat(PrimaryReads.call(transactionManager, this::projectNames)).doesNotContain(REPLICA_ONLY);
+        assertThat(pool("primary").connections()).isGreaterThan(primaryConnections);
+        assertThat(pool("replica").connections()).isEqualTo(replicaConnections);
+    }
+
+    @Test
+    void cacheLoadInReadOnlyTransaction_ShouldTakeASinglePrimaryConnection() {
+        long primaryConnections = pool("primary").connections();
+        long replicaConnections = pool("replica").connections();
+
+        List<String> names = readOnly().execute(status -> PrimaryReads.call(transactionManager, this::projectNames));
+
+        assertThat(names).doesNotContain(REPLICA_ONLY);
+        assertThat(pool("primary").connections()).isEqualTo(primaryConnections + 1);
+        assertThat(pool("replica").connections()).isEqualTo(replicaConnections);
+    }
+
+    @Test
+    void cacheLoadAfterReplicaRead_ShouldReadCommittedRowsFromPrimary() {
+        long primaryConnections = pool("primary").connections();
+        long replicaConnections = pool("replica").connections();
+
+        List<String> names = readOnly().execute(status -> {
+            assertThat(projectNames()).contains(REPLICA_ONLY);
+            return PrimaryReads.call(transactionManager, this::projectNames);
+        });
+
+        // Une connexion par pool : le chargement attend le primaire, dont la transaction ne tient rien
+        assertThat(names).doesNotContain(REPLICA_ONLY);
+        assertThat(pool("primary").connections()).isEqualTo(primaryConnections + 1);
+        assertThat(pool("replica").connections()).isEqualTo(replicaConnections + 1);
+    }
+
+    @Test
+    void cacheLoadInWriteTransaction_ShouldReuseItsConnectionAndNotBeCached() {
+        long primaryConnections = pool("primary").connections();
+
+        Boolean cacheable = new TransactionTemplate(transactionManager).execute(status -> {
+            createProject("routing-cache-load");
+            assertThat(PrimaryReads.call(transactionManager, this::projectNames)).contains("routing-cache-load");
+            return PrimaryReads.isCacheable();
+        });
+
+        assertThat(cacheable).isFalse();
+        assertThat(pool("primary").connections()).isEqualTo(primaryConnections + 1);
+    }
+
+    @Test
+    void replicaRead_ShouldNotPopulateSecondLevelCache() {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Project.class);
+
+        assertThat(projectService.getProjectById(REPLICA_ONLY_ID).getName()).isEqualTo(REPLICA_ONLY);
+        assertThat(cache.contains(Project.class, REPLICA_ONLY_ID)).isFalse();
+    }
+
+    @Test
+    void laggingReplica_ShouldFallBackToPrimaryUntilCaughtUp() {
+        replica.update("UPDATE replica_status SET lag_seconds = 30");
+        routingDataSource.checkReplica();
+        long fallbackReads = pool("primary").fallbackReads();
+
+        assertThat(routingDataSource.isReplicaAvailable()).isFalse();
+        assertThat(projectNames()).doesNotContain(REPLICA_ONLY);
+        assertThat(pool("primary").fallbackReads()).isEqualTo(fallbackReads + 1);
+
+        replica.update("UPDATE replica_status SET lag_seconds = 1");
+        routingDataSource.checkReplica();
+
+        assertThat(routingDataSource.isReplicaAvailable()).isTrue();
+        assertThat(projectNames()).contains(REPLICA_ONLY);
+    }
+
+    @Test
+    @DirtiesContext
+    void unreachableReplica_ShouldFallBackToPrimary() {
+        replicaDataSource.close();
+        long failures = pool("replica").failures();
+
+        assertThat(projectNames()).doesNotContain(REPLICA_ONLY);
+        assertThat(routingDataSource.isReplicaAvailable()).isFalse();
+        assertThat(pool("replica").failures()).isEqualTo(failures + 1);
+        assertThat(pool("primary").fallbackReads()).isPositive();
+    }
+}
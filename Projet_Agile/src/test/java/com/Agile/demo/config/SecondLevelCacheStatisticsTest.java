@@ -0,0 +1,104 @@
+package com.agile.demo.config;
+
+import com.Agile.demo.execution.repositories.UserRepository;
+import com.agile.demo.config.SecondLevelCacheStatistics.RegionStatistics;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.User;
+import com.agile.demo.planning.repository.ProjectRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache de second niveau sur la base H2 du profil test
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:cachedb;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class SecondLevelCacheStatisticsTest {
+
+    @Autowired
+    private SecondLevelCacheStatistics cacheStatistics;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        return userRepository.save(user);
+    }
+
+    @Test
+    void findUserById_ShouldBeServedFromCacheAfterFirstRead() {
+        Long userId = createUser("cached-user").getId();
+        userRepository.findById(userId);
+        statistics.clear();
+
+        User user = userRepository.findById(userId).orElseThrow();
+
+        assertThat(user.getUsername()).isEqualTo("cached-user");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        RegionStatistics users = cacheStatistics.snapshot().get("users");
+        assertThat(users.hits()).isEqualTo(1);
+        assertThat(users.hitRatio()).isEqualTo(1.0);
+    }
+
+    @Test
+    void updateUser_ShouldRefreshCachedEntry() {
+        User user = createUser("renamed-user");
+        user.setEmail("new-address@example.com");
+        userRepository.save(user);
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getEmail())
+                .isEqualTo("new-address@example.com");
+    }
+
+    @Test
+    void projectMembers_ShouldBeServedFromCollectionCache() {
+        Project project = new Project("cached-project", "Cache", LocalDate.of(2026, 1, 5), LocalDate.of(2026, 6, 30));
+        project.getProductBacklog().setProject(project);
+        project.getMembers().add(createUser("member-a"));
+        project.getMembers().add(createUser("member-b"));
+        Long projectId = projectRepository.save(project).getId();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status ->
+                projectRepository.findById(projectId).orElseThrow().getMembers().size());
+        statistics.clear();
+
+        int members = transaction.execute(status ->
+                projectRepository.findById(projectId).orElseThrow().getMembers().size());
+
+        assertThat(members).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(cacheStatistics.snapshot().get("projects.members").hits()).isEqualTo(1);
+    }
+}
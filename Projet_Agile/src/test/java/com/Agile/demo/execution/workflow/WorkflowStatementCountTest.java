@@ -0,0 +1,196 @@
+package com.Agile.demo.execution.workflow;
+
+import com.Agile.demo.execution.repositories.SprintBacklogRepository;
+import com.Agile.demo.execution.repositories.TaskRepository;
+import com.Agile.demo.execution.repositories.UserRepository;
+import com.Agile.demo.execution.repositories.UserStoryRepository;
+import com.Agile.demo.model.*;
+import com.agile.demo.planning.index.DependencyGraphService;
+import com.agile.demo.planning.repository.ProjectRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nombre d'ordres SQL des opérations de workflow : fixe, quel que soit le nombre de tâches
+ * (base H2 du profil test)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:workflowdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class WorkflowStatementCountTest {
+
+    private static final int MAX_STATEMENTS = 12;
+
+    @Autowired
+    private SprintWorkflowService sprintWorkflowService;
+
+    @Autowired
+    private TaskWorkflowService taskWorkflowService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SprintBacklogRepository sprintBacklogRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DependencyGraphService dependencyGraphService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Project project;
+    private SprintBacklog sprint;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        project = new Project("workflow-" + System.nanoTime(), "Workflow", LocalDate.now(), LocalDate.now().plusMonths(3));
+        project.getProductBacklog().setProject(project);
+        project = projectRepository.save(project);
+
+        sprint = new SprintBacklog("Sprint 1", 1, LocalDate.now(), LocalDate.now().plusDays(13), "Goal");
+        sprint.setProject(project);
+        sprint = sprintBacklogRepository.save(sprint);
+
+        user = new User();
+        user.setUsername("workflow-user-" + System.nanoTime());
+        user.setEmail("workflow@example.com");
+        user = userRepository.save(user);
+    }
+
+    private UserStory createStory(int tasks) {
+        UserStory story = new UserStory("Story with " + tasks + " tasks", "user", "act", "goal", 3);
+        story.setProductBacklog(project.getProductBacklog());
+        story = userStoryRepository.save(story);
+        for (int t = 0; t < tasks; t++) {
+            Task task = new Task("Task " + t, 4);
+            task.setUserStory(story);
+            taskRepository.save(task);
+        }
+        return story;
+    }
+
+    private Long firstTaskId(UserStory story) {
+        return taskRepository.findByUserStoryId(story.getId()).get(0).getId();
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Charge une fois le graphe de dépendances du projet et l'utilisateur (cache de second niveau)
+     */
+    private void warmUp(UserStory story) {
+        dependencyGraphService.isReady(project.getId(), story.getId());
+        userRepository.findById(user.getId());
+    }
+
+    @Test
+    void addUserStoryToSprint_ShouldNotDependOnTaskCount() {
+        UserStory small = createStory(2);
+        UserStory large = createStory(30);
+        warmUp(small);
+
+        long smallCount = countStatements(() -> sprintWorkflowService.addUserStoryToSprint(sprint.getId(), small.getId()));
+        long largeCount = countStatements(() -> sprintWorkflowService.addUserStoryToSprint(sprint.getId(), large.getId()));
+
+        assertThat(largeCount).isEqualTo(smallCount).isLessThanOrEqualTo(MAX_STATEMENTS);
+        assertThat(taskRepository.findBySprintBacklogId(sprint.getId())).hasSize(32);
+    }
+
+    @Test
+    void removeUserStoryFromSprint_ShouldNotDependOnTaskCount() {
+        UserStory small = createStory(2);
+        UserStory large = createStory(30);
+        sprintWorkflowService.addUserStoryToSprint(sprint.getId(), small.getId());
+        sprintWorkflowService.addUserStoryToSprint(sprint.getId(), large.getId());
+        warmUp(small);
+
+        long smallCount = countStatements(() -> sprintWorkflowService.removeUserStoryFromSprint(sprint.getId(), small.getId()));
+        long largeCount = countStatements(() -> sprintWorkflowService.removeUserStoryFromSprint(sprint.getId(), large.getId()));
+
+        assertThat(largeCount).isLessThanOrEqualTo(smallCount + 1).isLessThanOrEqualTo(MAX_STATEMENTS);
+        assertThat(taskRepository.findBySprintBacklogId(sprint.getId())).isEmpty();
+    }
+
+    @Test
+    void startAndCompleteTask_ShouldNotDependOnSiblingCount() {
+        UserStory small = createStory(2);
+        UserStory large = createStory(30);
+        Long smallTask = firstTaskId(small);
+        Long largeTask = firstTaskId(large);
+        warmUp(small);
+
+        long smallStart = countStatements(() -> taskWorkflowService.startTask(smallTask, user.getId()));
+        long largeStart = countStatements(() -> taskWorkflowService.startTask(largeTask, user.getId()));
+        long smallComplete = countStatements(() -> taskWorkflowService.completeTask(smallTask));
+        long largeComplete = countStatements(() -> taskWorkflowService.completeTask(largeTask));
+
+        assertThat(largeStart).isEqualTo(smallStart).isLessThanOrEqualTo(MAX_STATEMENTS);
+        assertThat(largeComplete).isEqualTo(smallComplete).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    @Test
+    void completeSprint_ShouldBatchFetchTasksOfIncompleteStories() {
+        List<UserStory> stories = new ArrayList<>();
+        for (int s = 0; s < 20; s++) {
+            stories.add(createStory(3));
+        }
+        stories.forEach(story -> sprintWorkflowService.addUserStoryToSprint(sprint.getId(), story.getId()));
+        sprintWorkflowService.startSprint(sprint.getId());
+
+        long statements = countStatements(() -> sprintWorkflowService.completeSprint(sprint.getId()));
+
+        // Sans chargement par lots : une requête de tâches par story non terminée
+        assertThat(statements).isLessThan(stories.size());
+        assertThat(taskRepository.findBySprintBacklogId(sprint.getId())).isEmpty();
+    }
+
+    @Test
+    void taskToString_ShouldNotLoadAssignee() {
+        UserStory story = createStory(1);
+        Long taskId = firstTaskId(story);
+        taskWorkflowService.reassignTask(taskId, user.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Task task = taskRepository.findById(taskId).orElseThrow();
+            long statements = countStatements(task::toString);
+
+            assertThat(statements).isZero();
+            assertThat(task.toString()).contains("assigned=#" + user.getId());
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.agile.demo.model;
+
+import com.agile.demo.DemoApplication;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit d'insertion d'une story et de ses tâches, ligne par ligne ou par lots JDBC
+ *
+ * ROW_BY_ROW reproduit le comportement d'avant (un aller-retour par entité, sans lot) ;
+ * BATCHED utilise la configuration de l'application (blocs d'identifiants, INSERT par lots).
+ * Base H2 en mémoire : sur MySQL l'écart est plus grand, chaque aller-retour passant par le réseau.
+ * Les séquences des migrations avançant par 50, ROW_BY_ROW laisse Hibernate créer son propre schéma.
+ *
+ * Lancement : exécuter main() depuis le classpath de test
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchInsertBenchmark {
+
+    @Param({"ROW_BY_ROW", "BATCHED"})
+    private String mode;
+
+    @Param({"30"})
+    private int tasksPerStory;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private ProductBacklog backlog;
+
+    @Setup
+    public void setUp() {
+        boolean batched = "BATCHED".equals(mode);
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + (batched ? 50 : 1),
+                        "spring.jpa.properties." + PooledSequenceGenerator.ALLOCATION_SIZE_SETTING + "="
+                                + (batched ? 50 : 1),
+                        "spring.flyway.enabled=" + batched,
+                        "spring.jpa.hibernate.ddl-auto=" + (batched ? "validate" : "create-drop"))
+                .run();
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        backlog = transactionTemplate.execute(status -> {
+            ProductBacklog created = new ProductBacklog("Benchmark backlog");
+            entityManager.persist(created);
+            return created;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long insertStoryWithTasks() {
+        return transactionTemplate.execute(status -> {
+            UserStory story = new UserStory("Story", "Role", "Action", "Purpose", 5);
+            story.setProductBacklog(backlog);
+            entityManager.persist(story);
+            for (int i = 0; i < tasksPerStory; i++) {
+                Task task = new Task("Task " + i, 2);
+                task.setUserStory(story);
+                entityManager.persist(task);
+            }
+            return story.getId();
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BatchInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+package com.agile.demo.model;
+
+import com.Agile.demo.execution.repositories.TaskRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Identifiants réservés par blocs et INSERT par lots JDBC (base H2 du profil test)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batchdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class PooledSequenceGeneratorTest {
+
+    private static final int TASKS = 30;
+
+    @Autowired
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProductBacklog backlog;
+
+    @BeforeEach
+    void setUp() {
+        backlog = productBacklogRepository.save(new ProductBacklog("Batch backlog"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (UserStory story : userStoryRepository.findByProductBacklogId(backlog.getId())) {
+            taskRepository.deleteAll(taskRepository.findByUserStoryId(story.getId()));
+            userStoryRepository.delete(story);
+        }
+        productBacklogRepository.deleteById(backlog.getId());
+    }
+
+    private UserStory createStoryWithTasks() {
+        UserStory story = new UserStory("Batch story", "Role", "Action", "Purpose", 5);
+        story.setProductBacklog(backlog);
+        entityManager.persist(story);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task("Task " + i, 2);
+            task.setUserStory(story);
+            entityManager.persist(task);
+        }
+        return story;
+    }
+
+    @Test
+    void persist_ShouldAssignIdWithoutInsert() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            statistics.clear();
+            UserStory story = new UserStory("Story", "Role", "Action", "Purpose", 3);
+            story.setProductBacklog(backlog);
+            entityManager.persist(story);
+
+            assertThat(story.getId()).isNotNull();
+            assertThat(statistics.getEntityInsertCount()).isZero();
+        });
+    }
+
+    @Test
+    void storyWithTasks_ShouldBeInsertedInBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Premier bloc d'identifiants réservé hors mesure
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> createStoryWithTasks());
+
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> createStoryWithTasks());
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(TASKS + 1);
+        // Un lot pour la story, un pour les tâches, et les appels de séquence d'un nouveau bloc :
+        // contre un INSERT par entité avec IDENTITY
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+}
@@ -0,0 +1,127 @@
+package com.agile.demo.model.projection;
+
+import com.Agile.demo.execution.repositories.TaskRepository;
+import com.agile.demo.DemoApplication;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.SprintBacklog;
+import com.agile.demo.model.Task;
+import com.agile.demo.model.User;
+import com.agile.demo.model.UserStory;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latence et allocation de la liste des tâches d'un sprint : entités ou projection TaskSummary
+ *
+ * ENTITY charge les tâches (et leurs assignés, par lots) dans le contexte de persistance puis
+ * en extrait les colonnes affichées, comme le faisaient les vues ; PROJECTION lit directement
+ * ces colonnes, sans entité gérée, sans copie pour le dirty checking ni description.
+ * L'allocation par opération est donnée par le profileur GC (gc.alloc.rate.norm).
+ *
+ * Lancement : exécuter main() depuis le classpath de test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListProjectionBenchmark {
+
+    @Param({"ENTITY", "PROJECTION"})
+    private String mode;
+
+    @Param({"200"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private Long sprintId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-list-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false")
+                .run();
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        sprintId = new TransactionTemplate(transactionManager).execute(status -> {
+            Project project = new Project("Benchmark", "Listes", LocalDate.now(), LocalDate.now().plusMonths(3));
+            project.getProductBacklog().setProject(project);
+            entityManager.persist(project);
+            SprintBacklog sprint = new SprintBacklog("Sprint 1", 1, LocalDate.now(), LocalDate.now().plusDays(13), "Goal");
+            sprint.setProject(project);
+            entityManager.persist(sprint);
+            UserStory story = new UserStory("Story", "Role", "Action", "Purpose", 5);
+            story.setProductBacklog(project.getProductBacklog());
+            story.setSprintBacklog(sprint);
+            entityManager.persist(story);
+            User[] users = new User[10];
+            for (int u = 0; u < users.length; u++) {
+                users[u] = new User();
+                users[u].setUsername("bench-user-" + u);
+                users[u].setEmail("bench-user-" + u + "@example.com");
+                entityManager.persist(users[u]);
+            }
+            for (int i = 0; i < tasks; i++) {
+                Task task = new Task("Task " + i, "Description de la tâche " + i + " ".repeat(200), 4, story);
+                task.setSprintBacklog(sprint);
+                task.setAssignedUser(users[i % users.length]);
+                entityManager.persist(task);
+            }
+            return sprint.getId();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long listSprintTasks() {
+        return readOnlyTransaction.execute(status -> {
+            long hash = 0;
+            if ("ENTITY".equals(mode)) {
+                for (Task task : taskRepository.findBySprintBacklogId(sprintId)) {
+                    hash += task.getId() + task.getTitle().length() + task.getAssignedUser().getUsername().length();
+                }
+            } else {
+                List<TaskSummary> summaries = taskRepository.findSummariesBySprintBacklogId(sprintId);
+                for (TaskSummary task : summaries) {
+                    hash += task.id() + task.title().length() + task.assignedUsername().length();
+                }
+            }
+            return hash;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ListProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
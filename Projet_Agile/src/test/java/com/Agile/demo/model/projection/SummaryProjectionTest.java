@@ -0,0 +1,140 @@
+package com.agile.demo.model.projection;
+
+import com.Agile.demo.execution.repositories.TaskRepository;
+import com.Agile.demo.execution.repositories.UserRepository;
+import com.Agile.demo.execution.services.TaskService;
+import com.Agile.demo.execution.services.UserService;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.Role;
+import com.agile.demo.model.Task;
+import com.agile.demo.model.User;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.repository.ProjectRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.ProductBacklogService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Projections des vues de liste : une requête, aucune entité chargée (base H2 du profil test)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:projectiondb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class SummaryProjectionTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProductBacklogService productBacklogService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Project project;
+    private UserStory story;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        project = new Project("projection-" + System.nanoTime(), "Listes", LocalDate.now(), LocalDate.now().plusMonths(3));
+        project.getProductBacklog().setProject(project);
+        project = projectRepository.save(project);
+
+        story = new UserStory("Projected story", "user", "act", "goal", 5);
+        story.setProductBacklog(project.getProductBacklog());
+        story.setPriority(1);
+        story = userStoryRepository.save(story);
+
+        user = new User();
+        user.setUsername("projection-user-" + System.nanoTime());
+        user.setEmail("projection@example.com");
+        user.setRole(Role.DEVELOPER);
+        user = userRepository.save(user);
+    }
+
+    private Statistics clearedStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void taskSummaries_ShouldCarryAssigneeWithoutLoadingEntities() {
+        Task assigned = new Task("Assigned", 6);
+        assigned.setUserStory(story);
+        assigned.setAssignedUser(user);
+        assigned.setActualHours(2);
+        taskRepository.save(assigned);
+        Task unassigned = new Task("Unassigned", 3);
+        unassigned.setUserStory(story);
+        taskRepository.save(unassigned);
+        Statistics statistics = clearedStatistics();
+
+        List<TaskSummary> summaries = taskService.getTaskSummariesByUserStory(story.getId());
+
+        assertThat(summaries).extracting(TaskSummary::title).containsExactly("Assigned", "Unassigned");
+        assertThat(summaries.get(0).assignedUsername()).isEqualTo(user.getUsername());
+        assertThat(summaries.get(0).getRemainingHours()).isEqualTo(4);
+        assertThat(summaries.get(1).assignedUserId()).isNull();
+        assertThat(summaries).allSatisfy(task -> assertThat(task.status()).isEqualTo(WorkItemStatus.TODO));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void storySummaries_ShouldLimitTopPriorityInQuery() {
+        UserStory second = new UserStory("Second story", "user", "act", "goal", 3);
+        second.setProductBacklog(project.getProductBacklog());
+        second.setPriority(2);
+        userStoryRepository.save(second);
+        Statistics statistics = clearedStatistics();
+
+        List<StorySummary> top = productBacklogService.getTopPriorityStorySummaries(project.getProductBacklog().getId(), 1);
+
+        assertThat(top).extracting(StorySummary::id).containsExactly(story.getId());
+        assertThat(top.get(0).epicId()).isNull();
+        assertThat(top.get(0).sprintBacklogId()).isNull();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void userSummaries_ShouldNotExposePassword() {
+        Statistics statistics = clearedStatistics();
+
+        List<UserSummary> developers = userService.getUserSummariesByRole(Role.DEVELOPER);
+
+        assertThat(developers).extracting(UserSummary::username).contains(user.getUsername());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,169 @@
+package com.agile.demo.planning.index;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.SprintBacklog;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.event.StoryDeletedEvent;
+import com.agile.demo.planning.index.BacklogRankIndexService.RankedStory;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BacklogRankIndexServiceTest {
+
+    @Mock
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BacklogRankIndexService rankIndexService;
+
+    private ProductBacklog backlog;
+    private UserStory story1;
+    private UserStory story2;
+    private UserStory story3;
+    private UserStory story4;
+
+    @BeforeEach
+    void setUp() {
+        backlog = new ProductBacklog();
+        backlog.setId(1L);
+
+        // Scores MoSCoW : 2 * valeur + 1.5 * urgence
+        story1 = story(101L, 5);   // 13
+        story2 = story(102L, 8);   // 19
+        story3 = story(103L, 2);   // 7
+        story4 = story(104L, 8);   // 19
+        story3.setSprintBacklog(new SprintBacklog());
+
+        when(productBacklogRepository.findById(1L)).thenReturn(Optional.of(backlog));
+        when(userStoryRepository.findByProductBacklogId(1L))
+                .thenReturn(List.of(story1, story2, story3, story4));
+    }
+
+    private UserStory story(Long id, int businessValue) {
+        UserStory story = new UserStory();
+        story.setId(id);
+        story.setProductBacklog(backlog);
+        story.setUrgency(2);
+        story.setBusinessValue(businessValue);
+        story.refreshScores();
+        return story;
+    }
+
+    private static List<Long> ids(List<RankedStory> stories) {
+        return stories.stream().map(RankedStory::storyId).toList();
+    }
+
+    @Test
+    void getPage_ShouldOrderByScoreThenId() {
+        assertThat(ids(rankIndexService.getPage(1L, 0, 2))).containsExactly(102L, 104L);
+        assertThat(ids(rankIndexService.getPage(1L, 1, 2))).containsExactly(101L, 103L);
+        assertThat(rankIndexService.getPage(1L, 2, 2)).isEmpty();
+
+        RankedStory third = rankIndexService.getPage(1L, 1, 2).get(0);
+        assertThat(third.rank()).isEqualTo(3);
+        assertThat(third.score()).isEqualTo(13);
+    }
+
+    @Test
+    void getRank_ShouldReturnOneBasedRank() {
+        assertThat(rankIndexService.getRank(1L, 102L)).isEqualTo(1);
+        assertThat(rankIndexService.getRank(1L, 103L)).isEqualTo(4);
+        assertThrows(ResourceNotFoundException.class, () -> rankIndexService.getRank(1L, 999L));
+    }
+
+    @Test
+    void getTopUnassigned_ShouldSkipStoriesInSprint() {
+        assertThat(ids(rankIndexService.getTopUnassigned(1L, 10))).containsExactly(102L, 104L, 101L);
+    }
+
+    @Test
+    void getPage_WithInvalidArguments_ShouldThrow() {
+        assertThrows(BusinessException.class, () -> rankIndexService.getPage(1L, -1, 10));
+        assertThrows(BusinessException.class, () -> rankIndexService.getPage(1L, 0, 0));
+    }
+
+    @Test
+    void index_ShouldBeBuiltOnceThenReused() {
+        rankIndexService.getPage(1L, 0, 10);
+        rankIndexService.getRank(1L, 101L);
+        rankIndexService.getTopUnassigned(1L, 3);
+
+        verify(userStoryRepository, times(1)).findByProductBacklogId(1L);
+    }
+
+    @Test
+    void onStoryChanged_ShouldMoveStoryWithoutRebuild() {
+        rankIndexService.getPage(1L, 0, 10);
+
+        story3.setBusinessValue(9);   // 21
+        story3.refreshScores();
+        story3.setSprintBacklog(null);
+        rankIndexService.onStoryChanged(StoryChangedEvent.of(story3, StoryChange.PRIORITIZATION, StoryChange.SPRINT));
+
+        assertThat(rankIndexService.getRank(1L, 103L)).isEqualTo(1);
+        assertThat(ids(rankIndexService.getTopUnassigned(1L, 2))).containsExactly(103L, 102L);
+
+        story2.setSprintBacklog(new SprintBacklog());
+        rankIndexService.onStoryChanged(StoryChangedEvent.of(story2, StoryChange.SPRINT));
+
+        assertThat(ids(rankIndexService.getTopUnassigned(1L, 10))).containsExactly(103L, 104L, 101L);
+        verify(userStoryRepository, times(1)).findByProductBacklogId(1L);
+    }
+
+    @Test
+    void onStoryDeleted_ShouldShiftFollowingRanks() {
+        rankIndexService.getPage(1L, 0, 10);
+
+        rankIndexService.onStoryDeleted(new StoryDeletedEvent(102L, 1L, null));
+
+        assertThat(rankIndexService.getRank(1L, 104L)).isEqualTo(1);
+        assertThat(ids(rankIndexService.getPage(1L, 0, 10))).containsExactly(104L, 101L, 103L);
+    }
+
+    @Test
+    void onBacklogChanged_RecomputedScores_ShouldRebuildOnNextRead() {
+        rankIndexService.getPage(1L, 0, 10);
+
+        rankIndexService.onBacklogChanged(BacklogChangedEvent.of(1L, null, StoryChange.SCORES));
+        rankIndexService.getPage(1L, 0, 10);
+
+        verify(userStoryRepository, times(2)).findByProductBacklogId(1L);
+    }
+
+    @Test
+    void unrelatedChanges_ShouldKeepIndex() {
+        rankIndexService.getPage(1L, 0, 10);
+
+        rankIndexService.onStoryChanged(StoryChangedEvent.of(story1, StoryChange.EPIC, StoryChange.ESTIMATES));
+        rankIndexService.onBacklogChanged(BacklogChangedEvent.of(1L, null, StoryChange.ORDER));
+        rankIndexService.getPage(1L, 0, 10);
+
+        verify(userStoryRepository, times(1)).findByProductBacklogId(1L);
+    }
+}
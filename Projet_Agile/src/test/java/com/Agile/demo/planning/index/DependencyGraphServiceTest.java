@@ -0,0 +1,187 @@
+package com.agile.demo.planning.index;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryDeletedEvent;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DependencyGraphServiceTest {
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DependencyGraphService dependencyGraphService;
+
+    private ProductBacklog backlog;
+
+    @BeforeEach
+    void setUp() {
+        Project project = new Project();
+        project.setId(1L);
+        backlog = new ProductBacklog();
+        backlog.setId(1L);
+        backlog.setProject(project);
+
+        // 4 -> 3 -> 2 -> 1 (1 terminée), 5 sans dépendance
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, WorkItemStatus.DONE, null, null});
+        rows.add(new Object[]{2L, WorkItemStatus.IN_PROGRESS, 1L, WorkItemStatus.DONE});
+        rows.add(new Object[]{3L, WorkItemStatus.TODO, 2L, WorkItemStatus.IN_PROGRESS});
+        rows.add(new Object[]{4L, WorkItemStatus.TODO, 3L, WorkItemStatus.TODO});
+        rows.add(new Object[]{5L, WorkItemStatus.TODO, null, null});
+        when(userStoryRepository.findDependencyEdgesByProjectId(1L)).thenReturn(rows);
+    }
+
+    private UserStory story(Long id, WorkItemStatus status) {
+        UserStory story = new UserStory();
+        story.setId(id);
+        story.setStatus(status);
+        story.setProductBacklog(backlog);
+        return story;
+    }
+
+    @Test
+    void isReady_ShouldRequireDirectDependenciesDone() {
+        assertThat(dependencyGraphService.isReady(1L, 2L)).isTrue();
+        assertThat(dependencyGraphService.isReady(1L, 3L)).isFalse();
+        assertThat(dependencyGraphService.isReady(1L, 5L)).isTrue();
+
+        // 4 dépend de 3 (à faire) et transitivement de 2 (en cours)
+        assertThat(dependencyGraphService.getIncompleteDependencies(1L, 4L)).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void isReady_ShouldTreatDoneDependencyAsDelivered() {
+        // 2 est terminée puis 1 (dont 2 dépend) est réouverte : 3 reste prête
+        dependencyGraphService.isReady(1L, 3L);
+        dependencyGraphService.onStatusChanged(story(2L, WorkItemStatus.DONE));
+        dependencyGraphService.onStatusChanged(story(1L, WorkItemStatus.IN_PROGRESS));
+
+        assertThat(dependencyGraphService.isReady(1L, 3L)).isTrue();
+        assertThat(dependencyGraphService.getIncompleteDependencies(1L, 3L)).isEmpty();
+        assertThat(dependencyGraphService.findBlockedStories(1L, List.of(2L, 3L, 4L)))
+                .containsExactlyInAnyOrder(2L, 4L);
+    }
+
+    @Test
+    void findBlockedStories_ShouldUseSingleQuery() {
+        assertThat(dependencyGraphService.findBlockedStories(1L, List.of(2L, 3L, 4L, 5L)))
+                .containsExactlyInAnyOrder(3L, 4L);
+        dependencyGraphService.isReady(1L, 4L);
+
+        verify(userStoryRepository, times(1)).findDependencyEdgesByProjectId(1L);
+    }
+
+    @Test
+    void getTopologicalOrder_ShouldPlaceDependenciesFirst() {
+        List<Long> order = dependencyGraphService.getTopologicalOrder(1L);
+
+        assertThat(order).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(order.indexOf(1L)).isLessThan(order.indexOf(2L));
+        assertThat(order.indexOf(2L)).isLessThan(order.indexOf(3L));
+        assertThat(order.indexOf(3L)).isLessThan(order.indexOf(4L));
+    }
+
+    @Test
+    void addDependency_ShouldRejectTransitiveCycle() {
+        // 1 -> 4 fermerait le cycle 4 -> 3 -> 2 -> 1 -> 4
+        assertThrows(BusinessException.class, () -> dependencyGraphService.addDependency(
+                story(1L, WorkItemStatus.DONE), story(4L, WorkItemStatus.TODO)));
+
+        assertThat(dependencyGraphService.getTopologicalOrder(1L)).hasSize(5);
+    }
+
+    @Test
+    void addDependency_ShouldUpdateReadiness() {
+        dependencyGraphService.addDependency(story(5L, WorkItemStatus.TODO), story(4L, WorkItemStatus.TODO));
+
+        assertThat(dependencyGraphService.isReady(1L, 5L)).isFalse();
+
+        dependencyGraphService.removeDependency(story(5L, WorkItemStatus.TODO), story(4L, WorkItemStatus.TODO));
+
+        assertThat(dependencyGraphService.isReady(1L, 5L)).isTrue();
+    }
+
+    @Test
+    void onStatusChanged_ShouldUnblockDependents() {
+        dependencyGraphService.isReady(1L, 3L);
+
+        dependencyGraphService.onStatusChanged(story(2L, WorkItemStatus.DONE));
+
+        assertThat(dependencyGraphService.isReady(1L, 3L)).isTrue();
+        assertThat(dependencyGraphService.isReady(1L, 4L)).isFalse();
+        verify(userStoryRepository, times(1)).findDependencyEdgesByProjectId(1L);
+    }
+
+    @Test
+    void onStoryDeleted_ShouldReloadGraph() {
+        dependencyGraphService.isReady(1L, 3L);
+
+        dependencyGraphService.onStoryDeleted(new StoryDeletedEvent(5L, 1L, 1L));
+        dependencyGraphService.isReady(1L, 3L);
+
+        verify(userStoryRepository, times(2)).findDependencyEdgesByProjectId(1L);
+    }
+
+    @Test
+    void onBacklogChanged_ShouldReloadGraphOnlyForDependencies() {
+        dependencyGraphService.isReady(1L, 3L);
+
+        dependencyGraphService.onBacklogChanged(BacklogChangedEvent.of(1L, 1L, StoryChange.SCORES));
+        dependencyGraphService.isReady(1L, 3L);
+        verify(userStoryRepository, times(1)).findDependencyEdgesByProjectId(1L);
+
+        dependencyGraphService.onBacklogChanged(BacklogChangedEvent.of(1L, 1L, StoryChange.DEPENDENCIES));
+        dependencyGraphService.isReady(1L, 3L);
+        verify(userStoryRepository, times(2)).findDependencyEdgesByProjectId(1L);
+    }
+
+    @Test
+    void graphLoadedBeforeCommit_ShouldReceiveCommittedRemoval() {
+        long version = dependencyGraphService.getVersion(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // 4 -> 3 retirée alors qu'aucun graphe n'est en cache
+            dependencyGraphService.removeDependency(story(4L, WorkItemStatus.TODO), story(3L, WorkItemStatus.TODO));
+
+            // Chargement concurrent avant le commit : l'arête y figure encore
+            assertThat(dependencyGraphService.isReady(1L, 4L)).isFalse();
+            assertThat(dependencyGraphService.getVersion(1L)).isEqualTo(version);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(dependencyGraphService.getVersion(1L)).isGreaterThan(version);
+        assertThat(dependencyGraphService.isReady(1L, 4L)).isTrue();
+        verify(userStoryRepository, times(1)).findDependencyEdgesByProjectId(1L);
+    }
+}
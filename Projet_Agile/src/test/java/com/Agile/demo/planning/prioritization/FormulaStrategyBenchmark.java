@@ -0,0 +1,68 @@
+package com.agile.demo.planning.prioritization;
+
+import com.agile.demo.model.IPrioritizationStrategy;
+import com.agile.demo.model.UserStory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare le coût de scoring d'une formule compilée à celui de WSJFStrategy
+ *
+ * Lancement : exécuter main() depuis le classpath de test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormulaStrategyBenchmark {
+
+    @Param({"10000"})
+    private int backlogSize;
+
+    private List<UserStory> stories;
+    private IPrioritizationStrategy wsjf;
+    private IPrioritizationStrategy formula;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        stories = new ArrayList<>(backlogSize);
+        for (int i = 0; i < backlogSize; i++) {
+            stories.add(new UserStory("Story " + i, "Role", "Action", "Purpose",
+                    1 + random.nextInt(13), 1 + random.nextInt(10), 1 + random.nextInt(10),
+                    1 + random.nextInt(10), 1 + random.nextInt(10)));
+        }
+        wsjf = new WSJFStrategy();
+        formula = new FormulaStrategy("(businessValue + timeCriticality + riskReduction) / storyPoints");
+    }
+
+    @Benchmark
+    public void nativeWsjf(Blackhole blackhole) {
+        for (UserStory story : stories) {
+            blackhole.consume(wsjf.calculatePriority(story));
+        }
+    }
+
+    @Benchmark
+    public void compiledFormula(Blackhole blackhole) {
+        for (UserStory story : stories) {
+            blackhole.consume(formula.calculatePriority(story));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FormulaStrategyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,102 @@
+package com.agile.demo.planning.prioritization;
+
+import com.agile.demo.model.UserStory;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FormulaStrategyTest {
+
+    private static final String WSJF_FORMULA = "(businessValue + timeCriticality + riskReduction) / storyPoints";
+
+    private UserStory story(int points, int value, int urgency, int timeCriticality, int riskReduction) {
+        return new UserStory("Story", "Role", "Action", "Purpose",
+                points, value, urgency, timeCriticality, riskReduction);
+    }
+
+    @Test
+    void wsjfFormula_shouldMatchNativeStrategy() {
+        WSJFStrategy wsjf = new WSJFStrategy();
+        FormulaStrategy formula = new FormulaStrategy(WSJF_FORMULA);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1_000; i++) {
+            UserStory story = story(random.nextInt(14), 1 + random.nextInt(10), 1 + random.nextInt(10),
+                    1 + random.nextInt(10), 1 + random.nextInt(10));
+            assertThat(formula.calculatePriority(story)).isEqualTo(wsjf.calculatePriority(story));
+        }
+    }
+
+    @Test
+    void moscowFormula_shouldMatchNativeStrategy() {
+        MoSCowStrategy moscow = new MoSCowStrategy();
+        FormulaStrategy formula = new FormulaStrategy("businessValue * 2 + urgency * 1.5 - dependencies * 0.5");
+        UserStory story = story(3, 7, 9, 5, 5);
+        story.addDependency(story(1, 1, 1, 1, 1));
+
+        assertThat(formula.calculatePriority(story)).isEqualTo(moscow.calculatePriority(story));
+    }
+
+    @Test
+    void formula_shouldRespectPrecedenceAndFunctions() {
+        UserStory story = story(2, 8, 5, 5, 5);
+
+        assertThat(new FormulaStrategy("1 + 2 * 3").calculatePriority(story)).isEqualTo(7);
+        assertThat(new FormulaStrategy("(1 + 2) * 3").calculatePriority(story)).isEqualTo(9);
+        assertThat(new FormulaStrategy("-storyPoints + max(businessValue, 10)").calculatePriority(story)).isEqualTo(8);
+        assertThat(new FormulaStrategy("min(urgency, riskReduction) * 2").calculatePriority(story)).isEqualTo(10);
+    }
+
+    @Test
+    void divisionByZero_shouldUseDivisorOfOne() {
+        UserStory story = story(0, 8, 5, 5, 5);
+
+        assertThat(new FormulaStrategy("businessValue / storyPoints").calculatePriority(story)).isEqualTo(8);
+    }
+
+    @Test
+    void compile_shouldCacheHandlePerFormula() {
+        assertThat(FormulaCompiler.compile(WSJF_FORMULA)).isSameAs(FormulaCompiler.compile(" " + WSJF_FORMULA + " "));
+    }
+
+    @Test
+    void compile_shouldBoundCache() {
+        MethodHandle first = FormulaCompiler.compile("businessValue + 0");
+        for (int i = 1; i <= FormulaCompiler.CACHE_SIZE; i++) {
+            FormulaCompiler.compile("businessValue + " + i);
+        }
+
+        assertThat(FormulaCompiler.compile("businessValue + 0")).isNotSameAs(first);
+    }
+
+    @Test
+    void fractionalScores_shouldNotTie() {
+        FormulaStrategy formula = new FormulaStrategy("businessValue / 4");
+        UserStory two = story(3, 8, 5, 5, 5);       // 2,0
+        UserStory twoAndHalf = story(3, 10, 5, 5, 5); // 2,5
+
+        assertThat(formula.calculatePriority(twoAndHalf)).isEqualTo(2);
+        assertThat(formula.score(twoAndHalf)).isEqualTo(2.5);
+        assertThat(formula.prioritizeBacklog(List.of(two, twoAndHalf))).containsExactly(twoAndHalf, two);
+    }
+
+    @Test
+    void negativeScore_shouldRoundDown() {
+        UserStory story = story(4, 2, 5, 5, 5);
+
+        assertThat(new FormulaStrategy("-businessValue / 4").calculatePriority(story)).isEqualTo(-1);
+    }
+
+    @Test
+    void invalidFormula_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new FormulaStrategy("businessValue +"));
+        assertThrows(IllegalArgumentException.class, () -> new FormulaStrategy("unknownField * 2"));
+        assertThrows(IllegalArgumentException.class, () -> new FormulaStrategy("(urgency"));
+        assertThrows(IllegalArgumentException.class, () -> new FormulaStrategy(" "));
+    }
+}
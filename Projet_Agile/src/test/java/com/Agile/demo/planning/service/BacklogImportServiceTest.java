@@ -0,0 +1,189 @@
+package com.agile.demo.planning.service;
+
+import com.Agile.demo.execution.repositories.TaskRepository;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.ProgressRollup;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.BacklogImportService.ImportFormat;
+import com.agile.demo.planning.service.BacklogImportService.ImportProgress;
+import com.agile.demo.planning.service.BacklogImportService.ImportReport;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Import en flux d'un backlog (base H2 du profil test)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:importdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class BacklogImportServiceTest {
+
+    @Autowired
+    private BacklogImportService backlogImportService;
+
+    @Autowired
+    private ProgressRollupService progressRollupService;
+
+    @Autowired
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Autowired
+    private EpicRepository epicRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ProductBacklog backlog;
+
+    @BeforeEach
+    void setUp() {
+        backlog = productBacklogRepository.save(new ProductBacklog("Import backlog"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll(taskRepository.findByProductBacklogIdWithAssignee(backlog.getId()));
+        userStoryRepository.deleteAll(userStoryRepository.findByProductBacklogId(backlog.getId()));
+        epicRepository.deleteAll(epicRepository.findByProductBacklogId(backlog.getId()));
+        productBacklogRepository.deleteById(backlog.getId());
+    }
+
+    @Test
+    void importCsv_ShouldLinkParentsAndMaintainRollups() {
+        // S2 : guillemets doublés (RFC 4180) ; le dernier est échappé, trois guillemets fermeraient le bloc de texte
+        String csv = """
+                type,ref,parent,title,description,role,action,purpose,points,hours
+                EPIC,E1,,Paiement,"Paiement, facturation",,,,,
+                STORY,S1,E1,Payer par carte,,client,payer,acheter,5,
+                STORY,S2,,"Exporter ""CSV""\",,admin,exporter,archiver,3,
+                TASK,,S1,Formulaire,,,,,,4
+                TASK,,S1,API,,,,,,6
+                TASK,,S2,Export,,,,,,2
+                """;
+
+        ImportReport report = backlogImportService.importBacklog(backlog.getId(), new StringReader(csv), ImportFormat.CSV);
+
+        assertThat(report.epics()).isEqualTo(1);
+        assertThat(report.stories()).isEqualTo(2);
+        assertThat(report.tasks()).isEqualTo(3);
+        assertThat(report.failed()).isZero();
+
+        Epic epic = epicRepository.findByProductBacklogId(backlog.getId()).get(0);
+        assertThat(epic.getDescription()).isEqualTo("Paiement, facturation");
+        List<UserStory> stories = userStoryRepository.findByProductBacklogIdOrderedByRank(backlog.getId());
+        assertThat(stories).extracting(UserStory::getTitle).containsExactly("Payer par carte", "Exporter \"CSV\"");
+
+        ProgressRollup epicProgress = progressRollupService.getEpicProgress(epic.getId());
+        assertThat(epicProgress.getTotalPoints()).isEqualTo(5);
+        assertThat(epicProgress.getEstimatedHours()).isEqualTo(10);
+        ProgressRollup backlogProgress = progressRollupService.getBacklogProgress(backlog.getId());
+        assertThat(backlogProgress.getTotalPoints()).isEqualTo(8);
+        assertThat(backlogProgress.getEstimatedHours()).isEqualTo(12);
+        assertThat(progressRollupService.getStoryProgress(stories.get(0).getId()).getTodoCount()).isEqualTo(2);
+    }
+
+    @Test
+    void importJsonLines_ShouldReportInvalidRowsAndContinue() {
+        String jsonLines = """
+                {"type":"EPIC","ref":"E1","title":"Reporting"}
+                {"type":"STORY","ref":"S1","parent":"E9","title":"Orphan","role":"user","action":"act","purpose":"goal"}
+                {"type":"STORY","ref":"S2","parent":"E1","title":"Dashboard","role":"user","action":"act","purpose":"goal","points":"abc"}
+                not json
+                {"type":"STORY","ref":"S3","parent":"E1","title":"Dashboard","role":"user","action":"act","purpose":"goal","points":8}
+                {"type":"STORY","ref":"S4","title":"Vague"}
+                {"type":"TASK","parent":"S1","title":"Lost"}
+                {"type":"TASK","parent":"S3","title":"Widget","hours":3}
+                """;
+
+        ImportReport report = backlogImportService.importBacklog(backlog.getId(),
+                new StringReader(jsonLines), ImportFormat.JSON_LINES);
+
+        assertThat(report.rowsRead()).isEqualTo(8);
+        assertThat(report.epics()).isEqualTo(1);
+        assertThat(report.stories()).isEqualTo(1);
+        assertThat(report.tasks()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(5);
+        assertThat(report.errors()).extracting(BacklogImportService.ImportError::line).containsExactly(2L, 3L, 4L, 6L, 7L);
+    }
+
+    @Test
+    void importProjectExport_ShouldSkipContextRows() {
+        String jsonLines = """
+                {"type":"PROJECT","ref":1,"title":"Boutique"}
+                {"type":"BACKLOG","ref":2,"parent":1,"title":"Backlog"}
+                {"type":"MEMBER","ref":3,"parent":1}
+                {"type":"SPRINT","ref":4,"parent":1,"title":"Sprint 1"}
+                {"type":"EPIC","ref":10,"title":"Catalogue"}
+                {"type":"STORY","ref":20,"parent":10,"title":"Rechercher","role":"client","action":"chercher","purpose":"trouver","points":3}
+                {"type":"TASK","ref":30,"parent":20,"title":"Index","hours":2}
+                """;
+
+        ImportReport report = backlogImportService.importBacklog(backlog.getId(),
+                new StringReader(jsonLines), ImportFormat.JSON_LINES);
+
+        assertThat(report.rowsRead()).isEqualTo(7);
+        assertThat(report.epics()).isEqualTo(1);
+        assertThat(report.stories()).isEqualTo(1);
+        assertThat(report.tasks()).isEqualTo(1);
+        assertThat(report.failed()).isZero();
+    }
+
+    @Test
+    void importLargeFile_ShouldCommitByChunkWithoutReadingParents() {
+        StringBuilder csv = new StringBuilder("type,ref,parent,title,role,action,purpose,points,hours\n");
+        int stories = 400;
+        for (int s = 0; s < stories; s++) {
+            csv.append("STORY,S").append(s).append(",,Story ").append(s).append(",user,act,goal,2,\n");
+            for (int t = 0; t < 3; t++) {
+                csv.append("TASK,,S").append(s).append(",Task ").append(t).append(",,,,,1\n");
+            }
+        }
+        List<ImportProgress> progress = new ArrayList<>();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ImportReport report = backlogImportService.importBacklog(backlog.getId(),
+                new StringReader(csv.toString()), ImportFormat.CSV, progress::add);
+
+        assertThat(report.stories()).isEqualTo(stories);
+        assertThat(report.tasks()).isEqualTo(stories * 3L);
+        assertThat(progress).hasSize((stories * 4 + BacklogImportService.CHUNK_SIZE - 1) / BacklogImportService.CHUNK_SIZE);
+        assertThat(progress.get(progress.size() - 1).imported()).isEqualTo(stories * 4L);
+        // Seul le backlog est lu : les parents sont rattachés par référence
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(progressRollupService.getBacklogProgress(backlog.getId()).getEstimatedHours()).isEqualTo(stories * 3L);
+    }
+
+    @Test
+    void importUnknownBacklog_ShouldThrow() {
+        assertThatThrownBy(() -> backlogImportService.importBacklog(-1L, new StringReader(""), ImportFormat.CSV))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
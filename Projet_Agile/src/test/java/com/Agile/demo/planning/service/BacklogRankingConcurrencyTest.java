@@ -0,0 +1,121 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Déplacements simultanés sur un même backlog (base H2 du profil test)
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:rankdb;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@ActiveProfiles("test")
+class BacklogRankingConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BacklogRankingService rankingService;
+
+    @Autowired
+    private UserStoryService userStoryService;
+
+    @Autowired
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    private ProductBacklog backlog;
+    private List<UserStory> stories;
+
+    @BeforeEach
+    void setUp() {
+        backlog = productBacklogRepository.save(new ProductBacklog("Concurrency backlog"));
+        stories = new ArrayList<>();
+        for (int i = 0; i < THREADS + 2; i++) {
+            stories.add(userStoryService.createUserStory(backlog.getId(), "Story " + i,
+                    "Role", "Action", "Purpose", 3));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userStoryRepository.deleteAll(userStoryRepository.findByProductBacklogId(backlog.getId()));
+        productBacklogRepository.deleteById(backlog.getId());
+    }
+
+    @Test
+    void simultaneousMovesIntoSameGap_shouldProduceDistinctOrderedRanks() throws Exception {
+        UserStory anchor = stories.get(0);
+        UserStory next = stories.get(1);
+        List<UserStory> movers = stories.subList(2, stories.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (UserStory mover : movers) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return rankingService.moveAfter(mover.getId(), anchor.getId());
+            }));
+        }
+        start.countDown();
+        for (Future<Long> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        List<UserStory> ordered = rankingService.getStoriesOrderedByRank(backlog.getId());
+        Set<Long> ranks = new HashSet<>();
+        ordered.forEach(us -> ranks.add(us.getRank()));
+
+        assertThat(ranks).hasSize(stories.size());
+        assertThat(ordered.get(0)).isEqualTo(anchor);
+        assertThat(ordered.get(movers.size() + 1)).isEqualTo(next);
+        assertThat(ordered.subList(1, movers.size() + 1)).containsExactlyInAnyOrderElementsOf(movers);
+    }
+
+    @Test
+    void simultaneousOpposingMoves_shouldKeepEveryStoryRanked() throws Exception {
+        UserStory first = stories.get(0);
+        UserStory last = stories.get(stories.size() - 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        Future<Long> a = executor.submit(() -> {
+            start.await();
+            return rankingService.moveAfter(first.getId(), last.getId());
+        });
+        Future<Long> b = executor.submit(() -> {
+            start.await();
+            return rankingService.moveBefore(last.getId(), first.getId());
+        });
+        start.countDown();
+        a.get();
+        b.get();
+        executor.shutdown();
+
+        List<UserStory> ordered = rankingService.getStoriesOrderedByRank(backlog.getId());
+        assertThat(ordered).hasSize(stories.size());
+        assertThat(ordered).allMatch(us -> us.getRank() != null);
+        assertThat(ordered.stream().map(UserStory::getRank).distinct().count()).isEqualTo(stories.size());
+    }
+}
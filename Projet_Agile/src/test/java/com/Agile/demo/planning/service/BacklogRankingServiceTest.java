@@ -0,0 +1,128 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BacklogRankingServiceTest {
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Mock
+    private BacklogRankRebalancer rebalancer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BacklogRankingService rankingService;
+
+    private ProductBacklog backlog;
+
+    @BeforeEach
+    void setUp() {
+        backlog = new ProductBacklog();
+        backlog.setId(1L);
+    }
+
+    private void givenSameBacklog(Long storyId, Long targetId) {
+        when(userStoryRepository.findProductBacklogIdById(storyId)).thenReturn(Optional.of(1L));
+        when(userStoryRepository.findProductBacklogIdById(targetId)).thenReturn(Optional.of(1L));
+        when(productBacklogRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(backlog));
+    }
+
+    @Test
+    void moveBefore_shouldUpdateOnlyMovedStoryWithMidpoint() {
+        givenSameBacklog(10L, 20L);
+        when(userStoryRepository.findRankById(20L)).thenReturn(4 * UserStory.RANK_GAP);
+        when(userStoryRepository.findPreviousRank(1L, 4 * UserStory.RANK_GAP, 10L)).thenReturn(3 * UserStory.RANK_GAP);
+
+        long rank = rankingService.moveBefore(10L, 20L);
+
+        assertThat(rank).isEqualTo(3 * UserStory.RANK_GAP + UserStory.RANK_GAP / 2);
+        verify(userStoryRepository).updateRank(10L, rank);
+        verify(userStoryRepository, times(1)).updateRank(anyLong(), anyLong());
+        verifyNoInteractions(rebalancer);
+    }
+
+    @Test
+    void moveAfter_lastStory_shouldAppendOneGapAfterTarget() {
+        givenSameBacklog(10L, 20L);
+        when(userStoryRepository.findRankById(20L)).thenReturn(5 * UserStory.RANK_GAP);
+        when(userStoryRepository.findNextRank(1L, 5 * UserStory.RANK_GAP, 10L)).thenReturn(null);
+
+        long rank = rankingService.moveAfter(10L, 20L);
+
+        assertThat(rank).isEqualTo(6 * UserStory.RANK_GAP);
+        verify(userStoryRepository).updateRank(10L, rank);
+    }
+
+    @Test
+    void moveBefore_shouldScheduleBackgroundRebalance_whenGapBecomesSmall() {
+        givenSameBacklog(10L, 20L);
+        when(userStoryRepository.findRankById(20L)).thenReturn(1_000L);
+        when(userStoryRepository.findPreviousRank(1L, 1_000L, 10L)).thenReturn(990L);
+
+        long rank = rankingService.moveBefore(10L, 20L);
+
+        assertThat(rank).isEqualTo(995L);
+        verify(rebalancer).scheduleRebalance(1L);
+        verify(rebalancer, never()).rebalance(anyLong());
+    }
+
+    @Test
+    void moveAfter_shouldRebalanceInline_whenGapIsExhausted() {
+        givenSameBacklog(10L, 20L);
+        when(userStoryRepository.findRankById(20L)).thenReturn(100L, 2 * UserStory.RANK_GAP);
+        when(userStoryRepository.findNextRank(1L, 100L, 10L)).thenReturn(101L);
+        when(userStoryRepository.findNextRank(1L, 2 * UserStory.RANK_GAP, 10L)).thenReturn(3 * UserStory.RANK_GAP);
+
+        long rank = rankingService.moveAfter(10L, 20L);
+
+        verify(rebalancer).rebalance(1L);
+        assertThat(rank).isEqualTo(2 * UserStory.RANK_GAP + UserStory.RANK_GAP / 2);
+        verify(userStoryRepository).updateRank(10L, rank);
+    }
+
+    @Test
+    void move_shouldThrowException_whenStoriesInDifferentBacklogs() {
+        when(userStoryRepository.findProductBacklogIdById(10L)).thenReturn(Optional.of(1L));
+        when(userStoryRepository.findProductBacklogIdById(20L)).thenReturn(Optional.of(2L));
+
+        assertThrows(BusinessException.class, () -> rankingService.moveBefore(10L, 20L));
+        verify(userStoryRepository, never()).updateRank(anyLong(), anyLong());
+    }
+
+    @Test
+    void move_shouldThrowException_whenStoryNotFound() {
+        when(userStoryRepository.findProductBacklogIdById(10L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> rankingService.moveAfter(10L, 20L));
+    }
+
+    @Test
+    void move_shouldThrowException_whenMovingRelativeToItself() {
+        assertThrows(BusinessException.class, () -> rankingService.moveAfter(10L, 10L));
+    }
+}
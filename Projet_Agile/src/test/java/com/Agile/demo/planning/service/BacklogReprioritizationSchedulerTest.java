@@ -0,0 +1,120 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.service.BacklogReprioritizationScheduler.ReprioritizationMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BacklogReprioritizationSchedulerTest {
+
+    private static final Instant START = Instant.parse("2026-01-05T09:00:00Z");
+
+    @Mock
+    private BacklogReprioritizer reprioritizer;
+
+    private BacklogReprioritizationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new BacklogReprioritizationScheduler(reprioritizer, 1_000);
+        at(0);
+    }
+
+    private void at(long millis) {
+        scheduler.clock = Clock.fixed(START.plus(Duration.ofMillis(millis)), ZoneOffset.UTC);
+    }
+
+    @Test
+    void burstOfEdits_shouldTriggerSingleReprioritizationAfterQuietPeriod() {
+        scheduler.markDirty(1L);
+        at(400);
+        scheduler.markDirty(1L);
+        at(800);
+        scheduler.markDirty(1L);
+
+        at(1_500);
+        scheduler.flushQuietBacklogs();
+        verifyNoInteractions(reprioritizer);
+
+        at(1_800);
+        scheduler.flushQuietBacklogs();
+        scheduler.flushQuietBacklogs();
+
+        verify(reprioritizer, times(1)).reprioritize(1L);
+        ReprioritizationMetrics metrics = scheduler.getMetrics();
+        assertThat(metrics.queueDepth()).isZero();
+        assertThat(metrics.coalescedEdits()).isEqualTo(2);
+        assertThat(metrics.completedRuns()).isEqualTo(1);
+        assertThat(metrics.lastLagMs()).isEqualTo(1_800);
+    }
+
+    @Test
+    void backlogsAreDebouncedIndependently() {
+        scheduler.markDirty(1L);
+        at(900);
+        scheduler.markDirty(2L);
+
+        at(1_000);
+        scheduler.flushQuietBacklogs();
+
+        verify(reprioritizer).reprioritize(1L);
+        verify(reprioritizer, never()).reprioritize(2L);
+        assertThat(scheduler.getMetrics().queueDepth()).isEqualTo(1);
+        assertThat(scheduler.getMetrics().oldestPendingLagMs()).isEqualTo(100);
+    }
+
+    @Test
+    void editDuringReprioritization_shouldScheduleAnotherRun() {
+        scheduler.markDirty(1L);
+        doAnswer(invocation -> {
+            // Une modification arrive pendant le calcul
+            scheduler.markDirty(1L);
+            return null;
+        }).doNothing().when(reprioritizer).reprioritize(1L);
+
+        at(1_000);
+        scheduler.flushQuietBacklogs();
+        assertThat(scheduler.getMetrics().queueDepth()).isEqualTo(1);
+
+        at(2_000);
+        scheduler.flushQuietBacklogs();
+        verify(reprioritizer, times(2)).reprioritize(1L);
+    }
+
+    @Test
+    void failedReprioritization_shouldBeCounted() {
+        doThrow(new IllegalStateException("boom")).when(reprioritizer).reprioritize(1L);
+        scheduler.markDirty(1L);
+
+        at(1_000);
+        scheduler.flushQuietBacklogs();
+
+        assertThat(scheduler.getMetrics().failedRuns()).isEqualTo(1);
+        assertThat(scheduler.getMetrics().running()).isZero();
+    }
+
+    @Test
+    void recomputedScores_shouldNotMarkBacklogAgain() {
+        scheduler.onBacklogChanged(BacklogChangedEvent.of(1L, 7L, StoryChange.SCORES));
+        scheduler.onBacklogChanged(BacklogChangedEvent.of(2L, 7L, StoryChange.PRIORITIZATION));
+
+        at(1_000);
+        scheduler.flushQuietBacklogs();
+
+        verify(reprioritizer, never()).reprioritize(1L);
+        verify(reprioritizer).reprioritize(2L);
+    }
+}
@@ -0,0 +1,83 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.model.PrioritizationMethod;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.EnumSet;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BacklogReprioritizerTest {
+
+    @Mock
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BacklogReprioritizer reprioritizer;
+
+    private ProductBacklog backlog;
+    private UserStory low;
+    private UserStory high;
+
+    @BeforeEach
+    void setUp() {
+        Project project = new Project();
+        project.setId(7L);
+        backlog = new ProductBacklog("Backlog");
+        backlog.setId(1L);
+        backlog.setProject(project);
+        backlog.setSelectedMethod(PrioritizationMethod.VALUE_EFFORT);
+
+        // Ordre manuel : la story la moins prioritaire a été placée en tête
+        low = story(101L, 2, UserStory.RANK_GAP);
+        high = story(102L, 9, 2 * UserStory.RANK_GAP);
+
+        when(productBacklogRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(backlog));
+        when(productBacklogRepository.findByIdWithStories(1L)).thenReturn(Optional.of(backlog));
+    }
+
+    private UserStory story(Long id, int businessValue, long rank) {
+        UserStory story = new UserStory("Story " + id, "user", "act", "goal", 3);
+        story.setId(id);
+        story.setBusinessValue(businessValue);
+        story.setRank(rank);
+        backlog.addStory(story);
+        return story;
+    }
+
+    @Test
+    void reprioritize_ShouldRefreshPriorityAndScoresButKeepManualOrder() {
+        reprioritizer.reprioritize(1L);
+
+        assertThat(high.getPriority()).isEqualTo(1);
+        assertThat(low.getPriority()).isEqualTo(2);
+        assertThat(high.getValueEffortScore()).isGreaterThan(low.getValueEffortScore());
+        assertThat(low.getRank()).isEqualTo(UserStory.RANK_GAP);
+        assertThat(high.getRank()).isEqualTo(2 * UserStory.RANK_GAP);
+    }
+
+    @Test
+    void reprioritize_ShouldInvalidateDerivedCaches() {
+        reprioritizer.reprioritize(1L);
+
+        verify(eventPublisher).publishEvent(new BacklogChangedEvent(1L, 7L, EnumSet.of(StoryChange.SCORES)));
+    }
+}
@@ -0,0 +1,174 @@
+package com.agile.demo.planning.service;
+
+import com.Agile.demo.execution.repositories.TaskRepository;
+import com.Agile.demo.execution.repositories.UserRepository;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.Task;
+import com.agile.demo.model.User;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.BacklogTreeService.BacklogTree;
+import com.agile.demo.planning.service.BacklogTreeService.EpicNode;
+import com.agile.demo.planning.service.BacklogTreeService.StoryNode;
+import com.agile.demo.planning.service.BacklogTreeService.TaskNode;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Nombre de requêtes du chargement de l'arbre d'un backlog (base H2 du profil test)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:treedb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class BacklogTreeServiceTest {
+
+    private static final int EXPECTED_QUERIES = 4;
+
+    @Autowired
+    private BacklogTreeService backlogTreeService;
+
+    @Autowired
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Autowired
+    private EpicRepository epicRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ProductBacklog backlog;
+    private final List<User> users = new ArrayList<>();
+    private long nextRank = UserStory.RANK_GAP;
+
+    @BeforeEach
+    void setUp() {
+        backlog = productBacklogRepository.save(new ProductBacklog("Tree backlog"));
+        for (int i = 0; i < 3; i++) {
+            User user = new User();
+            user.setUsername("tree-user-" + i);
+            user.setEmail("tree-user-" + i + "@example.com");
+            users.add(userRepository.save(user));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll(taskRepository.findByProductBacklogIdWithAssignee(backlog.getId()));
+        userStoryRepository.deleteAll(userStoryRepository.findByProductBacklogId(backlog.getId()));
+        epicRepository.deleteAll(epicRepository.findByProductBacklogId(backlog.getId()));
+        productBacklogRepository.deleteById(backlog.getId());
+        userRepository.deleteAll(users);
+        users.clear();
+    }
+
+    private void populate(int epics, int storiesPerEpic, int tasksPerStory, int storiesWithoutEpic) {
+        for (int e = 0; e < epics; e++) {
+            Epic epic = new Epic("tree-epic-" + System.nanoTime(), "Epic " + e, "Description " + e);
+            epic.setProductBacklog(backlog);
+            epic = epicRepository.save(epic);
+            for (int s = 0; s < storiesPerEpic; s++) {
+                addStory(epic, tasksPerStory);
+            }
+        }
+        for (int s = 0; s < storiesWithoutEpic; s++) {
+            addStory(null, tasksPerStory);
+        }
+    }
+
+    private void addStory(Epic epic, int tasks) {
+        UserStory story = new UserStory("Story " + nextRank, "Role", "Action", "Purpose", 3);
+        story.setProductBacklog(backlog);
+        story.setEpic(epic);
+        story.setRank(nextRank);
+        nextRank += UserStory.RANK_GAP;
+        story = userStoryRepository.save(story);
+        for (int t = 0; t < tasks; t++) {
+            Task task = new Task("Task " + t, 4);
+            task.setUserStory(story);
+            task.assignTo(users.get(t % users.size()));
+            taskRepository.save(task);
+        }
+    }
+
+    private long countQueries(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void loadTree_ShouldAssembleAllLevelsWithoutDuplicates() {
+        populate(2, 3, 2, 1);
+
+        BacklogTree tree = backlogTreeService.loadTree(backlog.getId());
+
+        assertThat(tree.epics()).hasSize(2);
+        assertThat(tree.epics()).allSatisfy(epic -> assertThat(epic.stories()).hasSize(3));
+        assertThat(tree.storiesWithoutEpic()).hasSize(1);
+
+        List<StoryNode> allStories = new ArrayList<>(tree.storiesWithoutEpic());
+        tree.epics().stream().map(EpicNode::stories).forEach(allStories::addAll);
+        Set<Long> taskIds = new HashSet<>();
+        for (StoryNode story : allStories) {
+            assertThat(story.tasks()).hasSize(2);
+            for (TaskNode task : story.tasks()) {
+                assertThat(taskIds.add(task.id())).isTrue();
+                assertThat(task.assigneeUsername()).startsWith("tree-user-");
+            }
+        }
+        assertThat(taskIds).hasSize(14);
+
+        // Stories d'un epic dans l'ordre du backlog
+        List<Long> ranks = tree.epics().get(0).stories().stream().map(StoryNode::rank).toList();
+        assertThat(ranks).isSorted();
+    }
+
+    @Test
+    void loadTree_QueryCountShouldNotDependOnBacklogSize() {
+        populate(1, 2, 1, 0);
+        long small = countQueries(() -> backlogTreeService.loadTree(backlog.getId()));
+
+        populate(5, 10, 4, 10);
+        long large = countQueries(() -> backlogTreeService.loadTree(backlog.getId()));
+
+        assertThat(small).isEqualTo(EXPECTED_QUERIES);
+        assertThat(large).isEqualTo(EXPECTED_QUERIES);
+    }
+
+    @Test
+    void loadTree_UnknownBacklog_ShouldThrow() {
+        assertThatThrownBy(() -> backlogTreeService.loadTree(-1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
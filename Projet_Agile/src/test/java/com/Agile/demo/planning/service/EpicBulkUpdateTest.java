@@ -0,0 +1,111 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Relecture des stories après un rattachement en masse, dans la même transaction (base H2 du profil test)
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:epicbulkdb;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class EpicBulkUpdateTest {
+
+    @Autowired
+    private EpicService epicService;
+
+    @Autowired
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Autowired
+    private EpicRepository epicRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProductBacklog backlog;
+    private Epic source;
+    private Epic target;
+    private UserStory story;
+
+    @BeforeEach
+    void setUp() {
+        backlog = productBacklogRepository.save(new ProductBacklog("Epic bulk backlog"));
+        source = saveEpic("Source");
+        target = saveEpic("Target");
+
+        story = new UserStory("Story", "Role", "Action", "Purpose", 3);
+        story.setProductBacklog(backlog);
+        story.setEpic(source);
+        story.setRank(UserStory.RANK_GAP);
+        story = userStoryRepository.save(story);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userStoryRepository.deleteAll(userStoryRepository.findByProductBacklogId(backlog.getId()));
+        epicRepository.deleteAll(epicRepository.findByProductBacklogId(backlog.getId()));
+        productBacklogRepository.deleteById(backlog.getId());
+    }
+
+    private Epic saveEpic(String title) {
+        Epic epic = new Epic("bulk-epic-" + System.nanoTime(), title, "Description");
+        epic.setProductBacklog(backlog);
+        return epicRepository.save(epic);
+    }
+
+    @Test
+    void moveUserStoriesToEpic_StoryReadBackInSameTransaction_ShouldSeeNewEpic() {
+        Long epicId = new TransactionTemplate(transactionManager).execute(status -> {
+            // Story chargée dans le contexte de persistance avant l'UPDATE en masse
+            assertThat(userStoryRepository.findById(story.getId()).orElseThrow().getEpic().getId())
+                    .isEqualTo(source.getId());
+
+            epicService.moveUserStoriesToEpic(target.getId(), List.of(story.getId()));
+
+            return userStoryRepository.findById(story.getId()).orElseThrow().getEpic().getId();
+        });
+
+        assertThat(epicId).isEqualTo(target.getId());
+    }
+
+    @Test
+    void detachUserStoriesFromEpic_StoryReadBackInSameTransaction_ShouldHaveNoEpic() {
+        Epic epic = new TransactionTemplate(transactionManager).execute(status -> {
+            userStoryRepository.findById(story.getId()).orElseThrow();
+
+            epicService.detachUserStoriesFromEpic(source.getId(), List.of(story.getId()));
+
+            return userStoryRepository.findById(story.getId()).orElseThrow().getEpic();
+        });
+
+        assertThat(epic).isNull();
+    }
+
+    @Test
+    void deleteEpic_ShouldKeepItsStories() {
+        epicService.deleteEpic(source.getId());
+
+        assertThat(epicRepository.findById(source.getId())).isEmpty();
+        assertThat(userStoryRepository.findById(story.getId())).hasValueSatisfying(
+                reloaded -> assertThat(reloaded.getEpic()).isNull());
+    }
+}
@@ -4,20 +4,30 @@ import com.agile.demo.common.exception.BusinessException;
 import com.agile.demo.common.exception.ResourceNotFoundException;
 import com.agile.demo.model.Epic;
 import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.ProgressRollup;
 import com.agile.demo.model.UserStory;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
 import com.agile.demo.planning.repository.EpicRepository;
 import com.agile.demo.planning.repository.ProductBacklogRepository;
 import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.ProgressRollupService.EpicContribution;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,6 +44,12 @@ class EpicServiceTest {
     @Mock
     private UserStoryRepository userStoryRepository;
 
+    @Mock
+    private ProgressRollupService progressRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EpicService epicService;
 
@@ -151,16 +167,15 @@ class EpicServiceTest {
 
     @Test
     void shouldDeleteEpic() {
-        // Ajouter une user story à l'epic
-        story.setEpic(epic);
-        epic.setUserStories(new ArrayList<>(List.of(story)));
-
         when(epicRepository.findById(1L)).thenReturn(Optional.of(epic));
 
         epicService.deleteEpic(1L);
 
-        assertThat(story.getEpic()).isNull();
-        verify(epicRepository).delete(epic);
+        InOrder inOrder = inOrder(userStoryRepository, epicRepository);
+        inOrder.verify(userStoryRepository).detachAllFromEpic(1L);
+        inOrder.verify(epicRepository).deleteById(1L);
+        verify(userStoryRepository, never()).save(any(UserStory.class));
+        verify(eventPublisher).publishEvent(new BacklogChangedEvent(1L, null, EnumSet.of(StoryChange.EPIC)));
     }
 
     @Test
@@ -173,6 +188,8 @@ class EpicServiceTest {
 
         assertThat(story.getEpic()).isEqualTo(epic);
         verify(userStoryRepository).save(story);
+        verify(progressRollupService).onStoryEpicChanged(story, null);
+        verify(eventPublisher).publishEvent(StoryChangedEvent.of(story, StoryChange.EPIC));
     }
 
     @Test
@@ -185,4 +202,75 @@ class EpicServiceTest {
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("already assigned");
     }
+
+    // ===== OPÉRATIONS EN MASSE =====
+
+    private static EpicContribution contribution(Long epicId, long stories, int points) {
+        return new EpicContribution(epicId, stories, ProgressRollup.ofStory(points, WorkItemStatus.TODO));
+    }
+
+    @Test
+    void assignUserStoriesToEpic_ShouldUseOneUpdateAndMoveRollups() {
+        List<EpicContribution> contributions = List.of(contribution(null, 3, 8));
+        when(epicRepository.findById(1L)).thenReturn(Optional.of(epic));
+        when(progressRollupService.summarizeByEpic(eq(1L), eq(Set.of(10L, 11L, 12L)))).thenReturn(contributions);
+        when(userStoryRepository.updateEpic(eq(epic), eq(1L), eq(Set.of(10L, 11L, 12L)))).thenReturn(3);
+
+        int updated = epicService.assignUserStoriesToEpic(1L, List.of(10L, 11L, 12L, 10L));
+
+        assertThat(updated).isEqualTo(3);
+        verify(progressRollupService).onStoriesEpicChanged(contributions, epic);
+        verify(eventPublisher).publishEvent(new BacklogChangedEvent(1L, null, EnumSet.of(StoryChange.EPIC)));
+        verify(userStoryRepository, never()).save(any(UserStory.class));
+        verify(userStoryRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void assignUserStoriesToEpic_AlreadyAssigned_ShouldThrowBeforeWriting() {
+        when(epicRepository.findById(1L)).thenReturn(Optional.of(epic));
+        when(progressRollupService.summarizeByEpic(anyLong(), anyCollection()))
+                .thenReturn(List.of(contribution(null, 1, 3), contribution(2L, 1, 5)));
+
+        assertThatThrownBy(() -> epicService.assignUserStoriesToEpic(1L, List.of(10L, 11L)))
+                .isInstanceOf(BusinessException.class);
+        verify(userStoryRepository, never()).updateEpic(any(), anyLong(), anyCollection());
+        verify(progressRollupService, never()).onStoriesEpicChanged(anyList(), any());
+    }
+
+    @Test
+    void moveUserStoriesToEpic_UnknownStory_ShouldThrow() {
+        when(epicRepository.findById(1L)).thenReturn(Optional.of(epic));
+        when(progressRollupService.summarizeByEpic(anyLong(), anyCollection()))
+                .thenReturn(List.of(contribution(2L, 1, 5)));
+
+        assertThatThrownBy(() -> epicService.moveUserStoriesToEpic(1L, List.of(10L, 99L)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("not found");
+        verify(userStoryRepository, never()).updateEpic(any(), anyLong(), anyCollection());
+    }
+
+    @Test
+    void detachUserStoriesFromEpic_ShouldRequireStoriesOfThisEpic() {
+        when(epicRepository.findById(1L)).thenReturn(Optional.of(epic));
+        when(progressRollupService.summarizeByEpic(anyLong(), anyCollection()))
+                .thenReturn(List.of(contribution(1L, 1, 3), contribution(null, 1, 2)));
+
+        assertThatThrownBy(() -> epicService.detachUserStoriesFromEpic(1L, List.of(1L, 2L)))
+                .isInstanceOf(BusinessException.class);
+        verify(userStoryRepository, never()).detachFromEpic(anyLong(), anyCollection());
+    }
+
+    @Test
+    void detachUserStoriesFromEpic_ShouldUseOneUpdate() {
+        List<EpicContribution> contributions = List.of(contribution(1L, 2, 8));
+        when(epicRepository.findById(1L)).thenReturn(Optional.of(epic));
+        when(progressRollupService.summarizeByEpic(anyLong(), anyCollection())).thenReturn(contributions);
+        when(userStoryRepository.detachFromEpic(eq(1L), anyCollection())).thenReturn(2);
+
+        int detached = epicService.detachUserStoriesFromEpic(1L, List.of(1L, 2L));
+
+        assertThat(detached).isEqualTo(2);
+        verify(progressRollupService).onStoriesEpicChanged(contributions, null);
+        verify(eventPublisher).publishEvent(new BacklogChangedEvent(1L, null, EnumSet.of(StoryChange.EPIC)));
+    }
 }
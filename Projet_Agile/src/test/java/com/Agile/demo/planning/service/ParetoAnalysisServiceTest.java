@@ -0,0 +1,176 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.ParetoAnalysisService.ParetoAnalysis;
+import com.agile.demo.planning.service.ParetoAnalysisService.ParetoStory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParetoAnalysisServiceTest {
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @InjectMocks
+    private ParetoAnalysisService paretoAnalysisService;
+
+    private static Object[] row(long id, int value, int points, int criticality) {
+        return new Object[]{id, value, points, criticality};
+    }
+
+    private static List<Long> ids(List<ParetoStory> stories) {
+        return stories.stream().map(ParetoStory::storyId).toList();
+    }
+
+    @Test
+    void analyze_ShouldLayerStoriesByDominance() {
+        when(userStoryRepository.findValueEffortProjectionByProductBacklogId(1L)).thenReturn(List.of(
+                row(1L, 9, 8, 5),   // valeur max
+                row(2L, 5, 1, 5),   // effort min
+                row(3L, 7, 3, 5),   // compromis
+                row(4L, 7, 5, 5),   // dominée par 3
+                row(5L, 4, 2, 5),   // dominée par 2
+                row(6L, 4, 8, 5)    // dominée par 4 et 5
+        ));
+
+        ParetoAnalysis analysis = paretoAnalysisService.analyze(1L, false, 10);
+
+        assertThat(analysis.frontCount()).isEqualTo(3);
+        assertThat(ids(analysis.fronts().get(0).stories())).containsExactly(1L, 3L, 2L);
+        assertThat(ids(analysis.fronts().get(1).stories())).containsExactly(4L, 5L);
+        assertThat(ids(analysis.fronts().get(2).stories())).containsExactly(6L);
+    }
+
+    @Test
+    void analyze_WithTimeCriticality_ShouldLiftCriticalStories() {
+        when(userStoryRepository.findValueEffortProjectionByProductBacklogId(1L)).thenReturn(List.of(
+                row(1L, 7, 3, 2),
+                row(2L, 7, 5, 9)    // plus d'effort mais plus critique
+        ));
+
+        assertThat(paretoAnalysisService.analyze(1L, false, 10).frontCount()).isEqualTo(2);
+        ParetoAnalysis analysis = paretoAnalysisService.analyze(1L, true, 10);
+        assertThat(analysis.frontCount()).isEqualTo(1);
+        assertThat(ids(analysis.fronts().get(0).stories())).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void analyze_IdenticalStories_ShouldShareFront() {
+        when(userStoryRepository.findValueEffortProjectionByProductBacklogId(1L)).thenReturn(List.of(
+                row(1L, 5, 3, 5),
+                row(2L, 5, 3, 5)
+        ));
+
+        ParetoAnalysis analysis = paretoAnalysisService.analyze(1L, true, 10);
+
+        assertThat(analysis.frontCount()).isEqualTo(1);
+        assertThat(analysis.fronts().get(0).stories()).hasSize(2);
+    }
+
+    @Test
+    void analyze_ShouldLimitReturnedFronts() {
+        when(userStoryRepository.findValueEffortProjectionByProductBacklogId(1L)).thenReturn(List.of(
+                row(1L, 9, 1, 5), row(2L, 8, 2, 5), row(3L, 7, 3, 5)
+        ));
+
+        ParetoAnalysis analysis = paretoAnalysisService.analyze(1L, false, 1);
+
+        assertThat(analysis.frontCount()).isEqualTo(3);
+        assertThat(analysis.fronts()).hasSize(1);
+        assertThrows(BusinessException.class, () -> paretoAnalysisService.analyze(1L, false, 0));
+    }
+
+    @Test
+    void frontsOf_ShouldMatchPairwiseDefinition() {
+        Random random = new Random(42);
+        for (int round = 0; round < 100; round++) {
+            int n = random.nextInt(40);
+            int[] value = new int[n];
+            int[] effort = new int[n];
+            int[] criticality = new int[n];
+            for (int i = 0; i < n; i++) {
+                value[i] = 1 + random.nextInt(10);
+                effort[i] = random.nextInt(8);
+                criticality[i] = 1 + random.nextInt(5);
+            }
+            assertThat(ParetoAnalysisService.frontsOf(value, effort, null))
+                    .containsExactly(peel(value, effort, null));
+            assertThat(ParetoAnalysisService.frontsOf(value, effort, criticality))
+                    .containsExactly(peel(value, effort, criticality));
+        }
+    }
+
+    @Test
+    void frontsOf_LargeBacklog_ShouldStayInteractive() {
+        int n = 100_000;
+        Random random = new Random(7);
+        int[] value = new int[n];
+        int[] effort = new int[n];
+        int[] criticality = new int[n];
+        for (int i = 0; i < n; i++) {
+            value[i] = 1 + random.nextInt(10);
+            effort[i] = random.nextInt(100);
+            criticality[i] = 1 + random.nextInt(10);
+        }
+
+        long start = System.nanoTime();
+        int[] layers = ParetoAnalysisService.frontsOf(value, effort, criticality);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(layers).hasSize(n);
+        assertThat(elapsedMs).isLessThan(1_000);
+    }
+
+    /**
+     * Référence quadratique : retrait successif des stories non dominées
+     */
+    private static int[] peel(int[] value, int[] effort, int[] criticality) {
+        int n = value.length;
+        int[] layers = new int[n];
+        boolean[] removed = new boolean[n];
+        int remaining = n;
+        for (int layer = 0; remaining > 0; layer++) {
+            List<Integer> front = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (!removed[i] && !isDominated(i, value, effort, criticality, removed)) {
+                    front.add(i);
+                }
+            }
+            for (int i : front) {
+                removed[i] = true;
+                layers[i] = layer;
+                remaining--;
+            }
+        }
+        return layers;
+    }
+
+    private static boolean isDominated(int i, int[] value, int[] effort, int[] criticality, boolean[] removed) {
+        for (int j = 0; j < value.length; j++) {
+            if (j == i || removed[j]) {
+                continue;
+            }
+            boolean noWorse = value[j] >= value[i] && effort[j] <= effort[i]
+                    && (criticality == null || criticality[j] >= criticality[i]);
+            boolean better = value[j] > value[i] || effort[j] < effort[i]
+                    || (criticality != null && criticality[j] > criticality[i]);
+            if (noWorse && better) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
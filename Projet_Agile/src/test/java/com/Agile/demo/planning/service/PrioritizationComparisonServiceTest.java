@@ -0,0 +1,106 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.model.PrioritizationMethod;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.PrioritizationComparisonService.PrioritizationComparison;
+import com.agile.demo.planning.service.PrioritizationComparisonService.RankDeltaSummary;
+import com.agile.demo.planning.service.PrioritizationComparisonService.StoryComparison;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrioritizationComparisonServiceTest {
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @InjectMocks
+    private PrioritizationComparisonService comparisonService;
+
+    private UserStory highValueLargeStory;
+    private UserStory lowValueSmallStory;
+    private UserStory urgentStory;
+
+    @BeforeEach
+    void setUp() {
+        // MoSCoW 23, WSJF 1, Value/Effort 61
+        highValueLargeStory = new UserStory("Large", "Role", "Action", "Purpose", 13, 8, 5, 3, 3);
+        highValueLargeStory.setId(1L);
+        // MoSCoW 5, WSJF 5, Value/Effort 100
+        lowValueSmallStory = new UserStory("Small", "Role", "Action", "Purpose", 1, 1, 2, 2, 2);
+        lowValueSmallStory.setId(2L);
+        // MoSCoW 21, WSJF 7, Value/Effort 200
+        urgentStory = new UserStory("Urgent", "Role", "Action", "Purpose", 2, 4, 9, 5, 6);
+        urgentStory.setId(3L);
+    }
+
+    @Test
+    void compareMethods_shouldLoadBacklogOnceAndRankEveryMethod() {
+        when(userStoryRepository.findByProductBacklogIdOrderedByRank(1L))
+                .thenReturn(List.of(highValueLargeStory, lowValueSmallStory, urgentStory));
+
+        PrioritizationComparison result = comparisonService.compareMethods(1L);
+
+        verify(userStoryRepository, times(1)).findByProductBacklogIdOrderedByRank(1L);
+        verifyNoMoreInteractions(userStoryRepository);
+
+        StoryComparison large = result.stories().get(0);
+        assertThat(large.ranks().get(PrioritizationMethod.MOSCOW)).isEqualTo(1);
+        assertThat(large.ranks().get(PrioritizationMethod.WSJF)).isEqualTo(3);
+        assertThat(large.ranks().get(PrioritizationMethod.VALUE_EFFORT)).isEqualTo(3);
+        assertThat(large.rankDelta(PrioritizationMethod.MOSCOW, PrioritizationMethod.WSJF)).isEqualTo(2);
+        assertThat(large.moscowCategory()).isEqualTo("MUST_HAVE");
+
+        StoryComparison small = result.stories().get(1);
+        assertThat(small.scores().get(PrioritizationMethod.VALUE_EFFORT)).isEqualTo(100);
+        assertThat(small.moscowCategory()).isEqualTo("COULD_HAVE");
+    }
+
+    @Test
+    void compareMethods_shouldBuildHistogramAndDeltaSummaries() {
+        when(userStoryRepository.findByProductBacklogIdOrderedByRank(1L))
+                .thenReturn(List.of(highValueLargeStory, lowValueSmallStory, urgentStory));
+
+        PrioritizationComparison result = comparisonService.compareMethods(1L);
+
+        assertThat(result.moscowCategoryHistogram())
+                .containsEntry("MUST_HAVE", 2)
+                .containsEntry("SHOULD_HAVE", 0)
+                .containsEntry("COULD_HAVE", 1)
+                .containsEntry("WONT_HAVE", 0);
+
+        assertThat(result.rankDeltas()).hasSize(3);
+        RankDeltaSummary moscowVsWsjf = result.rankDeltas().get(0);
+        assertThat(moscowVsWsjf.from()).isEqualTo(PrioritizationMethod.MOSCOW);
+        assertThat(moscowVsWsjf.to()).isEqualTo(PrioritizationMethod.WSJF);
+        assertThat(moscowVsWsjf.maxAbsoluteDelta()).isEqualTo(2);
+    }
+
+    @Test
+    void compareMethods_shouldReusePersistedScores() {
+        // Données modifiées sans recalcul : la comparaison lit les scores persistés
+        urgentStory.setBusinessValue(1);
+        when(userStoryRepository.findByProductBacklogIdOrderedByRank(1L))
+                .thenReturn(List.of(highValueLargeStory, lowValueSmallStory, urgentStory));
+
+        PrioritizationComparison result = comparisonService.compareMethods(1L);
+
+        assertThat(result.stories().get(2).scores().get(PrioritizationMethod.VALUE_EFFORT)).isEqualTo(200);
+    }
+
+    @Test
+    void ranksOf_shouldKeepInputOrderForTies() {
+        assertThat(PrioritizationComparisonService.ranksOf(new int[]{5, 9, 5, 1}))
+                .containsExactly(2, 1, 3, 4);
+    }
+}
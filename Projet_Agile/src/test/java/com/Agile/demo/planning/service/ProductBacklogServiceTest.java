@@ -1,6 +1,8 @@
 package com.agile.demo.planning.service;
 
+import com.agile.demo.common.exception.BusinessException;
 import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.PrioritizationMethod;
 import com.agile.demo.model.ProductBacklog;
 import com.agile.demo.model.UserStory;
 import com.agile.demo.planning.repository.ProductBacklogRepository;
@@ -11,6 +13,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.Arrays;
 import java.util.List;
@@ -29,6 +33,9 @@ class ProductBacklogServiceTest {
     @Mock
     private UserStoryRepository userStoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductBacklogService productBacklogService;
 
@@ -111,4 +118,45 @@ class ProductBacklogServiceTest {
         assertThat(result).containsExactly(story1); // seulement le top 1
         verify(userStoryRepository).findByProductBacklogIdOrderedByPriority(1L);
     }
+
+    @Test
+    void getTopStoriesByScore_shouldUseIndexedWsjfQuery() {
+        when(userStoryRepository.findByProductBacklogIdOrderByWsjfScoreDescIdAsc(1L, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(story2, story1));
+
+        List<UserStory> result = productBacklogService.getTopStoriesByScore(1L, PrioritizationMethod.WSJF, 2);
+
+        assertThat(result).containsExactly(story2, story1);
+        verify(userStoryRepository, never()).findByProductBacklogId(anyLong());
+    }
+
+    @Test
+    void getTopStoriesByScore_shouldUseIndexedValueEffortQuery() {
+        when(userStoryRepository.findByProductBacklogIdOrderByValueEffortScoreDescIdAsc(1L, PageRequest.of(0, 1)))
+                .thenReturn(List.of(story1));
+
+        List<UserStory> result = productBacklogService.getTopStoriesByScore(1L, PrioritizationMethod.VALUE_EFFORT, 1);
+
+        assertThat(result).containsExactly(story1);
+    }
+
+    @Test
+    void updatePrioritizationFormula_shouldSelectCustomMethod() {
+        when(productBacklogRepository.findById(1L)).thenReturn(Optional.of(backlog));
+        when(productBacklogRepository.save(backlog)).thenReturn(backlog);
+
+        ProductBacklog result = productBacklogService.updatePrioritizationFormula(1L, " 2 * businessValue / storyPoints ");
+
+        assertThat(result.getSelectedMethod()).isEqualTo(PrioritizationMethod.CUSTOM);
+        assertThat(result.getPrioritizationFormula()).isEqualTo("2 * businessValue / storyPoints");
+    }
+
+    @Test
+    void updatePrioritizationFormula_shouldThrowException_whenFormulaInvalid() {
+        when(productBacklogRepository.findById(1L)).thenReturn(Optional.of(backlog));
+
+        assertThrows(BusinessException.class,
+                () -> productBacklogService.updatePrioritizationFormula(1L, "businessValue * "));
+        verify(productBacklogRepository, never()).save(any());
+    }
 }
@@ -0,0 +1,231 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.ProgressRollup;
+import com.agile.demo.model.Task;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.ProgressRollupService.StorySnapshot;
+import com.agile.demo.planning.service.ProgressRollupService.TaskSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressRollupServiceTest {
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private EpicRepository epicRepository;
+
+    @Mock
+    private ProductBacklogRepository productBacklogRepository;
+
+    @InjectMocks
+    private ProgressRollupService progressRollupService;
+
+    // Lignes simulées : les UPDATE incrémentaux sont appliqués à ces maps
+    private final Map<Long, ProgressRollup> storyRows = new HashMap<>();
+    private final Map<Long, ProgressRollup> epicRows = new HashMap<>();
+    private final Map<Long, ProgressRollup> backlogRows = new HashMap<>();
+
+    private ProductBacklog backlog;
+    private Epic epic;
+    private Epic otherEpic;
+    private UserStory story;
+
+    @BeforeEach
+    void setUp() {
+        backlog = new ProductBacklog();
+        backlog.setId(1L);
+        epic = new Epic("E1", "Epic 1", null);
+        epic.setId(10L);
+        otherEpic = new Epic("E2", "Epic 2", null);
+        otherEpic.setId(20L);
+
+        story = new UserStory("Story", "role", "action", "purpose", 5);
+        story.setId(100L);
+        story.setProductBacklog(backlog);
+        epic.addUserStory(story);
+
+        lenient().when(userStoryRepository.applyProgressDelta(anyLong(), any())).thenAnswer(inv -> apply(storyRows, inv));
+        lenient().when(epicRepository.applyProgressDelta(anyLong(), any())).thenAnswer(inv -> apply(epicRows, inv));
+        lenient().when(productBacklogRepository.applyProgressDelta(anyLong(), any())).thenAnswer(inv -> apply(backlogRows, inv));
+        lenient().when(userStoryRepository.findProgressById(anyLong())).thenAnswer(inv -> read(storyRows, inv));
+        lenient().when(epicRepository.findProgressById(anyLong())).thenAnswer(inv -> read(epicRows, inv));
+        lenient().when(productBacklogRepository.findProgressById(anyLong())).thenAnswer(inv -> read(backlogRows, inv));
+    }
+
+    private static int apply(Map<Long, ProgressRollup> rows, InvocationOnMock invocation) {
+        rows.merge(invocation.getArgument(0), invocation.getArgument(1), ProgressRollup::plus);
+        return 1;
+    }
+
+    private static Optional<ProgressRollup> read(Map<Long, ProgressRollup> rows, InvocationOnMock invocation) {
+        return Optional.of(rows.getOrDefault(invocation.<Long>getArgument(0), ProgressRollup.empty()));
+    }
+
+    private Task task(Long id, int estimated) {
+        Task task = new Task("Task " + id, estimated);
+        task.setId(id);
+        task.setUserStory(story);
+        story.getTasks().add(task);
+        return task;
+    }
+
+    @Test
+    void storyAndTaskWrites_ShouldRollUpToEpicAndBacklog() {
+        progressRollupService.onStoryChanged(story, null);
+        Task design = task(1L, 8);
+        progressRollupService.onTaskChanged(design, null);
+        Task build = task(2L, 12);
+        progressRollupService.onTaskChanged(build, null);
+
+        TaskSnapshot before = TaskSnapshot.of(design);
+        design.updateStatus(WorkItemStatus.IN_PROGRESS);
+        design.logHours(6);
+        progressRollupService.onTaskChanged(design, before);
+
+        ProgressRollup storyRow = storyRows.get(100L);
+        assertThat(storyRow.getEstimatedHours()).isEqualTo(20);
+        assertThat(storyRow.getActualHours()).isEqualTo(6);
+        assertThat(storyRow.countOf(WorkItemStatus.TODO)).isEqualTo(1);
+        assertThat(storyRow.countOf(WorkItemStatus.IN_PROGRESS)).isEqualTo(1);
+
+        ProgressRollup epicRow = epicRows.get(10L);
+        assertThat(epicRow.getTotalPoints()).isEqualTo(5);
+        assertThat(epicRow.getDonePoints()).isZero();
+        assertThat(epicRow.getEstimatedHours()).isEqualTo(20);
+        assertThat(epicRow.getActualHours()).isEqualTo(6);
+        // Au niveau epic on compte les stories, pas les tâches
+        assertThat(epicRow.getItemCount()).isEqualTo(1);
+        assertThat(backlogRows.get(1L)).isEqualTo(epicRow);
+    }
+
+    @Test
+    void storyCompletion_ShouldMoveDonePointsAndStatusCount() {
+        progressRollupService.onStoryChanged(story, null);
+
+        StorySnapshot before = StorySnapshot.of(story);
+        story.complete();
+        progressRollupService.onStoryChanged(story, before);
+
+        ProgressRollup backlogRow = backlogRows.get(1L);
+        assertThat(backlogRow.getDonePoints()).isEqualTo(5);
+        assertThat(backlogRow.countOf(WorkItemStatus.TODO)).isZero();
+        assertThat(backlogRow.countOf(WorkItemStatus.DONE)).isEqualTo(1);
+        assertThat(backlogRow.getCompletionPercentage()).isEqualTo(100.0);
+    }
+
+    @Test
+    void unchangedTask_ShouldNotIssueAnyUpdate() {
+        Task design = task(1L, 8);
+        TaskSnapshot before = TaskSnapshot.of(design);
+
+        progressRollupService.onTaskChanged(design, before);
+
+        verify(userStoryRepository, never()).applyProgressDelta(anyLong(), any());
+        verifyNoInteractions(epicRepository, productBacklogRepository);
+    }
+
+    @Test
+    void epicChange_ShouldMoveWholeContributionIncludingHours() {
+        progressRollupService.onStoryChanged(story, null);
+        progressRollupService.onTaskChanged(task(1L, 8), null);
+
+        epic.removeUserStory(story);
+        otherEpic.addUserStory(story);
+        progressRollupService.onStoryEpicChanged(story, epic);
+
+        assertThat(epicRows.get(10L).isZero()).isTrue();
+        assertThat(epicRows.get(20L).getTotalPoints()).isEqualTo(5);
+        assertThat(epicRows.get(20L).getEstimatedHours()).isEqualTo(8);
+        // Le backlog ne change pas
+        assertThat(backlogRows.get(1L).getTotalPoints()).isEqualTo(5);
+    }
+
+    @Test
+    void deletions_ShouldReturnCountersToZero() {
+        progressRollupService.onStoryChanged(story, null);
+        Task design = task(1L, 8);
+        progressRollupService.onTaskChanged(design, null);
+        Task build = task(2L, 3);
+        progressRollupService.onTaskChanged(build, null);
+
+        progressRollupService.onTaskDeleted(build);
+        assertThat(storyRows.get(100L).getEstimatedHours()).isEqualTo(8);
+
+        progressRollupService.onStoryDeleted(story);
+        assertThat(epicRows.get(10L).isZero()).isTrue();
+        assertThat(backlogRows.get(1L).isZero()).isTrue();
+    }
+
+    @Test
+    void rebuild_ShouldMatchIncrementalCounters() {
+        progressRollupService.onStoryChanged(story, null);
+        Task design = task(1L, 8);
+        progressRollupService.onTaskChanged(design, null);
+        TaskSnapshot before = TaskSnapshot.of(design);
+        design.updateStatus(WorkItemStatus.DONE);
+        design.logHours(9);
+        progressRollupService.onTaskChanged(design, before);
+        Map<Long, ProgressRollup> expectedEpics = new HashMap<>(epicRows);
+        ProgressRollup expectedBacklog = backlogRows.get(1L);
+
+        // Compteurs corrompus (ex. données antérieures aux agrégats)
+        storyRows.clear();
+        epicRows.put(10L, ProgressRollup.ofStory(40, WorkItemStatus.DONE));
+        backlogRows.clear();
+        when(productBacklogRepository.findById(1L)).thenReturn(Optional.of(backlog));
+        when(userStoryRepository.findByProductBacklogId(1L)).thenReturn(List.of(story));
+        when(epicRepository.findByProductBacklogId(1L)).thenReturn(List.of(epic, otherEpic));
+
+        ProgressRollup rebuilt = progressRollupService.rebuild(1L);
+
+        assertThat(rebuilt).isEqualTo(expectedBacklog);
+        assertThat(backlogRows.get(1L)).isEqualTo(expectedBacklog);
+        assertThat(epicRows.get(10L)).isEqualTo(expectedEpics.get(10L));
+        assertThat(epicRows).doesNotContainKey(20L);
+        assertThat(storyRows.get(100L).getActualHours()).isEqualTo(9);
+    }
+
+    @Test
+    void getEpicProgress_ShouldReadSingleRow() {
+        ProgressRollup row = ProgressRollup.ofStory(3, WorkItemStatus.IN_PROGRESS);
+        epicRows.put(10L, row);
+
+        assertThat(progressRollupService.getEpicProgress(10L)).isEqualTo(row);
+        verify(epicRepository).findProgressById(10L);
+        verifyNoInteractions(userStoryRepository);
+    }
+
+    @Test
+    void getProjectProgress_UnknownProject_ShouldThrow() {
+        when(productBacklogRepository.findProgressByProjectId(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> progressRollupService.getProjectProgress(99L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,186 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProgressRollup;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.repository.CloneIdMappingRepository;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProjectRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.BacklogImportService.ImportFormat;
+import com.agile.demo.planning.service.ProjectCloneService.CloneReport;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Clonage ensembliste d'un projet (base H2 du profil test)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:clonedb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class ProjectCloneServiceTest {
+
+    @Autowired
+    private ProjectCloneService projectCloneService;
+
+    @Autowired
+    private BacklogImportService backlogImportService;
+
+    @Autowired
+    private UserStoryService userStoryService;
+
+    @Autowired
+    private ProgressRollupService progressRollupService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EpicRepository epicRepository;
+
+    @Autowired
+    private UserStoryRepository userStoryRepository;
+
+    @Autowired
+    private CloneIdMappingRepository cloneIdMappingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Project createProject(String name, int epics, int storiesPerEpic, int tasksPerStory) {
+        Project project = new Project(name, "Template", LocalDate.of(2026, 1, 5), LocalDate.of(2026, 3, 29));
+        project.getProductBacklog().setProject(project);
+        project = projectRepository.save(project);
+
+        StringBuilder csv = new StringBuilder("type,ref,parent,title,role,action,purpose,points,hours\n");
+        for (int e = 0; e < epics; e++) {
+            csv.append("EPIC,E").append(e).append(",,Epic ").append(e).append(",,,,,\n");
+            for (int s = 0; s < storiesPerEpic; s++) {
+                String ref = "S" + e + "-" + s;
+                csv.append("STORY,").append(ref).append(",E").append(e).append(",Story ").append(ref)
+                        .append(",user,act,goal,3,\n");
+                for (int t = 0; t < tasksPerStory; t++) {
+                    csv.append("TASK,,").append(ref).append(",Task ").append(t).append(",,,,,2\n");
+                }
+            }
+        }
+        backlogImportService.importBacklog(project.getProductBacklog().getId(),
+                new StringReader(csv.toString()), ImportFormat.CSV);
+        return project;
+    }
+
+    private UserStory storyByTitle(Long backlogId, String title) {
+        return userStoryRepository.findByProductBacklogId(backlogId).stream()
+                .filter(story -> story.getTitle().equals(title))
+                .findFirst().orElseThrow();
+    }
+
+    @Test
+    void cloneProject_ShouldRemapParentsAndDependencies() {
+        Project source = createProject("clone-small", 2, 2, 2);
+        Long sourceBacklogId = source.getProductBacklog().getId();
+        userStoryService.addDependency(storyByTitle(sourceBacklogId, "Story S1-0").getId(),
+                storyByTitle(sourceBacklogId, "Story S0-0").getId());
+
+        CloneReport report = projectCloneService.cloneProject(source.getId(), "clone-small-copy",
+                LocalDate.of(2026, 4, 6), true);
+
+        assertThat(report.epics()).isEqualTo(2);
+        assertThat(report.stories()).isEqualTo(4);
+        assertThat(report.tasks()).isEqualTo(8);
+        assertThat(report.dependencies()).isEqualTo(1);
+        assertThat(cloneIdMappingRepository.count()).isZero();
+
+        Project clone = projectRepository.findById(report.projectId()).orElseThrow();
+        assertThat(clone.getEndDate()).isEqualTo(LocalDate.of(2026, 6, 28));
+
+        List<Epic> epics = epicRepository.findByProductBacklogId(report.backlogId());
+        assertThat(epics).extracting(Epic::getTitle).containsExactlyInAnyOrder("Epic 0", "Epic 1");
+        ProgressRollup backlogProgress = progressRollupService.getBacklogProgress(report.backlogId());
+        assertThat(backlogProgress).isEqualTo(progressRollupService.getBacklogProgress(sourceBacklogId));
+        assertThat(backlogProgress.getTotalPoints()).isEqualTo(12);
+        assertThat(backlogProgress.getEstimatedHours()).isEqualTo(16);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            UserStory dependent = storyByTitle(report.backlogId(), "Story S1-0");
+            UserStory dependency = storyByTitle(report.backlogId(), "Story S0-0");
+            assertThat(dependent.getEpic().getTitle()).isEqualTo("Epic 1");
+            assertThat(dependent.getEpic().getId()).isNotEqualTo(storyByTitle(sourceBacklogId, "Story S1-0").getEpic().getId());
+            assertThat(dependent.getDependencies()).containsExactly(dependency);
+            assertThat(dependent.isReady()).isFalse();
+            assertThat(dependent.getTasks()).hasSize(2)
+                    .allSatisfy(task -> assertThat(task.getStatus()).isEqualTo(WorkItemStatus.TODO));
+            assertThat(dependent.getProgressRollup().getTodoCount()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void cloneProject_WithoutDependencies_ShouldLeaveStoriesReady() {
+        Project source = createProject("clone-nodeps", 1, 2, 1);
+        Long sourceBacklogId = source.getProductBacklog().getId();
+        userStoryService.addDependency(storyByTitle(sourceBacklogId, "Story S0-1").getId(),
+                storyByTitle(sourceBacklogId, "Story S0-0").getId());
+
+        CloneReport report = projectCloneService.cloneProject(source.getId(), "clone-nodeps-copy", null, false);
+
+        assertThat(report.dependencies()).isZero();
+        assertThat(storyByTitle(report.backlogId(), "Story S0-1").isReady()).isTrue();
+    }
+
+    @Test
+    void cloneLargeProject_ShouldNotLoadItems() {
+        // 20 epics, 1 000 stories, 9 000 tâches
+        Project source = createProject("clone-large", 20, 50, 9);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CloneReport report = projectCloneService.cloneProject(source.getId(), "clone-large-copy",
+                LocalDate.of(2026, 4, 6), true);
+
+        long items = report.epics() + report.stories() + report.tasks();
+        assertThat(items).isEqualTo(10_020);
+        // Seuls le projet et le backlog sources sont lus
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(2);
+        // Essentiellement les appels de séquence, un par bloc d'identifiants
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(items / 20);
+        assertThat(progressRollupService.getBacklogProgress(report.backlogId()).getEstimatedHours())
+                .isEqualTo(9_000L * 2);
+    }
+
+    @Test
+    void cloneProject_WithExistingName_ShouldThrow() {
+        Project source = createProject("clone-taken", 1, 1, 1);
+
+        assertThatThrownBy(() -> projectCloneService.cloneProject(source.getId(), "clone-taken", null, true))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void cloneUnknownProject_ShouldThrow() {
+        assertThatThrownBy(() -> projectCloneService.cloneProject(-1L, "nothing", null, true))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,200 @@
+package com.agile.demo.planning.service;
+
+import com.Agile.demo.execution.repositories.SprintBacklogRepository;
+import com.Agile.demo.execution.repositories.UserRepository;
+import com.agile.demo.common.exception.ResourceNotFoundException;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.SprintBacklog;
+import com.agile.demo.model.User;
+import com.agile.demo.planning.repository.ProjectRepository;
+import com.agile.demo.planning.service.BacklogImportService.ImportFormat;
+import com.agile.demo.planning.service.ProjectExportService.ExportFormat;
+import com.agile.demo.planning.service.ProjectExportService.ExportSummary;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Export en flux d'un projet et plafond mémoire (base H2 du profil test)
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:exportdb;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class ProjectExportServiceTest {
+
+    /**
+     * Croissance maximale du tas pendant l'export, mesurée après GC ; garder l'ensemble des entités
+     * exportées (plus de 50 000) en mémoire la dépasserait largement
+     */
+    private static final long HEAP_CEILING_BYTES = 16L * 1024 * 1024;
+
+    @Autowired
+    private ProjectExportService projectExportService;
+
+    @Autowired
+    private BacklogImportService backlogImportService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SprintBacklogRepository sprintBacklogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Project createProject(String name, int members) {
+        Project project = new Project(name, "Audit", LocalDate.of(2026, 1, 5), LocalDate.of(2026, 6, 30));
+        project.getProductBacklog().setProject(project);
+        for (int i = 0; i < members; i++) {
+            User user = new User();
+            user.setUsername(name + "-member-" + i);
+            user.setEmail(name + "-member-" + i + "@example.com");
+            project.getMembers().add(userRepository.save(user));
+        }
+        project = projectRepository.save(project);
+
+        SprintBacklog sprint = new SprintBacklog("Sprint 1", 1, LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 18), "Goal");
+        sprint.setProject(project);
+        sprintBacklogRepository.save(sprint);
+        return project;
+    }
+
+    private void populate(Project project, int epics, int storiesPerEpic, int tasksPerStory) {
+        StringBuilder csv = new StringBuilder("type,ref,parent,title,description,role,action,purpose,points,hours\n");
+        for (int e = 0; e < epics; e++) {
+            csv.append("EPIC,E").append(e).append(",,Epic ").append(e).append(",\"Epic, number ").append(e).append("\",,,,,\n");
+            for (int s = 0; s < storiesPerEpic; s++) {
+                String ref = "S" + e + "-" + s;
+                csv.append("STORY,").append(ref).append(",E").append(e).append(",Story ").append(ref)
+                        .append(",,user,act,goal,3,\n");
+                for (int t = 0; t < tasksPerStory; t++) {
+                    csv.append("TASK,,").append(ref).append(",Task ").append(t).append(",Details,,,,,2\n");
+                }
+            }
+        }
+        backlogImportService.importBacklog(project.getProductBacklog().getId(),
+                new StringReader(csv.toString()), ImportFormat.CSV);
+    }
+
+    @Test
+    void exportJsonLines_ShouldWriteEveryLevelWithParentReferences() {
+        Project project = createProject("export-small", 2);
+        populate(project, 2, 2, 2);
+        StringWriter out = new StringWriter();
+
+        ExportSummary summary = projectExportService.exportProject(project.getId(), out, ExportFormat.JSON_LINES);
+
+        assertThat(summary.members()).isEqualTo(2);
+        assertThat(summary.sprints()).isEqualTo(1);
+        assertThat(summary.epics()).isEqualTo(2);
+        assertThat(summary.stories()).isEqualTo(4);
+        assertThat(summary.tasks()).isEqualTo(8);
+
+        List<String> lines = out.toString().lines().toList();
+        assertThat(lines).hasSize(2 + 2 + 1 + 2 + 4 + 8);
+        assertThat(lines.get(0)).startsWith("{\"type\":\"PROJECT\"").contains("\"title\":\"export-small\"");
+        assertThat(lines).filteredOn(line -> line.startsWith("{\"type\":\"STORY\""))
+                .allSatisfy(line -> assertThat(line).contains("\"parent\":").contains("\"role\":\"user\""));
+        assertThat(lines).noneMatch(line -> line.contains("password"));
+    }
+
+    @Test
+    void exportCsv_ShouldUseFixedColumnsAndQuoteValues() {
+        Project project = createProject("export-csv", 1);
+        populate(project, 1, 1, 1);
+        StringWriter out = new StringWriter();
+
+        projectExportService.exportProject(project.getId(), out, ExportFormat.CSV);
+
+        List<String> lines = out.toString().lines().toList();
+        assertThat(lines.get(0)).isEqualTo(String.join(",", ProjectExportService.CSV_COLUMNS));
+        assertThat(lines).anyMatch(line -> line.startsWith("EPIC,") && line.contains("\"Epic, number 0\""));
+        assertThat(lines).allMatch(line -> line.split(",", -1).length >= ProjectExportService.CSV_COLUMNS.size());
+    }
+
+    @Test
+    void exportLargeProject_ShouldStayUnderHeapCeiling() {
+        Project project = createProject("export-large", 5);
+        populate(project, 50, 100, 10);
+        MemoryProbe probe = new MemoryProbe(entityManager);
+
+        ExportSummary summary = projectExportService.exportProject(project.getId(), probe, ExportFormat.JSON_LINES);
+
+        assertThat(summary.tasks()).isEqualTo(50_000);
+        // Le contexte de persistance ne garde jamais plus d'un intervalle d'entités (et leurs parents)
+        assertThat(probe.maxManagedEntities).isLessThanOrEqualTo(2L * ProjectExportService.CLEAR_INTERVAL);
+        assertThat(probe.maxHeapGrowth).isLessThan(HEAP_CEILING_BYTES);
+    }
+
+    @Test
+    void exportUnknownProject_ShouldThrow() {
+        assertThatThrownBy(() -> projectExportService.exportProject(-1L, new StringWriter(), ExportFormat.CSV))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    /**
+     * Writer qui jette la sortie et mesure, au fil des lignes, la taille du contexte de persistance
+     * et la croissance du tas après GC
+     */
+    private static final class MemoryProbe extends Writer {
+        private static final int HEAP_SAMPLE_INTERVAL = 5_000;
+
+        private final EntityManager entityManager;
+        private final long baseline;
+        private long lines;
+        private long maxManagedEntities;
+        private long maxHeapGrowth;
+
+        private MemoryProbe(EntityManager entityManager) {
+            this.entityManager = entityManager;
+            this.baseline = usedHeapAfterGc();
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    onLine();
+                }
+            }
+        }
+
+        private void onLine() {
+            lines++;
+            int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+            maxManagedEntities = Math.max(maxManagedEntities, managed);
+            if (lines % HEAP_SAMPLE_INTERVAL == 0) {
+                maxHeapGrowth = Math.max(maxHeapGrowth, usedHeapAfterGc() - baseline);
+            }
+        }
+
+        private static long usedHeapAfterGc() {
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.Project;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.index.DependencyGraphService;
+import com.agile.demo.planning.index.DependencyGraphService.Topology;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.ProjectScheduleService.ProjectSchedule;
+import com.agile.demo.planning.service.ProjectScheduleService.ScheduledStory;
+import com.agile.demo.planning.service.ProjectScheduleService.Weighting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectScheduleServiceTest {
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private DependencyGraphService dependencyGraphService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ProjectScheduleService projectScheduleService;
+
+    private List<Object[]> rows;
+
+    @BeforeEach
+    void setUp() {
+        // B et C dépendent de A ; D dépend de B et C ; E est indépendante (hors graphe)
+        Topology topology = new Topology(
+                new long[]{1L, 2L, 3L, 4L},
+                new boolean[4],
+                new int[][]{{}, {0}, {0}, {1, 2}},
+                new int[]{0, 1, 2, 3});
+        lenient().when(dependencyGraphService.getTopology(1L)).thenReturn(topology);
+
+        rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "A", 3, WorkItemStatus.TODO, 10L});
+        rows.add(new Object[]{2L, "B", 5, WorkItemStatus.TODO, 4L});
+        rows.add(new Object[]{3L, "C", 1, WorkItemStatus.TODO, 20L});
+        rows.add(new Object[]{4L, "D", 2, WorkItemStatus.TODO, 1L});
+        rows.add(new Object[]{5L, "E", 4, WorkItemStatus.TODO, 0L});
+        lenient().when(userStoryRepository.findScheduleInputsByProjectId(1L)).thenReturn(rows);
+    }
+
+    private static ScheduledStory find(ProjectSchedule schedule, long storyId) {
+        return schedule.stories().stream().filter(s -> s.storyId() == storyId).findFirst().orElseThrow();
+    }
+
+    @Test
+    void getSchedule_ByStoryPoints_ShouldComputeCriticalPathAndSlack() {
+        ProjectSchedule schedule = projectScheduleService.getSchedule(1L, Weighting.STORY_POINTS);
+
+        assertThat(schedule.duration()).isEqualTo(10);
+        assertThat(schedule.criticalPath()).containsExactly(1L, 2L, 4L);
+
+        ScheduledStory c = find(schedule, 3L);
+        assertThat(c.earliestStart()).isEqualTo(3);
+        assertThat(c.latestStart()).isEqualTo(7);
+        assertThat(c.slack()).isEqualTo(4);
+        assertThat(c.critical()).isFalse();
+
+        ScheduledStory d = find(schedule, 4L);
+        assertThat(d.earliestStart()).isEqualTo(8);
+        assertThat(d.critical()).isTrue();
+
+        ScheduledStory e = find(schedule, 5L);
+        assertThat(e.earliestStart()).isZero();
+        assertThat(e.slack()).isEqualTo(6);
+    }
+
+    @Test
+    void getSchedule_ByTaskHours_ShouldFollowHeavierBranch() {
+        ProjectSchedule schedule = projectScheduleService.getSchedule(1L, Weighting.TASK_HOURS);
+
+        assertThat(schedule.duration()).isEqualTo(31);
+        assertThat(schedule.criticalPath()).containsExactly(1L, 3L, 4L);
+        assertThat(find(schedule, 2L).slack()).isEqualTo(16);
+    }
+
+    @Test
+    void getSchedule_DoneStories_ShouldHaveNoRemainingDuration() {
+        rows.set(0, new Object[]{1L, "A", 3, WorkItemStatus.DONE, 10L});
+
+        ProjectSchedule schedule = projectScheduleService.getSchedule(1L, Weighting.STORY_POINTS);
+
+        assertThat(schedule.duration()).isEqualTo(7);
+        assertThat(find(schedule, 2L).earliestStart()).isZero();
+    }
+
+    @Test
+    void getSchedule_ShouldBeCachedUntilGraphOrEstimatesChange() {
+        when(dependencyGraphService.getVersion(1L)).thenReturn(3L);
+
+        projectScheduleService.getSchedule(1L, Weighting.STORY_POINTS);
+        projectScheduleService.getSchedule(1L, Weighting.STORY_POINTS);
+        verify(userStoryRepository, times(1)).findScheduleInputsByProjectId(1L);
+
+        Project project = new Project();
+        project.setId(1L);
+        ProductBacklog backlog = new ProductBacklog();
+        backlog.setProject(project);
+        UserStory story = new UserStory();
+        story.setProductBacklog(backlog);
+
+        projectScheduleService.onStoryChanged(StoryChangedEvent.of(story, StoryChange.EPIC));
+        projectScheduleService.getSchedule(1L, Weighting.STORY_POINTS);
+        verify(userStoryRepository, times(1)).findScheduleInputsByProjectId(1L);
+
+        projectScheduleService.onStoryChanged(StoryChangedEvent.of(story, StoryChange.ESTIMATES));
+        projectScheduleService.getSchedule(1L, Weighting.STORY_POINTS);
+        verify(userStoryRepository, times(2)).findScheduleInputsByProjectId(1L);
+
+        when(dependencyGraphService.getVersion(1L)).thenReturn(4L);
+        projectScheduleService.getSchedule(1L, Weighting.STORY_POINTS);
+        verify(userStoryRepository, times(3)).findScheduleInputsByProjectId(1L);
+    }
+
+    @Test
+    void getSchedule_WithCycle_ShouldThrow() {
+        when(dependencyGraphService.getTopology(1L)).thenReturn(new Topology(
+                new long[]{1L, 2L}, new boolean[2], new int[][]{{1}, {0}}, new int[0]));
+
+        assertThrows(BusinessException.class, () -> projectScheduleService.getSchedule(1L, Weighting.STORY_POINTS));
+    }
+
+    @Test
+    void exportGanttCsv_ShouldListStoriesByStart() {
+        String csv = projectScheduleService.exportGanttCsv(1L, Weighting.STORY_POINTS);
+
+        String[] lines = csv.split("\n");
+        assertThat(lines[0]).isEqualTo("story_id,title,start,finish,latest_start,latest_finish,slack,critical");
+        assertThat(lines[1]).isEqualTo("1,A,0,3,0,3,0,true");
+        assertThat(lines).hasSize(6);
+        assertThat(lines[5]).isEqualTo("4,D,8,10,8,10,0,true");
+    }
+}
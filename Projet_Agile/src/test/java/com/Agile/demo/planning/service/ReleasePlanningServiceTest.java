@@ -0,0 +1,171 @@
+package com.agile.demo.planning.service;
+
+import com.Agile.demo.execution.repositories.SprintBacklogRepository;
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.SprintBacklog;
+import com.agile.demo.model.SprintStatus;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.index.DependencyGraphService;
+import com.agile.demo.planning.index.DependencyGraphService.Topology;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.ReleasePlanningService.CapacityModel;
+import com.agile.demo.planning.service.ReleasePlanningService.PlannedSprint;
+import com.agile.demo.planning.service.ReleasePlanningService.ReleasePlan;
+import com.agile.demo.planning.service.ReleasePlanningService.UnplannedReason;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReleasePlanningServiceTest {
+
+    @Mock
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private SprintBacklogRepository sprintBacklogRepository;
+
+    @Mock
+    private DependencyGraphService dependencyGraphService;
+
+    @InjectMocks
+    private ReleasePlanningService releasePlanningService;
+
+    private UserStory storyA;
+    private UserStory storyB;
+    private UserStory storyC;
+    private UserStory storyD;
+
+    @BeforeEach
+    void setUp() {
+        ProductBacklog backlog = new ProductBacklog();
+        backlog.setId(10L);
+        lenient().when(productBacklogRepository.findByProjectId(1L)).thenReturn(Optional.of(backlog));
+
+        LocalDate start = LocalDate.of(2026, 1, 5);
+        List<SprintBacklog> sprints = new ArrayList<>();
+        for (int k = 0; k < 3; k++) {
+            SprintBacklog sprint = new SprintBacklog("Sprint " + (k + 1), k + 1,
+                    start.plusDays(14L * k), start.plusDays(14L * k + 13), "Goal");
+            sprint.setId(100L + k);
+            sprints.add(sprint);
+        }
+        lenient().when(sprintBacklogRepository.findByProjectIdAndSprintStatus(1L, SprintStatus.PLANNED)).thenReturn(sprints);
+
+        // Ordre de priorité A, B, C, D ; B dépend de D
+        storyA = story(1L, 5);
+        storyB = story(2L, 8);
+        storyC = story(3L, 3);
+        storyD = story(4L, 5);
+        lenient().when(userStoryRepository.findUnassignedStoriesByBacklogId(10L))
+                .thenReturn(List.of(storyA, storyB, storyC, storyD));
+        lenient().when(dependencyGraphService.getTopology(1L)).thenReturn(new Topology(
+                new long[]{1L, 2L, 3L, 4L}, new boolean[4],
+                new int[][]{{}, {3}, {}, {}}, new int[]{0, 2, 3, 1}));
+    }
+
+    private static UserStory story(Long id, int points) {
+        UserStory story = new UserStory();
+        story.setId(id);
+        story.setTitle("Story " + id);
+        story.setStoryPoints(points);
+        return story;
+    }
+
+    private static List<List<Long>> assignments(ReleasePlan plan) {
+        return plan.sprints().stream().map(PlannedSprint::storyIds).toList();
+    }
+
+    @Test
+    void planRelease_ShouldFirstFitInPriorityOrderAfterDependencies() {
+        ReleasePlan plan = releasePlanningService.planRelease(1L, 3, CapacityModel.fixed(10));
+
+        // D (moins prioritaire) passe avant B qui en dépend, B va dans le sprint suivant celui de D
+        assertThat(assignments(plan)).containsExactly(List.of(1L, 3L), List.of(4L), List.of(2L));
+        assertThat(plan.sprints().get(0).plannedPoints()).isEqualTo(8);
+        assertThat(plan.unplanned()).isEmpty();
+    }
+
+    @Test
+    void planRelease_ShouldReportUnplannableStories() {
+        storyD.setStoryPoints(20);
+
+        ReleasePlan plan = releasePlanningService.planRelease(1L, 3, CapacityModel.fixed(10));
+
+        assertThat(plan.unplanned()).extracting(ReleasePlanningService.UnplannedStory::reason)
+                .containsExactly(UnplannedReason.CAPACITY, UnplannedReason.DEPENDENCY_NOT_PLANNED);
+    }
+
+    @Test
+    void planRelease_ShouldOnlyReplanAfterFirstChangedStory() {
+        releasePlanningService.planRelease(1L, 3, CapacityModel.fixed(10));
+
+        ReleasePlan unchanged = releasePlanningService.planRelease(1L, 3, CapacityModel.fixed(10));
+        assertThat(unchanged.reusedSteps()).isEqualTo(4);
+
+        storyC.setStoryPoints(6);
+        ReleasePlan replanned = releasePlanningService.planRelease(1L, 3, CapacityModel.fixed(10));
+
+        assertThat(replanned.reusedSteps()).isEqualTo(1);
+        assertThat(assignments(replanned)).containsExactly(List.of(1L, 4L), List.of(3L), List.of(2L));
+    }
+
+    @Test
+    void planRelease_ShouldNotReusePlanAfterDependencyGraphChanged() {
+        when(dependencyGraphService.getVersion(1L)).thenReturn(1L, 2L);
+        releasePlanningService.planRelease(1L, 3, CapacityModel.fixed(10));
+
+        ReleasePlan replanned = releasePlanningService.planRelease(1L, 3, CapacityModel.fixed(10));
+
+        assertThat(replanned.reusedSteps()).isZero();
+        assertThat(assignments(replanned)).containsExactly(List.of(1L, 3L), List.of(4L), List.of(2L));
+    }
+
+    @Test
+    void planRelease_ShouldNotReusePlanForDifferentCapacities() {
+        releasePlanningService.planRelease(1L, 3, CapacityModel.fixed(10));
+
+        ReleasePlan replanned = releasePlanningService.planRelease(1L, 3, CapacityModel.fixed(8));
+
+        assertThat(replanned.reusedSteps()).isZero();
+    }
+
+    @Test
+    void planRelease_ShouldForecastCapacityFromVelocity() {
+        SprintBacklog done = new SprintBacklog("Sprint 0", 0,
+                LocalDate.of(2025, 12, 22), LocalDate.of(2026, 1, 4), "Done");
+        done.setId(99L);
+        when(sprintBacklogRepository.findByProjectIdAndSprintStatus(1L, SprintStatus.COMPLETED)).thenReturn(List.of(done));
+        when(userStoryRepository.sumDonePointsBySprintId(99L)).thenReturn(7L);
+
+        ReleasePlan plan = releasePlanningService.planRelease(1L, 2, CapacityModel.forecast());
+
+        // 7 points en 14 jours -> 7 points par sprint de 14 jours
+        assertThat(plan.sprints()).extracting(PlannedSprint::capacity).containsExactly(7, 7);
+        assertThat(assignments(plan)).containsExactly(List.of(1L), List.of(3L));
+        assertThat(plan.unplanned()).hasSize(2);
+    }
+
+    @Test
+    void planRelease_WithInvalidSprintCount_ShouldThrow() {
+        assertThrows(BusinessException.class,
+                () -> releasePlanningService.planRelease(1L, 0, CapacityModel.fixed(10)));
+    }
+}
@@ -0,0 +1,205 @@
+package com.agile.demo.planning.service;
+
+import com.Agile.demo.execution.repositories.SprintBacklogRepository;
+import com.agile.demo.common.exception.BusinessException;
+import com.agile.demo.model.Epic;
+import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.SprintBacklog;
+import com.agile.demo.model.SprintStatus;
+import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.event.BacklogChangedEvent;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.repository.EpicRepository;
+import com.agile.demo.planning.repository.ProductBacklogRepository;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.RoadmapForecastService.EpicForecast;
+import com.agile.demo.planning.service.RoadmapForecastService.RoadmapForecast;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoadmapForecastServiceTest {
+
+    @Mock
+    private ProductBacklogRepository productBacklogRepository;
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private EpicRepository epicRepository;
+
+    @Mock
+    private SprintBacklogRepository sprintBacklogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RoadmapForecastService roadmapForecastService;
+
+    private List<SprintBacklog> completedSprints;
+
+    @BeforeEach
+    void setUp() {
+        ProductBacklog backlog = new ProductBacklog();
+        backlog.setId(10L);
+        lenient().when(productBacklogRepository.findByProjectId(1L)).thenReturn(Optional.of(backlog));
+
+        lenient().when(epicRepository.findByProductBacklogId(10L))
+                .thenReturn(List.of(epic(1L, "Paiement"), epic(2L, "Reporting"), epic(3L, "Onboarding")));
+
+        // Ordre du backlog : cumul 5, 8, 16, 18, 22 ; Onboarding n'a plus de story restante
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{101L, 1L, 5});
+        rows.add(new Object[]{102L, null, 3});
+        rows.add(new Object[]{103L, 2L, 8});
+        rows.add(new Object[]{104L, 1L, 2});
+        rows.add(new Object[]{105L, 2L, 4});
+        lenient().when(userStoryRepository.findRoadmapInputsByBacklogId(10L)).thenReturn(rows);
+
+        LocalDate start = LocalDate.of(2026, 1, 5);
+        completedSprints = new ArrayList<>();
+        for (int k = 0; k < 2; k++) {
+            SprintBacklog sprint = new SprintBacklog("Sprint " + (k + 1), k + 1,
+                    start.plusDays(14L * k), start.plusDays(14L * k + 13), "Goal");
+            sprint.setId(200L + k);
+            completedSprints.add(sprint);
+        }
+        lenient().when(sprintBacklogRepository.findByProjectIdAndSprintStatus(1L, SprintStatus.COMPLETED))
+                .thenReturn(completedSprints);
+        lenient().when(sprintBacklogRepository.findByProjectIdAndSprintStatus(1L, SprintStatus.ACTIVE))
+                .thenReturn(List.of());
+        lenient().when(userStoryRepository.sumDonePointsBySprintId(200L)).thenReturn(10L);
+        lenient().when(userStoryRepository.sumDonePointsBySprintId(201L)).thenReturn(8L);
+    }
+
+    private static Epic epic(Long id, String title) {
+        Epic epic = new Epic("E" + id, title, null);
+        epic.setId(id);
+        return epic;
+    }
+
+    private static EpicForecast find(RoadmapForecast forecast, long epicId) {
+        return forecast.epics().stream().filter(e -> e.epicId() == epicId).findFirst().orElseThrow();
+    }
+
+    @Test
+    void getRoadmap_ShouldProjectEachEpicFromCumulativePointsAndVelocity() {
+        RoadmapForecast forecast = roadmapForecastService.getRoadmap(1L);
+
+        assertThat(forecast.pointsPerSprint()).isEqualTo(9.0);
+        assertThat(forecast.sprintLengthDays()).isEqualTo(14);
+        assertThat(forecast.startDate()).isEqualTo(LocalDate.of(2026, 2, 2));
+        assertThat(forecast.remainingPoints()).isEqualTo(22);
+
+        EpicForecast payment = find(forecast, 1L);
+        assertThat(payment.remainingPoints()).isEqualTo(7);
+        assertThat(payment.remainingStories()).isEqualTo(2);
+        assertThat(payment.cumulativePoints()).isEqualTo(18);
+        assertThat(payment.finishSprint()).isEqualTo(2);
+        assertThat(payment.forecastDate()).isEqualTo(LocalDate.of(2026, 3, 1));
+
+        EpicForecast reporting = find(forecast, 2L);
+        assertThat(reporting.cumulativePoints()).isEqualTo(22);
+        assertThat(reporting.finishSprint()).isEqualTo(3);
+        assertThat(reporting.forecastDate()).isEqualTo(LocalDate.of(2026, 3, 15));
+
+        EpicForecast onboarding = find(forecast, 3L);
+        assertThat(onboarding.completed()).isTrue();
+        assertThat(onboarding.finishSprint()).isZero();
+
+        // Epics terminés d'abord, puis par date de fin prévue
+        assertThat(forecast.epics()).extracting(EpicForecast::epicId).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void getRoadmap_ShouldReuseBacklogPassWhenOnlyVelocityChanges() {
+        roadmapForecastService.getRoadmap(1L);
+
+        when(userStoryRepository.sumDonePointsBySprintId(201L)).thenReturn(26L);
+        RoadmapForecast faster = roadmapForecastService.getRoadmap(1L);
+
+        assertThat(faster.pointsPerSprint()).isEqualTo(18.0);
+        assertThat(find(faster, 1L).finishSprint()).isEqualTo(1);
+        assertThat(find(faster, 2L).finishSprint()).isEqualTo(2);
+        verify(userStoryRepository, times(1)).findRoadmapInputsByBacklogId(10L);
+        verify(epicRepository, times(1)).findByProductBacklogId(10L);
+    }
+
+    @Test
+    void onBacklogChanged_Reorder_ShouldRecomputePassOnNextRead() {
+        roadmapForecastService.getRoadmap(1L);
+
+        List<Object[]> reordered = new ArrayList<>();
+        reordered.add(new Object[]{103L, 2L, 8});
+        reordered.add(new Object[]{105L, 2L, 4});
+        reordered.add(new Object[]{101L, 1L, 5});
+        reordered.add(new Object[]{104L, 1L, 2});
+        when(userStoryRepository.findRoadmapInputsByBacklogId(10L)).thenReturn(reordered);
+        roadmapForecastService.onBacklogChanged(BacklogChangedEvent.of(10L, null, StoryChange.ORDER));
+
+        RoadmapForecast forecast = roadmapForecastService.getRoadmap(1L);
+
+        assertThat(find(forecast, 2L).cumulativePoints()).isEqualTo(12);
+        assertThat(find(forecast, 2L).finishSprint()).isEqualTo(2);
+        assertThat(find(forecast, 1L).cumulativePoints()).isEqualTo(19);
+        verify(userStoryRepository, times(2)).findRoadmapInputsByBacklogId(10L);
+    }
+
+    @Test
+    void storyChanges_ShouldRecomputePassOnlyWhenForecastInputsChange() {
+        ProductBacklog backlog = new ProductBacklog();
+        backlog.setId(10L);
+        UserStory story = new UserStory();
+        story.setProductBacklog(backlog);
+
+        roadmapForecastService.getRoadmap(1L);
+        roadmapForecastService.onStoryChanged(StoryChangedEvent.of(story, StoryChange.SPRINT));
+        roadmapForecastService.getRoadmap(1L);
+        verify(userStoryRepository, times(1)).findRoadmapInputsByBacklogId(10L);
+
+        roadmapForecastService.onStoryChanged(StoryChangedEvent.of(story, StoryChange.STATUS));
+        roadmapForecastService.getRoadmap(1L);
+        verify(userStoryRepository, times(2)).findRoadmapInputsByBacklogId(10L);
+    }
+
+    @Test
+    void getRoadmap_WithoutCompletedSprint_ShouldRequireExplicitVelocity() {
+        completedSprints.clear();
+
+        assertThrows(BusinessException.class, () -> roadmapForecastService.getRoadmap(1L));
+
+        RoadmapForecast forecast = roadmapForecastService.getRoadmap(1L, 10);
+        assertThat(forecast.sprintLengthDays()).isEqualTo(RoadmapForecastService.DEFAULT_SPRINT_DAYS);
+        assertThat(find(forecast, 1L).finishSprint()).isEqualTo(2);
+        assertThat(find(forecast, 2L).finishSprint()).isEqualTo(3);
+    }
+
+    @Test
+    void getRoadmap_ActiveSprint_ShouldStartFromItsStartDate() {
+        SprintBacklog active = new SprintBacklog("Sprint 3", 3,
+                LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 15), "Goal");
+        when(sprintBacklogRepository.findByProjectIdAndSprintStatus(1L, SprintStatus.ACTIVE)).thenReturn(List.of(active));
+
+        RoadmapForecast forecast = roadmapForecastService.getRoadmap(1L, 20);
+
+        assertThat(forecast.startDate()).isEqualTo(LocalDate.of(2026, 2, 2));
+        assertThat(find(forecast, 1L).forecastDate()).isEqualTo(LocalDate.of(2026, 2, 15));
+    }
+}
@@ -0,0 +1,137 @@
+package com.agile.demo.planning.service;
+
+import com.agile.demo.model.UserStory;
+import com.agile.demo.model.WorkItemStatus;
+import com.agile.demo.planning.index.DependencyGraphService;
+import com.agile.demo.planning.repository.UserStoryRepository;
+import com.agile.demo.planning.service.StoryReadinessService.StoriesUnblockedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StoryReadinessServiceTest {
+
+    @Mock
+    private UserStoryRepository userStoryRepository;
+
+    @Mock
+    private DependencyGraphService dependencyGraphService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StoryReadinessService storyReadinessService;
+
+    private UserStory api;
+    private UserStory database;
+
+    @BeforeEach
+    void setUp() {
+        api = story(1L);
+        database = story(2L);
+    }
+
+    private static UserStory story(Long id) {
+        UserStory story = new UserStory();
+        story.setId(id);
+        return story;
+    }
+
+    @Test
+    void addDependency_ShouldCountOnlyUnfinishedDependencies() {
+        UserStory done = story(5L);
+        done.complete();
+        UserStory story = story(6L);
+
+        story.addDependency(done);
+        assertThat(story.isReady()).isTrue();
+
+        story.addDependency(api);
+        assertThat(story.getOutstandingDependencies()).isEqualTo(1);
+        assertThat(story.canBeStarted()).isFalse();
+
+        story.removeDependency(api);
+        assertThat(story.canBeStarted()).isTrue();
+    }
+
+    @Test
+    void onStatusChanged_Done_ShouldDecrementDependentsAtomically() {
+        // screen (3) dépend de api ; report (4) dépend de api et database
+        when(userStoryRepository.findDependentIdsOf(1L)).thenReturn(List.of(3L, 4L));
+        when(userStoryRepository.findReadyIdsAmong(List.of(3L, 4L))).thenReturn(List.of(3L));
+        api.complete();
+
+        List<Long> unblocked = storyReadinessService.onStatusChanged(api, WorkItemStatus.IN_PROGRESS);
+
+        assertThat(unblocked).containsExactly(3L);
+        verify(userStoryRepository).decrementOutstandingDependencies(List.of(3L, 4L));
+        verify(eventPublisher).publishEvent(new StoriesUnblockedEvent(1L, List.of(3L)));
+        verify(dependencyGraphService).onStatusChanged(api);
+    }
+
+    @Test
+    void onStatusChanged_Reopened_ShouldBlockDependentsAgain() {
+        when(userStoryRepository.findDependentIdsOf(1L)).thenReturn(List.of(3L));
+        api.updateStatus(WorkItemStatus.IN_PROGRESS);
+
+        assertThat(storyReadinessService.onStatusChanged(api, WorkItemStatus.DONE)).isEmpty();
+
+        verify(userStoryRepository).incrementOutstandingDependencies(List.of(3L));
+        verify(userStoryRepository, never()).decrementOutstandingDependencies(anyCollection());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void onStatusChanged_WithoutTransitionToOrFromDone_ShouldDoNothing() {
+        api.start();
+
+        assertThat(storyReadinessService.onStatusChanged(api, WorkItemStatus.TODO)).isEmpty();
+
+        verifyNoInteractions(userStoryRepository, eventPublisher);
+    }
+
+    @Test
+    void onDependencyAdded_ShouldCountOnlyUnfinishedDependency() {
+        UserStory story = story(6L);
+        database.complete();
+
+        storyReadinessService.onDependencyAdded(story, database);
+        storyReadinessService.onDependencyAdded(story, api);
+
+        verify(userStoryRepository, times(1)).incrementOutstandingDependencies(anyCollection());
+        verify(userStoryRepository).incrementOutstandingDependencies(List.of(6L));
+    }
+
+    @Test
+    void onDependencyRemoved_ShouldPublishWhenStoryBecomesReady() {
+        when(userStoryRepository.findReadyIdsAmong(List.of(4L))).thenReturn(List.of(4L));
+
+        List<Long> unblocked = storyReadinessService.onDependencyRemoved(List.of(4L), database);
+
+        assertThat(unblocked).containsExactly(4L);
+        verify(userStoryRepository).decrementOutstandingDependencies(List.of(4L));
+        verify(eventPublisher).publishEvent(new StoriesUnblockedEvent(2L, List.of(4L)));
+    }
+
+    @Test
+    void onDependencyRemoved_DoneDependency_ShouldNotTouchCounters() {
+        database.complete();
+
+        assertThat(storyReadinessService.onDependencyRemoved(List.of(4L), database)).isEmpty();
+
+        verifyNoInteractions(userStoryRepository, eventPublisher);
+    }
+}
@@ -1,8 +1,14 @@
 package com.agile.demo.planning.service;
 
+import com.agile.demo.common.exception.BusinessException;
 import com.agile.demo.common.exception.ResourceNotFoundException;
 import com.agile.demo.model.ProductBacklog;
+import com.agile.demo.model.Project;
 import com.agile.demo.model.UserStory;
+import com.agile.demo.planning.event.StoryChange;
+import com.agile.demo.planning.event.StoryChangedEvent;
+import com.agile.demo.planning.event.StoryDeletedEvent;
+import com.agile.demo.planning.index.DependencyGraphService;
 import com.agile.demo.planning.repository.EpicRepository;
 import com.agile.demo.planning.repository.ProductBacklogRepository;
 import com.agile.demo.planning.repository.UserStoryRepository;
@@ -12,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -33,6 +40,18 @@ class UserStoryServiceTest {
     @Mock
     private EpicRepository epicRepository;
 
+    @Mock
+    private DependencyGraphService dependencyGraphService;
+
+    @Mock
+    private ProgressRollupService progressRollupService;
+
+    @Mock
+    private StoryReadinessService storyReadinessService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserStoryService userStoryService;
 
@@ -60,6 +79,7 @@ class UserStoryServiceTest {
 
         assertThat(result).isEqualTo(story1);
         verify(userStoryRepository).save(any(UserStory.class));
+        verify(eventPublisher).publishEvent(StoryChangedEvent.of(story1, StoryChange.CREATED));
     }
 
     @Test
@@ -127,6 +147,65 @@ class UserStoryServiceTest {
         verify(userStoryRepository).save(story1);
     }
 
+    @Test
+    void updateUserStory_shouldRecomputePersistedScores() {
+        story1.setBusinessValue(8);
+        when(userStoryRepository.findById(101L)).thenReturn(Optional.of(story1));
+        when(userStoryRepository.save(story1)).thenReturn(story1);
+
+        userStoryService.updateUserStory(101L, "Story 1", "Role 1", "Action 1", "Purpose 1", 2);
+
+        // WSJF = (8 + 5 + 5) / 2, Value/Effort = 8 * 100 / 2
+        assertThat(story1.getWsjfScore()).isEqualTo(9);
+        assertThat(story1.getValueEffortScore()).isEqualTo(400);
+        assertThat(story1.getMoscowScore()).isEqualTo(23);
+    }
+
+    @Test
+    void updatePrioritizationInputs_shouldMarkBacklogDirty() {
+        story1.setProductBacklog(backlog);
+        when(userStoryRepository.findById(101L)).thenReturn(Optional.of(story1));
+        when(userStoryRepository.save(story1)).thenReturn(story1);
+
+        userStoryService.updatePrioritizationInputs(101L, 9, 8, 7, 6);
+
+        assertThat(story1.getBusinessValue()).isEqualTo(9);
+        assertThat(story1.getRiskReduction()).isEqualTo(6);
+        verify(eventPublisher).publishEvent(StoryChangedEvent.of(story1, StoryChange.PRIORITIZATION));
+    }
+
+    @Test
+    void addDependency_shouldAddDependencyAndMarkBacklogDirty() {
+        story1.setProductBacklog(backlog);
+        when(userStoryRepository.findById(101L)).thenReturn(Optional.of(story1));
+        when(userStoryRepository.findById(102L)).thenReturn(Optional.of(story2));
+
+        userStoryService.addDependency(101L, 102L);
+
+        assertThat(story1.getDependencies()).containsExactly(story2);
+        verify(dependencyGraphService).addDependency(story1, story2);
+        verify(storyReadinessService).onDependencyAdded(story1, story2);
+        verify(eventPublisher).publishEvent(StoryChangedEvent.of(story1, StoryChange.DEPENDENCIES));
+    }
+
+    @Test
+    void addDependency_shouldNotModifyStory_whenGraphRejectsCycle() {
+        when(userStoryRepository.findById(101L)).thenReturn(Optional.of(story1));
+        when(userStoryRepository.findById(102L)).thenReturn(Optional.of(story2));
+        doThrow(new BusinessException("cycle")).when(dependencyGraphService).addDependency(story1, story2);
+
+        assertThrows(BusinessException.class, () -> userStoryService.addDependency(101L, 102L));
+
+        assertThat(story1.getDependencies()).isEmpty();
+        verify(userStoryRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void addDependency_shouldThrowException_whenSelfDependency() {
+        assertThrows(BusinessException.class, () -> userStoryService.addDependency(101L, 101L));
+    }
+
     @Test
     void updatePriority_shouldSetPriority() {
         story1.setPriority(1);
@@ -147,5 +226,44 @@ class UserStoryServiceTest {
 
         verify(userStoryRepository).delete(story1);
     }
+
+    @Test
+    void deleteUserStory_shouldInvalidateProjectCaches() {
+        Project project = new Project();
+        project.setId(7L);
+        backlog.setProject(project);
+        story1.setProductBacklog(backlog);
+        when(userStoryRepository.findById(101L)).thenReturn(Optional.of(story1));
+
+        userStoryService.deleteUserStory(101L);
+
+        verify(eventPublisher).publishEvent(new StoryDeletedEvent(101L, 1L, 7L));
+    }
+
+    @Test
+    void deleteUserStory_shouldDetachDependentStories() {
+        story2.addDependency(story1);
+        when(userStoryRepository.findById(101L)).thenReturn(Optional.of(story1));
+        when(userStoryRepository.findDependentsOf(101L)).thenReturn(List.of(story2));
+
+        userStoryService.deleteUserStory(101L);
+
+        assertThat(story2.getDependencies()).isEmpty();
+        assertThat(story2.isReady()).isTrue();
+        verify(storyReadinessService).onDependencyRemoved(List.of(102L), story1);
+    }
+
+    @Test
+    void removeDependency_shouldReleaseCounterOfUnfinishedDependency() {
+        story1.addDependency(story2);
+        when(userStoryRepository.findById(101L)).thenReturn(Optional.of(story1));
+        when(userStoryRepository.findById(102L)).thenReturn(Optional.of(story2));
+
+        userStoryService.removeDependency(101L, 102L);
+
+        assertThat(story1.getDependencies()).isEmpty();
+        verify(storyReadinessService).onDependencyRemoved(List.of(101L), story2);
+        verify(dependencyGraphService).removeDependency(story1, story2);
+    }
 }
 